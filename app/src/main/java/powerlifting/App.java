@@ -0,0 +1,185 @@
+package powerlifting;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonBar;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.Tab;
+import javafx.scene.control.TabPane;
+import javafx.stage.Stage;
+
+public class App extends Application{
+
+    private TabPane mainPane;
+    private JudgePane judging;
+    private StandingsPane standings;
+    private Roster roster;
+    /** Records the meet as it runs, null if the data directory could not be opened */
+    private MeetJournal journal;
+    /** Drives the attempt clock, flight breaks and submission deadlines */
+    private MeetClock meetClock;
+    /** Serves live standings to screens and phones, null if its port could not be opened */
+    private ScoreboardServer scoreboard;
+    /** Lets any platform take back a mis-keyed change */
+    private RosterHistory history;
+    /** Works out what each lifter needs for each placing as attempts come in */
+    private Projections projections;
+    public static final int WINSIZE_X = 1000, WINSIZE_Y = 600;
+    /** Folder the running meet is saved to */
+    public static final String DATA_DIRECTORY = "meet-data";
+    /** System properties choosing where the live scoreboard is served; an address of "off" serves nothing */
+    public static final String SCOREBOARD_ADDRESS_PROPERTY = "scoreboard.address", SCOREBOARD_PORT_PROPERTY = "scoreboard.port";
+    /** This computer only unless another address is given, since anyone who can reach the board can read it */
+    public static final String DEFAULT_SCOREBOARD_ADDRESS = "127.0.0.1";
+    public static final int DEFAULT_SCOREBOARD_PORT = 8080;
+    public static void main(String[] args){
+        launch(args);
+    }
+
+    public void start(Stage primaryStage){
+        // Initialize Roster, picking up a meet left unfinished
+        try{
+            journal = MeetJournal.open(Paths.get(DATA_DIRECTORY));
+            roster = journal.getRoster();
+        }catch(IOException e){
+            System.err.println("Could not open the meet in " + DATA_DIRECTORY + ": " + e.getMessage());
+            if(!confirmUnsaved("The meet in the " + DATA_DIRECTORY + " folder could not be opened:\n" + e.getMessage()
+                    + "\n\nIf you go on, nothing entered will be saved. The folder is left untouched, so the meet in it is not lost.",
+                    "Run without saving")){
+                Platform.exit();
+                return;
+            }
+            // the files are left as they are, nothing is written there until the app is restarted
+            roster = new Roster(new AttemptStore(64));
+        }
+        if(journal != null){
+            journal.setListener(new journalListener());
+        }
+        Path records = Paths.get(DATA_DIRECTORY, RecordBook.FILE_NAME);
+        if(Files.exists(records)){
+            try{
+                roster.setRecords(RecordBook.read(records));
+            }catch(IOException e){
+                // judge without records rather than not at all
+                System.err.println("Could not read " + records + ": " + e.getMessage());
+            }
+        }
+        PlateInventory plates = PlateInventory.DEFAULT;
+        Path platesFile = Paths.get(DATA_DIRECTORY, PlateInventory.FILE_NAME);
+        if(Files.exists(platesFile)){
+            try{
+                plates = PlateInventory.read(platesFile);
+                PlateDiagram.check(plates);
+            }catch(IOException | IllegalArgumentException e){
+                // load from the usual plates rather than not at all
+                System.err.println("Could not read " + platesFile + ": " + e.getMessage());
+                plates = PlateInventory.DEFAULT;
+            }
+        }
+        // Deliver roster changes to both tabs once per pulse
+        RosterUpdates updates = new RosterUpdates(roster);
+        // Count down every clock of the meet from one thread
+        meetClock = new MeetClock();
+        SubmissionDeadlines deadlines = new SubmissionDeadlines(meetClock);
+        roster.addListener(deadlines);
+        // Serve the standings to the audience
+        String host = System.getProperty(SCOREBOARD_ADDRESS_PROPERTY, DEFAULT_SCOREBOARD_ADDRESS);
+        String port = System.getProperty(SCOREBOARD_PORT_PROPERTY, String.valueOf(DEFAULT_SCOREBOARD_PORT));
+        if(!host.equals("off")){
+            try{
+                scoreboard = ScoreboardServer.start(roster, scoreboardAddress(host, port));
+            }catch(IOException | IllegalArgumentException e){
+                // run the meet without the scoreboard rather than not at all
+                System.err.println("Could not serve the scoreboard on " + host + ":" + port + ": " + e.getMessage());
+            }
+        }
+
+        // Keep every change from here on undoable
+        history = RosterHistory.attach(roster);
+        projections = Projections.attach(roster);
+
+        // Initialize Tabs
+        mainPane = new TabPane();
+        judging = new JudgePane(roster, updates, deadlines, scoreboard, history, projections, plates);
+        standings = new StandingsPane(roster, updates);
+        
+        // create judging tab
+        Tab tab1 = new Tab();
+        tab1.setText("Judging");
+        tab1.setContent(judging);
+
+        // create Standings tab
+        Tab tab2 = new Tab();
+        tab2.setText("Standings");
+        tab2.setContent(standings);
+
+        // place tabs onto TabPane
+        mainPane.getTabs().addAll(tab1, tab2);
+
+        // Initialize Scene holding TabPane, add to stage
+        Scene scene = new Scene(mainPane, WINSIZE_X, WINSIZE_Y);
+        primaryStage.setScene(scene);
+        primaryStage.setTitle("Powerlifting App");
+        primaryStage.show();
+    }
+
+    /** Address to serve the scoreboard on, refusing a host name that does not resolve rather than binding nowhere */
+    private static InetSocketAddress scoreboardAddress(String host, String port) throws IOException {
+        InetSocketAddress address = new InetSocketAddress(host, Integer.parseInt(port));
+        if(address.isUnresolved()){
+            throw new IOException("Unknown address " + host);
+        }
+        return address;
+    }
+
+    /** Tell the operator the meet is not being saved, returning true if they choose to run it anyway */
+    private static boolean confirmUnsaved(String message, String runText){
+        ButtonType run = new ButtonType(runText, ButtonBar.ButtonData.OK_DONE);
+        ButtonType quit = new ButtonType("Quit", ButtonBar.ButtonData.CANCEL_CLOSE);
+        Alert alert = new Alert(Alert.AlertType.WARNING, message, run, quit);
+        alert.setTitle("Powerlifting App");
+        alert.setHeaderText("The meet is not being saved");
+        return alert.showAndWait().orElse(quit) == run;
+    }
+
+    /** Warns the operator as soon as changes stop reaching the disk mid-meet */
+    private class journalListener implements MeetJournal.Listener{
+        @Override
+        public void saveFailed(IOException error){
+            System.err.println("Could not save the meet in " + DATA_DIRECTORY + ": " + error.getMessage());
+            Platform.runLater(() -> {
+                if(!confirmUnsaved("The meet could not be saved to the " + DATA_DIRECTORY + " folder:\n" + error.getMessage()
+                        + "\n\nChanges are kept and saving is retried every second. If you quit before it succeeds, changes since the last save are lost.",
+                        "Keep judging")){
+                    Platform.exit();
+                }
+            });
+        }
+
+        @Override
+        public void saveResumed(){
+            System.err.println("Saving the meet in " + DATA_DIRECTORY + " again");
+        }
+    }
+
+    @Override
+    public void stop() throws IOException{
+        if(meetClock != null){
+            meetClock.close();
+        }
+        if(scoreboard != null){
+            scoreboard.close();
+        }
+        if(journal != null){
+            journal.close();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,1076 @@
+package powerlifting;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
+import javafx.concurrent.WorkerStateEvent;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.geometry.HPos;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Dialog;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextArea;
+import javafx.scene.control.TextField;
+import javafx.scene.control.ButtonBar.ButtonData;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.ColumnConstraints;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.RowConstraints;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
+import javafx.util.Callback;
+
+
+public class JudgePane extends GridPane{
+    /** Virtualized list of lifter cards, only the visible rows are backed by a card */
+    private ListView<Lifter> lifterList;
+
+    /** Container holding all controls with which to navigate the lifter groups as well as select, create and remove lifters  */
+    private VBox lifterSelection;
+
+    /** Leftmost menu including an individual's lifts, a timer and a plate diagram to assist with judging */
+    private GridPane trackingMenu;
+
+    /** Timer utility defined separately */
+    private TimerWidget timerWidget;
+
+    /** Bar loading widget defined separately */
+    private PlateDiagram plateDiagram;
+
+    /** Plates the meet has on hand, passed on to each platform opened from this one */
+    private final PlateInventory plates;
+
+    /** Used to toggle the add lifter menu */
+    private Button addButton;
+
+    /** Used to toggle the remove lifter menu */
+    private Button removeButton;
+
+    /** Button to enter a whole roster spreadsheet at once */
+    private Button importButton;
+
+    /** Button to open another judging window on the same roster */
+    private Button platformButton;
+
+    /** Button to start or cancel the break between flights */
+    private Button breakButton;
+
+    /** Buttons to take back the last change to the roster, from any platform, or make it again */
+    private Button undoButton;
+    private Button redoButton;
+
+    /** Used to finalize the edit of a lift, pulling criteria from surrounding fields */
+    private Button editSubmissionButton;
+
+    /** Used to automatically load an attempt's weight into the plate diagram */
+    private Button loadDiagramButton;
+
+    /** Used to show the loading chart for the selected lift of the current flight */
+    private Button loadingChartButton;
+
+    /** Used to accept a weight to update an attempt */
+    private TextField attemptInput;
+
+    /** Holds each of the possible weight classes */
+    private ComboBox<WeightClass> weightClassCombo;
+
+    /** Holds each age division*/
+    private ComboBox<Division> divisionCombo;
+
+    /** Used to update either squat, bench or deadlift */
+    private ComboBox<String> liftCombo;
+
+    /** Used to select which of the three attempts to update */
+    private ComboBox<Integer> attemptCombo;
+
+    /** Used to detail the status of a lift i.e good, failed, or projected */
+    private ComboBox<AttemptState> statusCombo;
+
+    /** Used to switch between lbs and kgs for input values */
+    private ComboBox<Metric> metricCombo;
+
+    /** Holds reference to the application's lists of lifters */
+    private Roster roster;
+
+    /** Source of roster changes, shared with every other pane on the same roster */
+    private RosterUpdates updates;
+
+    /** Receives this pane's roster changes until it is disposed */
+    private judgeSubscriber subscriber;
+
+    /** Order of the selected lift in the current division and weight class, kept current by the roster */
+    private LiftingOrder liftingOrder;
+
+    /** Live scoreboard, or null if it isn't running, and this platform's place on it */
+    private final ScoreboardServer scoreboard;
+    private final ScoreboardServer.Platform scoreboardPlatform;
+
+    /** Undo and redo history of the roster, shared with every other platform */
+    private final RosterHistory history;
+
+    /** What each lifter's next attempt needs for each placing, shared with every other platform */
+    private final Projections projections;
+
+    /** Placings listed under the selected lifter's total */
+    private static final int PROJECTED_PLACES = 3;
+
+    /** Label announcing the next lifter due on the platform */
+    private Label upNextLabel;
+
+    /** Length of the break taken between flights */
+    private static final int FLIGHT_BREAK_SECONDS = 600;
+
+    /** Minute each lifter has to submit their next attempt, shared by every judging window */
+    private SubmissionDeadlines deadlines;
+
+    /** Break between flights, run on the meet clock alongside the attempt clock */
+    private MeetClock.Countdown flightBreak;
+
+    /** Refreshes the clock driven labels as the flight break and submission deadlines count down */
+    private clockListener clockTicks;
+
+    /** Label counting down the selected lifter's time to submit their next attempt */
+    private Label deadlineLabel;
+
+    /** Holds the lifter object which is currently being edited */
+    private Lifter selectedLifter;
+
+    /** Label displaying each of the selected lifter's three squat attempts*/
+    private Label squatLabel;
+
+    /** Label displaying each of the selected lifter's three bench press attempts*/
+    private Label benchLabel;
+
+    /** Label displaying each of the selected lifter's three deadlift attempts*/
+    private Label deadliftLabel;
+
+    /** Label displaying the selected lifter's current total */
+    private Label totalLabel;
+
+    /** Label reflecting the current metric to input values in*/
+    private Label liftEditMetricLabel;
+
+    /** Label to display errors */
+    private Label statusLabel;
+
+    public JudgePane(Roster roster, RosterUpdates updates, SubmissionDeadlines deadlines, ScoreboardServer scoreboard, RosterHistory history, Projections projections, PlateInventory plates){
+        this.roster = roster;
+        this.updates = updates;
+        this.scoreboard = scoreboard;
+        this.history = history;
+        this.projections = projections;
+        this.plates = plates;
+        this.scoreboardPlatform = scoreboard == null ? null : scoreboard.openPlatform();
+        this.subscriber = new judgeSubscriber();
+        updates.subscribe(subscriber);
+        this.deadlines = deadlines;
+        this.clockTicks = new clockListener();
+        this.flightBreak = deadlines.getClock().countdown(FLIGHT_BREAK_SECONDS, clockTicks);
+        deadlines.addListener(clockTicks);
+        this.heightProperty().addListener(new resizeListener());
+        /*
+        LEFT menu
+        ____________________________________________________________________________________________
+        */
+
+        // gridPane with 3 labels (squat, bench deadlift)
+        trackingMenu = new GridPane();
+        trackingMenu.setVgap(5);
+        trackingMenu.setGridLinesVisible(true);
+        trackingMenu.setStyle("-fx-background-color: lightblue");
+        
+        // set column/row constraints for each section
+        ColumnConstraints c1 = new ColumnConstraints();
+        ColumnConstraints c2 = new ColumnConstraints();
+
+        RowConstraints r1 = new RowConstraints();
+        RowConstraints r2 = new RowConstraints();
+        RowConstraints r3 = new RowConstraints();
+        RowConstraints r4 = new RowConstraints();
+
+        c1.setPercentWidth(50);
+        c1.setHalignment(HPos.CENTER);
+        c2.setPercentWidth(50);
+        c2.setHalignment(HPos.CENTER);
+        trackingMenu.getColumnConstraints().addAll(c1, c2);
+
+        r1.setPercentHeight(25); // lifts
+        r2.setPercentHeight(25); 
+        r3.setPercentHeight(10); // edit lift bar
+        r4.setPercentHeight(40); // widgets
+        trackingMenu.getRowConstraints().addAll(r1, r2, r3, r4);
+
+        // create labels to display lifts
+        squatLabel = new Label();
+        benchLabel = new Label();
+        deadliftLabel = new Label();
+        totalLabel = new Label();
+        
+        // create  hbox for edit pane (edit lift label, lift combo, attempt combo, weight textbox)
+        HBox liftEditor = new HBox(5);
+        liftEditor.setAlignment(Pos.CENTER);
+
+        Label editLiftLabel = new Label("Edit Lift: ");
+        liftEditMetricLabel = new Label("KG");
+
+        liftCombo = new ComboBox<String>();
+        liftCombo.getItems().addAll("Squat", "Bench", "Deadlift");
+        liftCombo.setValue("Squat");
+        liftCombo.setOnAction(new liftSelectionHandler());
+
+        attemptCombo = new ComboBox<Integer>();
+        attemptCombo.getItems().addAll(1, 2, 3);
+        attemptCombo.setValue(1);
+
+        attemptInput = new TextField();
+
+        statusCombo = new ComboBox<AttemptState>();
+        statusCombo.getItems().addAll(AttemptState.GOOD, AttemptState.FAIL, AttemptState.PROJECTION);
+        statusCombo.setValue(AttemptState.PROJECTION);
+
+        editSubmissionButton = new Button("Submit");
+        editSubmissionButton.setOnAction(new editSubmissionHandler());
+
+        loadDiagramButton = new Button("Load");
+        loadDiagramButton.setOnAction(new loadButtonHandler());
+
+        loadingChartButton = new Button("Chart");
+        loadingChartButton.setOnAction(new loadingChartHandler());
+
+        // construct edit lift bar
+        liftEditor.getChildren().addAll(editLiftLabel, liftCombo, attemptCombo, attemptInput, liftEditMetricLabel, statusCombo, editSubmissionButton, loadDiagramButton, loadingChartButton);
+
+            // Panel with timer, plate diagram and light display
+        timerWidget = new TimerWidget(deadlines.getClock(), 60);
+        plateDiagram = new PlateDiagram(plates);
+
+            // position labels within grid
+        trackingMenu.add(squatLabel, 0, 0);
+        trackingMenu.add(benchLabel, 1, 0);
+        trackingMenu.add(deadliftLabel, 0, 1);
+        trackingMenu.add(totalLabel, 1, 1);
+        trackingMenu.add(liftEditor,0, 2, 2, 1);
+        trackingMenu.add(timerWidget, 0, 3);
+        trackingMenu.add(plateDiagram, 1, 3);
+
+        /*
+        RIGHT menu
+        ____________________________________________________________________________________________
+        */
+
+        lifterSelection = new VBox();
+        lifterSelection.setStyle("-fx-background-color: #ad8363");
+
+        // SELECTION FILTER
+        VBox listSelection = new VBox(5);
+        listSelection.setAlignment(Pos.CENTER);
+
+        Label divisionLabel = new Label("Division");
+
+        divisionCombo = new ComboBox<Division>();
+        divisionCombo.getItems().addAll(Division.values());
+        divisionCombo.setValue(Division.SUB_JUNIOR);
+        divisionCombo.setOnAction(new selectionCriteriaHandler());
+
+        Label weightClassLabel = new Label("Weight Class");
+
+        weightClassCombo = new ComboBox<WeightClass>();
+        weightClassCombo.getItems().addAll(WeightClass.values());
+        weightClassCombo.setValue(WeightClass.KG59);
+        weightClassCombo.setOnAction(new selectionCriteriaHandler());
+
+        metricCombo = new ComboBox<Metric>();
+        metricCombo.setOnAction(new switchMetricHandler());
+        metricCombo.getItems().addAll(Metric.KG, Metric.LB);
+        metricCombo.setValue(Metric.KG);
+
+        // Organize within containers
+        HBox weight = new HBox(5, weightClassLabel, weightClassCombo);
+        weight.setAlignment(Pos.CENTER);
+
+        HBox div = new HBox(5, divisionLabel, divisionCombo);
+        div.setAlignment(Pos.CENTER);
+
+        // add to vbox
+        listSelection.getChildren().addAll(weight, div, metricCombo);
+
+        // LIFTER SELECTION
+        lifterList = new ListView<Lifter>();
+        lifterList.setPrefWidth(1920/3);
+        lifterList.setMinWidth(150);
+        lifterList.setPrefHeight(Integer.MAX_VALUE);
+        lifterList.setStyle("-fx-background-color: transparent");
+        lifterList.setCellFactory(new lifterCellFactory());
+        lifterList.getSelectionModel().selectedItemProperty().addListener(new lifterSelectedListener());
+
+        // every card is as tall as half the list's width, fixing the size spares the list from measuring each row
+        lifterList.fixedCellSizeProperty().bind(Bindings.divide(lifterList.widthProperty(), 2));
+
+        // ADD & REMOVE LIFTER
+        HBox listEdit = new HBox(5);
+        listEdit.setAlignment(Pos.CENTER);
+
+        addButton = new Button("Add");
+        addButton.setOnAction(new addButtonHandler());
+
+        removeButton = new Button("Remove");
+        removeButton.setOnAction(new removeButtonHandler());
+
+        importButton = new Button("Import");
+        importButton.setOnAction(new importButtonHandler());
+
+        platformButton = new Button("New Platform");
+        platformButton.setOnAction(new platformButtonHandler());
+
+        breakButton = new Button("Break");
+        breakButton.setOnAction(new breakButtonHandler());
+
+        listEdit.getChildren().addAll(addButton, removeButton, importButton, platformButton, breakButton);
+
+        // UNDO & REDO, also on Ctrl+Z and Ctrl+Y
+        HBox historyEdit = new HBox(5);
+        historyEdit.setAlignment(Pos.CENTER);
+
+        undoButton = new Button("Undo");
+        undoButton.setOnAction(new undoButtonHandler());
+
+        redoButton = new Button("Redo");
+        redoButton.setOnAction(new redoButtonHandler());
+
+        historyEdit.getChildren().addAll(undoButton, redoButton);
+        this.addEventFilter(KeyEvent.KEY_PRESSED, new historyKeyHandler());
+
+        // next lifter in the lifting order
+        upNextLabel = new Label();
+        upNextLabel.setStyle("-fx-font-weight: bold");
+        upNextLabel.setAlignment(Pos.CENTER);
+
+        // selected lifter's submission deadline
+        deadlineLabel = new Label();
+        deadlineLabel.setAlignment(Pos.CENTER);
+
+        // status label for error messages
+        statusLabel = new Label();
+        statusLabel.setStyle("-fx-text-fill: red");
+        statusLabel.setAlignment(Pos.CENTER);
+
+        // Combine the contents of the right menu
+        lifterSelection.getChildren().addAll(listSelection, lifterList, upNextLabel, deadlineLabel, listEdit, historyEdit, statusLabel);
+
+        /*
+        PANE GRID ALIGNMENT
+        ____________________________________________________________________________________________
+        */
+
+        // tracking menu
+        ColumnConstraints left = new ColumnConstraints();
+        // lifter selection
+        ColumnConstraints right = new ColumnConstraints();
+
+        this.getColumnConstraints().addAll(left, right);
+
+        // define column width scaling
+        left.setPercentWidth(75);
+        right.setPercentWidth(25);
+
+        // add content to cells
+        this.add(lifterSelection, 1, 0);
+        this.add(trackingMenu, 0, 0);
+
+        // show the initially selected division and weight class
+        refreshLifterSelection();
+
+    }
+
+    /** Retrieve the roster associated with selection criteria combo boxes and display each lifter in the list
+     *  Only references are copied, cards are created for the visible rows alone and reused as the list scrolls
+     */
+    private void refreshLifterSelection(){
+        // query the roster to retrieve the corresponding division/weightclass group
+        LifterGroup selectedList = roster.get(divisionCombo.getValue(), weightClassCombo.getValue());
+
+        lifterList.getItems().setAll(selectedList.asList());
+        resetLiftingOrder();
+
+        // array present and contains lifter/s
+        if(selectedList.size() > 0){
+            // select the first lifter, the selection listener loads them into the left pane
+            lifterList.getSelectionModel().select(0);
+            lifterList.scrollTo(0);
+        }
+    }
+
+    /** Column of the lift chosen in the lift combo */
+    private int selectedLift(){
+        String lift = liftCombo.getValue();
+        return lift.equals("Squat") ? AttemptStore.SQUAT : lift.equals("Bench") ? AttemptStore.BENCH : AttemptStore.DEADLIFT;
+    }
+
+    /** Order the selected lift of the current division and weight class, replacing the previous order's subscription */
+    private void resetLiftingOrder(){
+        if(liftingOrder != null){
+            roster.removeListener(liftingOrder);
+        }
+        liftingOrder = new LiftingOrder(roster.get(divisionCombo.getValue(), weightClassCombo.getValue()), selectedLift());
+        roster.addListener(liftingOrder);
+        if(scoreboardPlatform != null){
+            scoreboardPlatform.follow(liftingOrder);
+        }
+        refreshUpNext();
+    }
+
+    /** Stop following the roster, once the window holding this pane has closed */
+    public void dispose(){
+        updates.unsubscribe(subscriber);
+        deadlines.removeListener(clockTicks);
+        flightBreak.pause();
+        timerWidget.dispose();
+        if(liftingOrder != null){
+            roster.removeListener(liftingOrder);
+            liftingOrder = null;
+        }
+        if(scoreboardPlatform != null){
+            scoreboardPlatform.close();
+        }
+    }
+
+    /** Show who is due on the platform and with what */
+    private void refreshUpNext(){
+        Lifter next = liftingOrder.next();
+        if(flightBreak.isRunning()){
+            upNextLabel.setText("Flight break: " + TimerWidget.formatTime(flightBreak.secondsLeft()));
+        }else if(next == null){
+            upNextLabel.setText("Up next: no attempts requested");
+        }else{
+            int attempt = liftingOrder.nextAttempt();
+            double weight = next.getStore().getWeight(AttemptStore.index(next.getId(), liftingOrder.getLift(), attempt));
+            upNextLabel.setText("Up next: " + next.getFirstName() + " " + next.getLastName() + " - attempt " + attempt + ", " + UniversalWeight.format(weight));
+        }
+    }
+
+    /** Show how long the selected lifter has left to submit their next attempt */
+    private void refreshDeadline(){
+        MeetClock.Countdown deadline = selectedLifter == null ? null : deadlines.get(selectedLifter);
+        if(deadline == null){
+            deadlineLabel.setText("");
+        }else if(deadline.isExpired()){
+            deadlineLabel.setText("Next attempt overdue");
+        }else{
+            deadlineLabel.setText("Next attempt due in " + TimerWidget.formatTime(deadline.secondsLeft()));
+        }
+    }
+
+    /** Select whoever the lifting order has due next */
+    private void advanceToNextLifter(){
+        Lifter next = liftingOrder.next();
+        if(next != null){
+            lifterList.getSelectionModel().select(next);
+            lifterList.scrollTo(next);
+        }
+    }
+
+    /** Clear the left pane when no lifter is selected */
+    private void clearLifter(){
+        squatLabel.setText("Squat:");
+        benchLabel.setText("Bench:");
+        deadliftLabel.setText("Deadlift:");
+        totalLabel.setText("Total: --");
+        refreshDeadline();
+    }
+
+    /**Helper method to load a lifter's attempt information into the left pane for judging */
+    private void loadLifter(){
+        // format for each section
+        String template = "%s:\n1) %s\n2) %s\n3) %s";
+        // populate each label with the formatted string containing each of the lifter's attempts, marking record attempts
+        squatLabel.setText(String.format(template, "Squat", selectedLifter.printSquat(1) + records(AttemptStore.SQUAT, 1),
+                selectedLifter.printSquat(2) + records(AttemptStore.SQUAT, 2), selectedLifter.printSquat(3) + records(AttemptStore.SQUAT, 3)));
+        benchLabel.setText(String.format(template, "Bench Press", selectedLifter.printBench(1) + records(AttemptStore.BENCH, 1),
+                selectedLifter.printBench(2) + records(AttemptStore.BENCH, 2), selectedLifter.printBench(3) + records(AttemptStore.BENCH, 3)));
+        deadliftLabel.setText(String.format(template, "Deadlift", selectedLifter.printDeadLift(1) + records(AttemptStore.DEADLIFT, 1),
+                selectedLifter.printDeadLift(2) + records(AttemptStore.DEADLIFT, 2), selectedLifter.printDeadLift(3) + records(AttemptStore.DEADLIFT, 3)));
+        int totalRecords = roster.getRecords().brokenTotal(selectedLifter);
+        totalLabel.setText("Total: " + selectedLifter.printTotal() + (totalRecords == 0 ? "" : " " + RecordBook.tag(totalRecords)) + needs());
+        refreshDeadline();
+    }
+
+    /** What the selected lifter's next attempt needs for each podium place, such as "\n\nDeadlift 3 for 1st: 250KGs/ 551.25LBs" */
+    private String needs(){
+        Projections.Need need = projections.need(selectedLifter);
+        if(need == null){
+            return "";
+        }
+        String lift = need.getLift() == AttemptStore.SQUAT ? "Squat" : need.getLift() == AttemptStore.BENCH ? "Bench" : "Deadlift";
+        StringBuilder text = new StringBuilder("\n");
+        for(int place = 1; place <= Math.min(PROJECTED_PLACES, need.places()); place++){
+            text.append("\n").append(lift).append(" ").append(need.getAttempt()).append(" for ").append(ordinal(place)).append(": ");
+            text.append(need.isSecured(place) ? "secured" : UniversalWeight.format(need.getWeight(place)));
+        }
+        return text.toString();
+    }
+
+    /** 1st, 2nd, 3rd, 4th and so on */
+    private static String ordinal(int place){
+        if(place % 100 >= 11 && place % 100 <= 13){
+            return place + "th";
+        }else if(place % 10 == 1){
+            return place + "st";
+        }else if(place % 10 == 2){
+            return place + "nd";
+        }else if(place % 10 == 3){
+            return place + "rd";
+        }
+        return place + "th";
+    }
+
+    /** Records one of the selected lifter's attempts breaks, or is an attempt at, such as " SR/FR", or nothing */
+    private String records(int lift, int attempt){
+        int levels = roster.getRecords().broken(selectedLifter, lift, attempt);
+        return levels == 0 ? "" : " " + RecordBook.tag(levels);
+    }
+
+    /** Create a dialog box to collect information with which to build a lifter object */
+    private Optional<Lifter> createLifter(){
+        // Create a dialog box for the user to complete
+        GridPane dialogContent = new GridPane();
+        ButtonType submitButton = new ButtonType("Submit", ButtonData.OK_DONE);
+        Label firstNameLabel = new Label("First Name: ");
+        Label lastNameLabel = new Label("Last Name: ");
+        Label ageLabel = new Label("Age: ");
+        Label hometownLabel = new Label("Hometown");
+        Label bodyweightLabel = new Label("Bodyweight (" + metricCombo.getValue() +"s): ");
+        TextField firstNameInput = new TextField();
+        TextField lastNameInput = new TextField();
+        TextField ageInput = new TextField();
+        TextField hometownInput = new TextField();
+        TextField bodyweightInput = new TextField();
+
+        dialogContent.add(firstNameLabel, 0, 0);
+        dialogContent.add(lastNameLabel, 0, 1);
+        dialogContent.add(ageLabel, 0, 2);
+        dialogContent.add(hometownLabel, 0, 3);
+        dialogContent.add(bodyweightLabel, 0, 4);
+        dialogContent.add(firstNameInput, 1, 0);
+        dialogContent.add(lastNameInput, 1, 1);
+        dialogContent.add(ageInput, 1, 2);
+        dialogContent.add(hometownInput, 1, 3);
+        dialogContent.add(bodyweightInput, 1, 4);
+
+        Dialog<Lifter> dialogBox = new Dialog<Lifter>();
+        dialogBox.setTitle("Create new lifter");
+        dialogBox.setHeaderText("Please complete each of the following fields");
+        dialogBox.getDialogPane().setContent(dialogContent);
+        dialogBox.getDialogPane().getButtonTypes().add(submitButton);
+
+        // determine how to process the information based on the exit button
+        dialogBox.setResultConverter(new Callback<ButtonType, Lifter>(){
+            // implement the call method to be triggered when the submission buttonType is pressed
+            public Lifter call(ButtonType b) {
+                if(b == submitButton){
+                    try{
+                        // construct a new lifter with the given input
+                        return new Lifter(roster.getStore(), firstNameInput.getText(), lastNameInput.getText(), Integer.parseInt(ageInput.getText()), hometownInput.getText(), Double.parseDouble(bodyweightInput.getText()), metricCombo.getValue());
+                    }catch(Exception e){ 
+                        // invalid format
+                    }
+                }
+                return null;
+            }
+        });
+        // display the dialog box until an exit button is pressed
+        return dialogBox.showAndWait();
+    }
+
+    /** Create a card representation of a lifter to fit within the lifter list
+     *  A card is built once per visible row and shown again for whichever lifter scrolls into that row
+     */
+    private class LifterCard extends StackPane{
+        /** Nested pane to allow for scaling and constraints */
+        private GridPane info;
+        private Label name;
+        private Label age;
+        private Label homeTown;
+        private Label bodyWeight;
+
+        public LifterCard(){
+            info = new GridPane();
+            this.setPadding(new Insets(5, 10, 0, 10));
+            // Display first and last name
+            name = new Label();
+            name.setStyle("-fx-font-size: 15; -fx-font-weight: bold");
+            GridPane.setHalignment(name, HPos.CENTER);
+
+            // display age
+            age = new Label();
+            GridPane.setHalignment(age, HPos.CENTER);
+
+            // display hometown
+            homeTown = new Label();
+            homeTown.setWrapText(true);
+            GridPane.setHalignment(homeTown, HPos.CENTER);
+
+            // display bodyweight
+            bodyWeight = new Label();
+            GridPane.setHalignment(bodyWeight, HPos.CENTER);
+            
+            // add labels to grid
+            info.add(name, 0, 0, 2, 1);
+            info.add(homeTown, 0, 1);
+            info.add(age, 1, 1);
+            info.add(bodyWeight, 0, 2, 2, 1);
+            info.setStyle("-fx-background-color: gray");
+            
+            // add constraints to grid
+            ColumnConstraints c1 = new ColumnConstraints();
+            RowConstraints r1 = new RowConstraints();
+            c1.setPercentWidth(50);
+            r1.setPercentHeight(33);
+            info.getColumnConstraints().addAll(c1, c1);
+            info.getRowConstraints().addAll(r1, r1, r1);
+
+            // add gridpane to stackpane
+            this.getChildren().add(info);
+        }
+
+        /** Show a lifter's details on this card */
+        public void setLifter(Lifter lifter){
+            name.setText(lifter.getFirstName() + " " + lifter.getLastName());
+            age.setText("Age: " + lifter.getAge());
+            homeTown.setText("Hometown:\n" + lifter.getHomeTown());
+            bodyWeight.setText("Bodyweight: " + lifter.printBodyweight());
+        }
+
+        /** Allow background of nested GridPane to be manipulated externally to denote selected lifter*/
+        public void setBackground(String color){
+            info.setStyle("-fx-background-color: " + color);
+        }
+    }
+
+    /** Row of the lifter list, reusing a single card for every lifter it is asked to display */
+    private class LifterCell extends ListCell<Lifter>{
+        private LifterCard card;
+
+        public LifterCell(){
+            card = new LifterCard();
+            this.setStyle("-fx-background-color: transparent; -fx-padding: 0");
+        }
+
+        @Override
+        protected void updateItem(Lifter lifter, boolean empty){
+            super.updateItem(lifter, empty);
+            if(empty || lifter == null){
+                setGraphic(null);
+            }else{
+                card.setLifter(lifter);
+                card.setBackground(isSelected() ? "lightgray" : "gray");
+                setGraphic(card);
+            }
+        }
+
+        /** Only the rows gaining and losing the selection are restyled */
+        @Override
+        public void updateSelected(boolean selected){
+            super.updateSelected(selected);
+            card.setBackground(selected ? "lightgray" : "gray");
+        }
+    }
+
+    /** Supply the lifter list with recyclable rows */
+    private class lifterCellFactory implements Callback<ListView<Lifter>, ListCell<Lifter>>{
+        @Override
+        public ListCell<Lifter> call(ListView<Lifter> list){
+            return new LifterCell();
+        }
+    }
+
+    /** Execute lifter creation procedure on click*/
+    private class addButtonHandler implements EventHandler<ActionEvent>{
+        @Override
+        public void handle(ActionEvent event) {
+            Optional<Lifter> res = createLifter();
+            if(res.isPresent()){ // object successfully created
+
+                Lifter tempLifter = res.get();
+
+                // file the lifter under its division and weight class, the list picks it up with the next update
+                roster.add(tempLifter);
+            }else{
+                // TODO update label unsuccessful
+                // statusLabel.setText("Creation Unsuccessful");
+            }
+        }
+    }
+
+    /** Create a dialog box to confirm the deletion of the currently selected lifter */
+    private class removeButtonHandler implements EventHandler<ActionEvent>{
+        @Override
+        public void handle(ActionEvent event) {
+            if(selectedLifter != null){
+                // create dialog box to confirm removal
+                Dialog<Boolean> dialogBox = new Dialog<Boolean>();
+                ButtonType confirm = new ButtonType("Confirm", ButtonData.OK_DONE);
+                ButtonType cancel = new ButtonType("Cancel", ButtonData.CANCEL_CLOSE);
+                dialogBox.setTitle("Lifter Removal");
+                dialogBox.setHeaderText("Are you sure you would like to remove " + selectedLifter.getFirstName() + " " + selectedLifter.getLastName() + " from the " + selectedLifter.getWeightClass() + " " + selectedLifter.getDivsion() + " Division?");
+                dialogBox.getDialogPane().getButtonTypes().addAll(confirm, cancel);
+
+                // Define return value based on button selected
+                dialogBox.setResultConverter(new Callback<ButtonType, Boolean>(){
+                    public Boolean call(ButtonType b) {
+                        if(b.getButtonData() == ButtonData.OK_DONE){
+                            // deletion confirmed
+                            return new Boolean(true);
+                        }else{
+                            // deletion cancelled/ window closed
+                            return new Boolean(false);
+                        }
+                    }
+                });
+                Optional<Boolean> res = dialogBox.showAndWait();
+                if(res.get()){
+                    // remove lifter from its group, the list drops its card with the next update
+                    roster.remove(selectedLifter);
+                    // TODO add successful removal update
+                    // statusLabel.setText("Lifter removed successfully");
+                }
+            }
+        }
+    }
+
+    /** Update the selected list to reflect the most current selection criteria */
+    private class selectionCriteriaHandler implements EventHandler<ActionEvent>{
+        @Override
+        public void handle(ActionEvent event) {
+            refreshLifterSelection();
+        }
+        
+    }
+
+    /** Pick a roster spreadsheet and read it in the background */
+    private class importButtonHandler implements EventHandler<ActionEvent>{
+        @Override
+        public void handle(ActionEvent event) {
+            FileChooser chooser = new FileChooser();
+            chooser.setTitle("Import Roster");
+            chooser.getExtensionFilters().addAll(new FileChooser.ExtensionFilter("CSV files", "*.csv"),
+                    new FileChooser.ExtensionFilter("All files", "*.*"));
+            File file = chooser.showOpenDialog(getScene().getWindow());
+            if(file == null){
+                return;
+            }
+            importTask task = new importTask(file, roster.getStore());
+            importButton.setDisable(true);
+            statusLabel.setText("Importing " + file.getName() + "...");
+            task.setOnSucceeded(new importDoneHandler());
+            task.setOnFailed(new importDoneHandler());
+            Thread thread = new Thread(task, "roster-import");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /** Parses a roster file off the JavaFX thread, leaving the roster untouched */
+    private static class importTask extends Task<ArrayList<Lifter>>{
+        private final File file;
+        private final AttemptStore store;
+
+        private importTask(File file, AttemptStore store){
+            this.file = file;
+            this.store = store;
+        }
+
+        @Override
+        protected ArrayList<Lifter> call() throws Exception {
+            return RosterImport.read(file.toPath(), store);
+        }
+    }
+
+    /** Enter the imported lifters in one batch, so every pane refreshes once for the whole file */
+    private class importDoneHandler implements EventHandler<WorkerStateEvent>{
+        @Override
+        public void handle(WorkerStateEvent event) {
+            Task<?> task = (Task<?>) event.getSource();
+            importButton.setDisable(false);
+            if(task.getState() == Worker.State.SUCCEEDED){
+                ArrayList<Lifter> lifters = ((importTask) task).getValue();
+                roster.addAll(lifters);
+                statusLabel.setText("Imported " + lifters.size() + " lifters");
+            }else{
+                Throwable error = task.getException();
+                statusLabel.setText("Import failed: " + (error == null ? "unknown error" : error.getMessage()));
+            }
+        }
+    }
+
+    /** Open another platform in its own window, judging the same roster alongside this one */
+    private class platformButtonHandler implements EventHandler<ActionEvent>{
+        @Override
+        public void handle(ActionEvent e){
+            JudgePane platform = new JudgePane(roster, updates, deadlines, scoreboard, history, projections, plates);
+            Stage stage = new Stage();
+            stage.setScene(new Scene(platform, App.WINSIZE_X, App.WINSIZE_Y));
+            stage.setTitle("Powerlifting App - Platform");
+            stage.setOnHidden(new EventHandler<WindowEvent>(){
+                @Override
+                public void handle(WindowEvent event){
+                    platform.dispose();
+                }
+            });
+            stage.show();
+        }
+    }
+
+    /** Take back the most recent change to the roster, whichever platform made it */
+    private class undoButtonHandler implements EventHandler<ActionEvent>{
+        @Override
+        public void handle(ActionEvent e){
+            String change = history.undo();
+            statusLabel.setText(change == null ? "Nothing to undo" : "Undid " + change);
+        }
+    }
+
+    /** Make the most recently undone change again */
+    private class redoButtonHandler implements EventHandler<ActionEvent>{
+        @Override
+        public void handle(ActionEvent e){
+            String change = history.redo();
+            statusLabel.setText(change == null ? "Nothing to redo" : "Redid " + change);
+        }
+    }
+
+    /** Undo on Ctrl+Z and redo on Ctrl+Y or Ctrl+Shift+Z, unless a text field is taking the keys */
+    private class historyKeyHandler implements EventHandler<KeyEvent>{
+        private final KeyCombination undo = new KeyCodeCombination(KeyCode.Z, KeyCombination.SHORTCUT_DOWN);
+        private final KeyCombination redo = new KeyCodeCombination(KeyCode.Y, KeyCombination.SHORTCUT_DOWN);
+        private final KeyCombination shiftRedo = new KeyCodeCombination(KeyCode.Z, KeyCombination.SHORTCUT_DOWN, KeyCombination.SHIFT_DOWN);
+
+        @Override
+        public void handle(KeyEvent event){
+            if(event.getTarget() instanceof TextField){
+                return;
+            }
+            if(undo.match(event)){
+                undoButton.fire();
+                event.consume();
+            }else if(redo.match(event) || shiftRedo.match(event)){
+                redoButton.fire();
+                event.consume();
+            }
+        }
+    }
+
+    /** Start a break between flights, or end one early */
+    private class breakButtonHandler implements EventHandler<ActionEvent>{
+        @Override
+        public void handle(ActionEvent e){
+            if(flightBreak.isRunning()){
+                flightBreak.reset();
+            }else{
+                flightBreak.reset();
+                flightBreak.start();
+            }
+            refreshUpNext();
+        }
+    }
+
+    /** Redraw the break and deadline labels as the meet clock ticks
+     *  Called on the clock thread for every running deadline, so ticks are coalesced into one pending refresh
+     */
+    private class clockListener implements MeetClock.Listener{
+        private final AtomicBoolean refreshPending = new AtomicBoolean();
+
+        @Override
+        public void secondElapsed(MeetClock.Countdown countdown, int secondsLeft){
+            if(refreshPending.compareAndSet(false, true)){
+                Platform.runLater(new Runnable(){
+                    @Override
+                    public void run(){
+                        refreshPending.set(false);
+                        if(liftingOrder != null){
+                            refreshUpNext();
+                            refreshDeadline();
+                        }
+                    }
+                });
+            }
+        }
+
+        @Override
+        public void expired(MeetClock.Countdown countdown){
+            secondElapsed(countdown, 0);
+        }
+    }
+
+    /** Apply roster changes to the lifter list and the judging pane without rebuilding either */
+    private class judgeSubscriber implements RosterUpdates.Subscriber{
+        @Override
+        public void rosterUpdated(RosterUpdates.Batch batch){
+            LifterGroup current = roster.get(divisionCombo.getValue(), weightClassCombo.getValue());
+            ObservableList<Lifter> items = lifterList.getItems();
+            for(Lifter lifter: batch.getRemoved()){
+                items.remove(lifter);
+            }
+            for(Lifter lifter: batch.getMoved()){
+                if(lifter.getGroup() != current){
+                    items.remove(lifter);
+                }else if(!items.contains(lifter)){
+                    items.add(lifter);
+                }
+            }
+            // groups keep entry order, so new lifters belong at the end, appended at once for an import
+            ArrayList<Lifter> added = new ArrayList<Lifter>();
+            for(Lifter lifter: batch.getAdded()){
+                if(lifter.getGroup() == current){
+                    added.add(lifter);
+                }
+            }
+            items.addAll(added);
+
+            if(lifterList.getSelectionModel().isEmpty() && !items.isEmpty()){
+                lifterList.getSelectionModel().select(0);
+            }else if(selectedLifter != null && (!batch.getAttemptsChanged().isEmpty() || !batch.getReranked().isEmpty())){
+                // any lift in the meet can change what the selected lifter needs
+                loadLifter();
+            }
+            refreshUpNext();
+        }
+    }
+
+    /** Load the selected lifter into the judging pane and update the currently selected lifter*/
+    private class lifterSelectedListener implements ChangeListener<Lifter>{
+        @Override
+        public void changed(ObservableValue<? extends Lifter> observable, Lifter oldValue, Lifter newValue) {
+            selectedLifter = newValue;
+            if(selectedLifter != null){
+                loadLifter();
+            }else{
+                clearLifter();
+            }
+        }
+    }
+
+    /** Extract information from the lift edit fields to update one of the currently selected lifter's attempts */
+    private class editSubmissionHandler implements EventHandler<ActionEvent>{
+        @Override
+        public void handle(ActionEvent event) {
+            try{
+                String lift = liftCombo.getValue();
+                int attempt = attemptCombo.getValue().intValue();
+                double weight = Double.parseDouble(attemptInput.getText());
+                AttemptState state = statusCombo.getValue();
+                Metric metric = metricCombo.getValue();
+
+                int liftIndex;
+                if(lift.equals("Squat")){
+                    selectedLifter.setSquat(attempt, weight, state, metric);
+                    liftIndex = AttemptStore.SQUAT;
+                }else if(lift.equals("Bench")){
+                    selectedLifter.setBench(attempt, weight, state, metric);
+                    liftIndex = AttemptStore.BENCH;
+                }else{
+                    selectedLifter.setDeadlift(attempt, weight, state, metric);
+                    liftIndex = AttemptStore.DEADLIFT;
+                }
+
+                // announce a record the moment it is judged good
+                int levels = state == AttemptState.GOOD ? roster.getRecords().broken(selectedLifter, liftIndex, attempt) : 0;
+                statusLabel.setText(levels == 0 ? "" : "New " + RecordBook.describe(levels) + ": " + selectedLifter.getFirstName()
+                        + " " + selectedLifter.getLastName() + ", " + lift + " " + UniversalWeight.format(UniversalWeight.convert(weight, metric, Metric.KG)));
+
+                // once an attempt is judged the order has already moved on, bring up whoever is next
+                if(state != AttemptState.PROJECTION){
+                    advanceToNextLifter();
+                }
+            }catch(Exception e){
+                // TODO update status label
+                // statusLabel.setText("Please fill in all fields");
+            }
+        }
+    }
+
+    /** Automatically load the weight specified in the lift edit input into the plate diagram */
+    private class loadButtonHandler implements EventHandler<ActionEvent>{
+        @Override
+        public void handle(ActionEvent event) {
+            try{
+                plateDiagram.loadNewDiagram(Double.parseDouble(attemptInput.getText()), metricCombo.getValue());
+            }catch(Exception e){}
+        }
+    }
+
+    /** Follow the lifting order of the newly chosen lift */
+    private class liftSelectionHandler implements EventHandler<ActionEvent>{
+        @Override
+        public void handle(ActionEvent event) {
+            resetLiftingOrder();
+        }
+    }
+
+    /** Plan plate changes for the selected lift across the current division and weight class, shown for the loaders */
+    private class loadingChartHandler implements EventHandler<ActionEvent>{
+        @Override
+        public void handle(ActionEvent event) {
+            String lift = liftCombo.getValue();
+            int column = selectedLift();
+            Metric metric = metricCombo.getValue();
+            LifterGroup flight = roster.get(divisionCombo.getValue(), weightClassCombo.getValue());
+            LoadingChart chart = new LoadingChart(plateDiagram.getLoader(metric), flight, column, metric);
+
+            TextArea chartText = new TextArea(chart.getRows().isEmpty() ? "No requested " + lift.toLowerCase() + " attempts in this flight" : chart.toString());
+            chartText.setEditable(false);
+            chartText.setStyle("-fx-font-family: monospace");
+            chartText.setPrefColumnCount(90);
+
+            Dialog<Void> dialogBox = new Dialog<Void>();
+            dialogBox.setTitle("Loading chart");
+            dialogBox.setHeaderText(lift + " - " + divisionCombo.getValue() + " " + weightClassCombo.getValue() + " (plates per side, " + metric + ")");
+            dialogBox.getDialogPane().setContent(chartText);
+            dialogBox.getDialogPane().getButtonTypes().add(ButtonType.CLOSE);
+            dialogBox.setResizable(true);
+            dialogBox.show();
+        }
+    }
+
+    /** Set the current metric to accept weights in including bodyweight and lift weights */
+    private class switchMetricHandler implements EventHandler<ActionEvent>{
+        @Override
+        public void handle(ActionEvent event) {
+            liftEditMetricLabel.setText(metricCombo.getValue().toString());
+        }
+    }
+
+    /** Scale the label fonts to maintain proportionality with the size of the window */
+    private class resizeListener implements ChangeListener<Number>{
+        public void changed(ObservableValue<? extends Number> observable, Number oldValue, Number newValue) {
+            Font resized = new Font(newValue.intValue()/30);
+            squatLabel.fontProperty().set(resized);
+            benchLabel.fontProperty().set(resized);
+            deadliftLabel.fontProperty().set(resized);
+            totalLabel.fontProperty().set(resized);
+        }
+    }
+}
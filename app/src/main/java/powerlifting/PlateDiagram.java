@@ -1,3 +1,5 @@
+package powerlifting;
+
 /** Plate Diagram Widget
  *  Fully scalable plate diagram widget to be embedded into UI
  *  Uses data collected from common weight plate sets to represent half of a loaded bar totaling a specified weight
@@ -27,19 +29,15 @@ import javafx.scene.layout.StackPane;
 
 public class PlateDiagram extends StackPane{
 
+    /** Plates of each preset set and the pairs assumed on hand when the meet's plates file doesn't list them */
+    private static final double[] KG_PLATES = {25, 20, 15, 10, 5, 2.5, 1.25, 0.5, 0.25}, LB_PLATES = {45, 35, 25, 10, 5, 2.5};
+    private static final int[] KG_PAIRS = {8, 1, 1, 1, 1, 1, 1, 1, 1}, LB_PAIRS = {10, 1, 1, 2, 1, 1};
+
     /** Preset weight set using dimensions from kilogram plates */
-    private weightSet kgSet = new weightSet(new double[]{25, 20, 15, 10, 5, 2.5, 1.25, 0.5, 0.25}, 
-                                            new String[]{"red", "blue", "yellow", "green", "white", "black", "silver", "silver", "silver"}, 
-                                            new double[]{6.24, 5.20, 4.85, 4.85, 4.97, 3.70, 2.77, 1.85, 1.39}, 
-                                            new double[]{1.000, 1.000, 0.889, 0.722, 0.507, 0.422, 0.356, 0.298, 0.249},
-                                            20);
+    private weightSet kgSet;
 
     /** Preset weight set using dimensions from poundage plates */
-    private weightSet lbSet = new weightSet(new double[]{45, 35, 25, 10, 5, 2.5}, 
-                                            new String[]{"Silver", "Silver", "Silver", "Silver", "Silver", "Silver"}, 
-                                            new double[]{13.16, 8.08, 8.08, 5.87, 3.67, 2.93}, 
-                                            new double[]{1.000, .806, .601, .5, .439, .354},
-                                            45);
+    private weightSet lbSet;
 
     /** Determines which weight set to load bar with */
     private weightSet selectedSet;
@@ -74,8 +72,25 @@ public class PlateDiagram extends StackPane{
     /** Combo box allowing user to select weight metric */
     private ComboBox<Metric> metricSelector;
 
-    /** Instantiate a new plate diagram in the context of a stackPane */
+    /** Instantiate a new plate diagram in the context of a stackPane, loading from the default plates */
     public PlateDiagram(){
+        this(PlateInventory.DEFAULT);
+    }
+
+    /** Instantiate a new plate diagram in the context of a stackPane, loading only the plates a meet has on hand */
+    public PlateDiagram(PlateInventory inventory){
+        kgSet = new weightSet(KG_PLATES, 
+                              new String[]{"red", "blue", "yellow", "green", "white", "black", "silver", "silver", "silver"}, 
+                              new double[]{6.24, 5.20, 4.85, 4.85, 4.97, 3.70, 2.77, 1.85, 1.39}, 
+                              new double[]{1.000, 1.000, 0.889, 0.722, 0.507, 0.422, 0.356, 0.298, 0.249},
+                              inventory.pairs(Metric.KG, KG_PLATES, KG_PAIRS),
+                              20);
+        lbSet = new weightSet(LB_PLATES, 
+                              new String[]{"Silver", "Silver", "Silver", "Silver", "Silver", "Silver"}, 
+                              new double[]{13.16, 8.08, 8.08, 5.87, 3.67, 2.93}, 
+                              new double[]{1.000, .806, .601, .5, .439, .354},
+                              inventory.pairs(Metric.LB, LB_PLATES, LB_PAIRS),
+                              45);
         // this.setStyle("-fx-background-color: #2a2e2b");
         this.setPadding(new Insets(10, 10, 10, 10));
         // GRIDPANE
@@ -183,6 +198,17 @@ public class PlateDiagram extends StackPane{
         plateArray.clear();
     }
 
+    /** Fail if an inventory lists a plate the diagram has no drawing for */
+    public static void check(PlateInventory inventory){
+        inventory.pairs(Metric.KG, KG_PLATES, KG_PAIRS);
+        inventory.pairs(Metric.LB, LB_PLATES, LB_PAIRS);
+    }
+
+    /** Loading table of the weight set used for a metric */
+    public PlateLoader getLoader(Metric metric){
+        return metric == Metric.KG ? kgSet.loader : lbSet.loader;
+    }
+
     /** Public method to autofill the weight input */
     public void loadNewDiagram(double weight, Metric metric){
         metricSelector.setValue(metric);
@@ -195,25 +221,10 @@ public class PlateDiagram extends StackPane{
         clearPlates();
         if(weight >=selectedSet.barWeight){
 
-            // determine how much weight is to be loaded onto one side
-            double toLoad = (weight-selectedSet.barWeight)/2;
+            // precomputed plates needed on one side, parallel to plateOptions
+            int[] platesNeeded = selectedSet.loader.lookup(weight);
 
-            // parallel array to track the number of each plate type needed
-            int[] platesNeeded = new int[selectedSet.plateOptions.length];
-
-            // determine if combination possible
-            for(int i = 0; i < selectedSet.plateOptions.length; i++){
-
-                // calculate maximum number of plates that can be loaded of the next heaviest weight
-                int numPlates = (int)(toLoad/selectedSet.plateOptions[i]);
-
-                // add number of plates to parallel array
-                platesNeeded[i] = numPlates;
-
-                // subtract from weight to be loaded
-                toLoad -= numPlates * selectedSet.plateOptions[i];
-            }
-            if(toLoad == 0){
+            if(platesNeeded != null){
                 // for each type of plate
                 for(int i = 0; i < platesNeeded.length; i++){
                     // add the number of plates stated in the parallel array
@@ -227,6 +238,8 @@ public class PlateDiagram extends StackPane{
                 addPlate(collar);
                 Plate bar = new Plate("silver", Math.min(93-percentLoaded, 5), .1, 0);
                 addPlate(bar);
+            }else if(weight > selectedSet.loader.maxWeight()){
+                error.setText("Not enough plates for this weight");
             }else{
                 error.setText("Plate combination not possible");
             }
@@ -294,15 +307,23 @@ public class PlateDiagram extends StackPane{
         /** scale of each plate's height relative to the tallest plate in the set - parallel to plateOptions (0 to 1)*/
         double[] heightFactors;
         
+        /** Pairs of each plate on hand - parallel to plateOptions */
+        int[] inventory;
+
         /** The weight of a bar used for this set, consistent with the plateOption metric */
         int barWeight;
+
+        /** Loading of every weight this set and bar can make, built once so keystrokes only look it up */
+        PlateLoader loader;
         
-        public weightSet(double[] plateOptions, String[] colors, double[] widthPercentages, double[] heightFactors, int barWeight){
+        public weightSet(double[] plateOptions, String[] colors, double[] widthPercentages, double[] heightFactors, int[] inventory, int barWeight){
             this.plateOptions = plateOptions;
             this.colors = colors;
             this.widthPercentages = widthPercentages;
             this.heightFactors = heightFactors;
+            this.inventory = inventory;
             this.barWeight = barWeight;
+            this.loader = new PlateLoader(plateOptions, inventory, barWeight);
         }
     }
 
@@ -358,11 +379,11 @@ public class PlateDiagram extends StackPane{
                 // determine which metric to interpret value with
                 if(metricSelector.getValue() == Metric.KG){
                     // input in kgs
-                    alternateMetric.setText(String.format("%.2f", inputVal*2.205) + " lbs");
+                    alternateMetric.setText(String.format("%.2f", UniversalWeight.convert(inputVal, Metric.KG, Metric.LB)) + " lbs");
                     loadPlates(inputVal);
                 }else{
                     // input in lbs
-                    alternateMetric.setText(String.format("%.2f", inputVal/2.205) + " kgs");
+                    alternateMetric.setText(String.format("%.2f", UniversalWeight.convert(inputVal, Metric.LB, Metric.KG)) + " kgs");
                     loadPlates(inputVal);
                 }
             }catch(NumberFormatException e){
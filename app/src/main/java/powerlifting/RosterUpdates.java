@@ -0,0 +1,152 @@
+package powerlifting;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import javafx.application.Platform;
+
+/** Gathers the roster's change events into batches delivered to the panes once per JavaFX pulse
+ *  Any number of edits made while handling one user action reach subscribers as a single batch,
+ *  with each lifter appearing at most once per kind of change. Events may arrive from any thread;
+ *  batches are always delivered on the JavaFX thread.
+ */
+public class RosterUpdates implements RosterListener {
+
+    /** Receives each batch on the JavaFX thread */
+    public interface Subscriber {
+        void rosterUpdated(Batch batch);
+    }
+
+    /** The lifters touched since the previous delivery, grouped by what happened to them */
+    public static class Batch {
+        private final LinkedHashSet<Lifter> added = new LinkedHashSet<Lifter>();
+        private final LinkedHashSet<Lifter> removed = new LinkedHashSet<Lifter>();
+        private final LinkedHashSet<Lifter> moved = new LinkedHashSet<Lifter>();
+        private final LinkedHashSet<Lifter> attemptsChanged = new LinkedHashSet<Lifter>();
+        private final LinkedHashSet<Lifter> bestChanged = new LinkedHashSet<Lifter>();
+
+        /** Lifters entered into the roster, filed under their current group */
+        public Set<Lifter> getAdded(){
+            return Collections.unmodifiableSet(added);
+        }
+
+        /** Lifters withdrawn from the roster, no longer filed anywhere */
+        public Set<Lifter> getRemoved(){
+            return Collections.unmodifiableSet(removed);
+        }
+
+        /** Lifters whose age or bodyweight changed, possibly refiling them under another division or weight class */
+        public Set<Lifter> getMoved(){
+            return Collections.unmodifiableSet(moved);
+        }
+
+        /** Lifters with any attempt recorded */
+        public Set<Lifter> getAttemptsChanged(){
+            return Collections.unmodifiableSet(attemptsChanged);
+        }
+
+        /** Lifters whose best lift, and therefore placing, changed */
+        public Set<Lifter> getBestChanged(){
+            return Collections.unmodifiableSet(bestChanged);
+        }
+
+        /** Every lifter whose position in a standings list may have changed */
+        public Set<Lifter> getReranked(){
+            LinkedHashSet<Lifter> reranked = new LinkedHashSet<Lifter>(removed);
+            reranked.addAll(moved);
+            reranked.addAll(added);
+            reranked.addAll(bestChanged);
+            return reranked;
+        }
+
+        public boolean isEmpty(){
+            return added.isEmpty() && removed.isEmpty() && moved.isEmpty() && attemptsChanged.isEmpty();
+        }
+    }
+
+    private final ArrayList<Subscriber> subscribers;
+
+    /** Batch being gathered for the next delivery, guarded by this */
+    private Batch pending;
+
+    /** Whether a delivery has already been queued on the JavaFX thread, guarded by this */
+    private boolean scheduled;
+
+    public RosterUpdates(Roster roster){
+        this.subscribers = new ArrayList<Subscriber>();
+        this.pending = new Batch();
+        roster.addListener(this);
+    }
+
+    public void subscribe(Subscriber subscriber){
+        subscribers.add(subscriber);
+    }
+
+    public void unsubscribe(Subscriber subscriber){
+        subscribers.remove(subscriber);
+    }
+
+    @Override
+    public synchronized void lifterAdded(Lifter lifter){
+        pending.added.add(lifter);
+        schedule();
+    }
+
+    @Override
+    public synchronized void lifterRemoved(Lifter lifter){
+        // a lifter entered and withdrawn within one batch never needs to be shown
+        if(!pending.added.remove(lifter)){
+            pending.removed.add(lifter);
+        }
+        pending.moved.remove(lifter);
+        pending.attemptsChanged.remove(lifter);
+        pending.bestChanged.remove(lifter);
+        schedule();
+    }
+
+    @Override
+    public synchronized void attemptChanged(Lifter lifter, int lift, int attempt){
+        pending.attemptsChanged.add(lifter);
+        schedule();
+    }
+
+    @Override
+    public synchronized void bestLiftChanged(Lifter lifter, int lift){
+        pending.bestChanged.add(lifter);
+        schedule();
+    }
+
+    @Override
+    public synchronized void lifterMoved(Lifter lifter, LifterGroup from){
+        pending.moved.add(lifter);
+        schedule();
+    }
+
+    /** Queue one delivery for however many events arrive before it runs */
+    private void schedule(){
+        if(!scheduled){
+            scheduled = true;
+            Platform.runLater(new Runnable(){
+                public void run(){
+                    deliver();
+                }
+            });
+        }
+    }
+
+    private void deliver(){
+        Batch batch;
+        synchronized(this){
+            batch = pending;
+            pending = new Batch();
+            scheduled = false;
+        }
+        if(batch.isEmpty()){
+            return;
+        }
+        for(int i = 0; i < subscribers.size(); i++){
+            subscribers.get(i).rosterUpdated(batch);
+        }
+    }
+}
@@ -0,0 +1,555 @@
+package powerlifting;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
+import javafx.concurrent.WorkerStateEvent;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.geometry.HPos;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.geometry.VPos;
+import javafx.scene.control.Button;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Dialog;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextArea;
+import javafx.scene.layout.ColumnConstraints;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.RowConstraints;
+import javafx.util.Callback;
+
+public class StandingsPane extends GridPane{
+    TableView<Lifter> table;
+    ComboBox<ScoreComparator> sort;
+    ComboBox<Division> divisionCombo;
+    ComboBox<WeightClass> weightClassCombo;
+    Button report;
+    ComboBox<ReportFormat> reportFormat;
+    ProgressBar reportProgress;
+    Label reportStatus;
+    Button bestLifter;
+    Button oddsButton;
+    Label oddsStatus;
+    Roster roster;
+
+    /** Places listed for each best-lifter award */
+    private static final int AWARD_PLACES = 10;
+
+    /** Best lifters of the meet by IPF GL points, overall and among Masters by age adjusted points, kept as the meet runs */
+    private final Leaderboard bestLifters;
+    private final Leaderboard mastersBestLifters;
+
+    /** Group on display and the criterion it is ranked by */
+    private LifterGroup currentGroup;
+    private ScoreComparator currentSort;
+
+    /** Lifters of the current group in standing order, backing the table */
+    private final ObservableList<Lifter> currentList;
+
+    /** Writes reports one at a time off the JavaFX thread */
+    private final ExecutorService reportExecutor;
+
+    /** Simulates the rest of the meet for the podium odds columns, shown once asked for */
+    private final PlacingSimulator simulator;
+    private final ArrayList<TableColumn<Lifter, String>> oddsColumns;
+    private boolean showOdds;
+
+    /** Simulation of the group on display, and the latest odds it has reported */
+    private PlacingSimulator.Simulation simulation;
+    private oddsListener currentOdds;
+    private PlacingSimulator.Result odds;
+
+    /** Seed every simulation starts from, so the same standing always shows the same odds */
+    private static final long ODDS_SEED = 42;
+
+    public StandingsPane(Roster roster, RosterUpdates updates){
+        this.roster = roster;
+        this.reportExecutor = Executors.newSingleThreadExecutor(new reportThreadFactory());
+        this.currentList = FXCollections.observableArrayList();
+        this.simulator = new PlacingSimulator();
+        this.oddsColumns = new ArrayList<TableColumn<Lifter, String>>();
+        this.bestLifters = new Leaderboard(roster, Standings.IPF_GL, AWARD_PLACES);
+        this.mastersBestLifters = new Leaderboard(roster, Standings.MASTERS_IPF_GL, AWARD_PLACES, lifter -> lifter.getDivsion().isMasters());
+        updates.subscribe(new standingsSubscriber());
+        this.setPadding(new Insets(5, 5, 5, 5));
+        this.setGridLinesVisible(true);
+
+        // CONSTRAINTS
+        // Position column
+        ColumnConstraints c1 = new ColumnConstraints();
+        c1.setPercentWidth(5);
+        c1.setHalignment(HPos.CENTER);
+        
+        // Fields
+        ColumnConstraints c2 = new ColumnConstraints();
+        c2.setPercentWidth(19);
+        c2.setHalignment(HPos.CENTER);
+
+        // Upper and lower controls
+        RowConstraints r1 = new RowConstraints();
+        r1.setPercentHeight(7.5);
+        r1.setValignment(VPos.CENTER);
+
+        // Standings table
+        RowConstraints r2 = new RowConstraints();
+        r2.setPercentHeight(92.5);
+
+        this.getColumnConstraints().addAll(c1, c2, c2, c2, c2, c2);
+        this.getRowConstraints().addAll(r2, r1);
+
+        // ADD ELEMENTS
+        // the table only builds cells for visible rows, and only the rows of a changed lifter are redrawn
+        table = new TableView<Lifter>(currentList);
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+        table.setFixedCellSize(25);
+        table.setPlaceholder(new Label("No lifters in this division and weight class"));
+
+        TableColumn<Lifter, Lifter> rank = new TableColumn<Lifter, Lifter>("Rank");
+        rank.setCellValueFactory(new lifterValueFactory());
+        rank.setCellFactory(new rankCellFactory());
+        rank.setSortable(false);
+        // constrained resizing shares the width out in proportion to the preferred widths
+        rank.setPrefWidth(5);
+        table.getColumns().add(rank);
+        table.getColumns().add(standingsColumn("Name", NAME, 19));
+        table.getColumns().add(standingsColumn("Squat", AttemptStore.SQUAT, 19));
+        table.getColumns().add(standingsColumn("Bench Press", AttemptStore.BENCH, 19));
+        table.getColumns().add(standingsColumn("Deadlift", AttemptStore.DEADLIFT, 19));
+        table.getColumns().add(standingsColumn("Total", TOTAL, 19));
+        for(int place = 1; place <= PlacingSimulator.PODIUM; place++){
+            TableColumn<Lifter, String> column = new TableColumn<Lifter, String>(place == 1 ? "1st %" : place == 2 ? "2nd %" : "3rd %");
+            column.setCellValueFactory(new oddsValueFactory(place));
+            column.setSortable(false);
+            column.setPrefWidth(6);
+            column.setVisible(false);
+            oddsColumns.add(column);
+        }
+        table.getColumns().addAll(oddsColumns);
+
+        
+        Label sortBy = new Label("Sort by");
+        sort = new ComboBox<ScoreComparator>();
+        sort.getItems().addAll(Standings.TOTAL, Standings.SQUAT, Standings.BENCH, Standings.DEADLIFT,
+                Standings.DOTS, Standings.WILKS, Standings.IPF_GL,
+                Standings.MASTERS_DOTS, Standings.MASTERS_WILKS, Standings.MASTERS_IPF_GL);
+        sort.setValue(Standings.TOTAL);
+        sort.setOnAction(new sortingHandler());
+        FlowPane sorting = new FlowPane(sortBy, sort);
+        sorting.setAlignment(Pos.CENTER);
+        sorting.setHgap(5);
+
+        Label divisionLabel = new Label("Division");
+        divisionCombo = new ComboBox<Division>();
+        divisionCombo.getItems().addAll(Division.values());
+        divisionCombo.setValue(Division.SUB_JUNIOR);
+        divisionCombo.setOnAction(new selectionHandler());
+        FlowPane divisionSelection = new FlowPane(divisionLabel, divisionCombo);
+        divisionSelection.setAlignment(Pos.CENTER);
+        divisionSelection.setHgap(5);
+
+        Label weightClassLabel = new Label("Weight Class");
+        weightClassCombo = new ComboBox<WeightClass>();
+        weightClassCombo.getItems().addAll(WeightClass.values());
+        weightClassCombo.setValue(WeightClass.KG59);
+        weightClassCombo.setOnAction(new selectionHandler());
+        FlowPane weightClassSelection = new FlowPane(weightClassLabel, weightClassCombo);
+        weightClassSelection.setAlignment(Pos.CENTER);
+        weightClassSelection.setHgap(5);
+
+        report = new Button("Compile meet report");
+        report.setOnAction(new compileReportHandler());
+        reportFormat = new ComboBox<ReportFormat>();
+        reportFormat.getItems().addAll(ReportFormat.values());
+        reportFormat.setValue(ReportFormat.TEXT);
+        bestLifter = new Button("Best lifter");
+        bestLifter.setOnAction(new bestLifterHandler());
+        oddsButton = new Button("Podium odds");
+        oddsButton.setOnAction(new oddsButtonHandler());
+        oddsStatus = new Label();
+        FlowPane reporting = new FlowPane(reportFormat, report, bestLifter, oddsButton, oddsStatus);
+        reporting.setAlignment(Pos.CENTER);
+        reporting.setHgap(5);
+
+        reportProgress = new ProgressBar(0);
+        reportProgress.setVisible(false);
+        reportStatus = new Label();
+        FlowPane reportState = new FlowPane(reportProgress, reportStatus);
+        reportState.setAlignment(Pos.CENTER);
+        reportState.setHgap(5);
+
+        this.add(table, 0, 0, 6, 1);
+        this.add(sorting, 1, 1);
+        this.add(divisionSelection, 2, 1);
+        this.add(weightClassSelection, 3, 1);
+        this.add(reportState, 4, 1);
+        this.add(reporting, 5, 1);
+        // compile function
+        // save/load roster
+    }
+
+    /** Column keys besides the lift offsets of AttemptStore */
+    private static final int NAME = -1, TOTAL = -2;
+
+    /** A text column showing one field of each lifter, formatted only when its cell is visible */
+    private TableColumn<Lifter, String> standingsColumn(String title, int field, double width){
+        TableColumn<Lifter, String> column = new TableColumn<Lifter, String>(title);
+        column.setCellValueFactory(new fieldValueFactory(field));
+        column.setSortable(false);
+        column.setPrefWidth(width);
+        return column;
+    }
+
+    /** Read the selected group's maintained ranking for the selected criterion, leaving the group's own order untouched */
+    private void rankCurrentList(){
+        currentGroup = roster.get(divisionCombo.getValue(), weightClassCombo.getValue());
+        currentSort = sort.getValue();
+        currentList.setAll(currentGroup.standings(currentSort));
+    }
+
+    /** Keep the table in step with the roster, touching only the rows of lifters whose placing may have changed */
+    private class standingsSubscriber implements RosterUpdates.Subscriber{
+        @Override
+        public void rosterUpdated(RosterUpdates.Batch batch){
+            if(currentGroup == null){
+                return;
+            }
+            Set<Lifter> reranked = batch.getReranked();
+            if(showOdds && (touches(reranked) || touches(batch.getAttemptsChanged()))){
+                // a requested attempt changes the odds without moving anyone in the standings
+                simulate();
+            }
+            ArrayList<Lifter> placed = new ArrayList<Lifter>();
+            for(Lifter lifter: reranked){
+                if(lifter.getGroup() == currentGroup){
+                    placed.add(lifter);
+                }
+            }
+            if(placed.size() > currentList.size() / 2){
+                // most of the table changed, reading the ranking is cheaper than moving rows one by one
+                currentList.setAll(currentGroup.standings(currentSort));
+                return;
+            }
+
+            // lift every affected row out, then drop each back in at its final placing, best first,
+            // so the rows above each insertion are already where they belong
+            currentList.removeAll(reranked);
+            HashMap<Lifter, Integer> ranks = new HashMap<Lifter, Integer>();
+            for(int i = 0; i < placed.size(); i++){
+                ranks.put(placed.get(i), currentGroup.rank(currentSort, placed.get(i)));
+            }
+            Collections.sort(placed, new rankOrder(ranks));
+            boolean consistent = true;
+            for(int i = 0; i < placed.size(); i++){
+                int index = ranks.get(placed.get(i)) - 1;
+                if(index < 0 || index > currentList.size()){
+                    consistent = false;
+                    break;
+                }
+                currentList.add(index, placed.get(i));
+            }
+            // a platform on another thread may have moved lifters whose events are still on the way,
+            // in which case rows can't be placed reliably until they arrive, so reread instead
+            if(!consistent || currentList.size() != currentGroup.size()){
+                currentList.setAll(currentGroup.standings(currentSort));
+            }
+        }
+    }
+
+    /** Whether any of the lifters belongs to the group on display */
+    private boolean touches(Set<Lifter> lifters){
+        for(Lifter lifter: lifters){
+            if(lifter.getGroup() == currentGroup){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Start simulating the group on display, abandoning any simulation of an earlier standing */
+    private void simulate(){
+        if(currentGroup == null){
+            rankCurrentList();
+        }
+        if(simulation != null){
+            simulation.cancel();
+        }
+        currentOdds = new oddsListener();
+        simulation = simulator.start(currentGroup, PlacingSimulator.DEFAULT_TRIALS, ODDS_SEED, currentOdds);
+    }
+
+    /** Receives partial odds on the simulation's threads and shows the latest on the JavaFX thread, once per pulse */
+    private class oddsListener implements Consumer<PlacingSimulator.Result>{
+        private final AtomicReference<PlacingSimulator.Result> latest = new AtomicReference<PlacingSimulator.Result>();
+
+        @Override
+        public void accept(PlacingSimulator.Result result){
+            if(latest.getAndSet(result) == null){
+                Platform.runLater(() -> show(latest.getAndSet(null)));
+            }
+        }
+
+        private void show(PlacingSimulator.Result result){
+            // odds of a standing that has since changed are dropped
+            if(this != currentOdds || result == null){
+                return;
+            }
+            odds = result;
+            oddsStatus.setText(result.isComplete() ? String.format("Odds from %,d simulations", result.getTrials())
+                    : String.format("Simulating... %,d of %,d", result.getTrials(), result.getPlannedTrials()));
+            table.refresh();
+        }
+    }
+
+    /** Shows the podium odds columns and keeps them current as the group on display changes */
+    private class oddsButtonHandler implements EventHandler<ActionEvent>{
+        @Override
+        public void handle(ActionEvent event){
+            showOdds = !showOdds;
+            for(TableColumn<Lifter, String> column: oddsColumns){
+                column.setVisible(showOdds);
+            }
+            oddsButton.setText(showOdds ? "Hide odds" : "Podium odds");
+            if(showOdds){
+                simulate();
+            }else{
+                if(simulation != null){
+                    simulation.cancel();
+                }
+                currentOdds = null;
+                odds = null;
+                oddsStatus.setText("");
+            }
+        }
+    }
+
+    /** Orders lifters by placings read once up front */
+    private static class rankOrder implements Comparator<Lifter>{
+        private final HashMap<Lifter, Integer> ranks;
+
+        private rankOrder(HashMap<Lifter, Integer> ranks){
+            this.ranks = ranks;
+        }
+
+        @Override
+        public int compare(Lifter a, Lifter b){
+            return Integer.compare(ranks.get(a), ranks.get(b));
+        }
+    }
+
+    /** Hands each row's lifter to the cell, used by the rank column which reads its placement from the row */
+    private static class lifterValueFactory implements Callback<TableColumn.CellDataFeatures<Lifter, Lifter>, ObservableValue<Lifter>>{
+        @Override
+        public ObservableValue<Lifter> call(TableColumn.CellDataFeatures<Lifter, Lifter> features){
+            return new ReadOnlyObjectWrapper<Lifter>(features.getValue());
+        }
+    }
+
+    /** Formats one field of a row's lifter */
+    private static class fieldValueFactory implements Callback<TableColumn.CellDataFeatures<Lifter, String>, ObservableValue<String>>{
+        private final int field;
+
+        private fieldValueFactory(int field){
+            this.field = field;
+        }
+
+        @Override
+        public ObservableValue<String> call(TableColumn.CellDataFeatures<Lifter, String> features){
+            Lifter lifter = features.getValue();
+            String text;
+            if(field == NAME){
+                text = lifter.getFirstName() + " " + lifter.getLastName();
+            }else if(field == TOTAL){
+                text = lifter.printTotal();
+            }else if(field == AttemptStore.SQUAT){
+                text = lifter.getMaxSquat().weightString();
+            }else if(field == AttemptStore.BENCH){
+                text = lifter.getMaxBench().weightString();
+            }else{
+                text = lifter.getMaxDeadlift().weightString();
+            }
+            return new ReadOnlyObjectWrapper<String>(text);
+        }
+    }
+
+    /** Formats a row's chance of one podium place from the latest odds, blank until the lifter has been simulated */
+    private class oddsValueFactory implements Callback<TableColumn.CellDataFeatures<Lifter, String>, ObservableValue<String>>{
+        private final int place;
+
+        private oddsValueFactory(int place){
+            this.place = place;
+        }
+
+        @Override
+        public ObservableValue<String> call(TableColumn.CellDataFeatures<Lifter, String> features){
+            double probability = odds == null ? Double.NaN : odds.probability(features.getValue(), place);
+            return new ReadOnlyObjectWrapper<String>(Double.isNaN(probability) ? "" : String.format("%.1f", probability * 100));
+        }
+    }
+
+    /** Shows the placement of whichever row the cell is currently used for */
+    private static class rankCellFactory implements Callback<TableColumn<Lifter, Lifter>, TableCell<Lifter, Lifter>>{
+        @Override
+        public TableCell<Lifter, Lifter> call(TableColumn<Lifter, Lifter> column){
+            return new TableCell<Lifter, Lifter>(){
+                @Override
+                protected void updateItem(Lifter lifter, boolean empty){
+                    super.updateItem(lifter, empty);
+                    setText(empty || lifter == null ? null : Integer.toString(getIndex() + 1));
+                }
+
+                @Override
+                public void updateIndex(int index){
+                    super.updateIndex(index);
+                    setText(isEmpty() || getItem() == null ? null : Integer.toString(index + 1));
+                }
+            };
+        }
+    }
+
+    /** List the best lifters of the meet, read straight off the leaderboards kept as the meet runs */
+    private class bestLifterHandler implements EventHandler<ActionEvent>{
+        @Override
+        public void handle(ActionEvent event){
+            StringBuilder text = new StringBuilder();
+            appendAward(text, "Best lifter", bestLifters);
+            text.append(System.lineSeparator());
+            appendAward(text, "Best Masters lifter", mastersBestLifters);
+
+            TextArea awardText = new TextArea(text.toString());
+            awardText.setEditable(false);
+            awardText.setStyle("-fx-font-family: monospace");
+            awardText.setPrefColumnCount(70);
+
+            Dialog<Void> dialogBox = new Dialog<Void>();
+            dialogBox.setTitle("Best lifter");
+            dialogBox.setHeaderText("Best lifters across every division and weight class");
+            dialogBox.getDialogPane().setContent(awardText);
+            dialogBox.getDialogPane().getButtonTypes().add(ButtonType.CLOSE);
+            dialogBox.setResizable(true);
+            dialogBox.show();
+        }
+
+        /** One award's places, with the points each lifter scored */
+        private void appendAward(StringBuilder text, String title, Leaderboard board){
+            ArrayList<Lifter> top;
+            double[] scores;
+            // read both under the board's lock so places and points match
+            synchronized(board){
+                top = board.top();
+                scores = board.scores();
+            }
+            text.append(title).append(" (").append(board.getComparator()).append(")").append(System.lineSeparator());
+            if(top.isEmpty()){
+                text.append("  No eligible lifters").append(System.lineSeparator());
+            }
+            for(int i = 0; i < top.size(); i++){
+                Lifter lifter = top.get(i);
+                text.append(String.format("%3d. %-28s %-12s %-16s %8.2f", i + 1, lifter.getFirstName() + " " + lifter.getLastName(),
+                        lifter.getDivsion(), lifter.getWeightClass(), scores[i])).append(System.lineSeparator());
+            }
+        }
+    }
+
+    private class selectionHandler implements EventHandler<ActionEvent>{
+        @Override
+        public void handle(ActionEvent event) {
+            rankCurrentList();
+            if(showOdds){
+                simulate();
+            }
+        }
+    }
+
+    private class sortingHandler implements EventHandler<ActionEvent>{
+        @Override
+        public void handle(ActionEvent event) {
+            rankCurrentList();
+        }
+    }
+
+    /** Snapshot the roster on the JavaFX thread, then write the report in the background */
+    private class compileReportHandler implements EventHandler<ActionEvent>{
+        @Override
+        public void handle(ActionEvent event) {
+            reportTask task = new reportTask(MeetSnapshot.of(roster), reportFormat.getValue());
+            report.setDisable(true);
+            reportProgress.setVisible(true);
+            reportProgress.progressProperty().bind(task.progressProperty());
+            reportStatus.setText("Writing report...");
+            task.setOnSucceeded(new reportDoneHandler());
+            task.setOnFailed(new reportDoneHandler());
+            reportExecutor.submit(task);
+        }
+    }
+
+    /** Writes one report file, reporting progress back to the JavaFX thread */
+    private static class reportTask extends Task<Path>{
+        private final MeetSnapshot snapshot;
+        private final ReportFormat format;
+
+        private reportTask(MeetSnapshot snapshot, ReportFormat format){
+            this.snapshot = snapshot;
+            this.format = format;
+        }
+
+        @Override
+        protected Path call() throws Exception {
+            return MeetReport.writeFile(snapshot, format, Paths.get(""), new MeetReport.ProgressListener(){
+                public void progress(long done, long total){
+                    updateProgress(done, total);
+                }
+            });
+        }
+    }
+
+    /** Restore the report controls and show where the report went or why it failed */
+    private class reportDoneHandler implements EventHandler<WorkerStateEvent>{
+        @Override
+        public void handle(WorkerStateEvent event) {
+            Task<?> task = (Task<?>) event.getSource();
+            reportProgress.progressProperty().unbind();
+            reportProgress.setVisible(false);
+            report.setDisable(false);
+            if(task.getState() == Worker.State.SUCCEEDED){
+                reportStatus.setText("Saved " + task.getValue());
+            }else{
+                Throwable error = task.getException();
+                reportStatus.setText("Report failed: " + (error == null ? "unknown error" : error.getMessage()));
+            }
+        }
+    }
+
+    /** Daemon threads so a report in progress never keeps the application open */
+    private static class reportThreadFactory implements ThreadFactory{
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "meet-report");
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
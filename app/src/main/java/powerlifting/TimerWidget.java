@@ -1,5 +1,8 @@
+package powerlifting;
+
 /** Timer Widget 
  *  Fully scalable timer widget to be embedded into UI
+ *  The time shown is read off a MeetClock countdown, so it stays exact even when the FX thread falls behind
  *  Author: Ben Jordan 
  */
 
@@ -10,8 +13,8 @@ import javafx.scene.layout.GridPane;
 import javafx.scene.layout.RowConstraints;
 import javafx.scene.layout.StackPane;
 import javafx.scene.text.Font;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
@@ -20,30 +23,29 @@ import javafx.event.EventHandler;
 import javafx.geometry.HPos;
 import javafx.geometry.Insets;
 import javafx.geometry.VPos;
-import javafx.util.Duration;
 
 public class TimerWidget extends StackPane{
 
     private GridPane gridPane;
     private Label clock;
     private int originalTime;
-    private int curTime;
-    private boolean isPaused;
-    private Timeline tl;
+    private MeetClock.Countdown countdown;
+    /** Set while a clockface refresh is queued on the FX thread, so a busy UI never builds up a backlog of them */
+    private final AtomicBoolean refreshPending;
     private Button pausePlay;
     private Button reset;
     private Button increment;
     private Button decrement;
 
-    /** Construct a TimerWidget Object which starts with the number of seconds passed in
+    /** Construct a TimerWidget Object which starts with the number of seconds passed in, counted down by a meet clock
      * Precondition: seconds > 0
     */
-    public TimerWidget(int seconds){
+    public TimerWidget(MeetClock meetClock, int seconds){
         // this.setStyle("-fx-background-color: #2a2e2b");
         this.setPadding(new Insets(10, 10, 10, 10));
-        // create refresh timeline
-        this.tl = new Timeline(new KeyFrame(Duration.millis(1000), new tickHandler()));
-        tl.setCycleCount(Timeline.INDEFINITE);
+        // countdown driven by the meet's shared clock thread
+        this.refreshPending = new AtomicBoolean();
+        this.countdown = meetClock.countdown(seconds, new tickListener());
 
         // CLOCKFACE
         this.originalTime = seconds;
@@ -104,21 +106,29 @@ public class TimerWidget extends StackPane{
 
     /** reset the clock to the current original value */
     private void initialize(){
-        pause();
-        clock.setText(formatTime(originalTime));
-        curTime = originalTime;
+        countdown.reset(originalTime);
+        refresh();
     }
 
     /** Start the timer */
     private void resume(){
-        isPaused = false;
-        tl.play();
+        countdown.start();
     }
 
     /** Pause the timer */
     private void pause(){
-        isPaused = true;
-        tl.pause();
+        countdown.pause();
+        refresh();
+    }
+
+    /** Stop the timer and leave the meet clock, once the pane holding it is gone */
+    public void dispose(){
+        countdown.pause();
+    }
+
+    /** Show the time left on the countdown */
+    private void refresh(){
+        clock.setText(formatTime(countdown.secondsLeft()));
     }
 
     /** Update the originalTime value and reset the clock */
@@ -130,7 +140,7 @@ public class TimerWidget extends StackPane{
     // Utility methods 
 
     /**update the clockface given a number of seconds*/
-    private static String formatTime(int timeSecs){
+    static String formatTime(int timeSecs){
         int minutes = timeSecs/60;
         // add padding to seconds
         String seconds = String.format("%02d", timeSecs%60);
@@ -151,24 +161,34 @@ public class TimerWidget extends StackPane{
 
     // Event Handlers and listeners
 
-    /** Decrement the timer on every cycle of the timeline */
-    private class tickHandler implements EventHandler<ActionEvent>{
-        public void handle(ActionEvent event){
-            curTime --;
-            clock.setText(formatTime(curTime));
-            if(curTime == 0){
-            tl.pause();
+    /** Redraw the clockface whenever the countdown's second changes, coalescing refreshes the FX thread has not got to yet */
+    private class tickListener implements MeetClock.Listener{
+        @Override
+        public void secondElapsed(MeetClock.Countdown countdown, int secondsLeft){
+            if(refreshPending.compareAndSet(false, true)){
+                Platform.runLater(new Runnable(){
+                    @Override
+                    public void run(){
+                        refreshPending.set(false);
+                        refresh();
+                    }
+                });
             }
         }
+
+        @Override
+        public void expired(MeetClock.Countdown countdown){
+            secondElapsed(countdown, 0);
+        }
     }
 
     /** Toggle pause/play on the timer */
     private class pausePlayHandler implements EventHandler<ActionEvent>{
         public void handle(ActionEvent event){
-            if(isPaused){
-                resume();
-            }else{
+            if(countdown.isRunning()){
                 pause();
+            }else{
+                resume();
             }
         }
     }
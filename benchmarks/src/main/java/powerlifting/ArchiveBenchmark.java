@@ -0,0 +1,91 @@
+package powerlifting;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Querying years of past results held in a memory-mapped archive */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ArchiveBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int results;
+
+    private Path file;
+    private ResultsArchive archive;
+    private int lifters;
+    private Random random;
+
+    @Setup
+    public void setup() throws IOException {
+        random = new Random(42);
+        lifters = results / 10;
+        ResultsArchive.Builder builder = new ResultsArchive.Builder();
+        for(int i = 0; i < results; i++){
+            int lifter = random.nextInt(lifters);
+            builder.add("First" + lifter, "Last" + lifter, "Springfield", 20000101 + random.nextInt(25) * 10000 + random.nextInt(12) * 100 + random.nextInt(28),
+                    Division.fromIndex(random.nextInt(Division.values().length)), WeightClass.fromIndex(random.nextInt(WeightClass.values().length)),
+                    2.5 * (40 + random.nextInt(120)), 2.5 * (20 + random.nextInt(80)), 2.5 * (50 + random.nextInt(140)));
+        }
+        file = Files.createTempFile("results", ".plra");
+        builder.write(file);
+        archive = ResultsArchive.open(file);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /** A class record over all years, scanning one division and weight class */
+    @Benchmark
+    public int classRecord(){
+        return archive.best(Division.OPEN, WeightClass.KG83, ResultsArchive.TOTAL, 0, 99991231);
+    }
+
+    /** Results in a weight band over a decade of one class */
+    @Benchmark
+    public int rangeCount(){
+        return archive.count(Division.OPEN, WeightClass.KG83, AttemptStore.SQUAT, 150, 250, 20100101, 20191231);
+    }
+
+    /** The best total of every class over all years, a scan of the whole total column */
+    @Benchmark
+    public double allClassRecords(){
+        double sum = 0;
+        for(Division division: Division.values()){
+            for(WeightClass weightClass: WeightClass.values()){
+                int row = archive.best(division, weightClass, ResultsArchive.TOTAL, 0, 99991231);
+                sum += row < 0 ? 0 : archive.weight(row, ResultsArchive.TOTAL);
+            }
+        }
+        return sum;
+    }
+
+    /** Looking a lifter up by name and reading their previous best total */
+    @Benchmark
+    public int previousBest(){
+        int lifter = random.nextInt(lifters);
+        int id = archive.findLifter("First" + lifter, "Last" + lifter, "Springfield");
+        return id < 0 ? -1 : archive.personalBest(id, ResultsArchive.TOTAL);
+    }
+}
@@ -0,0 +1,62 @@
+package powerlifting;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Logging attempts for undo, and undoing and redoing one, as the roster grows */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class HistoryBenchmark {
+
+    @Param({"100", "10000", "50000"})
+    public int rosterSize;
+
+    private ArrayList<Lifter> lifters;
+    private RosterHistory history;
+    private int next;
+    private double weight;
+
+    @Setup
+    public void setup(){
+        lifters = Rosters.generate(rosterSize, 42);
+        Roster roster = new Roster(lifters.get(0).getStore());
+        roster.addAll(lifters);
+        history = RosterHistory.attach(roster);
+        for(int i = 0; i < RosterHistory.DEFAULT_LIMIT; i++){
+            judge();
+        }
+        weight = 100;
+    }
+
+    /** A judged attempt, logged for undo with the history full */
+    @Benchmark
+    public Lifter judge(){
+        Lifter lifter = lifters.get(next);
+        next = next + 1 == rosterSize ? 0 : next + 1;
+        weight = weight >= 300 ? 100 : weight + 2.5;
+        lifter.setSquat(1, weight, AttemptState.GOOD, Metric.KG);
+        return lifter;
+    }
+
+    /** Taking back the last attempt and making it again, leaving the history as it was */
+    @Benchmark
+    public String undoRedo(){
+        history.undo();
+        return history.redo();
+    }
+}
@@ -0,0 +1,64 @@
+package powerlifting;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Importing a registration spreadsheet, from bytes to lifters filed in the roster */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ImportBenchmark {
+
+    @Param({"1000", "10000"})
+    public int rows;
+
+    private ByteBuffer csv;
+
+    @Setup
+    public void setup(){
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder("Name,Age,Hometown,Bodyweight,Metric,Squat,Bench,Deadlift\r\n");
+        for(int i = 0; i < rows; i++){
+            boolean kg = random.nextBoolean();
+            double bodyweight = kg ? 50 + random.nextInt(900) / 10.0 : 110 + random.nextInt(2000) / 10.0;
+            text.append("Test Lifter").append(i).append(",").append(14 + random.nextInt(60)).append(",\"Springfield, IL\",")
+                    .append(bodyweight).append(kg ? ",kg," : ",lb,")
+                    .append(2.5 * (40 + random.nextInt(80))).append(',')
+                    .append(2.5 * (20 + random.nextInt(60))).append(',')
+                    .append(2.5 * (50 + random.nextInt(90))).append("\r\n");
+        }
+        csv = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Parsing alone, as done off the UI thread */
+    @Benchmark
+    public ArrayList<Lifter> parse() throws Exception {
+        return RosterImport.parse(csv.duplicate(), new AttemptStore(64));
+    }
+
+    /** Parsing and entering every lifter in one batch */
+    @Benchmark
+    public Roster parseAndEnter() throws Exception {
+        AttemptStore store = new AttemptStore(64);
+        Roster roster = new Roster(store);
+        roster.addAll(RosterImport.parse(csv.duplicate(), store));
+        return roster;
+    }
+}
@@ -0,0 +1,100 @@
+package powerlifting;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Restart recovery and the per-edit cost of journaling a meet */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JournalBenchmark {
+
+    @Param({"1000", "5000", "50000"})
+    public int rosterSize;
+
+    /** Holds a snapshot of the whole roster followed by a journal tail of rosterSize attempt edits */
+    private Path recoverable;
+
+    /** A live journal that edits are recorded against */
+    private Path liveDirectory;
+    private MeetJournal live;
+    private ArrayList<Lifter> liveLifters;
+
+    private int next;
+    private double weight;
+
+    @Setup
+    public void setup() throws IOException{
+        recoverable = Files.createTempDirectory("meet-journal");
+        MeetJournal journal = MeetJournal.open(recoverable);
+        ArrayList<Lifter> lifters = Rosters.generate(rosterSize, 42, journal.getRoster().getStore());
+        for(Lifter lifter: lifters){
+            journal.getRoster().add(lifter);
+        }
+        journal.checkpoint();
+        for(int i = 0; i < rosterSize; i++){
+            lifters.get(i).setBench(3, 100 + i % 40 * 2.5, AttemptState.GOOD, Metric.KG);
+        }
+        journal.close();
+
+        liveDirectory = Files.createTempDirectory("meet-journal");
+        live = MeetJournal.open(liveDirectory);
+        liveLifters = Rosters.generate(rosterSize, 7, live.getRoster().getStore());
+        for(Lifter lifter: liveLifters){
+            live.getRoster().add(lifter);
+        }
+        next = 0;
+        weight = 100;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException{
+        live.close();
+        delete(recoverable);
+        delete(liveDirectory);
+    }
+
+    private static void delete(Path directory) throws IOException{
+        try(Stream<Path> files = Files.walk(directory)){
+            for(Path path: (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator){
+                Files.delete(path);
+            }
+        }
+    }
+
+    /** Time from launch to a fully restored roster */
+    @Benchmark
+    public Roster recover() throws IOException{
+        return MeetJournal.recover(recoverable).roster;
+    }
+
+    /** What a judge's edit costs on the JavaFX thread once the roster is journaled */
+    @Benchmark
+    public Lifter journaledAttempt(){
+        Lifter lifter = liveLifters.get(next);
+        next = next + 1 == rosterSize ? 0 : next + 1;
+        weight = weight >= 300 ? 100 : weight + 2.5;
+        lifter.setSquat(3, weight, AttemptState.GOOD, Metric.KG);
+        return lifter;
+    }
+}
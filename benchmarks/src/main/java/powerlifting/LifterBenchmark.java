@@ -0,0 +1,156 @@
+package powerlifting;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Per-attempt work done on a Lifter while the meet is running
+ *  Each invocation touches the next lifter in the roster so larger rosters expose cache behaviour
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LifterBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "50000"})
+    public int rosterSize;
+
+    private ArrayList<Lifter> roster;
+    private int next;
+    private double weight;
+    private RecordBook records;
+
+    @Setup
+    public void setup() throws IOException {
+        roster = Rosters.generate(rosterSize, 42);
+        next = 0;
+        weight = 100;
+        records = generateRecords(5000);
+    }
+
+    /** A records file listing every record several times over, as a federation's history would */
+    private static RecordBook generateRecords(int lines) throws IOException {
+        String[] levels = {"meet", "state", "federation"};
+        String[] lifts = {"squat", "bench", "deadlift", "total"};
+        Random random = new Random(7);
+        StringBuilder text = new StringBuilder("level,division,weight class,lift,weight,holder\n");
+        for(int i = 0; i < lines; i++){
+            text.append(levels[random.nextInt(levels.length)]).append(',')
+                    .append(Division.fromIndex(random.nextInt(Division.values().length))).append(',')
+                    .append(WeightClass.fromIndex(random.nextInt(WeightClass.values().length))).append(',')
+                    .append(lifts[random.nextInt(lifts.length)]).append(',')
+                    .append(2.5 * (40 + random.nextInt(120))).append(",Holder ").append(i).append('\n');
+        }
+        Path file = Files.createTempFile("records", ".csv");
+        try{
+            Files.write(file, text.toString().getBytes(StandardCharsets.UTF_8));
+            return RecordBook.read(file);
+        }finally{
+            Files.delete(file);
+        }
+    }
+
+    /** Advance round-robin through the roster */
+    private Lifter nextLifter(){
+        Lifter lifter = roster.get(next);
+        next = next + 1 == rosterSize ? 0 : next + 1;
+        return lifter;
+    }
+
+    /** Alternate between a few plausible attempt weights so the best lift keeps changing */
+    private double nextWeight(){
+        weight = weight >= 300 ? 100 : weight + 2.5;
+        return weight;
+    }
+
+    @Benchmark
+    public Lifter setSquat(){
+        Lifter lifter = nextLifter();
+        lifter.setSquat(2, nextWeight(), AttemptState.GOOD, Metric.KG);
+        return lifter;
+    }
+
+    @Benchmark
+    public Lifter setBench(){
+        Lifter lifter = nextLifter();
+        lifter.setBench(2, nextWeight(), AttemptState.GOOD, Metric.KG);
+        return lifter;
+    }
+
+    @Benchmark
+    public Lifter setDeadlift(){
+        Lifter lifter = nextLifter();
+        lifter.setDeadlift(2, nextWeight(), AttemptState.GOOD, Metric.KG);
+        return lifter;
+    }
+
+    /** Judging a squat good and checking it against thousands of loaded records, as the judging pane does */
+    @Benchmark
+    public int setSquatCheckingRecords(){
+        Lifter lifter = nextLifter();
+        lifter.setSquat(2, nextWeight(), AttemptState.GOOD, Metric.KG);
+        return records.broken(lifter, AttemptStore.SQUAT, 2);
+    }
+
+    @Benchmark
+    public Lift getMaxSquat(){
+        return nextLifter().getMaxSquat();
+    }
+
+    /** Loading a whole roster with every attempt recorded, run with -prof gc to see allocation per lifter */
+    @Benchmark
+    public ArrayList<Lifter> loadRoster(){
+        return Rosters.generate(rosterSize, 42);
+    }
+
+    /** Summing every lifter's total, a full pass over the roster like a report or leaderboard scan */
+    @Benchmark
+    public double scanTotals(){
+        double sum = 0;
+        for(int i = 0; i < rosterSize; i++){
+            sum += roster.get(i).getTotal(Metric.KG);
+        }
+        return sum;
+    }
+
+    /** Every best lift and total, as read when rendering one standings row */
+    @Benchmark
+    public void readStandingsRow(Blackhole bh){
+        Lifter lifter = nextLifter();
+        bh.consume(lifter.getMaxSquat());
+        bh.consume(lifter.getMaxBench());
+        bh.consume(lifter.getMaxDeadlift());
+        bh.consume(lifter.getTotal(Metric.KG));
+    }
+
+    /** Every best lift and total formatted in both metrics, as written for one line of a text report */
+    @Benchmark
+    public String formatStandingsRow(){
+        return nextLifter().toString();
+    }
+
+    /** Formatting a weight entered in pounds that is no round number in either metric */
+    @Benchmark
+    public String formatOddWeight(){
+        return UniversalWeight.format(UniversalWeight.convert(nextWeight() + 0.3, Metric.LB, Metric.KG));
+    }
+}
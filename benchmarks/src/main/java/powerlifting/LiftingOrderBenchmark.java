@@ -0,0 +1,64 @@
+package powerlifting;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Keeping the lifting order current as attempts are requested and judged */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LiftingOrderBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int flightSize;
+
+    private Roster roster;
+    private LifterGroup flight;
+    private LiftingOrder order;
+    private int next;
+    private double weight;
+
+    @Setup
+    public void setup(){
+        roster = new Roster(new AttemptStore(flightSize));
+        for(int i = 0; i < flightSize; i++){
+            Lifter lifter = new Lifter(roster.getStore(), "First" + i, "Last" + i, 30, "Town", 80, Metric.KG);
+            lifter.setSquat(1, 100 + 2.5 * (i * 7 % 80), AttemptState.PROJECTION, Metric.KG);
+            roster.add(lifter);
+        }
+        flight = roster.get(Division.OPEN, WeightClass.KG83);
+        order = new LiftingOrder(flight, AttemptStore.SQUAT);
+        roster.addListener(order);
+        next = 0;
+        weight = 100;
+    }
+
+    /** Ordering a flight from scratch, done when a flight or lift is selected */
+    @Benchmark
+    public LiftingOrder buildOrder(){
+        return new LiftingOrder(flight, AttemptStore.SQUAT);
+    }
+
+    /** A lifter changing a requested opener moments before the call, then the scorer reading who is next */
+    @Benchmark
+    public Lifter changeRequest(){
+        Lifter lifter = flight.get(next);
+        next = next + 1 == flightSize ? 0 : next + 1;
+        weight = weight >= 300 ? 100 : weight + 2.5;
+        lifter.setSquat(1, weight, AttemptState.PROJECTION, Metric.KG);
+        return order.next();
+    }
+}
@@ -0,0 +1,59 @@
+package powerlifting;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Starting and stopping countdowns on a meet clock already running many submission deadlines */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MeetClockBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int running;
+
+    private MeetClock clock;
+    private MeetClock.Countdown attemptClock;
+
+    @Setup
+    public void setup(){
+        clock = new MeetClock();
+        for(int i = 0; i < running; i++){
+            clock.countdown(SubmissionDeadlines.SUBMISSION_SECONDS, null).start();
+        }
+        attemptClock = clock.countdown(60, null);
+    }
+
+    @TearDown
+    public void tearDown(){
+        clock.close();
+    }
+
+    /** The attempt clock started as a lifter is called and stopped as the bar leaves the rack */
+    @Benchmark
+    public long startStop(){
+        attemptClock.start();
+        attemptClock.pause();
+        return attemptClock.remainingNanos();
+    }
+
+    /** Reading the time left, done for every clockface refresh */
+    @Benchmark
+    public int secondsLeft(){
+        return attemptClock.secondsLeft();
+    }
+}
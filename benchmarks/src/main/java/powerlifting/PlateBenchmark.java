@@ -0,0 +1,63 @@
+package powerlifting;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Plate loading as done on every keystroke in the plate diagram's weight field */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PlateBenchmark {
+
+    /** The kilogram set PlateDiagram loads by default */
+    private static final double[] KG_PLATES = {25, 20, 15, 10, 5, 2.5, 1.25, 0.5, 0.25};
+    private static final int[] KG_PAIRS = {8, 1, 1, 1, 1, 1, 1, 1, 1};
+
+    private PlateLoader loader;
+    private double weight;
+
+    /** A flight of 30 lifters with a squat opener requested */
+    private LifterGroup flight;
+
+    @Setup
+    public void setup(){
+        loader = new PlateLoader(KG_PLATES, KG_PAIRS, 20);
+        weight = 20;
+        flight = new LifterGroup();
+        for(Lifter lifter: Rosters.generateBucket(30, 11)){
+            lifter.setSquat(1, 120 + 2.5 * (lifter.getId() * 7 % 60), AttemptState.PROJECTION, Metric.KG);
+            flight.add(lifter);
+        }
+    }
+
+    /** Building the table, done once per weight set when a diagram is created */
+    @Benchmark
+    public PlateLoader buildTable(){
+        return new PlateLoader(KG_PLATES, KG_PAIRS, 20);
+    }
+
+    /** Walking every legal 0.5 kg increment from an empty bar to a full one */
+    @Benchmark
+    public int[] lookup(){
+        weight = weight >= 520 ? 20 : weight + 0.5;
+        return loader.lookup(weight);
+    }
+
+    /** Planning the squat loading chart for a whole flight */
+    @Benchmark
+    public LoadingChart loadingChart(){
+        return new LoadingChart(loader, flight, AttemptStore.SQUAT, Metric.KG);
+    }
+}
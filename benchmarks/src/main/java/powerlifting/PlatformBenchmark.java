@@ -0,0 +1,82 @@
+package powerlifting;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Several platforms judging one shared roster while a standings reader keeps pace */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PlatformBenchmark {
+
+    /** Flights each platform judges, one weight class per platform */
+    private static final WeightClass[] FLIGHTS = {WeightClass.KG74, WeightClass.KG83, WeightClass.KG93};
+    private static final double[] BODYWEIGHTS = {72, 80, 90};
+    private static final int FLIGHT_SIZE = 100;
+
+    @State(Scope.Group)
+    public static class Meet {
+        Roster roster;
+        AtomicInteger platforms;
+
+        @Setup
+        public void setup(){
+            roster = new Roster(new AttemptStore(FLIGHTS.length * FLIGHT_SIZE));
+            for(int p = 0; p < FLIGHTS.length; p++){
+                for(int i = 0; i < FLIGHT_SIZE; i++){
+                    roster.add(new Lifter(roster.getStore(), "First" + i, "Last" + i, 30, "Town", BODYWEIGHTS[p], Metric.KG));
+                }
+            }
+            platforms = new AtomicInteger();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Platform {
+        LifterGroup flight;
+        int next;
+        double weight;
+
+        @Setup
+        public void setup(Meet meet){
+            int p = meet.platforms.getAndIncrement() % FLIGHTS.length;
+            flight = meet.roster.get(Division.OPEN, FLIGHTS[p]);
+            weight = 100;
+        }
+    }
+
+    /** A judged attempt on one of three platforms, each working its own flight */
+    @Benchmark
+    @Group("platforms")
+    @GroupThreads(3)
+    public Lifter judge(Platform platform){
+        Lifter lifter = platform.flight.get(platform.next);
+        platform.next = platform.next + 1 == FLIGHT_SIZE ? 0 : platform.next + 1;
+        platform.weight = platform.weight >= 300 ? 100 : platform.weight + 2.5;
+        lifter.setSquat(1, platform.weight, AttemptState.GOOD, Metric.KG);
+        return lifter;
+    }
+
+    /** The standings reader, placing a lifter of the busiest flight while the platforms judge */
+    @Benchmark
+    @Group("platforms")
+    @GroupThreads(1)
+    public int standings(Meet meet){
+        LifterGroup flight = meet.roster.get(Division.OPEN, WeightClass.KG83);
+        return flight.rank(Standings.TOTAL, flight.get(FLIGHT_SIZE / 2));
+    }
+}
@@ -0,0 +1,60 @@
+package powerlifting;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Keeping every lifter's needs current through the final deadlift round, with the whole roster in one class */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ProjectionBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int rosterSize;
+
+    private ArrayList<Lifter> lifters;
+    private Projections projections;
+    private int next;
+    private double weight;
+
+    @Setup
+    public void setup(){
+        lifters = Rosters.generateBucket(rosterSize, 42);
+        Roster roster = new Roster(lifters.get(0).getStore());
+        roster.addAll(lifters);
+        projections = Projections.attach(roster);
+        weight = 200;
+    }
+
+    /** A third deadlift requested, which moves the lifter's potential total */
+    @Benchmark
+    public Lifter requestDeadlift(){
+        Lifter lifter = lifters.get(next);
+        next = next + 1 == rosterSize ? 0 : next + 1;
+        weight = weight >= 320 ? 200 : weight + 2.5;
+        lifter.setDeadlift(3, weight, AttemptState.PROJECTION, Metric.KG);
+        return lifter;
+    }
+
+    /** What one lifter needs for every place in the class */
+    @Benchmark
+    public Projections.Need need(){
+        Lifter lifter = lifters.get(next);
+        next = next + 1 == rosterSize ? 0 : next + 1;
+        return projections.need(lifter);
+    }
+}
@@ -0,0 +1,66 @@
+package powerlifting;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/** Builds reproducible synthetic rosters for the benchmark suite */
+final class Rosters {
+
+    private static final AttemptState[] STATES = {AttemptState.GOOD, AttemptState.GOOD, AttemptState.FAIL, AttemptState.PROJECTION};
+
+    private Rosters(){}
+
+    /** Create a roster of the given size spread across every division and weight class */
+    static ArrayList<Lifter> generate(int size, long seed){
+        return generate(size, seed, new AttemptStore(size));
+    }
+
+    /** Create a roster of the given size spread across every division and weight class, kept in a given store */
+    static ArrayList<Lifter> generate(int size, long seed, AttemptStore store){
+        Random random = new Random(seed);
+        ArrayList<Lifter> roster = new ArrayList<Lifter>(size);
+        for(int i = 0; i < size; i++){
+            int age = 14 + random.nextInt(62);
+            double bodyweight = 50 + random.nextInt(900) / 10.0;
+            Lifter lifter = new Lifter(store, "First" + i, "Last" + i, age, "Town" + random.nextInt(100), bodyweight, Metric.KG);
+            fillAttempts(lifter, random);
+            roster.add(lifter);
+        }
+        return roster;
+    }
+
+    /** Create a roster of the given size where every lifter lands in the same division and weight class */
+    static ArrayList<Lifter> generateBucket(int size, long seed){
+        Random random = new Random(seed);
+        AttemptStore store = new AttemptStore(size);
+        ArrayList<Lifter> roster = new ArrayList<Lifter>(size);
+        for(int i = 0; i < size; i++){
+            Lifter lifter = new Lifter(store, "First" + i, "Last" + i, 30, "Town" + random.nextInt(100), 80, Metric.KG);
+            fillAttempts(lifter, random);
+            roster.add(lifter);
+        }
+        return roster;
+    }
+
+    /** File a roster the same way JudgePane files newly created lifters */
+    static Roster group(ArrayList<Lifter> lifters){
+        Roster roster = new Roster(lifters.isEmpty() ? new AttemptStore(1) : lifters.get(0).getStore());
+        for(Lifter lifter: lifters){
+            roster.add(lifter);
+        }
+        return roster;
+    }
+
+    /** Record all nine attempts with a realistic mix of made, missed and projected lifts */
+    private static void fillAttempts(Lifter lifter, Random random){
+        for(int attempt = 1; attempt <= 3; attempt++){
+            lifter.setSquat(attempt, 100 + 2.5 * random.nextInt(80), state(random), Metric.KG);
+            lifter.setBench(attempt, 60 + 2.5 * random.nextInt(60), state(random), Metric.KG);
+            lifter.setDeadlift(attempt, 120 + 2.5 * random.nextInt(100), state(random), Metric.KG);
+        }
+    }
+
+    private static AttemptState state(Random random){
+        return STATES[random.nextInt(STATES.length)];
+    }
+}
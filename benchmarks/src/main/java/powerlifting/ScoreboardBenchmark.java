@@ -0,0 +1,73 @@
+package powerlifting;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Judging attempts while the live scoreboard follows the roster, against judging with no scoreboard */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ScoreboardBenchmark {
+
+    @Param({"100", "1000"})
+    public int rosterSize;
+
+    @Param({"false", "true"})
+    public boolean serving;
+
+    private ArrayList<Lifter> lifters;
+    private ScoreboardServer scoreboard;
+    private int next;
+    private double weight;
+
+    @Setup
+    public void setup() throws IOException {
+        lifters = Rosters.generate(rosterSize, 42);
+        Roster roster = new Roster(lifters.get(0).getStore());
+        roster.addAll(lifters);
+        // rank every group by total as the standings tab does, so both runs pay for the same rankings
+        for(Division division: Division.values()){
+            for(WeightClass weightClass: WeightClass.values()){
+                roster.get(division, weightClass).ranking(Standings.TOTAL);
+            }
+        }
+        if(serving){
+            scoreboard = ScoreboardServer.start(roster, new InetSocketAddress("127.0.0.1", 0));
+        }
+        weight = 100;
+    }
+
+    @TearDown
+    public void tearDown(){
+        if(scoreboard != null){
+            scoreboard.close();
+        }
+    }
+
+    /** A judged attempt, all the judging pane waits for */
+    @Benchmark
+    public Lifter judge(){
+        Lifter lifter = lifters.get(next);
+        next = next + 1 == rosterSize ? 0 : next + 1;
+        weight = weight >= 300 ? 100 : weight + 2.5;
+        lifter.setSquat(1, weight, AttemptState.GOOD, Metric.KG);
+        return lifter;
+    }
+}
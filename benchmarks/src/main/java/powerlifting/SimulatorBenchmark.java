@@ -0,0 +1,51 @@
+package powerlifting;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** A million simulations of the rest of the meet for one division and weight class */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SimulatorBenchmark {
+
+    @Param({"10", "30", "100"})
+    public int rosterSize;
+
+    private LifterGroup group;
+    private PlacingSimulator simulator;
+
+    @Setup
+    public void setup(){
+        ArrayList<Lifter> lifters = Rosters.generateBucket(rosterSize, 42);
+        Roster roster = new Roster(lifters.get(0).getStore());
+        roster.addAll(lifters);
+        // every lifter has requested their last two deadlifts, as the final round begins
+        for(int i = 0; i < lifters.size(); i++){
+            double opener = lifters.get(i).getDeadlift(1).getWeight(Metric.KG);
+            lifters.get(i).setDeadlift(2, opener + 10, AttemptState.PROJECTION, Metric.KG);
+            lifters.get(i).setDeadlift(3, opener + 17.5, AttemptState.PROJECTION, Metric.KG);
+        }
+        group = lifters.get(0).getGroup();
+        simulator = new PlacingSimulator();
+    }
+
+    @Benchmark
+    public PlacingSimulator.Result millionTrials(){
+        return simulator.run(group, PlacingSimulator.DEFAULT_TRIALS, 42);
+    }
+}
@@ -0,0 +1,161 @@
+package powerlifting;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Ranking and report compilation as triggered from the Standings tab */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class StandingsBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "50000"})
+    public int rosterSize;
+
+    /** A single division and weight class holding the whole roster, ranked by total and squat */
+    private LifterGroup bucket;
+
+    /** The whole roster spread across every division and weight class */
+    private Roster roster;
+
+    /** Best lifters of the whole roster by IPF GL points, kept current as attempts are recorded */
+    private Leaderboard bestLifters;
+    private ArrayList<Lifter> rosterLifters;
+    private int nextEntrant;
+
+    private int next;
+    private double weight;
+
+    @Setup
+    public void setup(){
+        bucket = new LifterGroup();
+        for(Lifter lifter: Rosters.generateBucket(rosterSize, 7)){
+            bucket.add(lifter);
+        }
+        bucket.ranking(Standings.TOTAL);
+        bucket.ranking(Standings.SQUAT);
+        roster = Rosters.group(Rosters.generate(rosterSize, 42));
+        bestLifters = new Leaderboard(roster, Standings.IPF_GL, 10);
+        rosterLifters = roster.all();
+        nextEntrant = 0;
+        next = 0;
+        weight = 100;
+    }
+
+    private Lifter nextLifter(){
+        Lifter lifter = bucket.get(next);
+        next = next + 1 == rosterSize ? 0 : next + 1;
+        return lifter;
+    }
+
+    /** Ranking a bucket from scratch, as happens the first time a criterion is viewed */
+    @Benchmark
+    public RankingIndex buildRanking(){
+        RankingIndex index = new RankingIndex(Standings.TOTAL);
+        for(Lifter lifter: bucket){
+            index.add(lifter);
+        }
+        return index;
+    }
+
+    /** Recording a good squat, which re-files the lifter in both maintained rankings */
+    @Benchmark
+    public Lifter recordAttempt(){
+        Lifter lifter = nextLifter();
+        weight = weight >= 300 ? 100 : weight + 2.5;
+        lifter.setSquat(3, weight, AttemptState.GOOD, Metric.KG);
+        return lifter;
+    }
+
+    @Benchmark
+    public int rankOf(){
+        return bucket.ranking(Standings.TOTAL).rank(nextLifter());
+    }
+
+    @Benchmark
+    public ArrayList<Lifter> topTen(){
+        return bucket.ranking(Standings.TOTAL).top(10);
+    }
+
+    /** Recording a good deadlift anywhere in the meet, re-scoring the lifter against the best-lifter leaderboard */
+    @Benchmark
+    public Lifter recordAttemptWithLeaderboard(){
+        Lifter lifter = rosterLifters.get(nextEntrant);
+        nextEntrant = nextEntrant + 1 == rosterLifters.size() ? 0 : nextEntrant + 1;
+        weight = weight >= 300 ? 100 : weight + 2.5;
+        lifter.setDeadlift(3, weight, AttemptState.GOOD, Metric.KG);
+        return lifter;
+    }
+
+    /** Best-lifter awards across every bucket, as read at the end of the meet */
+    @Benchmark
+    public ArrayList<Lifter> bestLifters(){
+        return bestLifters.top();
+    }
+
+    /** Ranking a bucket by points, each score a multiply of the precomputed coefficient */
+    @Benchmark
+    public RankingIndex buildPointsRanking(){
+        RankingIndex index = new RankingIndex(Standings.DOTS);
+        for(Lifter lifter: bucket){
+            index.add(lifter);
+        }
+        return index;
+    }
+
+    /** The full standings list by total, as loaded when a bucket is selected */
+    @Benchmark
+    public ArrayList<Lifter> standingsList(){
+        return bucket.ranking(Standings.TOTAL).toList();
+    }
+
+    /** The part of compileReportHandler that still runs on the JavaFX thread */
+    @Benchmark
+    public MeetSnapshot snapshotRoster(){
+        return MeetSnapshot.of(roster);
+    }
+
+    /** Snapshot plus a full text report, minus the file system */
+    @Benchmark
+    public void compileReport() throws IOException{
+        MeetReport.write(MeetSnapshot.of(roster), ReportFormat.TEXT.newWriter(Writer.nullWriter()), null);
+    }
+
+    @Benchmark
+    public void compileCsvReport() throws IOException{
+        MeetReport.write(MeetSnapshot.of(roster), ReportFormat.CSV.newWriter(Writer.nullWriter()), null);
+    }
+
+    @Benchmark
+    public void compileJsonReport() throws IOException{
+        MeetReport.write(MeetSnapshot.of(roster), ReportFormat.JSON.newWriter(Writer.nullWriter()), null);
+    }
+
+    /** One weight class across every division */
+    @Benchmark
+    public ArrayList<Lifter> weightClassAcrossDivisions(){
+        return roster.byWeightClass(WeightClass.KG83);
+    }
+
+    /** Every masters lifter across every weight class */
+    @Benchmark
+    public ArrayList<Lifter> allMasters(){
+        return roster.masters();
+    }
+}
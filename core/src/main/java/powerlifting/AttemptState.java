@@ -0,0 +1,33 @@
+package powerlifting;
+
+/** Outcome of an attempt, stored by ordinal in an AttemptStore */
+enum AttemptState{
+    EMPTY("Empty"),
+    GOOD("Good"),
+    FAIL("Fail"),
+    PROJECTION("Projection");
+
+    /** Cached values() so decoding a stored ordinal does not copy the array */
+    private static final AttemptState[] VALUES = values();
+
+    private final String label;
+
+    AttemptState(String label){
+        this.label = label;
+    }
+
+    /** Decode a state from the byte it is stored as */
+    static AttemptState fromCode(byte code){
+        return VALUES[code];
+    }
+
+    /** Byte this state is stored as */
+    byte code(){
+        return (byte) ordinal();
+    }
+
+    @Override
+    public String toString(){
+        return label;
+    }
+}
@@ -0,0 +1,165 @@
+package powerlifting;
+
+/** Columnar storage for every attempt of every lifter on a roster
+ *  Each lifter owns one row of nine attempt slots (three squat, three bench, three deadlift) held in flat primitive arrays,
+ *  so a whole roster costs a handful of arrays rather than dozens of objects per lifter. Lifter and Lift are views over a row.
+ *  Weights and totals are held as whole UniversalWeight units, so totals add up exactly whichever metric was entered.
+ *  Rows may be allocated from any thread; writes to a row are made under its lifter's group lock.
+ */
+public class AttemptStore {
+
+    /** Attempt slots held per lifter */
+    public static final int SLOTS = 9;
+
+    /** First slot of each lift within a row */
+    public static final int SQUAT = 0, BENCH = 3, DEADLIFT = 6;
+
+    /** Most rows per chunk; chunks are never copied or moved once created */
+    private static final int MAX_CHUNK_ROWS = 1024;
+
+    /** Rows per chunk, smaller for stores created small */
+    private final int chunkRows;
+
+    /** Column indices per chunk */
+    private final int chunkSlots;
+
+    /** Fixed-size blocks of rows
+     *  Growing adds chunks and republishes these directories but never copies existing chunks, so a write
+     *  made to a row while another thread allocates can't be lost in a copy
+     */
+    private volatile long[][] weights;
+
+    /** AttemptState codes, parallel to weights */
+    private volatile byte[][] states;
+
+    /** Best total in units per row */
+    private volatile long[][] totals;
+
+    /** Number of rows handed out so far */
+    private volatile int rows;
+
+    /** Create a store with room for the given number of lifters before it needs to grow */
+    public AttemptStore(int capacity){
+        chunkRows = Math.max(1, Math.min(capacity, MAX_CHUNK_ROWS));
+        chunkSlots = chunkRows * SLOTS;
+        int chunks = Math.max(1, (capacity + chunkRows - 1) / chunkRows);
+        weights = new long[chunks][];
+        states = new byte[chunks][];
+        totals = new long[chunks][];
+        for(int c = 0; c < chunks; c++){
+            weights[c] = new long[chunkSlots];
+            states[c] = new byte[chunkSlots];
+            totals[c] = new long[chunkRows];
+        }
+    }
+
+    /** Reserve a row of empty attempts for a new lifter and return its id, safe to call from any thread */
+    public synchronized int allocate(){
+        if(rows == totals.length * chunkRows){
+            grow();
+        }
+        return rows++;
+    }
+
+    /** Number of rows handed out so far */
+    public int size(){
+        return rows;
+    }
+
+    /** Absolute column index of an attempt, attempt numbered from 1 */
+    public static int index(int row, int lift, int attempt){
+        return row * SLOTS + lift + attempt - 1;
+    }
+
+    /** Weight in kilograms */
+    public double getWeight(int index){
+        return UniversalWeight.fromUnits(getUnits(index), Metric.KG);
+    }
+
+    /** Weight in UniversalWeight units */
+    public long getUnits(int index){
+        return weights[index / chunkSlots][index % chunkSlots];
+    }
+
+    public AttemptState getState(int index){
+        return AttemptState.fromCode(states[index / chunkSlots][index % chunkSlots]);
+    }
+
+    /** Total in kilograms */
+    public double getTotal(int row){
+        return UniversalWeight.fromUnits(getTotalUnits(row), Metric.KG);
+    }
+
+    /** Total in UniversalWeight units */
+    public long getTotalUnits(int row){
+        return totals[row / chunkRows][row % chunkRows];
+    }
+
+    public void setWeight(int index, double weightKG){
+        setUnits(index, UniversalWeight.toUnits(weightKG, Metric.KG));
+    }
+
+    public void setUnits(int index, long units){
+        weights[index / chunkSlots][index % chunkSlots] = units;
+    }
+
+    public void setState(int index, AttemptState state){
+        states[index / chunkSlots][index % chunkSlots] = state.code();
+    }
+
+    public void setTotal(int row, double totalKG){
+        setTotalUnits(row, UniversalWeight.toUnits(totalKG, Metric.KG));
+    }
+
+    public void setTotalUnits(int row, long units){
+        totals[row / chunkRows][row % chunkRows] = units;
+    }
+
+    /** Column index of the heaviest good attempt of one lift in a row, or -1 if none are good */
+    public int findBest(int row, int lift){
+        // a row never straddles two chunks
+        int start = row * SLOTS + lift;
+        long[] chunkWeights = weights[start / chunkSlots];
+        byte[] chunkStates = states[start / chunkSlots];
+        int offset = start % chunkSlots;
+        byte good = AttemptState.GOOD.code();
+        int best = -1;
+        long max = 0;
+        for(int i = offset; i < offset + 3; i++){
+            if(chunkWeights[i] > max && chunkStates[i] == good){
+                max = chunkWeights[i];
+                best = start + i - offset;
+            }
+        }
+        return best;
+    }
+
+    /** Weight in kilograms at a column index found by findBest, 0 for -1 */
+    public double bestWeight(int index){
+        return index < 0 ? 0 : getWeight(index);
+    }
+
+    /** Weight in units at a column index found by findBest, 0 for -1 */
+    public long bestUnits(int index){
+        return index < 0 ? 0 : getUnits(index);
+    }
+
+    /** Double the number of chunks, carrying over references to the existing ones */
+    private void grow(){
+        int chunks = totals.length;
+        long[][] newWeights = new long[chunks * 2][];
+        byte[][] newStates = new byte[chunks * 2][];
+        long[][] newTotals = new long[chunks * 2][];
+        System.arraycopy(weights, 0, newWeights, 0, chunks);
+        System.arraycopy(states, 0, newStates, 0, chunks);
+        System.arraycopy(totals, 0, newTotals, 0, chunks);
+        for(int c = chunks; c < chunks * 2; c++){
+            newWeights[c] = new long[chunkSlots];
+            newStates[c] = new byte[chunkSlots];
+            newTotals[c] = new long[chunkRows];
+        }
+        weights = newWeights;
+        states = newStates;
+        totals = newTotals;
+    }
+}
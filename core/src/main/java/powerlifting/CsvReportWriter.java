@@ -0,0 +1,81 @@
+package powerlifting;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/** Comma separated report with one line per lifter, weights in kilograms and records broken as tags such as SR/FR */
+public class CsvReportWriter implements ReportWriter {
+    private final Writer out;
+    private Division division;
+    private WeightClass weightClass;
+
+    public CsvReportWriter(Writer out) throws IOException {
+        this.out = out;
+        out.write("division,weight_class,place,first_name,last_name,age,hometown,bodyweight_kg,squat_kg,bench_kg,deadlift_kg,total_kg,squat_records,bench_records,deadlift_records,total_records\n");
+    }
+
+    @Override
+    public void startDivision(Division division) throws IOException {
+        this.division = division;
+    }
+
+    @Override
+    public void startClass(WeightClass weightClass, int entries) throws IOException {
+        this.weightClass = weightClass;
+    }
+
+    @Override
+    public void row(MeetSnapshot.Row row) throws IOException {
+        out.write(escape(division.toString()));
+        out.write(',');
+        out.write(escape(weightClass.toString()));
+        out.write(',');
+        out.write(Integer.toString(row.getPlace()));
+        out.write(',');
+        out.write(escape(row.getFirstName()));
+        out.write(',');
+        out.write(escape(row.getLastName()));
+        out.write(',');
+        out.write(Integer.toString(row.getAge()));
+        out.write(',');
+        out.write(escape(row.getHomeTown()));
+        out.write(',');
+        out.write(Double.toString(row.getBodyweight()));
+        out.write(',');
+        out.write(Double.toString(row.getSquat()));
+        out.write(',');
+        out.write(Double.toString(row.getBench()));
+        out.write(',');
+        out.write(Double.toString(row.getDeadlift()));
+        out.write(',');
+        out.write(Double.toString(row.getTotal()));
+        out.write(',');
+        out.write(RecordBook.tag(row.getSquatRecords()));
+        out.write(',');
+        out.write(RecordBook.tag(row.getBenchRecords()));
+        out.write(',');
+        out.write(RecordBook.tag(row.getDeadliftRecords()));
+        out.write(',');
+        out.write(RecordBook.tag(row.getTotalRecords()));
+        out.write('\n');
+    }
+
+    @Override
+    public void endClass() throws IOException {}
+
+    @Override
+    public void endDivision() throws IOException {}
+
+    @Override
+    public void finish() throws IOException {
+        out.flush();
+    }
+
+    /** Quote a field if it holds a separator, quote or line break */
+    private static String escape(String field){
+        if(field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0){
+            return field;
+        }
+        return "\"" + field.replace("\"", "\"\"") + "\"";
+    }
+}
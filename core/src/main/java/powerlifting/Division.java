@@ -0,0 +1,48 @@
+package powerlifting;
+
+/** Age divisions, in the order they are listed and reported */
+enum Division{
+    SUB_JUNIOR("Sub-Junior", 0),
+    JUNIOR("Junior", 19),
+    OPEN("Open", 24),
+    MASTERS_1("Masters-1", 40),
+    MASTERS_2("Masters-2", 50),
+    MASTERS_3("Masters-3", 60),
+    MASTERS_4("Masters-4", 70);
+
+    /** Cached values() for index lookups */
+    private static final Division[] VALUES = values();
+
+    private final String label;
+
+    /** Youngest age admitted to the division */
+    private final int minAge;
+
+    Division(String label, int minAge){
+        this.label = label;
+        this.minAge = minAge;
+    }
+
+    /** Division a lifter of the given age competes in */
+    static Division forAge(int age){
+        for(int i = VALUES.length - 1; i > 0; i--){
+            if(age >= VALUES[i].minAge){
+                return VALUES[i];
+            }
+        }
+        return SUB_JUNIOR;
+    }
+
+    static Division fromIndex(int index){
+        return VALUES[index];
+    }
+
+    boolean isMasters(){
+        return ordinal() >= MASTERS_1.ordinal();
+    }
+
+    @Override
+    public String toString(){
+        return label;
+    }
+}
@@ -0,0 +1,125 @@
+package powerlifting;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/** JSON report nesting lifters under their weight class and division, weights in kilograms */
+public class JsonReportWriter implements ReportWriter {
+    private final Writer out;
+    private boolean firstDivision;
+    private boolean firstClass;
+    private boolean firstRow;
+
+    public JsonReportWriter(Writer out) throws IOException {
+        this.out = out;
+        this.firstDivision = true;
+        out.write("{\"divisions\":[");
+    }
+
+    @Override
+    public void startDivision(Division division) throws IOException {
+        if(!firstDivision){
+            out.write(',');
+        }
+        firstDivision = false;
+        firstClass = true;
+        out.write("\n{\"division\":");
+        string(division.toString());
+        out.write(",\"classes\":[");
+    }
+
+    @Override
+    public void startClass(WeightClass weightClass, int entries) throws IOException {
+        if(!firstClass){
+            out.write(',');
+        }
+        firstClass = false;
+        firstRow = true;
+        out.write("\n{\"weightClass\":");
+        string(weightClass.toString());
+        out.write(",\"lifters\":[");
+    }
+
+    @Override
+    public void row(MeetSnapshot.Row row) throws IOException {
+        if(!firstRow){
+            out.write(',');
+        }
+        firstRow = false;
+        out.write("\n{\"place\":");
+        out.write(Integer.toString(row.getPlace()));
+        out.write(",\"firstName\":");
+        string(row.getFirstName());
+        out.write(",\"lastName\":");
+        string(row.getLastName());
+        out.write(",\"age\":");
+        out.write(Integer.toString(row.getAge()));
+        out.write(",\"hometown\":");
+        string(row.getHomeTown());
+        out.write(",\"bodyweightKg\":");
+        out.write(Double.toString(row.getBodyweight()));
+        out.write(",\"squatKg\":");
+        out.write(Double.toString(row.getSquat()));
+        out.write(",\"benchKg\":");
+        out.write(Double.toString(row.getBench()));
+        out.write(",\"deadliftKg\":");
+        out.write(Double.toString(row.getDeadlift()));
+        out.write(",\"totalKg\":");
+        out.write(Double.toString(row.getTotal()));
+        records("squatRecords", row.getSquatRecords());
+        records("benchRecords", row.getBenchRecords());
+        records("deadliftRecords", row.getDeadliftRecords());
+        records("totalRecords", row.getTotalRecords());
+        out.write('}');
+    }
+
+    /** A list of the record levels a lift broke, left out when it broke none */
+    private void records(String name, int levels) throws IOException {
+        if(levels == 0){
+            return;
+        }
+        out.write(",\"" + name + "\":[");
+        boolean first = true;
+        for(int level = RecordBook.MEET; level <= RecordBook.FEDERATION; level <<= 1){
+            if((levels & level) != 0){
+                out.write(first ? "" : ",");
+                string(level == RecordBook.MEET ? "meet" : level == RecordBook.STATE ? "state" : "federation");
+                first = false;
+            }
+        }
+        out.write(']');
+    }
+
+    @Override
+    public void endClass() throws IOException {
+        out.write("]}");
+    }
+
+    @Override
+    public void endDivision() throws IOException {
+        out.write("]}");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.write("\n]}\n");
+        out.flush();
+    }
+
+    /** Write a quoted JSON string, escaping quotes, backslashes and control characters */
+    private void string(String value) throws IOException {
+        out.write('"');
+        for(int i = 0; i < value.length(); i++){
+            char c = value.charAt(i);
+            if(c == '"' || c == '\\'){
+                out.write('\\');
+                out.write(c);
+            }else if(c < 0x20){
+                out.write(String.format("\\u%04x", (int) c));
+            }else{
+                out.write(c);
+            }
+        }
+        out.write('"');
+    }
+}
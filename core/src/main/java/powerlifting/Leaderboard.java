@@ -0,0 +1,183 @@
+package powerlifting;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+/** The best lifters of a whole meet by one criterion, across every division and weight class
+ *  Only the top few are kept, in a sorted set holding each member's score as of its last change. Listening to the
+ *  roster, a changed lifter is scored once and compared against the last place, at O(log k) per change, so best-lifter
+ *  awards can be read the moment the meet ends. Scores only fall when a lift is overturned, a lifter withdraws or a
+ *  bodyweight is corrected; only then can someone outside the board deserve a place, and the board is rebuilt from
+ *  the roster on its next read.
+ *  Synchronized, since roster events arrive on whichever thread made the change.
+ */
+public class Leaderboard implements RosterListener {
+
+    /** A member's place on the board, fixed until its score changes */
+    private static class Entry implements Comparable<Entry> {
+        private final Lifter lifter;
+        private final double score;
+
+        private Entry(Lifter lifter, double score){
+            this.lifter = lifter;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(Entry other){
+            if(score != other.score){
+                return Double.compare(other.score, score);
+            }
+            // earlier entrants keep the higher place on equal scores, as in a ranking
+            return Integer.compare(lifter.getId(), other.lifter.getId());
+        }
+    }
+
+    private final Roster roster;
+    private final ScoreComparator comparator;
+    private final Predicate<Lifter> eligible;
+    private final int size;
+
+    /** Members, best first, never more than size of them */
+    private final TreeSet<Entry> board;
+
+    /** Each member's entry, so it can be found and re-keyed */
+    private final HashMap<Lifter, Entry> entries;
+
+    /** Set once a member's score fell or a member left, when the board may be missing someone and must be rebuilt */
+    private boolean stale;
+
+    /** Keep the best size lifters of the roster satisfying eligible, ranked by comparator, registering with the roster */
+    public Leaderboard(Roster roster, ScoreComparator comparator, int size, Predicate<Lifter> eligible){
+        this.roster = roster;
+        this.comparator = comparator;
+        this.eligible = eligible;
+        this.size = size;
+        this.board = new TreeSet<Entry>();
+        this.entries = new HashMap<Lifter, Entry>();
+        rebuild();
+        roster.addListener(this);
+    }
+
+    /** Keep the best size lifters of the whole roster */
+    public Leaderboard(Roster roster, ScoreComparator comparator, int size){
+        this(roster, comparator, size, lifter -> true);
+    }
+
+    public ScoreComparator getComparator(){
+        return comparator;
+    }
+
+    /** The best lifters, best first */
+    public synchronized ArrayList<Lifter> top(){
+        if(stale){
+            rebuild();
+        }
+        ArrayList<Lifter> top = new ArrayList<Lifter>(board.size());
+        for(Entry entry: board){
+            top.add(entry.lifter);
+        }
+        return top;
+    }
+
+    /** Score each listed lifter holds on the board, best first */
+    public synchronized double[] scores(){
+        if(stale){
+            rebuild();
+        }
+        double[] scores = new double[board.size()];
+        int i = 0;
+        for(Entry entry: board){
+            scores[i++] = entry.score;
+        }
+        return scores;
+    }
+
+    /** Stop following the roster */
+    public void close(){
+        roster.removeListener(this);
+    }
+
+    /** Score the whole roster again, only needed after a member lost ground */
+    private void rebuild(){
+        board.clear();
+        entries.clear();
+        stale = false;
+        for(Lifter lifter: roster.all()){
+            if(eligible.test(lifter)){
+                offer(lifter, comparator.score(lifter));
+            }
+        }
+    }
+
+    /** Place a lifter that is not on the board if it beats the last place, or if there is room */
+    private void offer(Lifter lifter, double score){
+        Entry entry = new Entry(lifter, score);
+        if(board.size() == size){
+            Entry last = board.last();
+            if(entry.compareTo(last) >= 0){
+                return;
+            }
+            board.pollLast();
+            entries.remove(last.lifter);
+        }
+        board.add(entry);
+        entries.put(lifter, entry);
+    }
+
+    /** Bring a changed lifter's place up to date */
+    private void rescore(Lifter lifter){
+        Entry entry = entries.get(lifter);
+        boolean counts = lifter.getGroup() != null && eligible.test(lifter);
+        if(entry == null){
+            if(counts && !stale){
+                offer(lifter, comparator.score(lifter));
+            }
+            return;
+        }
+        double score = counts ? comparator.score(lifter) : Double.NEGATIVE_INFINITY;
+        if(score == entry.score){
+            return;
+        }
+        board.remove(entry);
+        entries.remove(lifter);
+        if(score < entry.score){
+            // a lifter off the board may now be ahead of this one, unless the board already held everyone
+            if(board.size() + 1 == size){
+                stale = true;
+            }
+            if(!counts){
+                return;
+            }
+        }
+        offer(lifter, score);
+    }
+
+    // ROSTER EVENTS
+
+    @Override
+    public synchronized void lifterAdded(Lifter lifter){
+        rescore(lifter);
+    }
+
+    @Override
+    public synchronized void lifterRemoved(Lifter lifter){
+        rescore(lifter);
+    }
+
+    @Override
+    public void attemptChanged(Lifter lifter, int lift, int attempt){
+    }
+
+    @Override
+    public synchronized void bestLiftChanged(Lifter lifter, int lift){
+        rescore(lifter);
+    }
+
+    @Override
+    public synchronized void lifterMoved(Lifter lifter, LifterGroup from){
+        rescore(lifter);
+    }
+}
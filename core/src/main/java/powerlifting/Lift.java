@@ -0,0 +1,65 @@
+package powerlifting;
+
+/** View of a single attempt held in an AttemptStore
+ *  A view may point at no attempt (index -1), in which case it reads as an empty attempt
+ */
+public class Lift {
+    private AttemptStore store;
+    private int index;
+
+    /** Create a detached, empty attempt backed by its own single-row store */
+    public Lift(){
+        this.store = new AttemptStore(1);
+        this.index = AttemptStore.index(store.allocate(), AttemptStore.SQUAT, 1);
+    }
+
+    /** View the attempt at a column index of a store, -1 for none */
+    Lift(AttemptStore store, int index){
+        this.store = store;
+        this.index = index;
+    }
+
+    public double getWeight(Metric metric){
+        if(index < 0){
+            return 0;
+        }
+        return UniversalWeight.fromUnits(store.getUnits(index), metric);
+    }
+
+    public AttemptState getState(){
+        if(index < 0){
+            return AttemptState.EMPTY;
+        }
+        return store.getState(index);
+    }
+
+    public void setWeight(double weight, Metric metric){
+        checkAttached();
+        store.setUnits(index, UniversalWeight.toUnits(weight, metric));
+    }
+
+    public void setState(AttemptState state){
+        checkAttached();
+        store.setState(index, state);
+    }
+
+    public String weightString(){
+        return UniversalWeight.formatUnits(index < 0 ? 0 : store.getUnits(index));
+    }
+    
+    @Override
+    public String toString(){
+        return weightString() + "(" + getState() + ")";
+    }
+
+    /** Re-point this view, used by Lifter to keep its best-attempt views current */
+    void moveTo(int index){
+        this.index = index;
+    }
+
+    private void checkAttached(){
+        if(index < 0){
+            throw new IllegalStateException("No attempt to edit");
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package powerlifting;
+
+public class Lifter {
+    private String firstName;
+    private String lastName;
+    private int age;
+    private String homeTown;
+    private UniversalWeight bodyweight;
+    private Division division;
+    private WeightClass weightClass;
+    /** Store holding this lifter's attempts and total */
+    private AttemptStore store;
+    /** Row of this lifter within the store */
+    private int id;
+    /** Store column of the heaviest good attempt of each lift, -1 while none are good */
+    private int bestSquat, bestBench, bestDeadlift;
+    /** Views of the best attempts, created on first read and re-pointed as attempts change */
+    private Lift maxSquat, maxBench, maxDeadlift;
+    /** Group the lifter is filed under, whose lock guards its attempts; read without locking so kept volatile */
+    private volatile LifterGroup group;
+    /** Lot drawn on entry to the meet, breaking ties in lifting order; 0 until entered */
+    private int lot;
+    /** Bodyweight coefficient of each points formula, indexed by ordinal and recomputed only when bodyweight changes */
+    private final double[] coefficients;
+    /** Masters age coefficient, recomputed only when age changes */
+    private double ageCoefficient;
+
+    /** Create a lifter whose attempts are kept in the given store */
+    public Lifter(AttemptStore store, String first, String last, int age, String homeTown, double bodyweight, Metric metric){
+        this.store = store;
+        this.id = store.allocate();
+        this.bestSquat = -1;
+        this.bestBench = -1;
+        this.bestDeadlift = -1;
+        this.firstName = first;
+        this.lastName = last;
+        this.age = age;
+        this.homeTown = homeTown;
+        this.bodyweight = new UniversalWeight(bodyweight, metric);
+        this.coefficients = new double[PointsFormula.COUNT];
+        this.ageCoefficient = PointsFormula.ageCoefficient(age);
+        computeCoefficients();
+
+        // determine division and weightclass
+        division = Division.forAge(age);
+        weightClass = WeightClass.forBodyweight(this.bodyweight.getWeight(Metric.KG));
+    }
+
+    // GETTERS
+
+    public String getFirstName(){
+        return firstName;
+    }
+
+    public String getLastName(){
+        return lastName;
+    }
+
+    public int getAge(){
+        return age;
+    }
+
+    public String getHomeTown(){
+        return homeTown;
+    }
+
+    public double getBodyweight(Metric metric){
+        return bodyweight.getWeight(metric);
+    }
+
+    /** Bodyweight in UniversalWeight units, exactly as entered in either metric */
+    public long getBodyweightUnits(){
+        return bodyweight.getUnits();
+    }
+
+    public Division getDivsion(){
+        return division;
+    }
+
+    public WeightClass getWeightClass(){
+        return weightClass;
+    }
+
+    public Lift getSquat(int attempt){
+        return new Lift(store, AttemptStore.index(id, AttemptStore.SQUAT, attempt));
+    }
+
+    public Lift getBench(int attempt){
+        return new Lift(store, AttemptStore.index(id, AttemptStore.BENCH, attempt));
+    }
+
+    public Lift getDeadlift(int attempt){
+        return new Lift(store, AttemptStore.index(id, AttemptStore.DEADLIFT, attempt));
+    }
+
+    public double getTotal(Metric metric){
+        return UniversalWeight.fromUnits(store.getTotalUnits(id), metric);
+    }
+
+    public Lift getMaxSquat(){
+        if(maxSquat == null){
+            maxSquat = new Lift(store, bestSquat);
+        }
+        return maxSquat;
+    }
+
+    public Lift getMaxBench(){
+        if(maxBench == null){
+            maxBench = new Lift(store, bestBench);
+        }
+        return maxBench;
+    }
+
+    public Lift getMaxDeadlift(){
+        if(maxDeadlift == null){
+            maxDeadlift = new Lift(store, bestDeadlift);
+        }
+        return maxDeadlift;
+    }
+
+    /** Total scored by a points formula, optionally scaled by the Masters age coefficient */
+    public double getPoints(PointsFormula formula, boolean ageAdjusted){
+        double points = store.getTotal(id) * coefficients[formula.ordinal()];
+        return ageAdjusted ? points * ageCoefficient : points;
+    }
+
+    /** Store holding this lifter's attempts */
+    AttemptStore getStore(){
+        return store;
+    }
+
+    /** Row of this lifter within its store */
+    int getId(){
+        return id;
+    }
+
+    public int getLot(){
+        return lot;
+    }
+
+    LifterGroup getGroup(){
+        return group;
+    }
+
+    // SETTERS
+
+    public void setFirstName(String firstName){
+        this.firstName = firstName;
+    }
+
+    public void setLastName(String lastName){
+        this.lastName = lastName;
+    }
+
+    public void setAge(int age){
+        rescore(() -> {
+            this.age = age;
+            this.ageCoefficient = PointsFormula.ageCoefficient(age);
+        });
+    }
+
+    public void setHomeTown(String homeTown){
+        this.homeTown = homeTown;
+    }
+
+    public void setBodyweight(double bodyweight, Metric metric){
+        setBodyweightUnits(UniversalWeight.toUnits(bodyweight, metric));
+    }
+
+    public void setBodyweightUnits(long units){
+        rescore(() -> {
+            this.bodyweight.setUnits(units);
+            computeCoefficients();
+        });
+    }
+
+    /** Apply an age or bodyweight change along with the coefficients derived from it, re-ranking the lifter in its
+     *  group under the group's lock, then have the group refile it if its division or weight class changed
+     */
+    private void rescore(Runnable change){
+        while(true){
+            LifterGroup current = group;
+            if(current == null){
+                synchronized(this){
+                    if(group == null){
+                        change.run();
+                        division = Division.forAge(age);
+                        weightClass = WeightClass.forBodyweight(bodyweight.getWeight(Metric.KG));
+                        return;
+                    }
+                }
+            }else if(current.rescore(this, change)){
+                division = Division.forAge(age);
+                weightClass = WeightClass.forBodyweight(bodyweight.getWeight(Metric.KG));
+                current.lifterReclassified(this);
+                return;
+            }
+            // refiled while waiting for the lock, try again under the new group
+        }
+    }
+
+    /** Derive every points formula's coefficient from the current bodyweight */
+    private void computeCoefficients(){
+        double bodyweightKG = bodyweight.getWeight(Metric.KG);
+        for(int i = 0; i < coefficients.length; i++){
+            coefficients[i] = PointsFormula.fromIndex(i).coefficient(bodyweightKG);
+        }
+    }
+
+    /** Only set by Roster on entry, or when restoring a saved meet */
+    void setLot(int lot){
+        this.lot = lot;
+    }
+
+    /** Only set by LifterGroup as the lifter is entered into or withdrawn from it */
+    void setGroup(LifterGroup group){
+        this.group = group;
+    }
+
+    public void setSquat(int attempt, double weight, AttemptState status, Metric metric){
+        recordAttempt(AttemptStore.SQUAT, attempt, weight, status, metric);
+    }
+
+    public void setBench(int attempt, double weight, AttemptState status, Metric metric){
+        recordAttempt(AttemptStore.BENCH, attempt, weight, status, metric);
+    }
+
+    public void setDeadlift(int attempt, double weight, AttemptState status, Metric metric){
+        recordAttempt(AttemptStore.DEADLIFT, attempt, weight, status, metric);
+    }
+
+    /** Record an attempt of any lift, lift being one of AttemptStore.SQUAT, BENCH or DEADLIFT
+     *  The attempt, best lift, total and rankings change together under the group's lock, or under this lifter's
+     *  monitor while it belongs to no group, so concurrent platforms never see half an update
+     */
+    void recordAttempt(int lift, int attempt, double weight, AttemptState status, Metric metric){
+        recordAttemptUnits(lift, attempt, UniversalWeight.toUnits(weight, metric), status);
+    }
+
+    /** Record an attempt weighed in UniversalWeight units, as restoring a saved weight does so it comes back exactly */
+    void recordAttemptUnits(int lift, int attempt, long units, AttemptState status){
+        while(true){
+            LifterGroup current = group;
+            if(current == null){
+                synchronized(this){
+                    if(group == null){
+                        setAttempt(lift, attempt, units, status);
+                        return;
+                    }
+                }
+            }else{
+                Boolean bestChanged = current.recordAttempt(this, lift, () -> setAttempt(lift, attempt, units, status));
+                if(bestChanged != null){
+                    // listeners run outside the lock so they are free to read any group
+                    current.attemptChanged(this, lift, attempt, bestChanged);
+                    return;
+                }
+            }
+            // refiled while waiting for the lock, try again under the new group
+        }
+    }
+
+    // DISPLAY METHODS
+
+    public String printTotal(){
+        return UniversalWeight.formatUnits(store.getTotalUnits(id));
+    }
+
+    public String printSquat(int attempt){
+        return getSquat(attempt).toString();
+    }
+
+    public String printBench(int attempt){
+        return getBench(attempt).toString();
+    }
+
+    public String printDeadLift(int attempt){
+        return getDeadlift(attempt).toString();
+    }
+
+    public String printBodyweight(){
+        return bodyweight.toString();
+    }
+
+    @Override 
+    public String toString(){
+        return firstName + " " + lastName + ": (S)" + getMaxSquat().weightString() + " | (B)" + getMaxBench().weightString() + " | (D)" + getMaxDeadlift().weightString() + " | (Total)" + printTotal();
+    }
+    // HELPERS
+
+    /** Write one attempt into the store, then refresh that lift's best attempt and the total
+     *  Returns true if the best weight of the lift, and so the total, changed
+     */
+    private boolean setAttempt(int lift, int attempt, long units, AttemptState status){
+        int index = AttemptStore.index(id, lift, attempt);
+        long previousBest = store.bestUnits(getBest(lift));
+        store.setUnits(index, units);
+        store.setState(index, status);
+
+        // only the edited lift's three attempts need rescanning
+        int best = store.findBest(id, lift);
+        setBest(lift, best);
+        if(store.bestUnits(best) == previousBest){
+            return false;
+        }
+        updateTotal();
+        return true;
+    }
+
+    private void updateTotal(){
+        store.setTotalUnits(id, store.bestUnits(bestSquat) + store.bestUnits(bestBench) + store.bestUnits(bestDeadlift));
+    }
+
+    private int getBest(int lift){
+        if(lift == AttemptStore.SQUAT){
+            return bestSquat;
+        }else if(lift == AttemptStore.BENCH){
+            return bestBench;
+        }else{
+            return bestDeadlift;
+        }
+    }
+
+    /** Record the best attempt of a lift and re-point its view if one has been handed out */
+    private void setBest(int lift, int best){
+        if(lift == AttemptStore.SQUAT){
+            bestSquat = best;
+            if(maxSquat != null){
+                maxSquat.moveTo(best);
+            }
+        }else if(lift == AttemptStore.BENCH){
+            bestBench = best;
+            if(maxBench != null){
+                maxBench.moveTo(best);
+            }
+        }else{
+            bestDeadlift = best;
+            if(maxDeadlift != null){
+                maxDeadlift.moveTo(best);
+            }
+        }
+    }
+}
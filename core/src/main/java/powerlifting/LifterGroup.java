@@ -0,0 +1,331 @@
+package powerlifting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/** The lifters of one weight class and division, in the order they were entered
+ *  Also owns one RankingIndex per criterion that has been asked for, and the holder of each meet record, all kept
+ *  current as attempts are recorded
+ *
+ *  Each group has its own lock, so platforms and importers working different buckets never contend.
+ *  Changes to the group, its rankings and the attempts of its lifters are made under the write lock;
+ *  reads are optimistic and retried if a write slipped in, so readers don't hold writers up.
+ */
+public class LifterGroup implements Iterable<Lifter>{
+
+    /** Optimistic attempts a read makes before queueing for the read lock */
+    private static final int OPTIMISTIC_TRIES = 3;
+
+    /** Lifters in entry order */
+    private final ArrayList<Lifter> lifters;
+
+    /** Rankings built so far, one per criterion */
+    private final ArrayList<RankingIndex> rankings;
+
+    /** Roster this group belongs to, null for a standalone group */
+    private final Roster roster;
+
+    /** Holder of the meet record of each lift and the total as RecordBook.meetHolder would find it, indexed by lift / 3
+     *  (ResultsArchive.TOTAL / 3 being the last), with each holder's RecordBook.meetKey alongside
+     */
+    private final Lifter[] holders;
+    private final long[] holderKeys;
+
+    /** Guards lifters, rankings, holders and the attempts of member lifters */
+    private final StampedLock lock;
+
+    public LifterGroup(){
+        this(null);
+    }
+
+    LifterGroup(Roster roster){
+        this.lifters = new ArrayList<Lifter>();
+        this.rankings = new ArrayList<RankingIndex>(4);
+        this.holders = new Lifter[ResultsArchive.TOTAL / 3 + 1];
+        this.holderKeys = new long[holders.length];
+        Arrays.fill(holderKeys, -1);
+        this.roster = roster;
+        this.lock = new StampedLock();
+    }
+
+    public int size(){
+        return read(() -> lifters.size());
+    }
+
+    public Lifter get(int index){
+        return read(() -> lifters.get(index));
+    }
+
+    /** Copy of the lifters in entry order */
+    public List<Lifter> asList(){
+        return read(() -> new ArrayList<Lifter>(lifters));
+    }
+
+    public boolean contains(Lifter lifter){
+        return lifter.getGroup() == this;
+    }
+
+    /** Enter a lifter into this group and every ranking kept for it */
+    public void add(Lifter lifter){
+        long stamp = lock.writeLock();
+        try{
+            addLocked(lifter);
+        }finally{
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Enter several lifters under a single acquisition of the write lock */
+    void addAll(List<Lifter> lifters){
+        long stamp = lock.writeLock();
+        try{
+            for(int i = 0; i < lifters.size(); i++){
+                addLocked(lifters.get(i));
+            }
+        }finally{
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Withdraw a lifter from this group and its rankings */
+    public boolean remove(Lifter lifter){
+        long stamp = lock.writeLock();
+        try{
+            return removeLocked(lifter);
+        }finally{
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Ranking of this group by the given criterion, built on first request and maintained from then on
+     *  The index itself is not thread safe; off the thread making changes use standings and rank instead
+     */
+    public RankingIndex ranking(ScoreComparator comparator){
+        RankingIndex existing = read(() -> findRanking(comparator));
+        if(existing != null){
+            return existing;
+        }
+        long stamp = lock.writeLock();
+        try{
+            RankingIndex index = findRanking(comparator);
+            if(index == null){
+                index = new RankingIndex(comparator);
+                for(int i = 0; i < lifters.size(); i++){
+                    index.add(lifters.get(i));
+                }
+                rankings.add(index);
+            }
+            return index;
+        }finally{
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Every lifter in placement order by a criterion, safe from any thread */
+    public ArrayList<Lifter> standings(ScoreComparator comparator){
+        RankingIndex index = ranking(comparator);
+        return read(() -> index.toList());
+    }
+
+    /** Placement of a lifter by a criterion starting from 1, or -1 if not in this group, safe from any thread */
+    public int rank(ScoreComparator comparator, Lifter lifter){
+        RankingIndex index = ranking(comparator);
+        return read(() -> index.rank(lifter));
+    }
+
+    /** Lifter holding the meet record of a lift (AttemptStore.SQUAT, BENCH or DEADLIFT) or the total
+     *  (ResultsArchive.TOTAL) in this group, or null if nobody has made one, safe from any thread
+     */
+    public Lifter meetHolder(int lift){
+        return read(() -> holders[lift / 3]);
+    }
+
+    /** Run a read against the group, retrying it optimistically and only taking the read lock under sustained writing */
+    <T> T read(Supplier<T> reader){
+        for(int tries = 0; tries < OPTIMISTIC_TRIES; tries++){
+            long stamp = lock.tryOptimisticRead();
+            if(stamp == 0){
+                // a write is in progress
+                Thread.onSpinWait();
+                continue;
+            }
+            try{
+                T result = reader.get();
+                if(lock.validate(stamp)){
+                    return result;
+                }
+            }catch(RuntimeException e){
+                // the structures changed underneath the read, which validate would also reject
+            }
+        }
+        long stamp = lock.readLock();
+        try{
+            return reader.get();
+        }finally{
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** Apply a change to a member lifter's attempts under the write lock, re-filing rankings if a best lift moved
+     *  Returns whether a best lift moved, or null without running the change if the lifter left the group before the lock was taken
+     */
+    Boolean recordAttempt(Lifter lifter, int lift, Supplier<Boolean> change){
+        long stamp = lock.writeLock();
+        try{
+            if(lifter.getGroup() != this){
+                return null;
+            }
+            boolean bestChanged = change.get();
+            if(bestChanged){
+                for(int i = 0; i < rankings.size(); i++){
+                    rankings.get(i).update(lifter);
+                }
+            }
+            // an equal best can move to another attempt without the weight changing, which moves it in line for a record
+            refileHolder(lifter, lift / 3);
+            refileHolder(lifter, ResultsArchive.TOTAL / 3);
+            return bestChanged;
+        }finally{
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Apply a change to a member lifter's age or bodyweight under the write lock, re-filing it in every ranking since
+     *  points scores follow both. Returns false without running the change if the lifter left the group before the lock was taken
+     */
+    boolean rescore(Lifter lifter, Runnable change){
+        long stamp = lock.writeLock();
+        try{
+            if(lifter.getGroup() != this){
+                return false;
+            }
+            change.run();
+            for(int i = 0; i < rankings.size(); i++){
+                rankings.get(i).update(lifter);
+            }
+            return true;
+        }finally{
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Called by a member lifter once a recorded attempt is in place, outside the lock
+     *  Roster listeners see every attempt, whether or not a best lift moved
+     */
+    void attemptChanged(Lifter lifter, int lift, int attempt, boolean bestChanged){
+        if(roster != null){
+            roster.attemptChanged(lifter, lift, attempt, bestChanged);
+        }
+    }
+
+    /** A lifter's age or bodyweight changed, a roster moves it to the group matching its division and weight class */
+    void lifterReclassified(Lifter lifter){
+        if(roster != null){
+            roster.refile(lifter, this);
+        }
+    }
+
+    /** Move a lifter between two groups as one step, locking both in a fixed order so opposite moves can't deadlock */
+    static boolean move(Lifter lifter, LifterGroup from, LifterGroup to){
+        if(from == to){
+            return false;
+        }
+        LifterGroup first = System.identityHashCode(from) <= System.identityHashCode(to) ? from : to;
+        LifterGroup second = first == from ? to : from;
+        long firstStamp = first.lock.writeLock();
+        try{
+            long secondStamp = second.lock.writeLock();
+            try{
+                if(!from.removeLocked(lifter)){
+                    return false;
+                }
+                to.addLocked(lifter);
+                return true;
+            }finally{
+                second.lock.unlockWrite(secondStamp);
+            }
+        }finally{
+            first.lock.unlockWrite(firstStamp);
+        }
+    }
+
+    private void addLocked(Lifter lifter){
+        // the lifter's own monitor covers attempts recorded while it belongs to no group
+        synchronized(lifter){
+            lifters.add(lifter);
+            lifter.setGroup(this);
+            for(int i = 0; i < rankings.size(); i++){
+                rankings.get(i).add(lifter);
+            }
+            for(int h = 0; h < holders.length; h++){
+                refileHolder(lifter, h);
+            }
+        }
+    }
+
+    private boolean removeLocked(Lifter lifter){
+        if(lifter.getGroup() != this || !lifters.remove(lifter)){
+            return false;
+        }
+        synchronized(lifter){
+            lifter.setGroup(null);
+        }
+        for(int i = 0; i < rankings.size(); i++){
+            rankings.get(i).remove(lifter);
+        }
+        for(int h = 0; h < holders.length; h++){
+            if(holders[h] == lifter){
+                findHolder(h);
+            }
+        }
+        return true;
+    }
+
+    /** Re-check one meet record after a lifter's attempts changed, only going through the group if its holder fell back */
+    private void refileHolder(Lifter lifter, int h){
+        long key = RecordBook.meetKey(lifter, h * 3);
+        if(holders[h] == lifter){
+            if(key >= holderKeys[h]){
+                // a holder lifting more is still ahead of everyone
+                holderKeys[h] = key;
+            }else{
+                findHolder(h);
+            }
+        }else if(RecordBook.ahead(key, lifter, holderKeys[h], holders[h])){
+            holders[h] = lifter;
+            holderKeys[h] = key;
+        }
+    }
+
+    private void findHolder(int h){
+        holders[h] = null;
+        holderKeys[h] = -1;
+        for(int i = 0; i < lifters.size(); i++){
+            Lifter lifter = lifters.get(i);
+            long key = RecordBook.meetKey(lifter, h * 3);
+            if(RecordBook.ahead(key, lifter, holderKeys[h], holders[h])){
+                holders[h] = lifter;
+                holderKeys[h] = key;
+            }
+        }
+    }
+
+    private RankingIndex findRanking(ScoreComparator comparator){
+        for(int i = 0; i < rankings.size(); i++){
+            if(rankings.get(i).getComparator() == comparator){
+                return rankings.get(i);
+            }
+        }
+        return null;
+    }
+
+    /** Iterates a copy, so it is safe to walk while the group changes */
+    @Override
+    public Iterator<Lifter> iterator(){
+        return asList().iterator();
+    }
+}
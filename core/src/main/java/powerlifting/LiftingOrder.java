@@ -0,0 +1,161 @@
+package powerlifting;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.TreeSet;
+
+/** Who lifts next in one lift of a flight
+ *  Every lifter with a requested attempt waits in a sorted set keyed by round (attempt number), requested weight
+ *  in kilograms, then lot number, so each round runs with a rising bar and lots break ties. Listening to the
+ *  roster directly keeps the order current the moment an attempt is judged or changed, at O(log n) per change.
+ *  Synchronized, since roster events arrive on whichever thread made the change.
+ */
+public class LiftingOrder implements RosterListener {
+
+    /** A lifter's place in line, fixed until the lifter's attempts change */
+    private static class Entry implements Comparable<Entry> {
+        private final Lifter lifter;
+        private final int attempt;
+        private final double weight;
+
+        private Entry(Lifter lifter, int attempt, double weight){
+            this.lifter = lifter;
+            this.attempt = attempt;
+            this.weight = weight;
+        }
+
+        @Override
+        public int compareTo(Entry other){
+            return compare(lifter, attempt, weight, other.lifter, other.attempt, other.weight);
+        }
+    }
+
+    private final LifterGroup flight;
+    private final int lift;
+
+    /** Lifters waiting to lift, in order */
+    private final TreeSet<Entry> queue;
+
+    /** Each waiting lifter's entry, so it can be found and re-keyed */
+    private final HashMap<Lifter, Entry> entries;
+
+    /** Order one lift of a flight, lift being one of AttemptStore.SQUAT, BENCH or DEADLIFT
+     *  Register it with the roster to keep it current
+     */
+    public LiftingOrder(LifterGroup flight, int lift){
+        this.flight = flight;
+        this.lift = lift;
+        this.queue = new TreeSet<Entry>();
+        this.entries = new HashMap<Lifter, Entry>();
+        for(Lifter lifter: flight){
+            refresh(lifter);
+        }
+    }
+
+    /** First attempt of a lift with a requested weight that has not been judged, or 0 if there is none */
+    public static int pendingAttempt(Lifter lifter, int lift){
+        AttemptStore store = lifter.getStore();
+        for(int attempt = 1; attempt <= 3; attempt++){
+            int index = AttemptStore.index(lifter.getId(), lift, attempt);
+            if(store.getState(index) == AttemptState.PROJECTION && store.getWeight(index) > 0){
+                return attempt;
+            }
+        }
+        return 0;
+    }
+
+    /** Which of two requested attempts, weights in kilograms, is taken first: earlier round, lighter bar, then lower lot */
+    static int compare(Lifter a, int attemptA, double weightA, Lifter b, int attemptB, double weightB){
+        if(attemptA != attemptB){
+            return Integer.compare(attemptA, attemptB);
+        }
+        if(weightA != weightB){
+            return Double.compare(weightA, weightB);
+        }
+        if(a.getLot() != b.getLot()){
+            return Integer.compare(a.getLot(), b.getLot());
+        }
+        // lots are unique within a roster, this only separates lifters never entered into one
+        return Integer.compare(a.getId(), b.getId());
+    }
+
+    public LifterGroup getFlight(){
+        return flight;
+    }
+
+    public int getLift(){
+        return lift;
+    }
+
+    /** The lifter due on the platform, or null once nobody has an attempt requested */
+    public synchronized Lifter next(){
+        return queue.isEmpty() ? null : queue.first().lifter;
+    }
+
+    /** Attempt number the next lifter is taking, 0 if there is no next lifter */
+    public synchronized int nextAttempt(){
+        return queue.isEmpty() ? 0 : queue.first().attempt;
+    }
+
+    /** The next count lifters in order */
+    public synchronized ArrayList<Lifter> upcoming(int count){
+        ArrayList<Lifter> upcoming = new ArrayList<Lifter>(Math.min(count, queue.size()));
+        Iterator<Entry> it = queue.iterator();
+        while(upcoming.size() < count && it.hasNext()){
+            upcoming.add(it.next().lifter);
+        }
+        return upcoming;
+    }
+
+    /** Lifters with an attempt requested */
+    public synchronized int size(){
+        return queue.size();
+    }
+
+    /** Re-key one lifter from its current attempts, dropping it if it is no longer in the flight or has nothing requested */
+    private synchronized void refresh(Lifter lifter){
+        Entry old = entries.remove(lifter);
+        if(old != null){
+            queue.remove(old);
+        }
+        if(lifter.getGroup() != flight){
+            return;
+        }
+        int attempt = pendingAttempt(lifter, lift);
+        if(attempt > 0){
+            double weight = lifter.getStore().getWeight(AttemptStore.index(lifter.getId(), lift, attempt));
+            Entry entry = new Entry(lifter, attempt, weight);
+            queue.add(entry);
+            entries.put(lifter, entry);
+        }
+    }
+
+    // ROSTER EVENTS
+
+    @Override
+    public void lifterAdded(Lifter lifter){
+        refresh(lifter);
+    }
+
+    @Override
+    public void lifterRemoved(Lifter lifter){
+        refresh(lifter);
+    }
+
+    @Override
+    public void attemptChanged(Lifter lifter, int lift, int attempt){
+        if(lift == this.lift){
+            refresh(lifter);
+        }
+    }
+
+    @Override
+    public void bestLiftChanged(Lifter lifter, int lift){
+    }
+
+    @Override
+    public void lifterMoved(Lifter lifter, LifterGroup from){
+        refresh(lifter);
+    }
+}
@@ -0,0 +1,250 @@
+package powerlifting;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+
+/** Plate-by-plate loading plan for one lift of a flight
+ *  Attempts are taken in the order LiftingOrder calls them: by round, then rising bar, then lot. Plates stack
+ *  heaviest innermost, so moving between two loadings keeps their common inner plates and swaps everything outside
+ *  them. Among all the ways of loading each weight, a shortest-path pass over the whole flight picks the sequence
+ *  with the fewest plates handled in total.
+ */
+public class LoadingChart {
+
+    /** Loadings considered per weight, more adds nothing at real meet weights */
+    private static final int CANDIDATES = 64;
+
+    /** One attempt in the plan */
+    public static class Row {
+        private final Lifter lifter;
+        private final int attempt;
+        private final double weight;
+        /** Plates per side parallel to the plate set, null if the weight cannot be loaded */
+        private final int[] loading;
+        /** Outer plates taken off each side before loading */
+        private final int stripped;
+        /** Plates put on each side, per plate type */
+        private final int[] added;
+
+        private Row(Lifter lifter, int attempt, double weight, int[] loading, int stripped, int[] added){
+            this.lifter = lifter;
+            this.attempt = attempt;
+            this.weight = weight;
+            this.loading = loading;
+            this.stripped = stripped;
+            this.added = added;
+        }
+
+        public Lifter getLifter(){
+            return lifter;
+        }
+
+        public int getAttempt(){
+            return attempt;
+        }
+
+        public double getWeight(){
+            return weight;
+        }
+
+        public int[] getLoading(){
+            return loading;
+        }
+
+        public int getStripped(){
+            return stripped;
+        }
+
+        public int[] getAdded(){
+            return added;
+        }
+    }
+
+    /** A lifter's next requested attempt, weighed in kilograms for ordering and in the loader's metric for loading */
+    private static class Request {
+        private final Lifter lifter;
+        private final int attempt;
+        private final double kg;
+        private final double weight;
+
+        private Request(Lifter lifter, int attempt, double kg, double weight){
+            this.lifter = lifter;
+            this.attempt = attempt;
+            this.kg = kg;
+            this.weight = weight;
+        }
+    }
+
+    private final PlateLoader loader;
+    private final double[] plates;
+    private final ArrayList<Row> rows;
+
+    /** Plan the next requested attempt of a lift, lift being one of AttemptStore.SQUAT, BENCH or DEADLIFT,
+     *  for every lifter in a flight, with weights read in the loader's metric
+     */
+    public LoadingChart(PlateLoader loader, Iterable<Lifter> flight, int lift, Metric metric){
+        this.loader = loader;
+        this.plates = loader.getPlates();
+        this.rows = new ArrayList<Row>();
+
+        // the next attempt each lifter has requested, in the order they will be called
+        ArrayList<Request> attempts = new ArrayList<Request>();
+        for(Lifter lifter: flight){
+            int attempt = LiftingOrder.pendingAttempt(lifter, lift);
+            if(attempt > 0){
+                double kg = lifter.getStore().getWeight(AttemptStore.index(lifter.getId(), lift, attempt));
+                attempts.add(new Request(lifter, attempt, kg, UniversalWeight.convert(kg, Metric.KG, metric)));
+            }
+        }
+        Collections.sort(attempts, new Comparator<Request>(){
+            public int compare(Request a, Request b){
+                return LiftingOrder.compare(a.lifter, a.attempt, a.kg, b.lifter, b.attempt, b.kg);
+            }
+        });
+        plan(attempts);
+    }
+
+    /** Pick one loading per attempt minimizing total plate handling, starting from an empty bar */
+    private void plan(ArrayList<Request> attempts){
+        int n = attempts.size();
+        ArrayList<ArrayList<int[]>> options = new ArrayList<ArrayList<int[]>>(n);
+        for(int i = 0; i < n; i++){
+            options.add(loader.loadings(attempts.get(i).weight, CANDIDATES));
+        }
+
+        // cost[i][k] is the least handling to reach option k of attempt i, from[i][k] the option before it
+        // unloadable attempts are skipped over, leaving the bar as it was
+        int[][] cost = new int[n][];
+        int[][] from = new int[n][];
+        int[] empty = new int[plates.length];
+        ArrayList<int[]> previous = new ArrayList<int[]>();
+        previous.add(empty);
+        int[] previousCost = {0};
+        int previousIndex = -1;
+        for(int i = 0; i < n; i++){
+            ArrayList<int[]> current = options.get(i);
+            if(current.isEmpty()){
+                continue;
+            }
+            cost[i] = new int[current.size()];
+            from[i] = new int[current.size()];
+            for(int k = 0; k < current.size(); k++){
+                int best = Integer.MAX_VALUE;
+                for(int p = 0; p < previous.size(); p++){
+                    int total = previousCost[p] + changes(previous.get(p), current.get(k));
+                    if(total < best){
+                        best = total;
+                        from[i][k] = p;
+                    }
+                }
+                cost[i][k] = best;
+            }
+            previous = current;
+            previousCost = cost[i];
+            previousIndex = i;
+        }
+
+        // walk back from the cheapest final loading
+        int[] chosen = new int[n];
+        int k = 0;
+        if(previousIndex >= 0){
+            for(int j = 1; j < previousCost.length; j++){
+                if(previousCost[j] < previousCost[k]){
+                    k = j;
+                }
+            }
+        }
+        for(int i = previousIndex; i >= 0; i--){
+            if(cost[i] == null){
+                continue;
+            }
+            chosen[i] = k;
+            k = from[i][k];
+        }
+
+        // build the rows, describing each change from the loading before it
+        int[] onBar = empty;
+        for(int i = 0; i < n; i++){
+            Request request = attempts.get(i);
+            if(cost[i] == null){
+                rows.add(new Row(request.lifter, request.attempt, request.weight, null, 0, new int[plates.length]));
+                continue;
+            }
+            int[] loading = options.get(i).get(chosen[i]);
+            int kept = common(onBar, loading);
+            int[] added = new int[plates.length];
+            int inner = kept;
+            for(int p = 0; p < plates.length; p++){
+                int keep = Math.min(loading[p], inner);
+                added[p] = loading[p] - keep;
+                inner -= keep;
+            }
+            rows.add(new Row(request.lifter, request.attempt, request.weight, loading, PlateLoader.count(onBar) - kept, added));
+            onBar = loading;
+        }
+    }
+
+    /** Plates handled per side going from one loading to another */
+    static int changes(int[] from, int[] to){
+        int kept = common(from, to);
+        return PlateLoader.count(from) - kept + PlateLoader.count(to) - kept;
+    }
+
+    /** Inner plates two loadings share, stacked heaviest first */
+    static int common(int[] a, int[] b){
+        int kept = 0;
+        for(int p = 0; p < a.length; p++){
+            kept += Math.min(a[p], b[p]);
+            if(a[p] != b[p]){
+                break;
+            }
+        }
+        return kept;
+    }
+
+    public ArrayList<Row> getRows(){
+        return rows;
+    }
+
+    /** Plates handled per side over the whole flight */
+    public int getTotalChanges(){
+        int total = 0;
+        for(int i = 0; i < rows.size(); i++){
+            total += rows.get(i).stripped + PlateLoader.count(rows.get(i).added);
+        }
+        return total;
+    }
+
+    /** Chart for the loaders, one line per attempt, all plate counts per side */
+    @Override
+    public String toString(){
+        StringBuilder chart = new StringBuilder();
+        chart.append(String.format("%-8s %-24s %-5s %-8s %-28s %s%n", "Weight", "Lifter", "Att", "Strip", "Add", "Loaded"));
+        for(int i = 0; i < rows.size(); i++){
+            Row row = rows.get(i);
+            String name = row.lifter.getFirstName() + " " + row.lifter.getLastName();
+            if(row.loading == null){
+                chart.append(String.format("%-8s %-24s %-5d cannot be loaded%n", UniversalWeight.formatNumber(row.weight), name, row.attempt));
+            }else{
+                chart.append(String.format("%-8s %-24s %-5d %-8d %-28s %s%n", UniversalWeight.formatNumber(row.weight), name, row.attempt, row.stripped, plateList(row.added), plateList(row.loading)));
+            }
+        }
+        chart.append("Plates handled per side: ").append(getTotalChanges());
+        return chart.toString();
+    }
+
+    /** Plates heaviest first, e.g. "25 25 15 1.25" */
+    private String plateList(int[] counts){
+        StringBuilder list = new StringBuilder();
+        for(int p = 0; p < counts.length; p++){
+            for(int c = 0; c < counts[p]; c++){
+                if(list.length() > 0){
+                    list.append(' ');
+                }
+                list.append(UniversalWeight.formatNumber(plates[p]));
+            }
+        }
+        return list.length() == 0 ? "-" : list.toString();
+    }
+}
@@ -0,0 +1,335 @@
+package powerlifting;
+
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+
+/** Command line entry point for processing a meet without the UI
+ *  Recovers a meet saved by the app from its data directory, ranks it and writes reports or best-lifter lists to
+ *  standard output or a file, for scripts and servers. Only the JavaFX-free core is loaded, so a run starts in
+ *  milliseconds and its cost is dominated by reading the meet.
+ */
+public final class MeetCli {
+
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: java -jar meet-cli.jar <command> <meet-data directory> [options]",
+            "Commands:",
+            "  report               standings of every division and weight class",
+            "  best                 best lifters across the whole meet",
+            "  import <csv file>    enter every lifter in a roster spreadsheet into the meet, creating it if needed",
+            "  archive <file>       add the meet's results to a results archive, creating it if needed",
+            "  history <file>       class records and each lifter's previous bests from a results archive,",
+            "                       alongside the meet",
+            "Options:",
+            "  --by <criterion>     total, squat, bench, deadlift, dots, wilks or gl, prefixed with masters- for",
+            "                       age adjusted points (report default total, best default gl)",
+            "  --format <format>    report format: text, csv or json (default text)",
+            "  --out <directory>    write a dated report file there instead of to standard output",
+            "  --top <places>       places listed by best (default 10)",
+            "  --masters            best: only Masters lifters",
+            "  --records <file>     report: records to flag (default records.csv in the meet-data directory)",
+            "  --date <yyyy-mm-dd>  archive: the day the meet was held (default today)");
+
+    /** Size of the character buffer in front of standard output */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /** Ranking criteria by command line name */
+    private static final LinkedHashMap<String, ScoreComparator> CRITERIA = new LinkedHashMap<String, ScoreComparator>();
+    static{
+        CRITERIA.put("total", Standings.TOTAL);
+        CRITERIA.put("squat", Standings.SQUAT);
+        CRITERIA.put("bench", Standings.BENCH);
+        CRITERIA.put("deadlift", Standings.DEADLIFT);
+        CRITERIA.put("dots", Standings.DOTS);
+        CRITERIA.put("wilks", Standings.WILKS);
+        CRITERIA.put("gl", Standings.IPF_GL);
+        CRITERIA.put("masters-dots", Standings.MASTERS_DOTS);
+        CRITERIA.put("masters-wilks", Standings.MASTERS_WILKS);
+        CRITERIA.put("masters-gl", Standings.MASTERS_IPF_GL);
+    }
+
+    /** A command line that can't be run, reported with the usage text */
+    private static class UsageException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        private UsageException(String message){
+            super(message);
+        }
+    }
+
+    private MeetCli(){}
+
+    public static void main(String[] args){
+        try{
+            run(args);
+        }catch(UsageException e){
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }catch(IOException e){
+            System.err.println("Could not process the meet: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static void run(String[] args) throws UsageException, IOException {
+        if(args.length < 2){
+            throw new UsageException(args.length == 0 ? "No command given" : "No meet-data directory given");
+        }
+        String command = args[0];
+        if(command.equals("import")){
+            if(args.length != 3){
+                throw new UsageException("import takes a meet-data directory and a csv file");
+            }
+            importRoster(Paths.get(args[1]), Paths.get(args[2]));
+            return;
+        }
+        if(command.equals("history")){
+            if(args.length != 3){
+                throw new UsageException("history takes a meet-data directory and an archive file");
+            }
+            showHistory(Paths.get(args[1]), Paths.get(args[2]));
+            return;
+        }
+        if(command.equals("archive")){
+            if(args.length != 3 && !(args.length == 5 && args[3].equals("--date"))){
+                throw new UsageException("archive takes a meet-data directory, an archive file and optionally --date");
+            }
+            archiveMeet(Paths.get(args[1]), Paths.get(args[2]), args.length == 5 ? parseDate(args[4]) : LocalDate.now());
+            return;
+        }
+        if(!command.equals("report") && !command.equals("best")){
+            throw new UsageException("Unknown command: " + command);
+        }
+        Path directory = Paths.get(args[1]);
+        if(!Files.isDirectory(directory)){
+            throw new UsageException("Not a directory: " + directory);
+        }
+
+        String by = command.equals("report") ? "total" : "gl";
+        ReportFormat format = ReportFormat.TEXT;
+        Path out = null;
+        int top = 10;
+        boolean masters = false;
+        Path records = directory.resolve(RecordBook.FILE_NAME);
+        for(int i = 2; i < args.length; i++){
+            String option = args[i];
+            checkApplies(command, option);
+            if(option.equals("--masters")){
+                masters = true;
+                continue;
+            }
+            if(i + 1 == args.length){
+                throw new UsageException("Missing value for " + option);
+            }
+            String value = args[++i];
+            if(option.equals("--by")){
+                by = value;
+            }else if(option.equals("--format")){
+                format = parseFormat(value);
+            }else if(option.equals("--out")){
+                out = Paths.get(value);
+            }else if(option.equals("--records")){
+                records = Paths.get(value);
+                if(!Files.isRegularFile(records)){
+                    throw new UsageException("Not a file: " + records);
+                }
+            }else if(option.equals("--top")){
+                top = parsePlaces(value);
+            }else{
+                throw new UsageException("Unknown option: " + option);
+            }
+        }
+        ScoreComparator comparator = CRITERIA.get(by);
+        if(comparator == null){
+            throw new UsageException("Unknown criterion: " + by);
+        }
+
+        Roster roster = MeetJournal.recover(directory).roster;
+        if(Files.isRegularFile(records)){
+            roster.setRecords(RecordBook.read(records));
+        }
+        if(command.equals("report")){
+            MeetSnapshot snapshot = MeetSnapshot.of(roster, comparator);
+            if(out != null){
+                Files.createDirectories(out);
+                System.out.println(MeetReport.writeFile(snapshot, format, out, null));
+            }else{
+                try(Writer writer = standardOutput()){
+                    MeetReport.write(snapshot, format.newWriter(writer), null);
+                }
+            }
+        }else{
+            Leaderboard board = masters
+                    ? new Leaderboard(roster, comparator, top, lifter -> lifter.getDivsion().isMasters())
+                    : new Leaderboard(roster, comparator, top);
+            try(Writer writer = standardOutput()){
+                writeBest(board, writer);
+            }
+        }
+    }
+
+    /** Journal every lifter in a roster file into the meet, or none of them if any row is bad */
+    private static void importRoster(Path directory, Path file) throws UsageException, IOException {
+        if(!Files.isRegularFile(file)){
+            throw new UsageException("Not a file: " + file);
+        }
+        MeetJournal journal = MeetJournal.open(directory);
+        try{
+            Roster roster = journal.getRoster();
+            ArrayList<Lifter> lifters = RosterImport.read(file, roster.getStore());
+            roster.addAll(lifters);
+            // fold the whole import into one snapshot rather than leaving it as thousands of journal entries
+            journal.checkpoint();
+            System.out.println("Imported " + lifters.size() + " lifters into " + directory);
+        }finally{
+            journal.close();
+        }
+    }
+
+    /** Append a meet's best lifts to a results archive, rewriting it in one piece */
+    private static void archiveMeet(Path directory, Path file, LocalDate date) throws UsageException, IOException {
+        if(!Files.isDirectory(directory)){
+            throw new UsageException("Not a directory: " + directory);
+        }
+        Roster roster = MeetJournal.recover(directory).roster;
+        ResultsArchive.Builder builder = new ResultsArchive.Builder();
+        if(Files.exists(file)){
+            builder.addArchive(ResultsArchive.open(file));
+        }
+        builder.addMeet(roster, date);
+        builder.write(file);
+        System.out.println("Archived " + roster.size() + " results in " + file);
+    }
+
+    /** Look every division and weight class of a meet and each lifter in it up in a results archive */
+    private static void showHistory(Path directory, Path file) throws UsageException, IOException {
+        if(!Files.isDirectory(directory)){
+            throw new UsageException("Not a directory: " + directory);
+        }
+        if(!Files.isRegularFile(file)){
+            throw new UsageException("Not a file: " + file);
+        }
+        MeetSnapshot snapshot = MeetSnapshot.of(MeetJournal.recover(directory).roster);
+        ResultsArchive archive = ResultsArchive.open(file);
+        try(Writer writer = standardOutput()){
+            writeHistory(snapshot, archive, writer);
+        }
+    }
+
+    /** For each division and weight class, its records in the archive, then each lifter's total today and their
+     *  previous bests, PB marking a total that beats theirs
+     */
+    private static void writeHistory(MeetSnapshot snapshot, ResultsArchive archive, Writer out) throws IOException {
+        String newline = System.lineSeparator();
+        int[] lifts = {AttemptStore.SQUAT, AttemptStore.BENCH, AttemptStore.DEADLIFT, ResultsArchive.TOTAL};
+        String[] names = {"squat", "bench", "deadlift", "total"};
+        for(MeetSnapshot.Bucket bucket: snapshot.getBuckets()){
+            if(bucket.size() == 0){
+                continue;
+            }
+            out.write(bucket.getDivision() + " " + bucket.getWeightClass() + newline);
+            for(int l = 0; l < lifts.length; l++){
+                int row = archive.best(bucket.getDivision(), bucket.getWeightClass(), lifts[l], 0, Integer.MAX_VALUE - 1);
+                if(row >= 0){
+                    int holder = archive.lifter(row);
+                    out.write(String.format("  %-8s record %8s  %s %s, %s%s", names[l], UniversalWeight.formatNumber(archive.weight(row, lifts[l])),
+                            archive.firstName(holder), archive.lastName(holder), date(archive.date(row)), newline));
+                }
+            }
+            for(int i = 0; i < bucket.size(); i++){
+                MeetSnapshot.Row lifter = bucket.get(i);
+                int id = archive.findLifter(lifter.getFirstName(), lifter.getLastName(), lifter.getHomeTown());
+                StringBuilder line = new StringBuilder(String.format("%3d. %-28s today %8s", lifter.getPlace(),
+                        lifter.getFirstName() + " " + lifter.getLastName(), UniversalWeight.formatNumber(lifter.getTotal())));
+                if(id < 0){
+                    line.append("  first meet");
+                }else{
+                    line.append("  past meets ").append(archive.history(id).length).append(", bests");
+                    for(int l = 0; l < lifts.length; l++){
+                        int row = archive.personalBest(id, lifts[l]);
+                        line.append(' ').append(names[l]).append(' ').append(row < 0 ? "-" : UniversalWeight.formatNumber(archive.weight(row, lifts[l])));
+                    }
+                    int best = archive.personalBest(id, ResultsArchive.TOTAL);
+                    // compared as the archive holds it, so equalling a past total is not taken for beating it
+                    if(lifter.getTotal() > 0 && (best < 0 || (float) lifter.getTotal() > archive.weight(best, ResultsArchive.TOTAL))){
+                        line.append("  PB");
+                    }
+                }
+                out.write(line.append(newline).toString());
+            }
+        }
+    }
+
+    /** A yyyymmdd date code written yyyy-mm-dd */
+    private static String date(int code){
+        return String.format("%04d-%02d-%02d", code / 10000, code / 100 % 100, code % 100);
+    }
+
+    /** Best lifters and their scores, one per line */
+    private static void writeBest(Leaderboard board, Writer out) throws IOException {
+        ArrayList<Lifter> lifters = board.top();
+        double[] scores = board.scores();
+        String newline = System.lineSeparator();
+        out.write("Best lifter (" + board.getComparator() + ")" + newline);
+        for(int i = 0; i < lifters.size(); i++){
+            Lifter lifter = lifters.get(i);
+            out.write(String.format("%3d. %-28s %-12s %-16s %8.2f%s", i + 1, lifter.getFirstName() + " " + lifter.getLastName(),
+                    lifter.getDivsion(), lifter.getWeightClass(), scores[i], newline));
+        }
+    }
+
+    /** Refuse an option the command would otherwise ignore */
+    private static void checkApplies(String command, String option) throws UsageException {
+        boolean bestOnly = option.equals("--masters") || option.equals("--top");
+        boolean reportOnly = option.equals("--format") || option.equals("--out") || option.equals("--records");
+        if(bestOnly && !command.equals("best") || reportOnly && !command.equals("report")){
+            throw new UsageException(option + " only applies to " + (bestOnly ? "best" : "report"));
+        }
+    }
+
+    private static ReportFormat parseFormat(String value) throws UsageException {
+        for(ReportFormat format: ReportFormat.values()){
+            if(format.getExtension().equals(value) || format.name().equalsIgnoreCase(value)){
+                return format;
+            }
+        }
+        throw new UsageException("Unknown format: " + value);
+    }
+
+    private static LocalDate parseDate(String value) throws UsageException {
+        try{
+            return LocalDate.parse(value);
+        }catch(DateTimeParseException e){
+            throw new UsageException("Dates are written yyyy-mm-dd: " + value);
+        }
+    }
+
+    private static int parsePlaces(String value) throws UsageException {
+        try{
+            int places = Integer.parseInt(value);
+            if(places > 0){
+                return places;
+            }
+        }catch(NumberFormatException e){
+            // reported below
+        }
+        throw new UsageException("Places must be a positive whole number: " + value);
+    }
+
+    /** Buffered UTF-8 writer straight onto standard output, bypassing System.out's per-call locking and flushing */
+    private static Writer standardOutput(){
+        return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+}
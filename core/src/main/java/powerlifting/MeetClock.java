@@ -0,0 +1,239 @@
+package powerlifting;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/** Every countdown running at a meet, driven by one scheduler thread
+ *  A countdown holds the System.nanoTime() deadline it reaches zero at rather than a count of ticks, so the time it
+ *  shows is recomputed from the deadline on every read and cannot drift however late a tick is handled. The scheduler
+ *  keeps running countdowns in a set ordered by the instant their displayed second next changes, sleeps until the
+ *  earliest of them and notifies listeners of each second elapsed and each countdown expiring, at O(log n) per event.
+ *  The attempt clock, flight breaks and every lifter's submission deadline share the one thread.
+ *
+ *  All countdowns of a clock are guarded by its monitor. Listeners are called on the scheduler thread, outside it.
+ */
+public class MeetClock implements Closeable {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /** Told when a countdown's displayed second changes and when it runs out, on the scheduler thread */
+    public interface Listener {
+
+        void secondElapsed(Countdown countdown, int secondsLeft);
+
+        void expired(Countdown countdown);
+    }
+
+    /** A single countdown, paused until started */
+    public class Countdown implements Comparable<Countdown> {
+        private final Listener listener;
+        private final long seq;
+
+        /** Length the countdown restarts from when reset */
+        private long duration;
+
+        /** Time left while paused */
+        private long remaining;
+
+        /** nanoTime the countdown reaches zero at while running */
+        private long deadline;
+        private boolean running;
+
+        /** nanoTime the scheduler next wakes this countdown at, while queued */
+        private long wakeAt;
+
+        private Countdown(int seconds, Listener listener){
+            this.listener = listener;
+            this.seq = nextSeq++;
+            this.duration = seconds * SECOND;
+            this.remaining = duration;
+        }
+
+        /** Start or resume counting down from the time left */
+        public void start(){
+            synchronized(MeetClock.this){
+                if(running || remaining == 0){
+                    return;
+                }
+                running = true;
+                deadline = System.nanoTime() + remaining;
+                schedule(this, System.nanoTime());
+            }
+        }
+
+        /** Stop counting, keeping the time left */
+        public void pause(){
+            synchronized(MeetClock.this){
+                if(!running){
+                    return;
+                }
+                remaining = Math.max(0, deadline - System.nanoTime());
+                running = false;
+                due.remove(this);
+            }
+        }
+
+        /** Pause and restart from a new length */
+        public void reset(int seconds){
+            synchronized(MeetClock.this){
+                pause();
+                duration = seconds * SECOND;
+                remaining = duration;
+            }
+        }
+
+        /** Pause and restart from the current length */
+        public void reset(){
+            synchronized(MeetClock.this){
+                pause();
+                remaining = duration;
+            }
+        }
+
+        public boolean isRunning(){
+            synchronized(MeetClock.this){
+                return running;
+            }
+        }
+
+        /** Whether the countdown has run all the way to zero */
+        public boolean isExpired(){
+            return remainingNanos() == 0;
+        }
+
+        /** Time left in nanoseconds, read off the deadline */
+        public long remainingNanos(){
+            synchronized(MeetClock.this){
+                return running ? Math.max(0, deadline - System.nanoTime()) : remaining;
+            }
+        }
+
+        /** Whole seconds left, rounded up so the countdown only shows 0 once it has expired */
+        public int secondsLeft(){
+            return (int) ((remainingNanos() + SECOND - 1) / SECOND);
+        }
+
+        @Override
+        public int compareTo(Countdown other){
+            if(wakeAt != other.wakeAt){
+                return Long.compare(wakeAt, other.wakeAt);
+            }
+            return Long.compare(seq, other.seq);
+        }
+    }
+
+    /** Running countdowns, ordered by when each next needs the scheduler */
+    private final TreeSet<Countdown> due;
+    private long nextSeq;
+    private boolean closed;
+
+    private final Thread scheduler;
+
+    public MeetClock(){
+        this.due = new TreeSet<Countdown>();
+        this.scheduler = new Thread(new schedulerLoop(), "meet-clock");
+        this.scheduler.setDaemon(true);
+        this.scheduler.start();
+    }
+
+    /** A new countdown of a number of seconds, paused, reporting to a listener which may be null */
+    public synchronized Countdown countdown(int seconds, Listener listener){
+        return new Countdown(seconds, listener);
+    }
+
+    /** Number of countdowns currently running */
+    public synchronized int running(){
+        return due.size();
+    }
+
+    /** Stop the scheduler; countdowns still report their time left but listeners are no longer called */
+    @Override
+    public void close(){
+        synchronized(this){
+            closed = true;
+            notifyAll();
+        }
+        try{
+            scheduler.join();
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Queue a running countdown for the instant its displayed second next changes, waking the scheduler if that is sooner */
+    private void schedule(Countdown countdown, long now){
+        long left = Math.max(0, countdown.deadline - now);
+        long seconds = (left + SECOND - 1) / SECOND;
+        // the display drops from seconds to seconds - 1 once no more than seconds - 1 whole seconds remain
+        countdown.wakeAt = countdown.deadline - Math.max(0, seconds - 1) * SECOND;
+        due.add(countdown);
+        if(due.first() == countdown){
+            notifyAll();
+        }
+    }
+
+    // SCHEDULER THREAD
+
+    /** Sleeps until the earliest countdown needs attention, then reports every countdown that has come due */
+    private class schedulerLoop implements Runnable{
+        @Override
+        public void run(){
+            ArrayList<Countdown> fired = new ArrayList<Countdown>();
+            ArrayList<Integer> seconds = new ArrayList<Integer>();
+            try{
+                while(true){
+                    synchronized(MeetClock.this){
+                        while(!closed && (due.isEmpty() || due.first().wakeAt > System.nanoTime())){
+                            if(due.isEmpty()){
+                                MeetClock.this.wait();
+                            }else{
+                                TimeUnit.NANOSECONDS.timedWait(MeetClock.this, due.first().wakeAt - System.nanoTime());
+                            }
+                        }
+                        if(closed){
+                            return;
+                        }
+                        long now = System.nanoTime();
+                        while(!due.isEmpty() && due.first().wakeAt <= now){
+                            Countdown countdown = due.pollFirst();
+                            long left = Math.max(0, countdown.deadline - now);
+                            if(left == 0){
+                                countdown.running = false;
+                                countdown.remaining = 0;
+                            }else{
+                                schedule(countdown, now);
+                            }
+                            fired.add(countdown);
+                            seconds.add((int) ((left + SECOND - 1) / SECOND));
+                        }
+                    }
+                    for(int i = 0; i < fired.size(); i++){
+                        Countdown countdown = fired.get(i);
+                        if(countdown.listener == null){
+                            continue;
+                        }
+                        try{
+                            if(seconds.get(i) == 0){
+                                countdown.listener.expired(countdown);
+                            }else{
+                                countdown.listener.secondElapsed(countdown, seconds.get(i));
+                            }
+                        }catch(RuntimeException e){
+                            // one faulty listener must not stop every other clock of the meet
+                            Thread.UncaughtExceptionHandler handler = Thread.getDefaultUncaughtExceptionHandler();
+                            if(handler != null){
+                                handler.uncaughtException(Thread.currentThread(), e);
+                            }
+                        }
+                    }
+                    fired.clear();
+                    seconds.clear();
+                }
+            }catch(InterruptedException e){
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
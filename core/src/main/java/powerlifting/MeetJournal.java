@@ -0,0 +1,658 @@
+package powerlifting;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.zip.CRC32;
+
+/** Crash-safe persistence for a running meet
+ *  Every roster mutation is appended to journal.bin as a small checksummed binary record. A background thread writes
+ *  whatever has accumulated since its last pass and fsyncs once per batch (group commit), so the UI thread only ever
+ *  encodes into memory. Every SNAPSHOT_INTERVAL events the whole roster is written to snapshot.bin and the journal is
+ *  restarted, so a restart maps the snapshot and replays only the short tail of events recorded after it.
+ *
+ *  Both files carry a generation number; a journal is only replayed on top of the snapshot of the same generation,
+ *  which keeps recovery correct if the process dies between replacing the snapshot and restarting the journal.
+ *
+ *  A directory is journaled by one process at a time, held by a lock on meet.lock for as long as the journal is open.
+ *  Events may come from several platforms at once. Each is encoded and queued under this journal's monitor,
+ *  as is a snapshot, so every change lands either in the snapshot or in the journal that follows it.
+ *
+ *  A write that fails, a full or unplugged disk say, is reported to the listener and retried every RETRY_MILLIS by
+ *  snapshotting the whole roster again, so changes made in the meantime are kept in memory and saved once it succeeds.
+ */
+public class MeetJournal implements RosterListener, Closeable {
+
+    static final String SNAPSHOT_FILE = "snapshot.bin";
+    static final String JOURNAL_FILE = "journal.bin";
+    static final String LOCK_FILE = "meet.lock";
+
+    private static final int SNAPSHOT_MAGIC = 0x504C534E; // "PLSN"
+    private static final int JOURNAL_MAGIC = 0x504C4A4E; // "PLJN"
+    /** Format written and read, weights held as UniversalWeight units */
+    private static final int VERSION = 2;
+
+    /** Earlier format still read, which held weights as kilograms in doubles */
+    private static final int KG_VERSION = 1;
+
+    /** Bytes before the first record of a journal: magic, version, generation */
+    private static final int JOURNAL_HEADER = 16;
+
+    /** Record types */
+    private static final byte LIFTER_ADDED = 1, LIFTER_REMOVED = 2, ATTEMPT_SET = 3, LIFTER_RECLASSIFIED = 4;
+
+    /** Events journaled between automatic snapshots */
+    static final int SNAPSHOT_INTERVAL = 10000;
+
+    /** Wait between attempts to save again after a write has failed */
+    static final long RETRY_MILLIS = 1000;
+
+    /** Told when saving stops and starts again, from the writer thread */
+    public interface Listener {
+        void saveFailed(IOException error);
+        void saveResumed();
+    }
+
+    private final Path directory;
+    private final Roster roster;
+
+    /** Keeps any other process from journaling the same directory, released on close */
+    private final FileLock lock;
+
+    /** Generation of the most recently requested snapshot, guarded by this */
+    private long generation;
+
+    /** Events recorded since the last snapshot request, guarded by this */
+    private int eventsSinceSnapshot;
+
+    // Shared with the writer thread, guarded by this
+
+    /** Encoded records and checkpoints waiting to be written, in order */
+    private ArrayList<Object> pending;
+    private boolean closed;
+    private IOException failure;
+
+    private volatile Listener listener;
+
+    /** Performs every file write and fsync */
+    private final Thread writer;
+
+    /** Open journal, only touched by the writer thread */
+    private FileChannel journal;
+
+    private MeetJournal(Path directory, Roster roster, long generation, FileLock lock){
+        this.directory = directory;
+        this.roster = roster;
+        this.lock = lock;
+        this.generation = generation;
+        this.pending = new ArrayList<Object>();
+        this.writer = new Thread(new writerLoop(), "meet-journal");
+        this.writer.setDaemon(true);
+    }
+
+    /** Restore the meet held in a directory, or start an empty one, and journal every change made to it from now on
+     *  Fails if the directory is already open for journaling, in this process or another
+     */
+    public static MeetJournal open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        FileLock lock = lock(directory);
+        Recovered recovered;
+        try{
+            recovered = recover(directory);
+        }catch(IOException | RuntimeException e){
+            lock.channel().close();
+            throw e;
+        }
+        MeetJournal meetJournal = new MeetJournal(directory, recovered.roster, recovered.generation, lock);
+        // compact right away so the replayed tail and the lifter ids it used are folded into a fresh snapshot
+        meetJournal.checkpoint();
+        meetJournal.writer.start();
+        recovered.roster.addListener(meetJournal);
+        return meetJournal;
+    }
+
+    public Roster getRoster(){
+        return roster;
+    }
+
+    /** The error that has stopped changes reaching the disk, or null while journaling is healthy */
+    public synchronized IOException getFailure(){
+        return failure;
+    }
+
+    public void setListener(Listener listener){
+        this.listener = listener;
+    }
+
+    /** Snapshot the whole roster now and restart the journal after it */
+    public synchronized void checkpoint() throws IOException {
+        generation++;
+        eventsSinceSnapshot = 0;
+        enqueue(new Checkpoint(generation, encodeSnapshot(roster, generation)));
+    }
+
+    /** Write and fsync everything recorded so far, then stop the writer thread */
+    @Override
+    public void close() throws IOException {
+        synchronized(this){
+            closed = true;
+            notifyAll();
+        }
+        try{
+            writer.join();
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+        }finally{
+            // closing the channel releases the lock
+            lock.channel().close();
+        }
+        IOException error = getFailure();
+        if(error != null){
+            throw error;
+        }
+    }
+
+    /** Take the directory's lock, or fail if someone else holds it */
+    private static FileLock lock(Path directory) throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try{
+            lock = channel.tryLock();
+        }catch(OverlappingFileLockException e){
+            lock = null;
+        }catch(IOException e){
+            channel.close();
+            throw e;
+        }
+        if(lock == null){
+            channel.close();
+            throw new IOException("Meet data in " + directory + " is already open in another window or process");
+        }
+        return lock;
+    }
+
+    // ROSTER EVENTS
+
+    @Override
+    public synchronized void lifterAdded(Lifter lifter){
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try{
+            out.writeByte(LIFTER_ADDED);
+            writeLifter(out, lifter);
+        }catch(IOException e){
+            // writing to memory cannot fail
+        }
+        record(bytes.toByteArray());
+    }
+
+    @Override
+    public synchronized void lifterRemoved(Lifter lifter){
+        ByteBuffer buffer = ByteBuffer.allocate(5);
+        buffer.put(LIFTER_REMOVED);
+        buffer.putInt(lifter.getId());
+        record(buffer.array());
+    }
+
+    @Override
+    public synchronized void attemptChanged(Lifter lifter, int lift, int attempt){
+        AttemptStore store = lifter.getStore();
+        int index = AttemptStore.index(lifter.getId(), lift, attempt);
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.put(ATTEMPT_SET);
+        buffer.putInt(lifter.getId());
+        buffer.put((byte) lift);
+        buffer.put((byte) attempt);
+        buffer.putLong(store.getUnits(index));
+        buffer.put(store.getState(index).code());
+        record(buffer.array());
+    }
+
+    /** Best lifts are derived from the attempts, so replaying attemptChanged restores them */
+    @Override
+    public void bestLiftChanged(Lifter lifter, int lift){
+    }
+
+    /** Record the age and bodyweight that moved the lifter, replaying them refiles it the same way */
+    @Override
+    public synchronized void lifterMoved(Lifter lifter, LifterGroup from){
+        ByteBuffer buffer = ByteBuffer.allocate(17);
+        buffer.put(LIFTER_RECLASSIFIED);
+        buffer.putInt(lifter.getId());
+        buffer.putInt(lifter.getAge());
+        buffer.putLong(lifter.getBodyweightUnits());
+        record(buffer.array());
+    }
+
+    /** Frame a record as length, payload, CRC32 and queue it, snapshotting if enough events have built up */
+    private void record(byte[] payload){
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer framed = ByteBuffer.allocate(payload.length + 8);
+        framed.putInt(payload.length);
+        framed.put(payload);
+        framed.putInt((int) crc.getValue());
+        enqueue(framed.array());
+
+        if(++eventsSinceSnapshot >= SNAPSHOT_INTERVAL){
+            try{
+                checkpoint();
+            }catch(IOException e){
+                // encoding to memory cannot fail
+            }
+        }
+    }
+
+    private synchronized void enqueue(Object item){
+        if(closed){
+            return;
+        }
+        pending.add(item);
+        notifyAll();
+    }
+
+    // WRITER THREAD
+
+    /** Drains the pending queue, writing each batch of records with a single fsync */
+    private class writerLoop implements Runnable{
+        @Override
+        public void run(){
+            try{
+                while(true){
+                    ArrayList<Object> batch;
+                    synchronized(MeetJournal.this){
+                        while(pending.isEmpty() && !closed){
+                            MeetJournal.this.wait();
+                        }
+                        if(pending.isEmpty()){
+                            break;
+                        }
+                        batch = pending;
+                        pending = new ArrayList<Object>();
+                    }
+                    try{
+                        writeBatch(batch);
+                    }catch(IOException e){
+                        if(!retry(e)){
+                            break;
+                        }
+                    }
+                }
+            }catch(InterruptedException e){
+                Thread.currentThread().interrupt();
+            }finally{
+                try{
+                    if(journal != null){
+                        journal.close();
+                    }
+                }catch(IOException e){
+                    // nothing left to protect
+                }
+            }
+        }
+    }
+
+    /** Keep snapshotting the roster until one reaches the disk, returning false if the journal closed first
+     *  The snapshot holds every change queued before it, so the batch that failed and anything queued since is dropped
+     */
+    private boolean retry(IOException error) throws InterruptedException {
+        boolean reported = false;
+        while(true){
+            try{
+                if(journal != null){
+                    journal.close();
+                }
+            }catch(IOException e){
+                // the failed journal is replaced by the next snapshot
+            }
+            journal = null;
+            boolean last;
+            synchronized(this){
+                reported = failure != null;
+                failure = error;
+                last = closed;
+            }
+            Listener listener = this.listener;
+            if(!reported && listener != null){
+                listener.saveFailed(error);
+            }
+            if(!last){
+                synchronized(this){
+                    long deadline = System.currentTimeMillis() + RETRY_MILLIS;
+                    for(long left = RETRY_MILLIS; left > 0 && !closed; left = deadline - System.currentTimeMillis()){
+                        wait(left);
+                    }
+                }
+            }
+            Checkpoint checkpoint;
+            synchronized(this){
+                generation++;
+                eventsSinceSnapshot = 0;
+                try{
+                    checkpoint = new Checkpoint(generation, encodeSnapshot(roster, generation));
+                }catch(IOException e){
+                    // encoding to memory cannot fail
+                    throw new IllegalStateException(e);
+                }
+                pending.clear();
+            }
+            try{
+                rotate(checkpoint);
+            }catch(IOException e){
+                error = e;
+                if(last){
+                    synchronized(this){
+                        failure = e;
+                    }
+                    return false;
+                }
+                continue;
+            }
+            synchronized(this){
+                failure = null;
+            }
+            listener = this.listener;
+            if(listener != null){
+                listener.saveResumed();
+            }
+            return true;
+        }
+    }
+
+    private void writeBatch(ArrayList<Object> batch) throws IOException {
+        int size = 0;
+        for(int i = 0; i < batch.size(); i++){
+            if(batch.get(i) instanceof byte[]){
+                size += ((byte[]) batch.get(i)).length;
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for(int i = 0; i < batch.size(); i++){
+            Object item = batch.get(i);
+            if(item instanceof Checkpoint){
+                // records queued before the checkpoint belong to the journal being replaced
+                flush(buffer);
+                rotate((Checkpoint) item);
+            }else{
+                buffer.put((byte[]) item);
+            }
+        }
+        flush(buffer);
+    }
+
+    /** Write and fsync the records gathered so far, then reset the buffer for reuse */
+    private void flush(ByteBuffer buffer) throws IOException {
+        if(buffer.position() == 0){
+            return;
+        }
+        buffer.flip();
+        writeFully(journal, buffer);
+        journal.force(false);
+        buffer.clear();
+    }
+
+    /** Atomically replace the snapshot, then start a fresh journal of the same generation */
+    private void rotate(Checkpoint checkpoint) throws IOException {
+        Path snapshotTemp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try(FileChannel channel = FileChannel.open(snapshotTemp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)){
+            writeFully(channel, ByteBuffer.wrap(checkpoint.snapshot));
+            channel.force(true);
+        }
+        Files.move(snapshotTemp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        if(journal != null){
+            journal.close();
+        }
+        Path journalTemp = directory.resolve(JOURNAL_FILE + ".tmp");
+        try(FileChannel channel = FileChannel.open(journalTemp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)){
+            ByteBuffer header = ByteBuffer.allocate(JOURNAL_HEADER);
+            header.putInt(JOURNAL_MAGIC);
+            header.putInt(VERSION);
+            header.putLong(checkpoint.generation);
+            header.flip();
+            writeFully(channel, header);
+            channel.force(true);
+        }
+        Path journalPath = directory.resolve(JOURNAL_FILE);
+        Files.move(journalTemp, journalPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        journal = FileChannel.open(journalPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while(buffer.hasRemaining()){
+            channel.write(buffer);
+        }
+    }
+
+    /** A snapshot encoded on the mutating thread, waiting its turn in the queue */
+    private static class Checkpoint{
+        private final long generation;
+        private final byte[] snapshot;
+
+        private Checkpoint(long generation, byte[] snapshot){
+            this.generation = generation;
+            this.snapshot = snapshot;
+        }
+    }
+
+    // ENCODING
+
+    /** Snapshot layout: magic, version, generation, lifter count, lifters in roster order, CRC32 of everything before it */
+    static byte[] encodeSnapshot(Roster roster, long generation) throws IOException {
+        ArrayList<Lifter> lifters = roster.all();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 + lifters.size() * 128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(generation);
+        out.writeInt(lifters.size());
+        for(int i = 0; i < lifters.size(); i++){
+            writeLifter(out, lifters.get(i));
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+        return bytes.toByteArray();
+    }
+
+    /** Lifter layout: id, names, age, hometown, bodyweight, lot number, then weight and state of all nine attempts */
+    private static void writeLifter(DataOutputStream out, Lifter lifter) throws IOException {
+        out.writeInt(lifter.getId());
+        writeString(out, lifter.getFirstName());
+        writeString(out, lifter.getLastName());
+        out.writeInt(lifter.getAge());
+        writeString(out, lifter.getHomeTown());
+        out.writeLong(lifter.getBodyweightUnits());
+        out.writeInt(lifter.getLot());
+        AttemptStore store = lifter.getStore();
+        int first = AttemptStore.index(lifter.getId(), AttemptStore.SQUAT, 1);
+        for(int i = first; i < first + AttemptStore.SLOTS; i++){
+            out.writeLong(store.getUnits(i));
+            out.writeByte(store.getState(i).code());
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf.length);
+        out.write(utf);
+    }
+
+    // RECOVERY
+
+    /** A roster rebuilt from disk along with the generation it was read at */
+    static class Recovered{
+        final Roster roster;
+        final long generation;
+
+        private Recovered(Roster roster, long generation){
+            this.roster = roster;
+            this.generation = generation;
+        }
+    }
+
+    /** Rebuild the roster from the memory-mapped snapshot plus the journal tail of the same generation
+     *  A torn or corrupt record at the end of the journal marks the end of the tail
+     */
+    static Recovered recover(Path directory) throws IOException {
+        HashMap<Integer, Lifter> lifters = new HashMap<Integer, Lifter>();
+        Roster roster = null;
+        long generation = 0;
+
+        Path snapshotPath = directory.resolve(SNAPSHOT_FILE);
+        if(Files.exists(snapshotPath)){
+            try(FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)){
+                MappedByteBuffer snapshot = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                checkSnapshot(snapshot);
+                int version = snapshot.getInt(4);
+                generation = snapshot.getLong(8);
+                int count = snapshot.getInt(16);
+                roster = new Roster(new AttemptStore(count + 64));
+                snapshot.position(20);
+                for(int i = 0; i < count; i++){
+                    Lifter lifter = readLifter(snapshot, version, roster.getStore(), lifters);
+                    roster.add(lifter);
+                }
+            }
+        }
+        if(roster == null){
+            roster = new Roster(new AttemptStore(64));
+        }
+
+        Path journalPath = directory.resolve(JOURNAL_FILE);
+        if(Files.exists(journalPath)){
+            try(FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.READ)){
+                if(channel.size() >= JOURNAL_HEADER){
+                    MappedByteBuffer journal = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    int version = journal.getInt(4);
+                    if(journal.getInt(0) == JOURNAL_MAGIC && readable(version) && journal.getLong(8) == generation){
+                        journal.position(JOURNAL_HEADER);
+                        replay(journal, version, roster, lifters);
+                    }
+                }
+            }
+        }
+        return new Recovered(roster, generation);
+    }
+
+    private static void checkSnapshot(ByteBuffer snapshot) throws IOException {
+        int limit = snapshot.limit();
+        if(limit < 24 || snapshot.getInt(0) != SNAPSHOT_MAGIC || !readable(snapshot.getInt(4))){
+            throw new IOException("Unrecognised snapshot file");
+        }
+        CRC32 crc = new CRC32();
+        ByteBuffer body = snapshot.duplicate();
+        body.position(0);
+        body.limit(limit - 4);
+        crc.update(body);
+        if((int) crc.getValue() != snapshot.getInt(limit - 4)){
+            throw new IOException("Snapshot checksum mismatch");
+        }
+    }
+
+    /** Apply journal records in order until the end of the file or the first incomplete or corrupt record */
+    private static void replay(ByteBuffer journal, int version, Roster roster, HashMap<Integer, Lifter> lifters){
+        CRC32 crc = new CRC32();
+        while(journal.remaining() >= 8){
+            int start = journal.position();
+            int length = journal.getInt();
+            if(length <= 0 || length > journal.remaining() - 4){
+                return;
+            }
+            ByteBuffer payload = journal.slice();
+            payload.limit(length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            journal.position(start + 4 + length);
+            if((int) crc.getValue() != journal.getInt()){
+                return;
+            }
+            apply(payload, version, roster, lifters);
+        }
+    }
+
+    private static void apply(ByteBuffer record, int version, Roster roster, HashMap<Integer, Lifter> lifters){
+        byte type = record.get();
+        if(type == LIFTER_ADDED){
+            // a snapshot taken between the roster filing a lifter and this record being queued already holds it
+            if(!lifters.containsKey(record.getInt(record.position()))){
+                roster.add(readLifter(record, version, roster.getStore(), lifters));
+            }
+        }else if(type == LIFTER_REMOVED){
+            Lifter lifter = lifters.remove(record.getInt());
+            if(lifter != null){
+                roster.remove(lifter);
+            }
+        }else if(type == ATTEMPT_SET){
+            Lifter lifter = lifters.get(record.getInt());
+            int lift = record.get();
+            int attempt = record.get();
+            long units = readUnits(record, version);
+            AttemptState state = AttemptState.fromCode(record.get());
+            if(lifter != null){
+                lifter.recordAttemptUnits(lift, attempt, units, state);
+            }
+        }else if(type == LIFTER_RECLASSIFIED){
+            Lifter lifter = lifters.get(record.getInt());
+            int age = record.getInt();
+            long bodyweight = readUnits(record, version);
+            if(lifter != null){
+                lifter.setAge(age);
+                lifter.setBodyweightUnits(bodyweight);
+            }
+        }
+    }
+
+    /** Decode a lifter written by writeLifter into a new row of the store, remembering it under its journaled id */
+    private static Lifter readLifter(ByteBuffer in, int version, AttemptStore store, HashMap<Integer, Lifter> lifters){
+        int id = in.getInt();
+        String first = readString(in);
+        String last = readString(in);
+        int age = in.getInt();
+        String homeTown = readString(in);
+        long bodyweight = readUnits(in, version);
+        Lifter lifter = new Lifter(store, first, last, age, homeTown, 0, Metric.KG);
+        lifter.setBodyweightUnits(bodyweight);
+        lifter.setLot(in.getInt());
+        int[] lifts = {AttemptStore.SQUAT, AttemptStore.BENCH, AttemptStore.DEADLIFT};
+        for(int l = 0; l < lifts.length; l++){
+            for(int attempt = 1; attempt <= 3; attempt++){
+                long units = readUnits(in, version);
+                AttemptState state = AttemptState.fromCode(in.get());
+                if(state != AttemptState.EMPTY || units != 0){
+                    lifter.recordAttemptUnits(lifts[l], attempt, units, state);
+                }
+            }
+        }
+        lifters.put(id, lifter);
+        return lifter;
+    }
+
+    private static boolean readable(int version){
+        return version == VERSION || version == KG_VERSION;
+    }
+
+    /** A weight in UniversalWeight units, converted from kilograms if written in the earlier format */
+    private static long readUnits(ByteBuffer in, int version){
+        return version == KG_VERSION ? UniversalWeight.toUnits(in.getDouble(), Metric.KG) : in.getLong();
+    }
+
+    private static String readString(ByteBuffer in){
+        byte[] utf = new byte[in.getInt()];
+        in.get(utf);
+        return new String(utf, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,86 @@
+package powerlifting;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/** Streams a MeetSnapshot through a ReportWriter
+ *  Holds no UI state so it can run on a background thread while the snapshot's source roster keeps changing
+ */
+public final class MeetReport {
+
+    /** Size of the character buffer in front of the file channel */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /** Rows written between progress callbacks */
+    private static final int PROGRESS_STEP = 256;
+
+    /** Notified as rows are written, from the thread doing the writing */
+    public interface ProgressListener{
+        void progress(long done, long total);
+    }
+
+    private MeetReport(){}
+
+    /** Write every division and weight class of the snapshot, in the order the snapshot ranked them */
+    public static void write(MeetSnapshot snapshot, ReportWriter out, ProgressListener listener) throws IOException {
+        long total = snapshot.size();
+        long done = 0;
+        Division division = null;
+        for(MeetSnapshot.Bucket bucket: snapshot.getBuckets()){
+            if(bucket.getDivision() != division){
+                if(division != null){
+                    out.endDivision();
+                }
+                division = bucket.getDivision();
+                out.startDivision(division);
+            }
+            out.startClass(bucket.getWeightClass(), bucket.size());
+            for(int i = 0; i < bucket.size(); i++){
+                out.row(bucket.get(i));
+                done++;
+                if(listener != null && done % PROGRESS_STEP == 0){
+                    listener.progress(done, total);
+                }
+            }
+            out.endClass();
+        }
+        if(division != null){
+            out.endDivision();
+        }
+        out.finish();
+        if(listener != null){
+            listener.progress(total, total);
+        }
+    }
+
+    /** Write the snapshot to a new dated file in the directory, never replacing an existing report
+     *  Returns the path written
+     */
+    public static Path writeFile(MeetSnapshot snapshot, ReportFormat format, Path directory, ProgressListener listener) throws IOException {
+        String filename = new SimpleDateFormat("dd_MM_yyyy").format(new Date());
+        Path path = directory.resolve(filename + "." + format.getExtension());
+        int extension = 1;
+        while(true){
+            try{
+                // CREATE_NEW makes choosing the name and claiming the file one step
+                FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                try(Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE), BUFFER_SIZE)){
+                    write(snapshot, format.newWriter(writer), listener);
+                }
+                return path;
+            }catch(FileAlreadyExistsException e){
+                path = directory.resolve(filename + "(" + extension + ")." + format.getExtension());
+                extension++;
+            }
+        }
+    }
+}
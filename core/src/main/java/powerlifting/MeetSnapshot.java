@@ -0,0 +1,186 @@
+package powerlifting;
+
+import java.util.ArrayList;
+
+/** Immutable copy of the roster's standings at one instant
+ *  Taken in a single pass over the maintained rankings, each bucket copied consistently under its own lock,
+ *  then safe to read from any thread while judging continues on the live roster
+ */
+public class MeetSnapshot {
+
+    /** Lifts whose meet record holders are found per bucket, in the order Row takes them */
+    private static final int[] LIFTS = {AttemptStore.SQUAT, AttemptStore.BENCH, AttemptStore.DEADLIFT, ResultsArchive.TOTAL};
+
+    /** Every division and weight class in report order, including empty ones */
+    private final ArrayList<Bucket> buckets;
+
+    /** Number of lifters across every bucket */
+    private final int size;
+
+    private MeetSnapshot(ArrayList<Bucket> buckets, int size){
+        this.buckets = buckets;
+        this.size = size;
+    }
+
+    /** Copy the roster, ranking each bucket by total */
+    public static MeetSnapshot of(Roster roster){
+        return of(roster, Standings.TOTAL);
+    }
+
+    /** Copy the roster, ranking each bucket by a criterion */
+    public static MeetSnapshot of(Roster roster, ScoreComparator comparator){
+        ArrayList<Bucket> buckets = new ArrayList<Bucket>();
+        RecordBook records = roster.getRecords();
+        int size = 0;
+        for(Division division: Division.values()){
+            for(WeightClass weightClass: WeightClass.values()){
+                LifterGroup group = roster.get(division, weightClass);
+                RankingIndex ranking = group.ranking(comparator);
+                Row[] rows = group.read(() -> {
+                    ArrayList<Lifter> ranked = ranking.toList();
+                    Lifter[] holders = new Lifter[LIFTS.length];
+                    for(int l = 0; l < LIFTS.length; l++){
+                        holders[l] = RecordBook.meetHolder(ranked, LIFTS[l]);
+                    }
+                    Row[] copied = new Row[ranked.size()];
+                    for(int i = 0; i < copied.length; i++){
+                        copied[i] = new Row(i + 1, ranked.get(i), records, holders);
+                    }
+                    return copied;
+                });
+                buckets.add(new Bucket(division, weightClass, rows));
+                size += rows.length;
+            }
+        }
+        return new MeetSnapshot(buckets, size);
+    }
+
+    public ArrayList<Bucket> getBuckets(){
+        return buckets;
+    }
+
+    public int size(){
+        return size;
+    }
+
+    /** The ranked lifters of one division and weight class */
+    public static class Bucket{
+        private final Division division;
+        private final WeightClass weightClass;
+        private final Row[] rows;
+
+        private Bucket(Division division, WeightClass weightClass, Row[] rows){
+            this.division = division;
+            this.weightClass = weightClass;
+            this.rows = rows;
+        }
+
+        public Division getDivision(){
+            return division;
+        }
+
+        public WeightClass getWeightClass(){
+            return weightClass;
+        }
+
+        public int size(){
+            return rows.length;
+        }
+
+        public Row get(int index){
+            return rows[index];
+        }
+    }
+
+    /** One lifter's placing and results, weights in kilograms, with the record levels each best lift broke */
+    public static class Row{
+        private final int place;
+        private final String firstName;
+        private final String lastName;
+        private final int age;
+        private final String homeTown;
+        private final double bodyweight;
+        private final double squat;
+        private final double bench;
+        private final double deadlift;
+        private final double total;
+        private final int squatRecords;
+        private final int benchRecords;
+        private final int deadliftRecords;
+        private final int totalRecords;
+
+        private Row(int place, Lifter lifter, RecordBook records, Lifter[] holders){
+            this.place = place;
+            this.firstName = lifter.getFirstName();
+            this.lastName = lifter.getLastName();
+            this.age = lifter.getAge();
+            this.homeTown = lifter.getHomeTown();
+            this.bodyweight = lifter.getBodyweight(Metric.KG);
+            this.squat = lifter.getMaxSquat().getWeight(Metric.KG);
+            this.bench = lifter.getMaxBench().getWeight(Metric.KG);
+            this.deadlift = lifter.getMaxDeadlift().getWeight(Metric.KG);
+            this.total = lifter.getTotal(Metric.KG);
+            this.squatRecords = records.brokenBest(lifter, AttemptStore.SQUAT, holders[0]);
+            this.benchRecords = records.brokenBest(lifter, AttemptStore.BENCH, holders[1]);
+            this.deadliftRecords = records.brokenBest(lifter, AttemptStore.DEADLIFT, holders[2]);
+            this.totalRecords = records.brokenTotal(lifter, holders[3]);
+        }
+
+        public int getPlace(){
+            return place;
+        }
+
+        public String getFirstName(){
+            return firstName;
+        }
+
+        public String getLastName(){
+            return lastName;
+        }
+
+        public int getAge(){
+            return age;
+        }
+
+        public String getHomeTown(){
+            return homeTown;
+        }
+
+        public double getBodyweight(){
+            return bodyweight;
+        }
+
+        public double getSquat(){
+            return squat;
+        }
+
+        public double getBench(){
+            return bench;
+        }
+
+        public double getDeadlift(){
+            return deadlift;
+        }
+
+        public double getTotal(){
+            return total;
+        }
+
+        /** Record levels broken, as a RecordBook mask */
+        public int getSquatRecords(){
+            return squatRecords;
+        }
+
+        public int getBenchRecords(){
+            return benchRecords;
+        }
+
+        public int getDeadliftRecords(){
+            return deadliftRecords;
+        }
+
+        public int getTotalRecords(){
+            return totalRecords;
+        }
+    }
+}
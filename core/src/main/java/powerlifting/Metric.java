@@ -1,3 +1,5 @@
+package powerlifting;
+
 /** Commonly used metrics to interpret weight */
 enum Metric{
     KG,
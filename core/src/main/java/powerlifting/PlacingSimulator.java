@@ -0,0 +1,380 @@
+package powerlifting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/** Estimates each lifter's chance of finishing 1st, 2nd or 3rd in a division and weight class by simulating the rest
+ *  of the meet many times over
+ *  Every requested attempt is made or missed at random, at a make rate blending the lifter's own record at this meet
+ *  with a prior for the lift; attempts nobody has requested are taken to be missed. A simulation copies the group into
+ *  flat arrays once, then splits its trials into chunks run on a fork-join pool, each counting podium finishes into its
+ *  own primitive array. Chunks fold their counts into the running result as they finish, and each fold is handed to a
+ *  listener, so a pane can show the odds firming up while the rest still runs.
+ */
+public class PlacingSimulator {
+
+    /** Places tracked, from 1st */
+    public static final int PODIUM = 3;
+
+    /** Simulations usually run per group */
+    public static final int DEFAULT_TRIALS = 1000000;
+
+    /** Trials a chunk runs before folding its counts in */
+    private static final int CHUNK = 1 << 14;
+
+    /** Make rates assumed before a lifter has been judged, by lift (squat, bench, deadlift) */
+    private final double[] priorRates;
+
+    /** Judged attempts the prior counts as, against the lifter's own */
+    private final double priorWeight;
+
+    private final ForkJoinPool pool;
+
+    /** Simulate with prior make rates of 80% squat, 75% bench and 75% deadlift, worth three attempts, on the common pool */
+    public PlacingSimulator(){
+        this(new double[]{0.80, 0.75, 0.75}, 3, ForkJoinPool.commonPool());
+    }
+
+    /** Simulate with the given prior make rates by lift and the number of judged attempts the prior is worth
+     *  A weight of 0 goes by the lifter's attempts alone once they have any, a large weight by the prior alone
+     */
+    public PlacingSimulator(double[] priorRates, double priorWeight, ForkJoinPool pool){
+        if(priorRates.length != 3){
+            throw new IllegalArgumentException("One prior make rate per lift");
+        }
+        this.priorRates = priorRates.clone();
+        this.priorWeight = priorWeight;
+        this.pool = pool;
+    }
+
+    /** Start simulating the rest of the meet for a group, trials times, reporting partial results to progress as they
+     *  come in if it is not null. Progress is called on pool threads, one call at a time.
+     */
+    public Simulation start(LifterGroup group, int trials, long seed, Consumer<Result> progress){
+        List<Lifter> lifters = group.asList();
+        // attempts are read under the group's lock so no lifter is caught half way through a change
+        Model model = group.read(() -> model(lifters));
+        int chunks = (trials + CHUNK - 1) / CHUNK;
+        // each chunk draws from its own stream, split off in chunk order so results don't depend on how chunks land on threads
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[chunks];
+        for(int i = 0; i < chunks; i++){
+            streams[i] = root.split();
+        }
+        Simulation simulation = new Simulation(model, trials, streams, progress);
+        simulation.task = pool.submit(new chunkTask(simulation, 0, chunks));
+        return simulation;
+    }
+
+    /** Simulate a group to the end, returning the final result */
+    public Result run(LifterGroup group, int trials, long seed){
+        return start(group, trials, seed, null).join();
+    }
+
+    // MODEL
+
+    /** Copy the standing of a group's lifters into flat arrays */
+    private Model model(List<Lifter> lifters){
+        int n = lifters.size();
+        double[] fixed = new double[n];
+        boolean[] eligible = new boolean[n];
+        Arrays.fill(eligible, true);
+        ArrayList<double[]> stages = new ArrayList<double[]>();
+        ArrayList<Integer> owners = new ArrayList<Integer>();
+        for(int i = 0; i < n; i++){
+            Lifter lifter = lifters.get(i);
+            AttemptStore store = lifter.getStore();
+            int first = AttemptStore.index(lifter.getId(), AttemptStore.SQUAT, 1);
+            int good = 0;
+            int judged = 0;
+            for(int slot = 0; slot < AttemptStore.SLOTS; slot++){
+                AttemptState state = store.getState(first + slot);
+                good += state == AttemptState.GOOD ? 1 : 0;
+                judged += state == AttemptState.GOOD || state == AttemptState.FAIL ? 1 : 0;
+            }
+            for(int lift = 0; lift < 3; lift++){
+                int start = first + lift * 3;
+                double best = store.bestWeight(store.findBest(lifter.getId(), lift * 3));
+                // requested attempts heavier than the best, heaviest first
+                double[] requested = new double[3];
+                int count = 0;
+                for(int index = start; index < start + 3; index++){
+                    if(store.getState(index) == AttemptState.PROJECTION && store.getWeight(index) > best){
+                        requested[count++] = store.getWeight(index);
+                    }
+                }
+                if(count == 0){
+                    // every attempt of a lift missed with none left to request is out of the running in every trial
+                    eligible[i] &= best > 0;
+                    fixed[i] += best;
+                    continue;
+                }
+                Arrays.sort(requested, 0, count);
+                double rate = judged + priorWeight == 0 ? priorRates[lift] : (good + priorRates[lift] * priorWeight) / (judged + priorWeight);
+                // outcome k is the k-th heaviest made with all heavier missed; cumulative chances, weights, then the best
+                double[] stage = new double[2 * count + 1];
+                double missed = 1;
+                double cumulative = 0;
+                for(int k = 0; k < count; k++){
+                    cumulative += missed * rate;
+                    missed *= 1 - rate;
+                    stage[k] = cumulative;
+                    stage[count + k] = requested[count - 1 - k];
+                }
+                stage[2 * count] = best;
+                stages.add(stage);
+                owners.add(i);
+            }
+        }
+        return new Model(lifters, fixed, eligible, stages, owners);
+    }
+
+    /** A group's standing as flat arrays shared read-only by every chunk */
+    private static final class Model{
+        final List<Lifter> lifters;
+        final IdentityHashMap<Lifter, Integer> indices;
+        final double[] fixed;
+        /** Per lifter: whether a good lift of each lift is still to be had, so a total and a place */
+        final boolean[] eligible;
+        /** Per stage: owning lifter, offset of its outcomes and their count */
+        final int[] owner;
+        final int[] offset;
+        final int[] outcomes;
+        /** Per outcome: cumulative chance and weight, then per stage the weight if every attempt is missed */
+        final double[] chances;
+        final double[] weights;
+        final double[] fallback;
+
+        Model(List<Lifter> lifters, double[] fixed, boolean[] eligible, ArrayList<double[]> stages, ArrayList<Integer> owners){
+            this.lifters = lifters;
+            this.indices = new IdentityHashMap<Lifter, Integer>();
+            for(int i = 0; i < lifters.size(); i++){
+                indices.put(lifters.get(i), i);
+            }
+            this.fixed = fixed;
+            this.eligible = eligible;
+            int m = stages.size();
+            owner = new int[m];
+            offset = new int[m];
+            outcomes = new int[m];
+            fallback = new double[m];
+            int total = 0;
+            for(int s = 0; s < m; s++){
+                total += stages.get(s).length / 2;
+            }
+            chances = new double[total];
+            weights = new double[total];
+            int at = 0;
+            for(int s = 0; s < m; s++){
+                double[] stage = stages.get(s);
+                int count = stage.length / 2;
+                owner[s] = owners.get(s);
+                offset[s] = at;
+                outcomes[s] = count;
+                fallback[s] = stage[2 * count];
+                System.arraycopy(stage, 0, chances, at, count);
+                System.arraycopy(stage, count, weights, at, count);
+                at += count;
+            }
+        }
+
+        /** Run trials, adding each lifter's podium finishes to counts, indexed lifter * PODIUM + place - 1 */
+        void simulate(int trials, SplittableRandom random, long[] counts){
+            int n = fixed.length;
+            double[] totals = new double[n];
+            boolean[] standing = new boolean[n];
+            for(int t = 0; t < trials; t++){
+                System.arraycopy(fixed, 0, totals, 0, n);
+                System.arraycopy(eligible, 0, standing, 0, n);
+                for(int s = 0; s < owner.length; s++){
+                    double u = random.nextDouble();
+                    double weight = fallback[s];
+                    for(int k = offset[s]; k < offset[s] + outcomes[s]; k++){
+                        if(u < chances[k]){
+                            weight = weights[k];
+                            break;
+                        }
+                    }
+                    totals[owner[s]] += weight;
+                    standing[owner[s]] &= weight > 0;
+                }
+                // top three in one pass; on equal totals the earlier entrant keeps the higher place, and a lifter
+                // left without a good lift of any one lift has bombed out and takes no place at all
+                int first = -1, second = -1, third = -1;
+                double firstTotal = 0, secondTotal = 0, thirdTotal = 0;
+                for(int i = 0; i < n; i++){
+                    double total = totals[i];
+                    if(!standing[i]){
+                        continue;
+                    }else if(total > firstTotal){
+                        third = second;
+                        thirdTotal = secondTotal;
+                        second = first;
+                        secondTotal = firstTotal;
+                        first = i;
+                        firstTotal = total;
+                    }else if(total > secondTotal){
+                        third = second;
+                        thirdTotal = secondTotal;
+                        second = i;
+                        secondTotal = total;
+                    }else if(total > thirdTotal){
+                        third = i;
+                        thirdTotal = total;
+                    }
+                }
+                if(first >= 0){
+                    counts[first * PODIUM]++;
+                }
+                if(second >= 0){
+                    counts[second * PODIUM + 1]++;
+                }
+                if(third >= 0){
+                    counts[third * PODIUM + 2]++;
+                }
+            }
+        }
+    }
+
+    // RUNNING
+
+    /** A simulation under way, which can be waited on or abandoned */
+    public static final class Simulation{
+        private final Model model;
+        private final int trials;
+        private final Consumer<Result> progress;
+        /** Random stream of each chunk */
+        private final SplittableRandom[] streams;
+        /** Podium finishes folded in so far and the trials they came from, guarded by this */
+        private final long[] counts;
+        private int done;
+        private volatile boolean cancelled;
+        private ForkJoinTask<?> task;
+
+        private Simulation(Model model, int trials, SplittableRandom[] streams, Consumer<Result> progress){
+            this.model = model;
+            this.trials = trials;
+            this.streams = streams;
+            this.progress = progress;
+            this.counts = new long[model.fixed.length * PODIUM];
+        }
+
+        /** Stop running chunks; any partial result already reported stands */
+        public void cancel(){
+            cancelled = true;
+        }
+
+        public boolean isCancelled(){
+            return cancelled;
+        }
+
+        /** Wait for every chunk and return the final result */
+        public Result join(){
+            task.join();
+            return result();
+        }
+
+        /** Result of the trials folded in so far */
+        public synchronized Result result(){
+            return new Result(model, counts.clone(), done, trials);
+        }
+
+        private void fold(long[] chunkCounts, int chunkTrials){
+            Result partial;
+            synchronized(this){
+                for(int i = 0; i < counts.length; i++){
+                    counts[i] += chunkCounts[i];
+                }
+                done += chunkTrials;
+                if(progress == null){
+                    return;
+                }
+                partial = new Result(model, counts.clone(), done, trials);
+                // reported inside the monitor so a later result never overtakes an earlier one
+                progress.accept(partial);
+            }
+        }
+    }
+
+    /** Runs a range of chunks, splitting it in half until one chunk is left */
+    private static class chunkTask extends RecursiveAction{
+        private static final long serialVersionUID = 1L;
+
+        private final Simulation simulation;
+        private final int from;
+        private final int to;
+
+        private chunkTask(Simulation simulation, int from, int to){
+            this.simulation = simulation;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute(){
+            if(simulation.cancelled){
+                return;
+            }
+            if(to - from > 1){
+                int middle = (from + to) >>> 1;
+                invokeAll(new chunkTask(simulation, from, middle), new chunkTask(simulation, middle, to));
+                return;
+            }
+            int trials = Math.min(CHUNK, simulation.trials - from * CHUNK);
+            long[] counts = new long[simulation.counts.length];
+            simulation.model.simulate(trials, simulation.streams[from], counts);
+            simulation.fold(counts, trials);
+        }
+    }
+
+    /** Podium chances of every lifter of a group, from the trials run so far */
+    public static final class Result{
+        private final Model model;
+        private final long[] counts;
+        private final int trials;
+        private final int planned;
+
+        private Result(Model model, long[] counts, int trials, int planned){
+            this.model = model;
+            this.counts = counts;
+            this.trials = trials;
+            this.planned = planned;
+        }
+
+        /** Lifters simulated, in entry order */
+        public List<Lifter> getLifters(){
+            return Collections.unmodifiableList(model.lifters);
+        }
+
+        /** Trials these chances come from */
+        public int getTrials(){
+            return trials;
+        }
+
+        /** Trials the simulation set out to run */
+        public int getPlannedTrials(){
+            return planned;
+        }
+
+        public boolean isComplete(){
+            return trials == planned;
+        }
+
+        /** Chance of a lifter finishing in a place from 1 to PODIUM, or NaN if the lifter was not simulated or no trial has run */
+        public double probability(Lifter lifter, int place){
+            Integer index = model.indices.get(lifter);
+            if(index == null || trials == 0){
+                return Double.NaN;
+            }
+            return counts[index * PODIUM + place - 1] / (double) trials;
+        }
+    }
+}
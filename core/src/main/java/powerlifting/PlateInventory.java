@@ -0,0 +1,89 @@
+package powerlifting;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+
+/** The plates a meet actually has on hand, read from the meet's data directory
+ *  A set the file lists replaces the defaults entirely, so a plate missing from it is taken not to be there; a set it
+ *  never mentions keeps the defaults it is asked with.
+ */
+public final class PlateInventory {
+
+    /** Name of the plates file kept in a meet's data directory */
+    public static final String FILE_NAME = "plates.csv";
+
+    /** An inventory listing nothing, which keeps every default */
+    public static final PlateInventory DEFAULT = new PlateInventory();
+
+    /** Pairs on hand in hundredths of a unit by plate, for each metric listed */
+    private final EnumMap<Metric, HashMap<Long, Integer>> pairs = new EnumMap<Metric, HashMap<Long, Integer>>(Metric.class);
+
+    private PlateInventory(){}
+
+    /** Read a plates file, one plate per line: metric, plate weight, pairs on hand
+     *  Metrics are kg or lb. Blank lines, lines starting with # and a header row are ignored. Where a plate is listed
+     *  more than once the pairs are added together.
+     */
+    public static PlateInventory read(Path path) throws IOException {
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        PlateInventory inventory = new PlateInventory();
+        for(int i = 0; i < lines.size(); i++){
+            String line = lines.get(i).replace("\uFEFF", "").trim();
+            if(line.isEmpty() || line.startsWith("#")){
+                continue;
+            }
+            String[] fields = line.split(",");
+            if(i == 0 && fields[0].trim().equalsIgnoreCase("metric")){
+                continue;
+            }
+            if(fields.length < 3){
+                throw new IOException("Line " + (i + 1) + ": expected metric, plate weight and pairs");
+            }
+            String unit = fields[0].trim().toLowerCase();
+            Metric metric = unit.equals("kg") ? Metric.KG : unit.equals("lb") ? Metric.LB : null;
+            if(metric == null){
+                throw new IOException("Line " + (i + 1) + ": metric must be kg or lb");
+            }
+            double plate;
+            int count;
+            try{
+                plate = Double.parseDouble(fields[1].trim());
+                count = Integer.parseInt(fields[2].trim());
+            }catch(NumberFormatException e){
+                throw new IOException("Line " + (i + 1) + ": plate weight and pairs must be numbers");
+            }
+            if(!(plate > 0) || count < 0){
+                throw new IOException("Line " + (i + 1) + ": plate weight must be positive and pairs not negative");
+            }
+            HashMap<Long, Integer> set = inventory.pairs.computeIfAbsent(metric, m -> new HashMap<Long, Integer>());
+            set.merge(Math.round(plate * 100), count, Integer::sum);
+        }
+        return inventory;
+    }
+
+    /** Pairs on hand of each of a set's plates, parallel to plates, or defaults if this inventory doesn't list the set
+     *  Fails if it lists a plate the set does not have
+     */
+    public int[] pairs(Metric metric, double[] plates, int[] defaults){
+        HashMap<Long, Integer> set = pairs.get(metric);
+        if(set == null){
+            return defaults.clone();
+        }
+        HashMap<Long, Integer> unmatched = new HashMap<Long, Integer>(set);
+        int[] counts = new int[plates.length];
+        for(int i = 0; i < plates.length; i++){
+            Integer count = unmatched.remove(Math.round(plates[i] * 100));
+            counts[i] = count == null ? 0 : count;
+        }
+        if(!unmatched.isEmpty()){
+            long plate = unmatched.keySet().iterator().next();
+            throw new IllegalArgumentException("No " + UniversalWeight.formatNumber(plate / 100.0) + " " + metric.name().toLowerCase() + " plate in the set");
+        }
+        return counts;
+    }
+}
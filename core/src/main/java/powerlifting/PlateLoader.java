@@ -0,0 +1,202 @@
+package powerlifting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/** Exact plate loading for one plate set and bar
+ *  Weights are handled as whole multiples of the set's smallest step (0.25 kg, 2.5 lb), which makes every
+ *  comparison exact. On construction a bounded knapsack over the available plates finds, for every weight one
+ *  side of the bar can hold, the loading using the fewest plates, so a lookup is a single array read.
+ */
+public class PlateLoader {
+
+    /** Weights are scaled by this before being reduced to steps, allowing plates down to a hundredth of a unit */
+    private static final int SCALE = 100;
+
+    /** Plate weights, heaviest first */
+    private final double[] plates;
+
+    /** Weight of the bar, in hundredths of a unit */
+    private final long barWeight;
+
+    /** Size of one step in hundredths of a unit, the greatest common divisor of every plate */
+    private final int step;
+
+    /** Each plate in steps, and the pairs of it on hand, parallel to plates */
+    private final int[] steps;
+    private final int[] pairs;
+
+    /** Plates per side indexed by steps on one side, parallel to plates; null where no loading exists */
+    private final int[][] loadings;
+
+    /** Create the table for a plate set, pairs[i] being how many pairs of plates[i] are on hand */
+    public PlateLoader(double[] plates, int[] pairs, double barWeight){
+        if(plates.length != pairs.length){
+            throw new IllegalArgumentException("Each plate needs an inventory count");
+        }
+        this.plates = plates.clone();
+        this.pairs = pairs.clone();
+        this.barWeight = hundredths(barWeight);
+        if(this.barWeight < 0){
+            throw new IllegalArgumentException("Bar weight must be a whole hundredth: " + barWeight);
+        }
+
+        // reduce every plate to a whole number of steps
+        int[] hundredths = new int[plates.length];
+        int gcd = 0;
+        for(int i = 0; i < plates.length; i++){
+            long plate = hundredths(plates[i]);
+            if(plate <= 0){
+                throw new IllegalArgumentException("Plate weight must be a positive whole hundredth: " + plates[i]);
+            }
+            hundredths[i] = (int) plate;
+            gcd = gcd(gcd, hundredths[i]);
+        }
+        this.step = gcd;
+        this.steps = new int[plates.length];
+        int capacity = 0;
+        for(int i = 0; i < plates.length; i++){
+            steps[i] = hundredths[i] / step;
+            capacity += steps[i] * pairs[i];
+        }
+
+        // fewest[s] is the least plates making s steps from the plate types seen so far,
+        // used[i][s] how many of plate i that loading takes
+        int unreachable = Integer.MAX_VALUE;
+        int[] fewest = new int[capacity + 1];
+        Arrays.fill(fewest, unreachable);
+        fewest[0] = 0;
+        byte[][] used = new byte[plates.length][capacity + 1];
+        int[] next = new int[capacity + 1];
+        for(int i = 0; i < plates.length; i++){
+            for(int s = 0; s <= capacity; s++){
+                int best = fewest[s];
+                int bestCount = 0;
+                for(int count = 1; count <= pairs[i] && count * steps[i] <= s; count++){
+                    int before = fewest[s - count * steps[i]];
+                    if(before != unreachable && before + count < best){
+                        best = before + count;
+                        bestCount = count;
+                    }
+                }
+                next[s] = best;
+                used[i][s] = (byte) bestCount;
+            }
+            int[] swap = fewest;
+            fewest = next;
+            next = swap;
+        }
+
+        // walk each reachable weight back through the choices once, so lookups never have to
+        loadings = new int[capacity + 1][];
+        for(int s = 0; s <= capacity; s++){
+            if(fewest[s] == unreachable){
+                continue;
+            }
+            int[] loading = new int[plates.length];
+            int remaining = s;
+            for(int i = plates.length - 1; i >= 0; i--){
+                loading[i] = used[i][remaining];
+                remaining -= loading[i] * steps[i];
+            }
+            loadings[s] = loading;
+        }
+    }
+
+    /** Plates to load on each side for a total barbell weight, parallel to the plate set, or null if it cannot be loaded
+     *  The returned array is shared by every lookup of that weight and must not be modified
+     */
+    public int[] lookup(double weight){
+        long total = hundredths(weight);
+        if(total < barWeight){
+            return null;
+        }
+        long perSide = total - barWeight;
+        if(perSide % (2L * step) != 0){
+            return null;
+        }
+        long index = perSide / (2L * step);
+        return index < loadings.length ? loadings[(int) index] : null;
+    }
+
+    /** Every loading of a barbell weight the inventory allows, fewest plates first, at most limit of them
+     *  Unlike lookup this searches, it is meant for planning ahead rather than for every keystroke
+     */
+    public ArrayList<int[]> loadings(double weight, int limit){
+        ArrayList<int[]> found = new ArrayList<int[]>();
+        long total = hundredths(weight);
+        if(total < barWeight || (total - barWeight) % (2L * step) != 0){
+            return found;
+        }
+        long perSide = (total - barWeight) / (2L * step);
+        if(perSide >= loadings.length || loadings[(int) perSide] == null){
+            return found;
+        }
+        collect(0, (int) perSide, new int[plates.length], found);
+        found.sort(new Comparator<int[]>(){
+            public int compare(int[] a, int[] b){
+                return Integer.compare(count(a), count(b));
+            }
+        });
+        while(found.size() > limit){
+            found.remove(found.size() - 1);
+        }
+        return found;
+    }
+
+    /** Depth first over plate types, heaviest first, recording each way of making up the remaining steps */
+    private void collect(int plate, int remaining, int[] loading, ArrayList<int[]> found){
+        if(remaining == 0){
+            found.add(loading.clone());
+            return;
+        }
+        if(plate == plates.length){
+            return;
+        }
+        for(int count = Math.min(pairs[plate], remaining / steps[plate]); count >= 0; count--){
+            loading[plate] = count;
+            collect(plate + 1, remaining - count * steps[plate], loading, found);
+        }
+        loading[plate] = 0;
+    }
+
+    /** Plates on one side of a loading */
+    public static int count(int[] loading){
+        int count = 0;
+        for(int i = 0; i < loading.length; i++){
+            count += loading[i];
+        }
+        return count;
+    }
+
+    /** Plate weights, heaviest first */
+    public double[] getPlates(){
+        return plates.clone();
+    }
+
+    /** Heaviest barbell the inventory can load */
+    public double maxWeight(){
+        return (barWeight + 2L * step * (loadings.length - 1)) / (double) SCALE;
+    }
+
+    public double getBarWeight(){
+        return barWeight / (double) SCALE;
+    }
+
+    /** A weight in exact hundredths, or -1 if it has a finer fraction than that */
+    private static long hundredths(double weight){
+        double scaled = weight * SCALE;
+        long rounded = Math.round(scaled);
+        return Math.abs(scaled - rounded) < 1e-6 ? rounded : -1;
+    }
+
+    private static int gcd(int a, int b){
+        while(b != 0){
+            int r = a % b;
+            a = b;
+            b = r;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,78 @@
+package powerlifting;
+
+/** Points formulas comparing totals across bodyweights, each scaling a total in kilograms by a bodyweight coefficient
+ *  Coefficients are those published for men, matching the men's weight classes the meet is run under. Lifters
+ *  compute their coefficients once from their bodyweight, so scoring a lifter is a single multiply.
+ */
+enum PointsFormula{
+    DOTS("DOTS"){
+        @Override
+        double coefficient(double bodyweightKG){
+            double x = clamp(bodyweightKG, 40, 210);
+            return 500 / ((((-0.0000010930 * x + 0.0007391293) * x - 0.1918759221) * x + 24.0900756) * x - 307.75076);
+        }
+    },
+    WILKS("Wilks"){
+        @Override
+        double coefficient(double bodyweightKG){
+            double x = clamp(bodyweightKG, 40, 201.9);
+            return 500 / (((((-1.291e-8 * x + 7.01863e-6) * x - 0.00113732) * x - 0.002388645) * x + 16.2606339) * x - 216.0475144);
+        }
+    },
+    IPF_GL("IPF GL"){
+        @Override
+        double coefficient(double bodyweightKG){
+            double x = Math.max(bodyweightKG, 35);
+            return 100 / (1199.72839 - 1025.18162 * Math.exp(-0.00921 * x));
+        }
+    };
+
+    /** Cached values() for index lookups */
+    private static final PointsFormula[] VALUES = values();
+
+    /** Number of formulas, the length of a lifter's coefficient array */
+    static final int COUNT = VALUES.length;
+
+    /** Youngest age given a Masters age coefficient */
+    private static final int MASTERS_AGE = 40;
+
+    /** McCulloch age coefficients for ages 40 through 90, older lifters keep the last */
+    private static final double[] AGE_COEFFICIENTS = {
+        1.000, 1.010, 1.020, 1.031, 1.043, 1.055, 1.068, 1.082, 1.097, 1.113,
+        1.130, 1.147, 1.165, 1.184, 1.204, 1.225, 1.246, 1.268, 1.291, 1.315,
+        1.340, 1.366, 1.393, 1.421, 1.450, 1.480, 1.511, 1.543, 1.576, 1.610,
+        1.645, 1.681, 1.718, 1.756, 1.795, 1.835, 1.876, 1.918, 1.961, 2.005,
+        2.050, 2.096, 2.143, 2.190, 2.238, 2.287, 2.337, 2.388, 2.440, 2.494,
+        2.549
+    };
+
+    private final String label;
+
+    PointsFormula(String label){
+        this.label = label;
+    }
+
+    /** Factor turning a total in kilograms into points for a lifter of the given bodyweight */
+    abstract double coefficient(double bodyweightKG);
+
+    static PointsFormula fromIndex(int index){
+        return VALUES[index];
+    }
+
+    /** Masters age coefficient for a lifter of the given age, 1 for anyone younger than Masters */
+    static double ageCoefficient(int age){
+        if(age < MASTERS_AGE){
+            return 1;
+        }
+        return AGE_COEFFICIENTS[Math.min(age - MASTERS_AGE, AGE_COEFFICIENTS.length - 1)];
+    }
+
+    private static double clamp(double value, double min, double max){
+        return Math.max(min, Math.min(max, value));
+    }
+
+    @Override
+    public String toString(){
+        return label;
+    }
+}
@@ -0,0 +1,264 @@
+package powerlifting;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+/** What each lifter's next attempt has to be to take each placing in their division and weight class
+ *  Every lifter is credited with a potential total: their best good lifts, with any heavier requested attempt counted as
+ *  made. Potentials of each group are kept sorted and updated as attempts are recorded, so working out what a lifter
+ *  needs to finish ahead of the others is a lookup into that list rather than a re-ranking of the group.
+ *
+ *  A lifter takes a place by beating the potential of whoever would otherwise hold it. Ties are taken to be lost, so a
+ *  weight given is always enough, and attempts nobody has requested yet are taken to be missed.
+ *  Synchronized, since roster events arrive on whichever thread made the change.
+ */
+public class Projections implements RosterListener {
+
+    /** Weights asked for are multiples of this many kilograms, the smallest jump the bar is loaded by */
+    public static final double STEP_KG = 2.5;
+
+    /** Sorted potentials of each group */
+    private final IdentityHashMap<LifterGroup, Board> boards;
+
+    /** Board each lifter is counted on */
+    private final HashMap<Lifter, Board> filed;
+
+    private Projections(Roster roster){
+        this.boards = new IdentityHashMap<LifterGroup, Board>();
+        this.filed = new HashMap<Lifter, Board>();
+        for(Division division: Division.values()){
+            for(WeightClass weightClass: WeightClass.values()){
+                boards.put(roster.get(division, weightClass), new Board());
+            }
+        }
+    }
+
+    /** Start projecting every group of a roster, kept current from now on */
+    public static Projections attach(Roster roster){
+        Projections projections = new Projections(roster);
+        synchronized(projections){
+            roster.addListener(projections);
+            for(Lifter lifter: roster.all()){
+                projections.refresh(lifter);
+            }
+        }
+        return projections;
+    }
+
+    /** What a lifter needs on their next attempt, or null once they have no attempts left or are not entered */
+    public synchronized Need need(Lifter lifter){
+        Board board = filed.get(lifter);
+        int slot = nextSlot(lifter);
+        if(board == null || slot < 0){
+            return null;
+        }
+        AttemptStore store = lifter.getStore();
+        int row = lifter.getId();
+        int lift = slot - slot % 3;
+        int attempt = slot % 3 + 1;
+        // the total the lifter keeps whatever the next attempt, their potential on the other lifts as everyone else's
+        // is counted, and the least the bar may be loaded to
+        double total = store.getTotal(row);
+        double base = potential(lifter) - potential(lifter, lift);
+        double floor = attempt == 1 ? 0 : store.getWeight(AttemptStore.index(row, lift, attempt - 1));
+
+        int ahead = board.ahead(board.potentials.get(lifter));
+        double[] weights = new double[board.size];
+        for(int place = 1; place <= weights.length; place++){
+            double threshold = board.threshold(place, ahead);
+            if(total > threshold){
+                weights[place - 1] = 0;
+            }else{
+                // requests on the other lifts may take the place alone, but only with this lift made
+                double needed = (Math.floor((threshold - base) / STEP_KG + 1e-9) + 1) * STEP_KG;
+                weights[place - 1] = Math.max(Math.max(needed, STEP_KG), floor);
+            }
+        }
+        return new Need(lift, attempt, weights);
+    }
+
+    // ROSTER EVENTS
+
+    @Override
+    public synchronized void lifterAdded(Lifter lifter){
+        refresh(lifter);
+    }
+
+    @Override
+    public synchronized void lifterRemoved(Lifter lifter){
+        Board board = filed.remove(lifter);
+        if(board != null){
+            board.remove(lifter);
+        }
+    }
+
+    @Override
+    public synchronized void attemptChanged(Lifter lifter, int lift, int attempt){
+        refresh(lifter);
+    }
+
+    /** Potentials follow the attempts, so attemptChanged has already accounted for it */
+    @Override
+    public void bestLiftChanged(Lifter lifter, int lift){
+    }
+
+    @Override
+    public synchronized void lifterMoved(Lifter lifter, LifterGroup from){
+        refresh(lifter);
+    }
+
+    // HELPERS
+
+    /** Count a lifter's potential on the board of the group it is filed under, off any other */
+    private void refresh(Lifter lifter){
+        Board board = boards.get(lifter.getGroup());
+        Board previous = board == null ? filed.remove(lifter) : filed.put(lifter, board);
+        if(previous != null && previous != board){
+            previous.remove(lifter);
+        }
+        if(board != null){
+            board.put(lifter, potential(lifter));
+        }
+    }
+
+    /** Best good lift of each lift, or the heaviest attempt requested of it if that is heavier, summed */
+    private static double potential(Lifter lifter){
+        double potential = 0;
+        for(int lift = 0; lift < AttemptStore.SLOTS; lift += 3){
+            potential += potential(lifter, lift);
+        }
+        return potential;
+    }
+
+    /** Best good attempt of one lift, or the heaviest requested of it if that is heavier */
+    private static double potential(Lifter lifter, int lift){
+        AttemptStore store = lifter.getStore();
+        int first = AttemptStore.index(lifter.getId(), lift, 1);
+        double best = 0;
+        for(int i = first; i < first + 3; i++){
+            AttemptState state = store.getState(i);
+            if(state == AttemptState.GOOD || state == AttemptState.PROJECTION){
+                best = Math.max(best, store.getWeight(i));
+            }
+        }
+        return best;
+    }
+
+    /** Slot of a lifter's next attempt, the first in lifting order not yet judged, or -1 once all nine are */
+    private static int nextSlot(Lifter lifter){
+        AttemptStore store = lifter.getStore();
+        int first = AttemptStore.index(lifter.getId(), AttemptStore.SQUAT, 1);
+        for(int slot = 0; slot < AttemptStore.SLOTS; slot++){
+            AttemptState state = store.getState(first + slot);
+            if(state == AttemptState.EMPTY || state == AttemptState.PROJECTION){
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /** The potentials of one group, kept in ascending order */
+    private static final class Board{
+        private final HashMap<Lifter, Double> potentials = new HashMap<Lifter, Double>();
+        private double[] sorted = new double[8];
+        private int size;
+
+        void put(Lifter lifter, double potential){
+            Double old = potentials.put(lifter, potential);
+            if(old != null){
+                if(old == potential){
+                    return;
+                }
+                delete(old);
+            }
+            if(size == sorted.length){
+                sorted = Arrays.copyOf(sorted, size * 2);
+            }
+            int at = position(potential);
+            System.arraycopy(sorted, at, sorted, at + 1, size - at);
+            sorted[at] = potential;
+            size++;
+        }
+
+        void remove(Lifter lifter){
+            Double old = potentials.remove(lifter);
+            if(old != null){
+                delete(old);
+            }
+        }
+
+        /** Number of potentials greater than a lifter's own, its copy standing above any equal to it */
+        int ahead(double own){
+            return size - position(own);
+        }
+
+        /** Potential a lifter must beat to finish in a place, counting only the others on the board; negative
+         *  infinity if there are too few others to keep them from it. Ahead is the lifter's count from ahead().
+         */
+        double threshold(int place, int ahead){
+            int rank = place - 1 < ahead ? place - 1 : place;
+            return rank < size ? sorted[size - 1 - rank] : Double.NEGATIVE_INFINITY;
+        }
+
+        private void delete(double potential){
+            int at = position(potential) - 1;
+            System.arraycopy(sorted, at + 1, sorted, at, size - at - 1);
+            size--;
+        }
+
+        /** Index just past the last potential less than or equal to the one given */
+        private int position(double potential){
+            int low = 0;
+            int high = size;
+            while(low < high){
+                int middle = (low + high) >>> 1;
+                if(sorted[middle] <= potential){
+                    low = middle + 1;
+                }else{
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    /** The weights a lifter's next attempt needs, by place */
+    public static final class Need{
+        private final int lift;
+        private final int attempt;
+        private final double[] weights;
+
+        private Need(int lift, int attempt, double[] weights){
+            this.lift = lift;
+            this.attempt = attempt;
+            this.weights = weights;
+        }
+
+        /** Lift of the next attempt, one of AttemptStore.SQUAT, BENCH or DEADLIFT */
+        public int getLift(){
+            return lift;
+        }
+
+        /** Number of the next attempt within its lift, from 1 */
+        public int getAttempt(){
+            return attempt;
+        }
+
+        /** Places there are to take, one per lifter in the group */
+        public int places(){
+            return weights.length;
+        }
+
+        /** Least weight in kilograms that takes a place, counted from 1, if the attempt is good; 0 if the place is
+         *  already secured whatever the attempt
+         */
+        public double getWeight(int place){
+            return weights[place - 1];
+        }
+
+        public boolean isSecured(int place){
+            return weights[place - 1] == 0;
+        }
+    }
+}
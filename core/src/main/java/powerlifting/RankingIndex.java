@@ -0,0 +1,286 @@
+package powerlifting;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+
+/** Order-statistic tree ranking the lifters of one group by a single ScoreComparator
+ *  Implemented as a size-augmented treap keyed on (score descending, entry order ascending) so that
+ *  adding, removing and re-scoring a lifter as well as "rank of X" are O(log n) and "top N" is O(log n + N)
+ *  Not thread safe. LifterGroup reads it optimistically while a writer may be mid-change, so every walk is
+ *  bounded and gives up with a ConcurrentModificationException rather than follow a half-rotated tree forever.
+ */
+public class RankingIndex {
+
+    /** Criterion this index is ordered by */
+    private final ScoreComparator comparator;
+
+    /** Locates the tree entry of each lifter so its stored key can be found after the lifter has changed */
+    private final HashMap<Lifter, Node> nodes;
+
+    /** Root of the treap, null when empty */
+    private Node root;
+
+    /** Entry counter used to break ties in favour of the lifter who entered first */
+    private long nextSeq;
+
+    /** State of the xorshift generator used for node priorities */
+    private int seed;
+
+    public RankingIndex(ScoreComparator comparator){
+        this.comparator = comparator;
+        this.nodes = new HashMap<Lifter, Node>();
+        this.seed = 0x2545F491;
+    }
+
+    public ScoreComparator getComparator(){
+        return comparator;
+    }
+
+    public int size(){
+        return nodes.size();
+    }
+
+    public boolean contains(Lifter lifter){
+        return nodes.containsKey(lifter);
+    }
+
+    /** Insert a lifter, ranked behind any lifter already present with an equal score */
+    public void add(Lifter lifter){
+        if(nodes.containsKey(lifter)){
+            return;
+        }
+        Node node = new Node(lifter, comparator.score(lifter), nextSeq++, nextPriority());
+        nodes.put(lifter, node);
+        root = insert(root, node);
+    }
+
+    /** Remove a lifter from the ranking */
+    public void remove(Lifter lifter){
+        Node node = nodes.remove(lifter);
+        if(node != null){
+            root = delete(root, node.score, node.seq);
+        }
+    }
+
+    /** Re-read a lifter's score and move it if it changed, keeping its original tie-break position */
+    public void update(Lifter lifter){
+        Node node = nodes.get(lifter);
+        if(node == null){
+            return;
+        }
+        double score = comparator.score(lifter);
+        if(score == node.score){
+            return;
+        }
+        root = delete(root, node.score, node.seq);
+        Node moved = new Node(lifter, score, node.seq, node.priority);
+        nodes.put(lifter, moved);
+        root = insert(root, moved);
+    }
+
+    /** Placement of a lifter starting from 1, or -1 if the lifter is not ranked here */
+    public int rank(Lifter lifter){
+        Node node = nodes.get(lifter);
+        if(node == null){
+            return -1;
+        }
+        int before = 0;
+        int steps = 0;
+        Node cur = root;
+        while(cur != null){
+            checkSteps(++steps);
+            int cmp = compare(node.score, node.seq, cur);
+            if(cmp < 0){
+                cur = cur.left;
+            }else if(cmp > 0){
+                before += size(cur.left) + 1;
+                cur = cur.right;
+            }else{
+                return before + size(cur.left) + 1;
+            }
+        }
+        return -1;
+    }
+
+    /** Lifter holding a given placement starting from 1 */
+    public Lifter get(int rank){
+        if(rank < 1 || rank > size()){
+            throw new IndexOutOfBoundsException("Rank " + rank + " outside 1-" + size());
+        }
+        int index = rank - 1;
+        int steps = 0;
+        Node cur = root;
+        while(true){
+            checkSteps(++steps);
+            int leftSize = size(cur.left);
+            if(index < leftSize){
+                cur = cur.left;
+            }else if(index > leftSize){
+                index -= leftSize + 1;
+                cur = cur.right;
+            }else{
+                return cur.lifter;
+            }
+        }
+    }
+
+    /** The best n lifters in placement order, or every lifter if fewer than n are ranked */
+    public ArrayList<Lifter> top(int n){
+        int count = Math.min(n, size());
+        ArrayList<Lifter> result = new ArrayList<Lifter>(count);
+        // iterative in-order walk stopping once enough lifters are collected
+        Node[] stack = new Node[height(count)];
+        int depth = 0;
+        Node cur = root;
+        while(result.size() < count){
+            while(cur != null){
+                checkSteps(depth);
+                if(depth == stack.length){
+                    Node[] grown = new Node[stack.length * 2];
+                    System.arraycopy(stack, 0, grown, 0, depth);
+                    stack = grown;
+                }
+                stack[depth++] = cur;
+                cur = cur.left;
+            }
+            cur = stack[--depth];
+            result.add(cur.lifter);
+            cur = cur.right;
+        }
+        return result;
+    }
+
+    /** Every lifter in placement order */
+    public ArrayList<Lifter> toList(){
+        return top(size());
+    }
+
+    // HELPERS
+
+    /** Negative when the key (score, seq) is ranked ahead of the node */
+    private static int compare(double score, long seq, Node node){
+        if(score != node.score){
+            return score > node.score ? -1 : 1;
+        }
+        return Long.compare(seq, node.seq);
+    }
+
+    private static Node insert(Node cur, Node node){
+        if(cur == null){
+            return node;
+        }
+        if(compare(node.score, node.seq, cur) < 0){
+            cur.left = insert(cur.left, node);
+            if(cur.left.priority > cur.priority){
+                cur = rotateRight(cur);
+            }
+        }else{
+            cur.right = insert(cur.right, node);
+            if(cur.right.priority > cur.priority){
+                cur = rotateLeft(cur);
+            }
+        }
+        cur.recount();
+        return cur;
+    }
+
+    private static Node delete(Node cur, double score, long seq){
+        if(cur == null){
+            return null;
+        }
+        int cmp = compare(score, seq, cur);
+        if(cmp < 0){
+            cur.left = delete(cur.left, score, seq);
+        }else if(cmp > 0){
+            cur.right = delete(cur.right, score, seq);
+        }else{
+            return merge(cur.left, cur.right);
+        }
+        cur.recount();
+        return cur;
+    }
+
+    /** Join two treaps where every key in left ranks ahead of every key in right */
+    private static Node merge(Node left, Node right){
+        if(left == null){
+            return right;
+        }
+        if(right == null){
+            return left;
+        }
+        if(left.priority > right.priority){
+            left.right = merge(left.right, right);
+            left.recount();
+            return left;
+        }else{
+            right.left = merge(left, right.left);
+            right.recount();
+            return right;
+        }
+    }
+
+    private static Node rotateRight(Node node){
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.recount();
+        pivot.recount();
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node){
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.recount();
+        pivot.recount();
+        return pivot;
+    }
+
+    /** A treap is never deeper than its size, a walk going further is seeing a change half made */
+    private void checkSteps(int steps){
+        if(steps > nodes.size() + 1){
+            throw new ConcurrentModificationException("Ranking changed while being read");
+        }
+    }
+
+    private static int size(Node node){
+        return node == null ? 0 : node.size;
+    }
+
+    /** Starting stack depth for a walk, grown on demand if the treap is deeper */
+    private static int height(int count){
+        return 2 * (32 - Integer.numberOfLeadingZeros(count + 1)) + 4;
+    }
+
+    private int nextPriority(){
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    /** A ranked lifter along with the score it is currently filed under */
+    private static class Node{
+        private final Lifter lifter;
+        private final double score;
+        private final long seq;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private int size;
+
+        private Node(Lifter lifter, double score, long seq, int priority){
+            this.lifter = lifter;
+            this.score = score;
+            this.seq = seq;
+            this.priority = priority;
+            this.size = 1;
+        }
+
+        private void recount(){
+            size = 1 + RankingIndex.size(left) + RankingIndex.size(right);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package powerlifting;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/** The meet, state and federation records standing as a meet begins, for every division, weight class and lift
+ *  Records sit in one flat array indexed by division, weight class, lift and level, so telling which records an
+ *  attempt breaks is a few comparisons whatever the size of the file they came from. Levels broken are returned as
+ *  a mask of MEET, STATE and FEDERATION. A lift breaks a record by exceeding it. The book never changes once read:
+ *  state and federation records are those the meet started with, while the meet record also answers to the best lift
+ *  made so far in the same division and weight class. Each LifterGroup keeps who holds that as attempts come in, so a
+ *  corrected decision takes the record back with it and a check never goes through the class. Only the lifter holding
+ *  a meet record is flagged for it.
+ */
+public final class RecordBook {
+
+    /** Record levels, combined as a mask */
+    public static final int MEET = 1, STATE = 2, FEDERATION = 4;
+
+    /** Name of the records file kept in a meet's data directory */
+    public static final String FILE_NAME = "records.csv";
+
+    private static final int LEVELS = 3;
+    private static final int LIFTS = 4;
+    private static final int CLASSES = WeightClass.values().length;
+
+    /** A book without records, which nothing breaks; declared after CLASSES, which sizes it */
+    public static final RecordBook EMPTY = new RecordBook();
+
+    /** Short tags and descriptions by level mask */
+    private static final String[] TAGS = {"", "MR", "SR", "MR/SR", "FR", "MR/FR", "SR/FR", "MR/SR/FR"};
+    private static final String[] DESCRIPTIONS = {"", "Meet record", "State record", "Meet and State record", "Federation record",
+            "Meet and Federation record", "State and Federation record", "Meet, State and Federation record"};
+
+    /** Names accepted in a records file, normalized by key() */
+    private static final HashMap<String, Integer> LEVEL_NAMES = new HashMap<String, Integer>();
+    private static final HashMap<String, Division> DIVISION_NAMES = new HashMap<String, Division>();
+    private static final HashMap<String, WeightClass> CLASS_NAMES = new HashMap<String, WeightClass>();
+    private static final HashMap<String, Integer> LIFT_NAMES = new HashMap<String, Integer>();
+    static{
+        LEVEL_NAMES.put("meet", 0);
+        LEVEL_NAMES.put("state", 1);
+        LEVEL_NAMES.put("federation", 2);
+        LEVEL_NAMES.put("national", 2);
+        for(Division division: Division.values()){
+            DIVISION_NAMES.put(key(division.name()), division);
+            DIVISION_NAMES.put(key(division.toString()), division);
+        }
+        for(WeightClass weightClass: WeightClass.values()){
+            String label = weightClass.toString();
+            int kg = label.indexOf("kgs");
+            CLASS_NAMES.put(key(weightClass.name()), weightClass);
+            CLASS_NAMES.put(key(label), weightClass);
+            // "83" or "120+", as classes are usually written
+            CLASS_NAMES.put(label.substring(0, kg) + (label.startsWith("+", kg + 3) ? "+" : ""), weightClass);
+        }
+        LIFT_NAMES.put("squat", AttemptStore.SQUAT);
+        LIFT_NAMES.put("bench", AttemptStore.BENCH);
+        LIFT_NAMES.put("benchpress", AttemptStore.BENCH);
+        LIFT_NAMES.put("deadlift", AttemptStore.DEADLIFT);
+        LIFT_NAMES.put("total", ResultsArchive.TOTAL);
+    }
+
+    /** Record weights in kilograms, infinite where there is no record */
+    private final double[] records;
+
+    /** Number of records held */
+    private int size;
+
+    private RecordBook(){
+        records = new double[Division.values().length * CLASSES * LIFTS * LEVELS];
+        Arrays.fill(records, Double.POSITIVE_INFINITY);
+    }
+
+    /** Read a records file, one record per line: level, division, weight class, lift, weight
+     *  Levels are meet, state or federation, lifts squat, bench, deadlift or total, and weights are kilograms unless
+     *  followed by lb. Classes may be written as in the app or just as their limit ("83", "120+"). Any further columns,
+     *  such as the holder, are ignored, as are blank lines, lines starting with # and a header row. Where a record is
+     *  listed more than once the heaviest stands.
+     */
+    public static RecordBook read(Path path) throws IOException {
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        RecordBook book = new RecordBook();
+        for(int i = 0; i < lines.size(); i++){
+            String line = lines.get(i).replace("\uFEFF", "").trim();
+            if(line.isEmpty() || line.startsWith("#")){
+                continue;
+            }
+            String[] fields = line.split(",");
+            if(i == 0 && key(fields[0]).equals("level")){
+                continue;
+            }
+            if(fields.length < 5){
+                throw new IOException("Line " + (i + 1) + ": expected level, division, weight class, lift and weight");
+            }
+            Integer level = LEVEL_NAMES.get(key(fields[0]));
+            Division division = DIVISION_NAMES.get(key(fields[1]));
+            WeightClass weightClass = CLASS_NAMES.get(key(fields[2]));
+            Integer lift = LIFT_NAMES.get(key(fields[3]));
+            if(level == null || division == null || weightClass == null || lift == null){
+                String field = level == null ? "level" : division == null ? "division" : weightClass == null ? "weight class" : "lift";
+                throw new IOException("Line " + (i + 1) + ": unknown " + field);
+            }
+            double weight = parseWeight(fields[4]);
+            if(!(weight > 0)){
+                throw new IOException("Line " + (i + 1) + ": weight must be a positive number of kg or lb");
+            }
+            int index = index(division, weightClass, lift) + level;
+            if(book.records[index] == Double.POSITIVE_INFINITY){
+                book.size++;
+                book.records[index] = weight;
+            }else{
+                book.records[index] = Math.max(book.records[index], weight);
+            }
+        }
+        return book;
+    }
+
+    /** Number of records held */
+    public int size(){
+        return size;
+    }
+
+    /** Record in kilograms at one level (MEET, STATE or FEDERATION), or 0 if there is none */
+    public double get(Division division, WeightClass weightClass, int lift, int level){
+        double record = records[index(division, weightClass, lift) + Integer.numberOfTrailingZeros(level)];
+        return record == Double.POSITIVE_INFINITY ? 0 : record;
+    }
+
+    /** Levels whose record a lift or total (ResultsArchive.TOTAL) in kilograms would break */
+    public int broken(Division division, WeightClass weightClass, int lift, double weightKG){
+        int index = index(division, weightClass, lift);
+        return (weightKG > records[index] ? MEET : 0)
+                | (weightKG > records[index + 1] ? STATE : 0)
+                | (weightKG > records[index + 2] ? FEDERATION : 0);
+    }
+
+    /** Levels whose record one of a lifter's attempts breaks if good, or would break if a requested attempt is made
+     *  A good attempt keeps the meet record only while it is the lifter's best and the lifter holds it; a requested
+     *  one is a meet record attempt only if it beats the heaviest made so far.
+     */
+    public int broken(Lifter lifter, int lift, int attempt){
+        AttemptStore store = lifter.getStore();
+        int index = AttemptStore.index(lifter.getId(), lift, attempt);
+        AttemptState state = store.getState(index);
+        if(state != AttemptState.GOOD && state != AttemptState.PROJECTION){
+            return 0;
+        }
+        int levels = broken(lifter.getDivsion(), lifter.getWeightClass(), lift, store.getWeight(index));
+        if((levels & MEET) == 0){
+            return levels;
+        }
+        Lifter holder = holder(lifter, lift);
+        boolean holds = state == AttemptState.GOOD
+                ? holder == lifter && store.findBest(lifter.getId(), lift) == index
+                : holder == null || store.getUnits(index) > store.bestUnits(store.findBest(holder.getId(), lift));
+        return holds ? levels : levels & ~MEET;
+    }
+
+    /** Levels whose record a lifter's best lift breaks, given who holds it in the meet as found by meetHolder */
+    public int brokenBest(Lifter lifter, int lift, Lifter holder){
+        AttemptStore store = lifter.getStore();
+        int best = store.findBest(lifter.getId(), lift);
+        if(best < 0){
+            return 0;
+        }
+        int levels = broken(lifter.getDivsion(), lifter.getWeightClass(), lift, store.getWeight(best));
+        return holder == lifter ? levels : levels & ~MEET;
+    }
+
+    /** Levels whose total record a lifter's total breaks, once they have a good lift of all three */
+    public int brokenTotal(Lifter lifter){
+        return brokenTotal(lifter, holder(lifter, ResultsArchive.TOTAL));
+    }
+
+    /** Levels whose total record a lifter's total breaks, given who holds the total in the meet as found by meetHolder */
+    public int brokenTotal(Lifter lifter, Lifter holder){
+        AttemptStore store = lifter.getStore();
+        int row = lifter.getId();
+        if(store.findBest(row, AttemptStore.SQUAT) < 0 || store.findBest(row, AttemptStore.BENCH) < 0 || store.findBest(row, AttemptStore.DEADLIFT) < 0){
+            return 0;
+        }
+        int levels = broken(lifter.getDivsion(), lifter.getWeightClass(), ResultsArchive.TOTAL, store.getTotal(row));
+        return holder == lifter ? levels : levels & ~MEET;
+    }
+
+    /** The lifter with the heaviest good lift, or total (ResultsArchive.TOTAL), among some lifters, null if none has one
+     *  Equal lifts go to whoever made theirs first, taken as the earlier attempt and then the lower lot, the order they
+     *  came to the platform; totals count once all three lifts are good and go by the attempt of the best deadlift.
+     */
+    public static Lifter meetHolder(List<Lifter> lifters, int lift){
+        Lifter holder = null;
+        long holderKey = -1;
+        for(int i = 0; i < lifters.size(); i++){
+            Lifter lifter = lifters.get(i);
+            long key = meetKey(lifter, lift);
+            if(ahead(key, lifter, holderKey, holder)){
+                holder = lifter;
+                holderKey = key;
+            }
+        }
+        return holder;
+    }
+
+    /** How a lifter's best lift or total ranks for the meet record, -1 if they have none
+     *  Higher ranks ahead: units of the lift, then the earlier attempt, packed as units * 4 + (2 - attempt index)
+     */
+    static long meetKey(Lifter lifter, int lift){
+        AttemptStore store = lifter.getStore();
+        int row = lifter.getId();
+        int best;
+        long units;
+        if(lift == ResultsArchive.TOTAL){
+            best = store.findBest(row, AttemptStore.DEADLIFT);
+            if(best < 0 || store.findBest(row, AttemptStore.SQUAT) < 0 || store.findBest(row, AttemptStore.BENCH) < 0){
+                return -1;
+            }
+            units = store.getTotalUnits(row);
+        }else{
+            best = store.findBest(row, lift);
+            if(best < 0){
+                return -1;
+            }
+            units = store.getUnits(best);
+        }
+        return units * 4 + (2 - (best - row * AttemptStore.SLOTS) % 3);
+    }
+
+    /** Whether a lifter's key takes the meet record from a holder with another, equal keys going to the lower lot */
+    static boolean ahead(long key, Lifter lifter, long holderKey, Lifter holder){
+        return key >= 0 && (holder == null || key > holderKey || key == holderKey && lifter.getLot() < holder.getLot());
+    }
+
+    /** Short form of the levels broken, such as "SR/FR", or an empty string for none */
+    public static String tag(int levels){
+        return TAGS[levels];
+    }
+
+    /** Long form of the levels broken, such as "State and Federation record", or an empty string for none */
+    public static String describe(int levels){
+        return DESCRIPTIONS[levels];
+    }
+
+    // HELPERS
+
+    /** Holder of the meet record a lifter competes for, kept by the lifter's group, or the lifter alone outside one */
+    private static Lifter holder(Lifter lifter, int lift){
+        LifterGroup group = lifter.getGroup();
+        if(group == null){
+            return meetKey(lifter, lift) >= 0 ? lifter : null;
+        }
+        return group.meetHolder(lift);
+    }
+
+    /** Index of the meet record of a division, weight class and lift; the state and federation records follow it */
+    private static int index(Division division, WeightClass weightClass, int lift){
+        int liftIndex = lift == ResultsArchive.TOTAL ? LIFTS - 1 : lift / 3;
+        return ((division.ordinal() * CLASSES + weightClass.ordinal()) * LIFTS + liftIndex) * LEVELS;
+    }
+
+    private static String key(String name){
+        return name.trim().toLowerCase().replace(" ", "").replace("-", "").replace("_", "");
+    }
+
+    private static double parseWeight(String field){
+        String value = field.trim().toLowerCase();
+        Metric metric = Metric.KG;
+        if(value.endsWith("lbs") || value.endsWith("lb")){
+            metric = Metric.LB;
+            value = value.substring(0, value.lastIndexOf("lb"));
+        }else if(value.endsWith("kgs") || value.endsWith("kg")){
+            value = value.substring(0, value.lastIndexOf("kg"));
+        }
+        try{
+            // held to the same units as lifts, so a lift equal to a record in either metric ties it exactly
+            return UniversalWeight.fromUnits(UniversalWeight.toUnits(Double.parseDouble(value.trim()), metric), Metric.KG);
+        }catch(NumberFormatException e){
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package powerlifting;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/** Output formats a meet report can be written in */
+public enum ReportFormat{
+    TEXT("Text", "txt"),
+    CSV("CSV", "csv"),
+    JSON("JSON", "json");
+
+    private final String label;
+
+    /** File extension used for reports in this format */
+    private final String extension;
+
+    ReportFormat(String label, String extension){
+        this.label = label;
+        this.extension = extension;
+    }
+
+    public String getExtension(){
+        return extension;
+    }
+
+    /** Create a writer producing this format on the given output */
+    public ReportWriter newWriter(Writer out) throws IOException {
+        if(this == CSV){
+            return new CsvReportWriter(out);
+        }else if(this == JSON){
+            return new JsonReportWriter(out);
+        }else{
+            return new TextReportWriter(out);
+        }
+    }
+
+    @Override
+    public String toString(){
+        return label;
+    }
+}
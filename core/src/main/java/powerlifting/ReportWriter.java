@@ -0,0 +1,23 @@
+package powerlifting;
+
+import java.io.IOException;
+
+/** Receives a meet report one section at a time, in division then weight class order
+ *  Implementations stream straight to their output rather than building the report in memory
+ */
+public interface ReportWriter {
+
+    void startDivision(Division division) throws IOException;
+
+    /** Begin a weight class within the current division, entries being the number of rows to follow */
+    void startClass(WeightClass weightClass, int entries) throws IOException;
+
+    void row(MeetSnapshot.Row row) throws IOException;
+
+    void endClass() throws IOException;
+
+    void endDivision() throws IOException;
+
+    /** Flush anything still buffered, called once after the last division */
+    void finish() throws IOException;
+}
@@ -0,0 +1,532 @@
+package powerlifting;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/** Results of past meets, kept in a columnar file that is memory-mapped and queried in place
+ *  Each row is one lifter at one meet: who, the meet date, division and weight class, and best squat, bench, deadlift
+ *  and total in kilograms. Every field is its own fixed-width column, so a query touches only the columns it reads and
+ *  nothing is deserialized up front. Rows are sorted by division, weight class and date, making each class a contiguous
+ *  run found from a small group table and any date range within it a binary search away. Lifters are stored once,
+ *  sorted by name, with an index of their rows for history lookups.
+ *
+ *  Layout: header, group starts, then int columns (lifter, date), float columns (squat, bench, deadlift, total),
+ *  the lifter row index, identity offsets, byte columns (division, weight class) and finally the UTF-8 name heap.
+ */
+public final class ResultsArchive {
+
+    private static final int MAGIC = 0x504C5241; // "PLRA"
+    private static final int VERSION = 1;
+
+    /** Bytes before the first column: magic, version, rows, lifters, heap size */
+    private static final int HEADER = 20;
+
+    /** One group per division and weight class pair */
+    private static final int GROUPS = Division.values().length * WeightClass.values().length;
+
+    /** Lift selector for the total column, past the attempt slots used for the lifts themselves */
+    public static final int TOTAL = AttemptStore.SLOTS;
+
+    private final int rows;
+    private final int lifters;
+
+    private final IntBuffer groupStarts;
+    private final IntBuffer lifterColumn;
+    private final IntBuffer dateColumn;
+    private final FloatBuffer squatColumn;
+    private final FloatBuffer benchColumn;
+    private final FloatBuffer deadliftColumn;
+    private final FloatBuffer totalColumn;
+    private final IntBuffer historyStarts;
+    private final IntBuffer historyRows;
+    private final ByteBuffer divisionColumn;
+    private final ByteBuffer weightClassColumn;
+    private final IntBuffer identityOffsets;
+    private final ByteBuffer heap;
+
+    private ResultsArchive(ByteBuffer data, int rows, int lifters, int heapSize){
+        this.rows = rows;
+        this.lifters = lifters;
+        int position = HEADER;
+        groupStarts = slice(data, position, (GROUPS + 1) * 4).asIntBuffer();
+        position += (GROUPS + 1) * 4;
+        lifterColumn = slice(data, position, rows * 4).asIntBuffer();
+        position += rows * 4;
+        dateColumn = slice(data, position, rows * 4).asIntBuffer();
+        position += rows * 4;
+        squatColumn = slice(data, position, rows * 4).asFloatBuffer();
+        position += rows * 4;
+        benchColumn = slice(data, position, rows * 4).asFloatBuffer();
+        position += rows * 4;
+        deadliftColumn = slice(data, position, rows * 4).asFloatBuffer();
+        position += rows * 4;
+        totalColumn = slice(data, position, rows * 4).asFloatBuffer();
+        position += rows * 4;
+        historyStarts = slice(data, position, (lifters + 1) * 4).asIntBuffer();
+        position += (lifters + 1) * 4;
+        historyRows = slice(data, position, rows * 4).asIntBuffer();
+        position += rows * 4;
+        identityOffsets = slice(data, position, (lifters * 3 + 1) * 4).asIntBuffer();
+        position += (lifters * 3 + 1) * 4;
+        divisionColumn = slice(data, position, rows);
+        position += rows;
+        weightClassColumn = slice(data, position, rows);
+        position += rows;
+        heap = slice(data, position, heapSize);
+    }
+
+    /** Map an archive file for reading; the file is not read until queried */
+    public static ResultsArchive open(Path path) throws IOException {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)){
+            long size = channel.size();
+            if(size < HEADER){
+                throw new IOException("Not a results archive: " + path);
+            }
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if(data.getInt(0) != MAGIC){
+                throw new IOException("Not a results archive: " + path);
+            }
+            if(data.getInt(4) != VERSION){
+                throw new IOException("Unsupported results archive version " + data.getInt(4) + ": " + path);
+            }
+            int rows = data.getInt(8);
+            int lifters = data.getInt(12);
+            int heapSize = data.getInt(16);
+            if(rows < 0 || lifters < 0 || heapSize < 0 || size != fileSize(rows, lifters, heapSize)){
+                throw new IOException("Results archive is truncated or damaged: " + path);
+            }
+            return new ResultsArchive(data, rows, lifters, heapSize);
+        }
+    }
+
+    /** Number of results held */
+    public int size(){
+        return rows;
+    }
+
+    /** Number of distinct lifters */
+    public int lifterCount(){
+        return lifters;
+    }
+
+    // ROWS
+
+    /** Lifter of a result */
+    public int lifter(int row){
+        return lifterColumn.get(row);
+    }
+
+    /** Meet date of a result, as yyyymmdd */
+    public int date(int row){
+        return dateColumn.get(row);
+    }
+
+    public Division division(int row){
+        return Division.fromIndex(divisionColumn.get(row));
+    }
+
+    public WeightClass weightClass(int row){
+        return WeightClass.fromIndex(weightClassColumn.get(row));
+    }
+
+    /** Best weight in kilograms of a lift (AttemptStore.SQUAT, BENCH or DEADLIFT) or the TOTAL of a result */
+    public double weight(int row, int lift){
+        return column(lift).get(row);
+    }
+
+    // LIFTERS
+
+    public String firstName(int lifter){
+        return identity(lifter, 0);
+    }
+
+    public String lastName(int lifter){
+        return identity(lifter, 1);
+    }
+
+    public String homeTown(int lifter){
+        return identity(lifter, 2);
+    }
+
+    /** Lifter with these names and hometown, ignoring case, or -1 if they have no results */
+    public int findLifter(String first, String last, String homeTown){
+        String key = identityKey(first, last, homeTown);
+        int low = 0;
+        int high = lifters - 1;
+        while(low <= high){
+            int middle = (low + high) >>> 1;
+            int order = identityKey(firstName(middle), lastName(middle), homeTown(middle)).compareTo(key);
+            if(order < 0){
+                low = middle + 1;
+            }else if(order > 0){
+                high = middle - 1;
+            }else{
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /** Every result of a lifter, oldest first */
+    public int[] history(int lifter){
+        int start = historyStarts.get(lifter);
+        int[] result = new int[historyStarts.get(lifter + 1) - start];
+        for(int i = 0; i < result.length; i++){
+            result[i] = historyRows.get(start + i);
+        }
+        return result;
+    }
+
+    /** Result in which a lifter made their heaviest lift or total, or -1 if they never made one */
+    public int personalBest(int lifter, int lift){
+        FloatBuffer column = column(lift);
+        int best = -1;
+        float max = 0;
+        for(int i = historyStarts.get(lifter); i < historyStarts.get(lifter + 1); i++){
+            int row = historyRows.get(i);
+            if(column.get(row) > max){
+                max = column.get(row);
+                best = row;
+            }
+        }
+        return best;
+    }
+
+    // GROUPS
+
+    /** First row of a division and weight class */
+    public int groupStart(Division division, WeightClass weightClass){
+        return groupStarts.get(group(division, weightClass));
+    }
+
+    /** Row after the last of a division and weight class */
+    public int groupEnd(Division division, WeightClass weightClass){
+        return groupStarts.get(group(division, weightClass) + 1);
+    }
+
+    /** First row of a division and weight class dated on or after a yyyymmdd date, or groupEnd if none are */
+    public int dateBound(Division division, WeightClass weightClass, int date){
+        int low = groupStart(division, weightClass);
+        int high = groupEnd(division, weightClass);
+        while(low < high){
+            int middle = (low + high) >>> 1;
+            if(dateColumn.get(middle) < date){
+                low = middle + 1;
+            }else{
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /** Result holding the heaviest lift or total of a division and weight class between two dates inclusive,
+     *  the class record over that period, or -1 if no one made the lift
+     */
+    public int best(Division division, WeightClass weightClass, int lift, int fromDate, int toDate){
+        FloatBuffer column = column(lift);
+        int end = dateBound(division, weightClass, toDate + 1);
+        int best = -1;
+        float max = 0;
+        for(int row = dateBound(division, weightClass, fromDate); row < end; row++){
+            if(column.get(row) > max){
+                max = column.get(row);
+                best = row;
+            }
+        }
+        return best;
+    }
+
+    /** Number of results in a division and weight class between two dates inclusive with a lift or total
+     *  between two weights in kilograms inclusive
+     */
+    public int count(Division division, WeightClass weightClass, int lift, double minKG, double maxKG, int fromDate, int toDate){
+        FloatBuffer column = column(lift);
+        int end = dateBound(division, weightClass, toDate + 1);
+        int count = 0;
+        for(int row = dateBound(division, weightClass, fromDate); row < end; row++){
+            float weight = column.get(row);
+            if(weight >= minKG && weight <= maxKG){
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** A yyyymmdd date as stored in the date column */
+    public static int dateCode(LocalDate date){
+        return date.getYear() * 10000 + date.getMonthValue() * 100 + date.getDayOfMonth();
+    }
+
+    // HELPERS
+
+    private FloatBuffer column(int lift){
+        if(lift == AttemptStore.SQUAT){
+            return squatColumn;
+        }else if(lift == AttemptStore.BENCH){
+            return benchColumn;
+        }else if(lift == AttemptStore.DEADLIFT){
+            return deadliftColumn;
+        }else if(lift == TOTAL){
+            return totalColumn;
+        }
+        throw new IllegalArgumentException("Not a lift: " + lift);
+    }
+
+    private String identity(int lifter, int field){
+        int start = identityOffsets.get(lifter * 3 + field);
+        byte[] utf = new byte[identityOffsets.get(lifter * 3 + field + 1) - start];
+        heap.get(start, utf);
+        return new String(utf, StandardCharsets.UTF_8);
+    }
+
+    private static int group(Division division, WeightClass weightClass){
+        return division.ordinal() * WeightClass.values().length + weightClass.ordinal();
+    }
+
+    /** Order and equality of lifters: last name, first name, hometown, ignoring case */
+    private static String identityKey(String first, String last, String homeTown){
+        return last.trim().toLowerCase() + '\u0000' + first.trim().toLowerCase() + '\u0000' + homeTown.trim().toLowerCase();
+    }
+
+    private static ByteBuffer slice(ByteBuffer data, int position, int length){
+        return data.duplicate().position(position).limit(position + length).slice();
+    }
+
+    private static long fileSize(int rows, int lifters, int heapSize){
+        return HEADER + (GROUPS + 1) * 4L + rows * 4L * 7 + (lifters + 1) * 4L + (lifters * 3L + 1) * 4 + rows * 2L + heapSize;
+    }
+
+    /** Collects results, from past archives and finished meets, and writes them as a new archive */
+    public static class Builder {
+        private int rows;
+        private int[] lifter = new int[1024];
+        private int[] date = new int[1024];
+        private byte[] division = new byte[1024];
+        private byte[] weightClass = new byte[1024];
+        private float[] squat = new float[1024];
+        private float[] bench = new float[1024];
+        private float[] deadlift = new float[1024];
+
+        /** Lifter number by identity key, and each lifter's names and hometown */
+        private final HashMap<String, Integer> lifterIds = new HashMap<String, Integer>();
+        private final ArrayList<String[]> identities = new ArrayList<String[]>();
+
+        /** Add one result, lifts in kilograms */
+        public void add(String first, String last, String homeTown, int date, Division division, WeightClass weightClass,
+                double squatKG, double benchKG, double deadliftKG){
+            addRow(lifterId(first, last, homeTown), date, division, weightClass, (float) squatKG, (float) benchKG, (float) deadliftKG);
+        }
+
+        /** Add the best lifts of every lifter in a meet held on a date */
+        public void addMeet(Roster roster, LocalDate date){
+            int code = dateCode(date);
+            ArrayList<Lifter> all = roster.all();
+            for(int i = 0; i < all.size(); i++){
+                Lifter lifter = all.get(i);
+                add(lifter.getFirstName(), lifter.getLastName(), lifter.getHomeTown(), code, lifter.getDivsion(), lifter.getWeightClass(),
+                        lifter.getMaxSquat().getWeight(Metric.KG), lifter.getMaxBench().getWeight(Metric.KG),
+                        lifter.getMaxDeadlift().getWeight(Metric.KG));
+            }
+        }
+
+        /** Add every result of an existing archive, merging its lifters with any already added */
+        public void addArchive(ResultsArchive archive){
+            int[] ids = new int[archive.lifterCount()];
+            for(int i = 0; i < ids.length; i++){
+                ids[i] = lifterId(archive.firstName(i), archive.lastName(i), archive.homeTown(i));
+            }
+            for(int row = 0; row < archive.size(); row++){
+                addRow(ids[archive.lifter(row)], archive.date(row), archive.division(row), archive.weightClass(row),
+                        archive.squatColumn.get(row), archive.benchColumn.get(row), archive.deadliftColumn.get(row));
+            }
+        }
+
+        /** Write everything added so far, replacing any file at the path only once the new one is complete */
+        public void write(Path path) throws IOException {
+            int lifters = identities.size();
+
+            // number lifters in identity order so lookups can binary search
+            String[] keys = new String[lifters];
+            for(int i = 0; i < lifters; i++){
+                String[] identity = identities.get(i);
+                keys[i] = identityKey(identity[0], identity[1], identity[2]);
+            }
+            Integer[] byName = new Integer[lifters];
+            for(int i = 0; i < lifters; i++){
+                byName[i] = i;
+            }
+            Arrays.sort(byName, (a, b) -> keys[a].compareTo(keys[b]));
+            int[] renumber = new int[lifters];
+            for(int i = 0; i < lifters; i++){
+                renumber[byName[i]] = i;
+            }
+
+            // order rows by group then date, keeping insertion order among equals; the 2 GB file limit keeps rows under 2^30
+            long[] order = new long[rows];
+            for(int i = 0; i < rows; i++){
+                long group = division[i] * WeightClass.values().length + weightClass[i];
+                order[i] = group << 57 | (long) date[i] << 30 | i;
+            }
+            Arrays.sort(order);
+
+            byte[][] names = new byte[lifters * 3][];
+            int heapSize = 0;
+            for(int i = 0; i < lifters; i++){
+                String[] identity = identities.get(byName[i]);
+                for(int field = 0; field < 3; field++){
+                    names[i * 3 + field] = identity[field].getBytes(StandardCharsets.UTF_8);
+                    heapSize += names[i * 3 + field].length;
+                }
+            }
+
+            long size = fileSize(rows, lifters, heapSize);
+            if(size > Integer.MAX_VALUE){
+                throw new IOException("Results archive would exceed 2 GB");
+            }
+            ByteBuffer out = ByteBuffer.allocate((int) size);
+            out.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(lifters).putInt(heapSize);
+
+            int[] groupStarts = new int[GROUPS + 1];
+            for(int i = 0; i < rows; i++){
+                groupStarts[(int) (order[i] >>> 57) + 1]++;
+            }
+            for(int g = 0; g < GROUPS; g++){
+                groupStarts[g + 1] += groupStarts[g];
+            }
+            for(int g = 0; g <= GROUPS; g++){
+                out.putInt(groupStarts[g]);
+            }
+
+            int[] sortedLifter = new int[rows];
+            for(int i = 0; i < rows; i++){
+                sortedLifter[i] = renumber[lifter[row(order, i)]];
+                out.putInt(sortedLifter[i]);
+            }
+            for(int i = 0; i < rows; i++){
+                out.putInt(date[row(order, i)]);
+            }
+            for(float[] column: new float[][]{squat, bench, deadlift}){
+                for(int i = 0; i < rows; i++){
+                    out.putFloat(column[row(order, i)]);
+                }
+            }
+            for(int i = 0; i < rows; i++){
+                int row = row(order, i);
+                out.putFloat(squat[row] + bench[row] + deadlift[row]);
+            }
+
+            // each lifter's rows, gathered by counting then put in date order
+            int[] historyStarts = new int[lifters + 1];
+            for(int i = 0; i < rows; i++){
+                historyStarts[sortedLifter[i] + 1]++;
+            }
+            for(int i = 0; i < lifters; i++){
+                historyStarts[i + 1] += historyStarts[i];
+            }
+            int[] historyRows = new int[rows];
+            int[] filled = Arrays.copyOf(historyStarts, lifters);
+            for(int i = 0; i < rows; i++){
+                historyRows[filled[sortedLifter[i]]++] = i;
+            }
+            for(int i = 0; i < lifters; i++){
+                sortByDate(historyRows, historyStarts[i], historyStarts[i + 1], order);
+            }
+            for(int i = 0; i <= lifters; i++){
+                out.putInt(historyStarts[i]);
+            }
+            for(int i = 0; i < rows; i++){
+                out.putInt(historyRows[i]);
+            }
+
+            int offset = 0;
+            for(int i = 0; i < names.length; i++){
+                out.putInt(offset);
+                offset += names[i].length;
+            }
+            out.putInt(offset);
+            for(int i = 0; i < rows; i++){
+                out.put(division[row(order, i)]);
+            }
+            for(int i = 0; i < rows; i++){
+                out.put(weightClass[row(order, i)]);
+            }
+            for(int i = 0; i < names.length; i++){
+                out.put(names[i]);
+            }
+            out.flip();
+
+            Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+            try(FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)){
+                while(out.hasRemaining()){
+                    channel.write(out);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        private int lifterId(String first, String last, String homeTown){
+            String key = identityKey(first, last, homeTown);
+            Integer id = lifterIds.get(key);
+            if(id == null){
+                id = identities.size();
+                lifterIds.put(key, id);
+                identities.add(new String[]{first.trim(), last.trim(), homeTown.trim()});
+            }
+            return id;
+        }
+
+        private void addRow(int id, int meetDate, Division meetDivision, WeightClass meetClass, float squatKG, float benchKG, float deadliftKG){
+            if(rows == lifter.length){
+                int capacity = rows * 2;
+                lifter = Arrays.copyOf(lifter, capacity);
+                date = Arrays.copyOf(date, capacity);
+                division = Arrays.copyOf(division, capacity);
+                weightClass = Arrays.copyOf(weightClass, capacity);
+                squat = Arrays.copyOf(squat, capacity);
+                bench = Arrays.copyOf(bench, capacity);
+                deadlift = Arrays.copyOf(deadlift, capacity);
+            }
+            lifter[rows] = id;
+            date[rows] = meetDate;
+            division[rows] = (byte) meetDivision.ordinal();
+            weightClass[rows] = (byte) meetClass.ordinal();
+            squat[rows] = squatKG;
+            bench[rows] = benchKG;
+            deadlift[rows] = deadliftKG;
+            rows++;
+        }
+
+        /** Insertion row of the i-th result in archive order */
+        private static int row(long[] order, int i){
+            return (int) (order[i] & 0x3FFFFFFF);
+        }
+
+        /** Put a lifter's few archive rows in date order */
+        private void sortByDate(int[] rowsOf, int from, int to, long[] order){
+            for(int i = from + 1; i < to; i++){
+                int row = rowsOf[i];
+                int meetDate = date[row(order, row)];
+                int j = i - 1;
+                while(j >= from && date[row(order, rowsOf[j])] > meetDate){
+                    rowsOf[j + 1] = rowsOf[j];
+                    j--;
+                }
+                rowsOf[j + 1] = row;
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package powerlifting;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Every lifter entered in the meet, bucketed by division and weight class
+ *  Buckets sit in a dense array indexed by the two enum ordinals, so finding a bucket is two array reads,
+ *  and queries spanning several buckets (one class across all divisions, all masters) walk only the matching row or column
+ *
+ *  Safe to share between platforms and importers on different threads: each bucket locks itself (see LifterGroup),
+ *  and listeners are called on whichever thread made the change, after the bucket's lock is released.
+ */
+public class Roster {
+
+    /** One group per division and weight class, indexed [division][weightClass] */
+    private final LifterGroup[][] buckets;
+
+    /** Column store shared by every lifter created for this roster */
+    private final AttemptStore store;
+
+    /** Lot number given to the next lifter entered without one */
+    private final AtomicInteger nextLot;
+
+    /** Records lifts are measured against, swapped whole so readers never lock */
+    private volatile RecordBook records;
+
+    /** Notified of every change, in registration order; copied on write so notifying never locks */
+    private final CopyOnWriteArrayList<RosterListener> listeners;
+
+    public Roster(AttemptStore store){
+        this.store = store;
+        this.listeners = new CopyOnWriteArrayList<RosterListener>();
+        this.nextLot = new AtomicInteger(1);
+        this.records = RecordBook.EMPTY;
+        Division[] divisions = Division.values();
+        WeightClass[] weightClasses = WeightClass.values();
+        buckets = new LifterGroup[divisions.length][weightClasses.length];
+        for(int d = 0; d < divisions.length; d++){
+            for(int w = 0; w < weightClasses.length; w++){
+                buckets[d][w] = new LifterGroup(this);
+            }
+        }
+    }
+
+    public AttemptStore getStore(){
+        return store;
+    }
+
+    public RecordBook getRecords(){
+        return records;
+    }
+
+    public void setRecords(RecordBook records){
+        this.records = records;
+    }
+
+    /** The group for a division and weight class, never null */
+    public LifterGroup get(Division division, WeightClass weightClass){
+        return buckets[division.ordinal()][weightClass.ordinal()];
+    }
+
+    public void addListener(RosterListener listener){
+        listeners.add(listener);
+    }
+
+    public void removeListener(RosterListener listener){
+        listeners.remove(listener);
+    }
+
+    /** File a lifter under its own division and weight class, giving it the next lot number if it has none
+     *  The lifter must have been created in this roster's store, since lifters are told apart by their row in it
+     */
+    public void add(Lifter lifter){
+        checkStore(lifter);
+        assignLot(lifter);
+        get(lifter.getDivsion(), lifter.getWeightClass()).add(lifter);
+        for(int i = 0; i < listeners.size(); i++){
+            listeners.get(i).lifterAdded(lifter);
+        }
+    }
+
+    /** File a batch of lifters, such as an import, taking each group's lock once however many lifters it receives
+     *  Lifters without a lot are given the next ones in list order. Listeners then hear of each lifter in list order,
+     *  so a UI coalescing events redraws once for the whole batch when it is added on the UI thread.
+     */
+    public void addAll(List<Lifter> lifters){
+        // checked up front so a batch with a foreign lifter files none of them
+        for(int i = 0; i < lifters.size(); i++){
+            checkStore(lifters.get(i));
+        }
+        HashMap<LifterGroup, ArrayList<Lifter>> byGroup = new HashMap<LifterGroup, ArrayList<Lifter>>();
+        for(int i = 0; i < lifters.size(); i++){
+            Lifter lifter = lifters.get(i);
+            assignLot(lifter);
+            byGroup.computeIfAbsent(get(lifter.getDivsion(), lifter.getWeightClass()), group -> new ArrayList<Lifter>()).add(lifter);
+        }
+        for(Map.Entry<LifterGroup, ArrayList<Lifter>> entry: byGroup.entrySet()){
+            entry.getKey().addAll(entry.getValue());
+        }
+        for(int i = 0; i < lifters.size(); i++){
+            for(int j = 0; j < listeners.size(); j++){
+                listeners.get(j).lifterAdded(lifters.get(i));
+            }
+        }
+    }
+
+    private void checkStore(Lifter lifter){
+        if(lifter.getStore() != store){
+            throw new IllegalArgumentException(lifter.getFirstName() + " " + lifter.getLastName() + " was created in another roster's store");
+        }
+    }
+
+    /** Give a lifter the next lot number if it has none, or move the next one past its own */
+    private void assignLot(Lifter lifter){
+        if(lifter.getLot() == 0){
+            lifter.setLot(nextLot.getAndIncrement());
+        }else{
+            int lot = lifter.getLot();
+            nextLot.accumulateAndGet(lot + 1, Math::max);
+        }
+    }
+
+    /** Withdraw a lifter from whichever group it is filed under */
+    public boolean remove(Lifter lifter){
+        LifterGroup group = lifter.getGroup();
+        if(group == null || !group.remove(lifter)){
+            return false;
+        }
+        for(int i = 0; i < listeners.size(); i++){
+            listeners.get(i).lifterRemoved(lifter);
+        }
+        return true;
+    }
+
+    /** Forwarded from a group when one of its lifters records an attempt */
+    void attemptChanged(Lifter lifter, int lift, int attempt, boolean bestChanged){
+        for(int i = 0; i < listeners.size(); i++){
+            listeners.get(i).attemptChanged(lifter, lift, attempt);
+        }
+        if(bestChanged){
+            for(int i = 0; i < listeners.size(); i++){
+                listeners.get(i).bestLiftChanged(lifter, lift);
+            }
+        }
+    }
+
+    /** Move a rescored lifter from the group it was filed under to the one matching its division and weight class
+     *  Listeners hear of the change even if the lifter stays put, since its points scores still moved
+     */
+    void refile(Lifter lifter, LifterGroup from){
+        LifterGroup to = get(lifter.getDivsion(), lifter.getWeightClass());
+        if(to != from && !LifterGroup.move(lifter, from, to)){
+            // refiled by another thread in the meantime, which reports it
+            return;
+        }
+        for(int i = 0; i < listeners.size(); i++){
+            listeners.get(i).lifterMoved(lifter, from);
+        }
+    }
+
+    /** Number of lifters across every group */
+    public int size(){
+        int size = 0;
+        for(int d = 0; d < buckets.length; d++){
+            for(int w = 0; w < buckets[d].length; w++){
+                size += buckets[d][w].size();
+            }
+        }
+        return size;
+    }
+
+    /** Every lifter in a weight class regardless of division, e.g. all of 83kg */
+    public ArrayList<Lifter> byWeightClass(WeightClass weightClass){
+        ArrayList<Lifter> result = new ArrayList<Lifter>();
+        int w = weightClass.ordinal();
+        for(int d = 0; d < buckets.length; d++){
+            collect(result, buckets[d][w]);
+        }
+        return result;
+    }
+
+    /** Every lifter in a division regardless of weight class */
+    public ArrayList<Lifter> byDivision(Division division){
+        ArrayList<Lifter> result = new ArrayList<Lifter>();
+        LifterGroup[] row = buckets[division.ordinal()];
+        for(int w = 0; w < row.length; w++){
+            collect(result, row[w]);
+        }
+        return result;
+    }
+
+    /** Every lifter in any masters division */
+    public ArrayList<Lifter> masters(){
+        ArrayList<Lifter> result = new ArrayList<Lifter>();
+        for(int d = Division.MASTERS_1.ordinal(); d < buckets.length; d++){
+            for(int w = 0; w < buckets[d].length; w++){
+                collect(result, buckets[d][w]);
+            }
+        }
+        return result;
+    }
+
+    /** Every lifter on the roster, division by division */
+    public ArrayList<Lifter> all(){
+        ArrayList<Lifter> result = new ArrayList<Lifter>();
+        for(int d = 0; d < buckets.length; d++){
+            for(int w = 0; w < buckets[d].length; w++){
+                collect(result, buckets[d][w]);
+            }
+        }
+        return result;
+    }
+
+    private static void collect(ArrayList<Lifter> result, LifterGroup group){
+        result.addAll(group.asList());
+    }
+}
@@ -0,0 +1,282 @@
+package powerlifting;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+
+/** Undo and redo for every change made to a roster, from any platform
+ *  Each change is logged as the lifter it touched and that lifter's state before and after it. States are immutable and
+ *  shared between the changes either side of them, so a version of the roster costs one lifter's nine attempts and
+ *  profile rather than a copy of the roster, and every lifter a change leaves alone is shared with the version before.
+ *  Undoing re-applies the state a lifter had before the change through the usual setters, so it is a handful of
+ *  writes however large the roster, and the journal, rankings and scoreboard follow it like any other change.
+ *
+ *  Changes are logged in the order listeners hear of them, under this history's monitor. The history is linear and
+ *  shared by every platform; a new change clears whatever could have been redone.
+ */
+public class RosterHistory implements RosterListener {
+
+    /** Changes kept by default before the oldest are forgotten */
+    public static final int DEFAULT_LIMIT = 1000;
+
+    /** Kinds of change */
+    private static final byte ADDED = 0, REMOVED = 1, CHANGED = 2;
+
+    private final Roster roster;
+    private final int limit;
+
+    /** Latest state of every lifter seen, guarded by this */
+    private final IdentityHashMap<Lifter, State> states;
+
+    /** Changes that can be undone, newest last, and those undone that can be redone, most recently undone last */
+    private final ArrayDeque<Change> done;
+    private final ArrayDeque<Change> undone;
+
+    /** Thread re-applying a state, whose own changes are not logged as new ones; guarded by this */
+    private Thread applying;
+
+    private RosterHistory(Roster roster, int limit){
+        this.roster = roster;
+        this.limit = limit;
+        this.states = new IdentityHashMap<Lifter, State>();
+        this.done = new ArrayDeque<Change>();
+        this.undone = new ArrayDeque<Change>();
+    }
+
+    /** Start logging the changes made to a roster, remembering at most DEFAULT_LIMIT of them */
+    public static RosterHistory attach(Roster roster){
+        return attach(roster, DEFAULT_LIMIT);
+    }
+
+    /** Start logging the changes made to a roster, remembering at most limit of them */
+    public static RosterHistory attach(Roster roster, int limit){
+        RosterHistory history = new RosterHistory(roster, limit);
+        synchronized(history){
+            roster.addListener(history);
+            // lifters already entered are the starting point; any entered meanwhile are logged as they arrive
+            for(Lifter lifter: roster.all()){
+                history.states.putIfAbsent(lifter, State.of(lifter));
+            }
+        }
+        return history;
+    }
+
+    public synchronized boolean canUndo(){
+        return !done.isEmpty();
+    }
+
+    public synchronized boolean canRedo(){
+        return !undone.isEmpty();
+    }
+
+    /** Undo the most recent change, returning a description of it, or null if there is nothing to undo */
+    public synchronized String undo(){
+        Change change = done.pollLast();
+        if(change == null){
+            return null;
+        }
+        if(change.kind == ADDED){
+            apply(change.lifter, null, false);
+        }else{
+            apply(change.lifter, change.before, change.kind == REMOVED);
+        }
+        undone.addLast(change);
+        return change.describe();
+    }
+
+    /** Make the most recently undone change again, returning a description of it, or null if there is nothing to redo */
+    public synchronized String redo(){
+        Change change = undone.pollLast();
+        if(change == null){
+            return null;
+        }
+        if(change.kind == REMOVED){
+            apply(change.lifter, null, false);
+        }else{
+            apply(change.lifter, change.after, change.kind == ADDED);
+        }
+        done.addLast(change);
+        return change.describe();
+    }
+
+    /** Description of the change undo would reverse, or null */
+    public synchronized String nextUndo(){
+        Change change = done.peekLast();
+        return change == null ? null : change.describe();
+    }
+
+    /** Description of the change redo would make, or null */
+    public synchronized String nextRedo(){
+        Change change = undone.peekLast();
+        return change == null ? null : change.describe();
+    }
+
+    // ROSTER EVENTS
+
+    @Override
+    public synchronized void lifterAdded(Lifter lifter){
+        State state = State.of(lifter);
+        states.put(lifter, state);
+        log(new Change(ADDED, lifter, null, state, null));
+    }
+
+    @Override
+    public synchronized void lifterRemoved(Lifter lifter){
+        // its state stays known, ready for the lifter to be entered again
+        State state = states.get(lifter);
+        if(state == null){
+            state = State.of(lifter);
+            states.put(lifter, state);
+        }
+        log(new Change(REMOVED, lifter, state, null, null));
+    }
+
+    @Override
+    public synchronized void attemptChanged(Lifter lifter, int lift, int attempt){
+        State before = states.get(lifter);
+        if(before == null){
+            // never entered while this history listened, so there is nothing to go back to
+            states.put(lifter, State.of(lifter));
+            return;
+        }
+        AttemptStore store = lifter.getStore();
+        int index = AttemptStore.index(lifter.getId(), lift, attempt);
+        State after = before.withAttempt(lift + attempt - 1, store.getUnits(index), store.getState(index).code());
+        states.put(lifter, after);
+        log(new Change(CHANGED, lifter, before, after, liftName(lift) + " " + attempt));
+    }
+
+    /** Best lifts follow from the attempts, so restoring those restores them */
+    @Override
+    public void bestLiftChanged(Lifter lifter, int lift){
+    }
+
+    @Override
+    public synchronized void lifterMoved(Lifter lifter, LifterGroup from){
+        State before = states.get(lifter);
+        if(before == null){
+            states.put(lifter, State.of(lifter));
+            return;
+        }
+        State after = before.withProfile(lifter.getAge(), lifter.getBodyweightUnits());
+        states.put(lifter, after);
+        log(new Change(CHANGED, lifter, before, after, before.age != after.age ? "age" : "bodyweight"));
+    }
+
+    // HELPERS
+
+    /** Log a change as the newest, unless it is this history re-applying a state */
+    private void log(Change change){
+        if(applying == Thread.currentThread()){
+            return;
+        }
+        done.addLast(change);
+        if(done.size() > limit){
+            done.pollFirst();
+        }
+        undone.clear();
+    }
+
+    /** Bring a lifter to a state, or withdraw it for null, entering it afterwards if asked
+     *  Only what differs from the lifter as it stands is written, through the same setters a platform uses
+     */
+    private void apply(Lifter lifter, State to, boolean enter){
+        applying = Thread.currentThread();
+        try{
+            if(to == null){
+                roster.remove(lifter);
+                return;
+            }
+            State current = State.of(lifter);
+            if(to.age != current.age){
+                lifter.setAge(to.age);
+            }
+            if(to.bodyweight != current.bodyweight){
+                lifter.setBodyweightUnits(to.bodyweight);
+            }
+            for(int slot = 0; slot < AttemptStore.SLOTS; slot++){
+                if(to.weights[slot] != current.weights[slot] || to.codes[slot] != current.codes[slot]){
+                    lifter.recordAttemptUnits(slot - slot % 3, slot % 3 + 1, to.weights[slot], AttemptState.fromCode(to.codes[slot]));
+                }
+            }
+            if(enter){
+                roster.add(lifter);
+            }
+        }finally{
+            applying = null;
+        }
+    }
+
+    private static String liftName(int lift){
+        return lift == AttemptStore.SQUAT ? "squat" : lift == AttemptStore.BENCH ? "bench" : "deadlift";
+    }
+
+    /** A lifter's attempts, age and bodyweight at one point in the history, never changed once created
+     *  Weights are kept in UniversalWeight units, so undoing puts back a weight entered in pounds exactly as it was
+     */
+    private static final class State{
+        final int age;
+        final long bodyweight;
+        final long[] weights;
+        final byte[] codes;
+
+        private State(int age, long bodyweight, long[] weights, byte[] codes){
+            this.age = age;
+            this.bodyweight = bodyweight;
+            this.weights = weights;
+            this.codes = codes;
+        }
+
+        static State of(Lifter lifter){
+            AttemptStore store = lifter.getStore();
+            int first = AttemptStore.index(lifter.getId(), AttemptStore.SQUAT, 1);
+            long[] weights = new long[AttemptStore.SLOTS];
+            byte[] codes = new byte[AttemptStore.SLOTS];
+            for(int slot = 0; slot < AttemptStore.SLOTS; slot++){
+                weights[slot] = store.getUnits(first + slot);
+                codes[slot] = store.getState(first + slot).code();
+            }
+            return new State(lifter.getAge(), lifter.getBodyweightUnits(), weights, codes);
+        }
+
+        State withAttempt(int slot, long units, byte code){
+            long[] newWeights = weights.clone();
+            byte[] newCodes = codes.clone();
+            newWeights[slot] = units;
+            newCodes[slot] = code;
+            return new State(age, bodyweight, newWeights, newCodes);
+        }
+
+        /** Shares the attempts, which a change of age or bodyweight leaves alone */
+        State withProfile(int age, long bodyweight){
+            return new State(age, bodyweight, weights, codes);
+        }
+    }
+
+    /** One logged change; before is null for an entry and after for a withdrawal */
+    private static final class Change{
+        final byte kind;
+        final Lifter lifter;
+        final State before;
+        final State after;
+        /** What changed, for attempts and profile edits */
+        final String what;
+
+        Change(byte kind, Lifter lifter, State before, State after, String what){
+            this.kind = kind;
+            this.lifter = lifter;
+            this.before = before;
+            this.after = after;
+            this.what = what;
+        }
+
+        String describe(){
+            String name = lifter.getFirstName() + " " + lifter.getLastName();
+            if(kind == ADDED){
+                return "entering " + name;
+            }else if(kind == REMOVED){
+                return "removing " + name;
+            }
+            return name + "'s " + what;
+        }
+    }
+}
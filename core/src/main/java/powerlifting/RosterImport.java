@@ -0,0 +1,366 @@
+package powerlifting;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/** Bulk entry of lifters from a registration CSV
+ *  The file is memory-mapped and split at line breaks into chunks parsed in parallel, each reading its rows straight
+ *  from the mapped bytes. Only once every row has parsed are lifters built, division and weight class included, so a
+ *  bad file claims no rows of the store. Lifters come back in file order, unentered, for Roster.addAll to file in one
+ *  batch.
+ *
+ *  The first line names the columns, in any order and case, spaces and underscores ignored: name (or first name and
+ *  last name), age, hometown and bodyweight are required; metric (kg or lb, kg if absent) and squat, bench and
+ *  deadlift openers, in the row's metric, are optional. Fields may be quoted, but a row must fit on one line.
+ *  Any bad row fails the whole import, naming its line, so a file is never half entered.
+ */
+public final class RosterImport {
+
+    /** Bytes per parallel chunk, big enough that splitting costs nothing next to parsing */
+    private static final int CHUNK_BYTES = 1 << 16;
+
+    /** Heaviest weight, in kg, taken for a bodyweight or an opener */
+    private static final double MAX_KG = 1000;
+
+    /** Column positions, -1 where the file has no such column */
+    private static class Columns {
+        int name = -1, firstName = -1, lastName = -1, age = -1, homeTown = -1, bodyweight = -1, metric = -1;
+        int squat = -1, bench = -1, deadlift = -1;
+        int count;
+    }
+
+    /** One row's values, checked but not yet a lifter */
+    private static class Entry {
+        String first, last, homeTown;
+        int age;
+        double bodyweight, squat, bench, deadlift;
+        Metric metric;
+
+        /** Openers are requests, recorded before the lifter is entered so they raise no events */
+        private Lifter toLifter(AttemptStore store){
+            Lifter lifter = new Lifter(store, first, last, age, homeTown, bodyweight, metric);
+            if(squat > 0){
+                lifter.setSquat(1, squat, AttemptState.PROJECTION, metric);
+            }
+            if(bench > 0){
+                lifter.setBench(1, bench, AttemptState.PROJECTION, metric);
+            }
+            if(deadlift > 0){
+                lifter.setDeadlift(1, deadlift, AttemptState.PROJECTION, metric);
+            }
+            return lifter;
+        }
+    }
+
+    /** A row that can't be entered, found at a byte offset and named by line once it reaches the caller */
+    private static class RowException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final int offset;
+
+        private RowException(int offset, String message){
+            super(message);
+            this.offset = offset;
+        }
+    }
+
+    private RosterImport(){}
+
+    /** Parse a CSV file into new lifters whose attempts live in the given store */
+    public static ArrayList<Lifter> read(Path path, AttemptStore store) throws IOException {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)){
+            if(channel.size() > Integer.MAX_VALUE){
+                throw new IOException(path + " is too large to import");
+            }
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return parse(data, store);
+        }
+    }
+
+    /** Parse CSV content into new lifters whose attempts live in the given store */
+    static ArrayList<Lifter> parse(ByteBuffer data, AttemptStore store) throws IOException {
+        int size = data.limit();
+        if(size == 0){
+            throw new IOException("The file is empty");
+        }
+        int headerEnd = lineEnd(data, 0, size);
+        Columns columns = readHeader(data, headerEnd);
+        int bodyStart = Math.min(headerEnd + 1, size);
+
+        // cut the body into chunks of whole lines
+        ArrayList<Integer> bounds = new ArrayList<Integer>();
+        bounds.add(bodyStart);
+        int position = bodyStart;
+        while(position < size){
+            int next = Math.min(position + CHUNK_BYTES, size);
+            if(next < size){
+                next = lineEnd(data, next, size);
+                next = Math.min(next + 1, size);
+            }
+            bounds.add(next);
+            position = next;
+        }
+
+        List<ArrayList<Entry>> chunks;
+        try{
+            chunks = IntStream.range(0, bounds.size() - 1).parallel()
+                    .mapToObj(i -> parseChunk(data.duplicate(), bounds.get(i), bounds.get(i + 1), columns))
+                    .collect(Collectors.toList());
+        }catch(RowException e){
+            throw new IOException("Line " + lineNumber(data, e.offset) + ": " + e.getMessage());
+        }
+        ArrayList<Lifter> lifters = new ArrayList<Lifter>();
+        for(ArrayList<Entry> chunk: chunks){
+            for(Entry entry: chunk){
+                lifters.add(entry.toLifter(store));
+            }
+        }
+        return lifters;
+    }
+
+    /** Offset of the line break ending the line containing from, or end if the data runs out first */
+    private static int lineEnd(ByteBuffer data, int from, int end){
+        for(int i = from; i < end; i++){
+            if(data.get(i) == '\n'){
+                return i;
+            }
+        }
+        return end;
+    }
+
+    /** Line number, from 1, of a byte offset */
+    private static int lineNumber(ByteBuffer data, int offset){
+        int line = 1;
+        for(int i = 0; i < offset; i++){
+            if(data.get(i) == '\n'){
+                line++;
+            }
+        }
+        return line;
+    }
+
+    private static Columns readHeader(ByteBuffer data, int end) throws IOException {
+        Columns columns = new Columns();
+        ArrayList<String> names = new ArrayList<String>();
+        int[] starts = new int[64];
+        int[] ends = new int[64];
+        boolean[] quoted = new boolean[64];
+        int count;
+        try{
+            count = split(data, 0, trimEnd(data, 0, end), starts, ends, quoted);
+        }catch(RowException e){
+            throw new IOException("Line 1: " + e.getMessage());
+        }
+        for(int i = 0; i < count; i++){
+            // spreadsheets often save with a byte order mark ahead of the first column name
+            names.add(text(data, starts[i], ends[i], quoted[i]).replace("\uFEFF", "").toLowerCase().replace(" ", "").replace("_", ""));
+        }
+        columns.count = count;
+        for(int i = 0; i < count; i++){
+            switch(names.get(i)){
+                case "name": columns.name = i; break;
+                case "firstname": columns.firstName = i; break;
+                case "lastname": columns.lastName = i; break;
+                case "age": columns.age = i; break;
+                case "hometown": columns.homeTown = i; break;
+                case "bodyweight": columns.bodyweight = i; break;
+                case "metric": columns.metric = i; break;
+                case "squat": columns.squat = i; break;
+                case "bench": columns.bench = i; break;
+                case "deadlift": columns.deadlift = i; break;
+                default: break;
+            }
+        }
+        if(columns.name < 0 && (columns.firstName < 0 || columns.lastName < 0)){
+            throw new IOException("Line 1: a name column, or first name and last name columns, are required");
+        }
+        if(columns.age < 0 || columns.homeTown < 0 || columns.bodyweight < 0){
+            throw new IOException("Line 1: age, hometown and bodyweight columns are required");
+        }
+        return columns;
+    }
+
+    /** Read the rows of every line between start and end, run on a pool thread */
+    private static ArrayList<Entry> parseChunk(ByteBuffer data, int start, int end, Columns columns){
+        ArrayList<Entry> entries = new ArrayList<Entry>();
+        int[] starts = new int[columns.count + 1];
+        int[] ends = new int[columns.count + 1];
+        boolean[] quoted = new boolean[columns.count + 1];
+        int line = start;
+        while(line < end){
+            int lineEnd = lineEnd(data, line, end);
+            int contentEnd = trimEnd(data, line, lineEnd);
+            if(contentEnd > line){
+                entries.add(parseRow(data, line, contentEnd, columns, starts, ends, quoted));
+            }
+            line = lineEnd + 1;
+        }
+        return entries;
+    }
+
+    private static Entry parseRow(ByteBuffer data, int start, int end, Columns columns, int[] starts, int[] ends, boolean[] quoted){
+        int count = split(data, start, end, starts, ends, quoted);
+        if(count < columns.count){
+            throw new RowException(start, "expected " + columns.count + " fields but found " + count);
+        }
+        Entry entry = new Entry();
+        if(columns.name >= 0){
+            String name = text(data, starts[columns.name], ends[columns.name], quoted[columns.name]).trim();
+            int space = name.lastIndexOf(' ');
+            entry.first = space < 0 ? name : name.substring(0, space).trim();
+            entry.last = space < 0 ? "" : name.substring(space + 1);
+        }else{
+            entry.first = text(data, starts[columns.firstName], ends[columns.firstName], quoted[columns.firstName]).trim();
+            entry.last = text(data, starts[columns.lastName], ends[columns.lastName], quoted[columns.lastName]).trim();
+        }
+        if(entry.first.isEmpty()){
+            throw new RowException(start, "missing name");
+        }
+        entry.age = parseAge(data, starts[columns.age], ends[columns.age], start);
+        entry.homeTown = text(data, starts[columns.homeTown], ends[columns.homeTown], quoted[columns.homeTown]).trim();
+        // the metric comes first so every weight in the row is bounded in kg
+        Metric metric = columns.metric < 0 ? Metric.KG : parseMetric(data, starts[columns.metric], ends[columns.metric], start);
+        entry.metric = metric;
+        entry.bodyweight = parseWeight(data, starts[columns.bodyweight], ends[columns.bodyweight], start, "bodyweight", metric);
+        if(!(entry.bodyweight > 0)){
+            throw new RowException(start, "missing bodyweight");
+        }
+        if(columns.squat >= 0){
+            entry.squat = parseWeight(data, starts[columns.squat], ends[columns.squat], start, "squat opener", metric);
+        }
+        if(columns.bench >= 0){
+            entry.bench = parseWeight(data, starts[columns.bench], ends[columns.bench], start, "bench opener", metric);
+        }
+        if(columns.deadlift >= 0){
+            entry.deadlift = parseWeight(data, starts[columns.deadlift], ends[columns.deadlift], start, "deadlift opener", metric);
+        }
+        return entry;
+    }
+
+    /** Find the fields of a line, returning how many there are; extra fields beyond the arrays are ignored */
+    private static int split(ByteBuffer data, int start, int end, int[] starts, int[] ends, boolean[] quoted){
+        int count = 0;
+        int position = start;
+        while(true){
+            int fieldStart, fieldEnd;
+            boolean isQuoted = position < end && data.get(position) == '"';
+            if(isQuoted){
+                fieldStart = position + 1;
+                int i = fieldStart;
+                while(true){
+                    if(i >= end){
+                        throw new RowException(start, "unclosed quote");
+                    }
+                    if(data.get(i) == '"'){
+                        if(i + 1 < end && data.get(i + 1) == '"'){
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                fieldEnd = i;
+                position = i + 1;
+                while(position < end && data.get(position) != ','){
+                    position++;
+                }
+            }else{
+                fieldStart = position;
+                while(position < end && data.get(position) != ','){
+                    position++;
+                }
+                fieldEnd = position;
+            }
+            if(count < starts.length){
+                starts[count] = fieldStart;
+                ends[count] = fieldEnd;
+                quoted[count] = isQuoted;
+            }
+            count++;
+            if(position >= end){
+                return Math.min(count, starts.length);
+            }
+            position++;
+        }
+    }
+
+    /** End of a line with any carriage return dropped */
+    private static int trimEnd(ByteBuffer data, int start, int end){
+        while(end > start && data.get(end - 1) == '\r'){
+            end--;
+        }
+        return end;
+    }
+
+    private static String text(ByteBuffer data, int start, int end, boolean quoted){
+        byte[] bytes = new byte[end - start];
+        for(int i = 0; i < bytes.length; i++){
+            bytes[i] = data.get(start + i);
+        }
+        String text = new String(bytes, StandardCharsets.UTF_8);
+        return quoted ? text.replace("\"\"", "\"") : text;
+    }
+
+    /** A whole number of years, read straight from the bytes */
+    private static int parseAge(ByteBuffer data, int start, int end, int row){
+        while(start < end && data.get(start) == ' '){
+            start++;
+        }
+        while(end > start && data.get(end - 1) == ' '){
+            end--;
+        }
+        if(start == end || end - start > 3){
+            throw new RowException(row, "age must be a whole number of years");
+        }
+        int age = 0;
+        for(int i = start; i < end; i++){
+            int digit = data.get(i) - '0';
+            if(digit < 0 || digit > 9){
+                throw new RowException(row, "age must be a whole number of years");
+            }
+            age = age * 10 + digit;
+        }
+        if(age == 0){
+            throw new RowException(row, "age must be a whole number of years");
+        }
+        return age;
+    }
+
+    /** A non-negative weight in the row's metric, under MAX_KG once converted, 0 if the field is blank */
+    private static double parseWeight(ByteBuffer data, int start, int end, int row, String field, Metric metric){
+        String text = text(data, start, end, false).trim();
+        if(text.isEmpty()){
+            return 0;
+        }
+        try{
+            double weight = Double.parseDouble(text);
+            if(weight >= 0 && UniversalWeight.convert(weight, metric, Metric.KG) < MAX_KG){
+                return weight;
+            }
+        }catch(NumberFormatException e){
+            // reported below
+        }
+        throw new RowException(row, field + " is not a weight: " + text);
+    }
+
+    private static Metric parseMetric(ByteBuffer data, int start, int end, int row){
+        String text = text(data, start, end, false).trim().toLowerCase();
+        if(text.isEmpty() || text.equals("kg") || text.equals("kgs")){
+            return Metric.KG;
+        }
+        if(text.equals("lb") || text.equals("lbs")){
+            return Metric.LB;
+        }
+        throw new RowException(row, "metric must be kg or lb: " + text);
+    }
+}
@@ -0,0 +1,22 @@
+package powerlifting;
+
+/** Observes changes made to a Roster and the lifters filed in it
+ *  Called on the thread making the change, immediately after it is applied
+ */
+public interface RosterListener {
+
+    void lifterAdded(Lifter lifter);
+
+    void lifterRemoved(Lifter lifter);
+
+    /** An attempt was recorded, lift being one of AttemptStore.SQUAT, BENCH or DEADLIFT and attempt numbered from 1 */
+    void attemptChanged(Lifter lifter, int lift, int attempt);
+
+    /** The heaviest good attempt of a lift changed, and with it the lifter's total; follows the attemptChanged causing it */
+    void bestLiftChanged(Lifter lifter, int lift);
+
+    /** A change of age or bodyweight rescored the lifter, refiling it under another division or weight class unless
+     *  from is still its group
+     */
+    void lifterMoved(Lifter lifter, LifterGroup from);
+}
@@ -0,0 +1,17 @@
+package powerlifting;
+
+import java.util.Comparator;
+
+/** Compares lifters by a single numeric score such as a best lift or total
+ *  Exposing the score lets a RankingIndex key its entries on a stored value rather than re-reading lifters on every comparison
+ */
+public abstract class ScoreComparator implements Comparator<Lifter>{
+
+    /** The value lifters are ranked by, higher is better */
+    public abstract double score(Lifter lifter);
+
+    @Override
+    public int compare(Lifter o1, Lifter o2) {
+        return Double.compare(score(o1), score(o2));
+    }
+}
@@ -0,0 +1,610 @@
+package powerlifting;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/** Live standings served over HTTP to audience screens and phones on the meet's network
+ *  GET / is a self-updating scoreboard page, /standings the current standings as JSON and /events a Server-Sent
+ *  Events stream: a snapshot on connecting, then one delta per change holding only the rows and places that changed
+ *  and the platforms' next lifters.
+ *
+ *  Roster events only note which lifters changed and wake the publisher thread, so judging never waits on viewers.
+ *  The publisher gathers the changes of the next COALESCE_MILLIS, encodes the changed rows, re-ranks only the groups
+ *  they touch and appends one delta to a short history shared by every viewer. Each viewer is streamed from its own
+ *  pooled thread, which wakes on a new delta, writes everything it has not yet sent and waits again; a viewer too far
+ *  behind for the history is sent a fresh snapshot instead.
+ */
+public class ScoreboardServer implements RosterListener, Closeable {
+
+    /** Time changes are gathered for before a delta is published */
+    static final long COALESCE_MILLIS = 50;
+
+    /** Deltas kept for viewers catching up or reconnecting */
+    private static final int HISTORY = 512;
+
+    /** Idle time after which a viewer is sent a comment, keeping the connection open and detecting dropped viewers */
+    private static final long HEARTBEAT_MILLIS = 15000;
+
+    /** Viewers streamed at once; more are turned away rather than starving the machine of threads */
+    static final int MAX_VIEWERS = 1000;
+
+    /** Next lifters listed per platform */
+    private static final int UPCOMING = 3;
+
+    private final Roster roster;
+    private final HttpServer server;
+    private final ExecutorService viewerThreads;
+    private final Thread publisher;
+    private final AtomicInteger viewers;
+    private final byte[] page;
+
+    /** Lifters changed since the last delta, added by whichever thread changed them */
+    private final Set<Lifter> dirty;
+
+    /** Whether the publisher has been woken for changes it has not yet picked up */
+    private final AtomicBoolean signalled;
+
+    /** Platforms whose next lifters are shown */
+    private final CopyOnWriteArrayList<Platform> platforms;
+    private final AtomicInteger platformNumbers;
+
+    // Publisher thread only
+
+    /** Row and place last published for every lifter on the board */
+    private final HashMap<Lifter, Published> published;
+    private String publishedPlatforms;
+
+    // Shared with viewer threads, guarded by this
+
+    /** Number of the latest delta */
+    private long version;
+
+    /** SSE frames of the latest deltas, the last one numbered version */
+    private final ArrayDeque<String> history;
+
+    /** Current board by lifter id, for snapshots */
+    private final HashMap<Integer, String> rowView;
+    private final HashMap<Integer, Integer> placeView;
+    private String platformView;
+
+    /** Snapshot of the current version, built for the first viewer that asks */
+    private String snapshot;
+    private long snapshotVersion;
+
+    private boolean closed;
+
+    /** The board's last published state of one lifter */
+    private static class Published {
+        String row;
+        int place;
+        LifterGroup group;
+    }
+
+    /** One judging platform's lifting order, followed until closed */
+    public class Platform {
+        private final int number;
+        private volatile LiftingOrder order;
+
+        private Platform(int number){
+            this.number = number;
+        }
+
+        /** Show the next lifters of a new lifting order, as the platform moves on to another flight or lift */
+        public void follow(LiftingOrder order){
+            this.order = order;
+            wake();
+        }
+
+        /** Stop showing this platform */
+        public void close(){
+            platforms.remove(this);
+            wake();
+        }
+    }
+
+    private ScoreboardServer(Roster roster, HttpServer server){
+        this.roster = roster;
+        this.server = server;
+        this.viewerThreads = Executors.newCachedThreadPool(new daemonThreadFactory());
+        this.publisher = new Thread(new publisherLoop(), "scoreboard-publisher");
+        this.publisher.setDaemon(true);
+        this.viewers = new AtomicInteger();
+        this.page = loadPage();
+        this.dirty = ConcurrentHashMap.newKeySet();
+        this.signalled = new AtomicBoolean();
+        this.platforms = new CopyOnWriteArrayList<Platform>();
+        this.platformNumbers = new AtomicInteger();
+        this.published = new HashMap<Lifter, Published>();
+        this.publishedPlatforms = "[]";
+        this.history = new ArrayDeque<String>();
+        this.rowView = new HashMap<Integer, String>();
+        this.placeView = new HashMap<Integer, Integer>();
+        this.platformView = "[]";
+        this.snapshotVersion = -1;
+    }
+
+    /** Serve a roster's standings on an address, such as port 8080 of this computer or of the meet's network */
+    public static ScoreboardServer start(Roster roster, InetSocketAddress address) throws IOException {
+        HttpServer server = HttpServer.create(address, 0);
+        ScoreboardServer scoreboard = new ScoreboardServer(roster, server);
+        server.createContext("/", scoreboard.new pageHandler());
+        server.createContext("/standings", scoreboard.new standingsHandler());
+        server.createContext("/events", scoreboard.new eventsHandler());
+        server.setExecutor(scoreboard.viewerThreads);
+
+        // put everyone already entered on the board before the first viewer arrives
+        roster.addListener(scoreboard);
+        scoreboard.dirty.addAll(roster.all());
+        scoreboard.publish();
+        scoreboard.publisher.start();
+        server.start();
+        return scoreboard;
+    }
+
+    /** Port being served, useful when started on port 0 */
+    public int getPort(){
+        return server.getAddress().getPort();
+    }
+
+    /** Viewers currently streaming */
+    public int getViewers(){
+        return viewers.get();
+    }
+
+    /** Show a new platform's next lifters, numbered in the order platforms are opened */
+    public Platform openPlatform(){
+        Platform platform = new Platform(platformNumbers.incrementAndGet());
+        platforms.add(platform);
+        return platform;
+    }
+
+    /** Disconnect every viewer and stop serving */
+    @Override
+    public void close(){
+        roster.removeListener(this);
+        synchronized(this){
+            closed = true;
+            notifyAll();
+        }
+        LockSupport.unpark(publisher);
+        server.stop(0);
+        viewerThreads.shutdownNow();
+    }
+
+    // ROSTER EVENTS, on the thread making the change
+
+    @Override
+    public void lifterAdded(Lifter lifter){
+        changed(lifter);
+    }
+
+    @Override
+    public void lifterRemoved(Lifter lifter){
+        changed(lifter);
+    }
+
+    @Override
+    public void attemptChanged(Lifter lifter, int lift, int attempt){
+        changed(lifter);
+    }
+
+    @Override
+    public void bestLiftChanged(Lifter lifter, int lift){
+        changed(lifter);
+    }
+
+    @Override
+    public void lifterMoved(Lifter lifter, LifterGroup from){
+        changed(lifter);
+    }
+
+    /** Note a changed lifter and wake the publisher, never blocking */
+    private void changed(Lifter lifter){
+        dirty.add(lifter);
+        wake();
+    }
+
+    private void wake(){
+        if(signalled.compareAndSet(false, true)){
+            LockSupport.unpark(publisher);
+        }
+    }
+
+    // PUBLISHING, on the publisher thread
+
+    /** Sleeps until woken, lets a burst of changes gather, then publishes them as one delta */
+    private class publisherLoop implements Runnable {
+        @Override
+        public void run(){
+            while(!isClosed()){
+                if(!signalled.get()){
+                    LockSupport.park(this);
+                    continue;
+                }
+                // the pause also lets listeners behind the board, such as lifting orders, catch up with the change
+                try{
+                    Thread.sleep(COALESCE_MILLIS);
+                }catch(InterruptedException e){
+                    return;
+                }
+                signalled.set(false);
+                try{
+                    publish();
+                }catch(RuntimeException e){
+                    // a bad row must not end the board; its lifters were put back, so the next change publishes them again
+                    System.err.println("Could not publish the scoreboard:");
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /** Turn the lifters changed since the last delta into the next one, if anything visible changed
+     *  Everything that can fail is worked out before the board's own state is touched, so a publish that throws puts
+     *  its lifters back among the changes and leaves nothing half published.
+     */
+    private void publish(){
+        ArrayList<Lifter> changed = new ArrayList<Lifter>();
+        for(Iterator<Lifter> i = dirty.iterator(); i.hasNext();){
+            changed.add(i.next());
+            i.remove();
+        }
+
+        // each changed lifter's group and row, null once withdrawn, and the standings of every group a change touched
+        LifterGroup[] groupOf = new LifterGroup[changed.size()];
+        String[] encoded = new String[changed.size()];
+        HashMap<LifterGroup, ArrayList<Lifter>> standings = new HashMap<LifterGroup, ArrayList<Lifter>>();
+        String platformJson;
+        try{
+            for(int i = 0; i < changed.size(); i++){
+                Lifter lifter = changed.get(i);
+                Published entry = published.get(lifter);
+                if(entry != null){
+                    standings.put(entry.group, null);
+                }
+                LifterGroup group = lifter.getGroup();
+                if(group != null){
+                    groupOf[i] = group;
+                    encoded[i] = group.read(() -> encodeRow(lifter));
+                    standings.put(group, null);
+                }
+            }
+            for(Map.Entry<LifterGroup, ArrayList<Lifter>> entry: standings.entrySet()){
+                entry.setValue(entry.getKey().standings(Standings.TOTAL));
+            }
+            platformJson = encodePlatforms();
+        }catch(RuntimeException e){
+            dirty.addAll(changed);
+            throw e;
+        }
+
+        StringBuilder rows = new StringBuilder();
+        StringBuilder removed = new StringBuilder();
+        HashMap<Integer, String> rowChanges = new HashMap<Integer, String>();
+        ArrayList<Integer> removals = new ArrayList<Integer>();
+        for(int i = 0; i < changed.size(); i++){
+            Lifter lifter = changed.get(i);
+            Published entry = published.get(lifter);
+            LifterGroup group = groupOf[i];
+            if(group == null){
+                if(entry != null){
+                    published.remove(lifter);
+                    removals.add(lifter.getId());
+                    separate(removed).append(lifter.getId());
+                }
+                continue;
+            }
+            String row = encoded[i];
+            if(entry == null){
+                entry = new Published();
+                published.put(lifter, entry);
+            }
+            entry.group = group;
+            if(!row.equals(entry.row)){
+                entry.row = row;
+                rowChanges.put(lifter.getId(), row);
+                separate(rows).append(row);
+            }
+        }
+
+        // only the groups a change touched can have new places
+        StringBuilder places = new StringBuilder();
+        HashMap<Integer, Integer> placeChanges = new HashMap<Integer, Integer>();
+        for(ArrayList<Lifter> ranked: standings.values()){
+            for(int i = 0; i < ranked.size(); i++){
+                Published entry = published.get(ranked.get(i));
+                // lifters entered since the changes were taken are placed when their own change is published
+                if(entry != null && entry.place != i + 1){
+                    entry.place = i + 1;
+                    placeChanges.put(ranked.get(i).getId(), i + 1);
+                    separate(places).append('[').append(ranked.get(i).getId()).append(',').append(i + 1).append(']');
+                }
+            }
+        }
+
+        boolean platformsChanged = !platformJson.equals(publishedPlatforms);
+        if(rows.length() == 0 && removed.length() == 0 && places.length() == 0 && !platformsChanged){
+            return;
+        }
+        publishedPlatforms = platformJson;
+
+        synchronized(this){
+            version++;
+            rowView.putAll(rowChanges);
+            placeView.putAll(placeChanges);
+            for(int i = 0; i < removals.size(); i++){
+                rowView.remove(removals.get(i));
+                placeView.remove(removals.get(i));
+            }
+            platformView = platformJson;
+            String data = "{\"v\":" + version + ",\"rows\":[" + rows + "],\"places\":[" + places + "],\"removed\":[" + removed
+                    + "]" + (platformsChanged ? ",\"platforms\":" + platformJson : "") + "}";
+            history.addLast(frame(version, "delta", data));
+            if(history.size() > HISTORY){
+                history.removeFirst();
+            }
+            notifyAll();
+        }
+    }
+
+    /** One lifter's entry on the board, weights in kilograms; read under its group's lock */
+    private static String encodeRow(Lifter lifter){
+        AttemptStore store = lifter.getStore();
+        StringBuilder row = new StringBuilder(256);
+        row.append("{\"id\":").append(lifter.getId())
+                .append(",\"lot\":").append(lifter.getLot())
+                .append(",\"name\":");
+        quote(row, lifter.getFirstName() + " " + lifter.getLastName());
+        row.append(",\"hometown\":");
+        quote(row, lifter.getHomeTown());
+        row.append(",\"division\":");
+        quote(row, lifter.getDivsion().toString());
+        row.append(",\"weightClass\":");
+        quote(row, lifter.getWeightClass().toString());
+        row.append(",\"bodyweightKg\":").append(lifter.getBodyweight(Metric.KG)).append(",\"attempts\":[");
+        int first = AttemptStore.index(lifter.getId(), AttemptStore.SQUAT, 1);
+        for(int i = first; i < first + AttemptStore.SLOTS; i++){
+            row.append(i == first ? "[" : ",[").append(store.getWeight(i)).append(',');
+            quote(row, store.getState(i).toString());
+            row.append(']');
+        }
+        row.append("],\"totalKg\":").append(store.getTotal(lifter.getId())).append('}');
+        return row.toString();
+    }
+
+    /** Each platform's next lifter, attempt and weight, and who follows */
+    private String encodePlatforms(){
+        StringBuilder json = new StringBuilder("[");
+        for(Platform platform: platforms){
+            LiftingOrder order = platform.order;
+            if(order == null){
+                continue;
+            }
+            separate(json, 1).append("{\"platform\":").append(platform.number).append(",\"lift\":");
+            quote(json, order.getLift() == AttemptStore.SQUAT ? "Squat" : order.getLift() == AttemptStore.BENCH ? "Bench" : "Deadlift");
+            ArrayList<Lifter> upcoming;
+            int attempt;
+            // read together so the attempt belongs to the lifter at the head of the line
+            synchronized(order){
+                upcoming = order.upcoming(UPCOMING + 1);
+                attempt = order.nextAttempt();
+            }
+            if(!upcoming.isEmpty()){
+                Lifter next = upcoming.get(0);
+                double weight = next.getStore().getWeight(AttemptStore.index(next.getId(), order.getLift(), attempt));
+                json.append(",\"next\":").append(next.getId()).append(",\"attempt\":").append(attempt).append(",\"weightKg\":").append(weight);
+            }
+            json.append(",\"upcoming\":[");
+            for(int i = 1; i < upcoming.size(); i++){
+                json.append(i == 1 ? "" : ",").append(upcoming.get(i).getId());
+            }
+            json.append("]}");
+        }
+        return json.append(']').toString();
+    }
+
+    // SERVING, on viewer threads
+
+    /** The whole board at the current version, as JSON; caller holds this */
+    private String snapshotData(){
+        if(snapshotVersion != version){
+            StringBuilder data = new StringBuilder(64 + rowView.size() * 320);
+            data.append("{\"v\":").append(version).append(",\"rows\":[");
+            boolean first = true;
+            for(String row: rowView.values()){
+                data.append(first ? "" : ",").append(row);
+                first = false;
+            }
+            data.append("],\"places\":[");
+            first = true;
+            for(Map.Entry<Integer, Integer> place: placeView.entrySet()){
+                data.append(first ? "[" : ",[").append(place.getKey()).append(',').append(place.getValue()).append(']');
+                first = false;
+            }
+            data.append("],\"removed\":[],\"platforms\":").append(platformView).append('}');
+            snapshot = data.toString();
+            snapshotVersion = version;
+        }
+        return snapshot;
+    }
+
+    /** The scoreboard page */
+    private class pageHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            String path = exchange.getRequestURI().getPath();
+            if(!path.equals("/") && !path.equals("/index.html")){
+                respond(exchange, 404, "text/plain; charset=utf-8", "Not found".getBytes(StandardCharsets.UTF_8));
+            }else{
+                respond(exchange, 200, "text/html; charset=utf-8", page);
+            }
+        }
+    }
+
+    /** The current board as one JSON document */
+    private class standingsHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            String data;
+            synchronized(ScoreboardServer.this){
+                data = snapshotData();
+            }
+            respond(exchange, 200, "application/json; charset=utf-8", data.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /** A viewer's event stream, held open on this pool thread until the viewer leaves or the server closes */
+    private class eventsHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            if(viewers.incrementAndGet() > MAX_VIEWERS){
+                viewers.decrementAndGet();
+                respond(exchange, 503, "text/plain; charset=utf-8", "Too many viewers".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            try{
+                exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+                exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+                exchange.sendResponseHeaders(200, 0);
+                stream(exchange.getResponseBody(), lastEventId(exchange));
+            }catch(IOException | InterruptedException e){
+                // the viewer left, or the server is closing
+            }finally{
+                viewers.decrementAndGet();
+                exchange.close();
+            }
+        }
+    }
+
+    /** Send a viewer everything after the version it already has, then each delta as it is published */
+    private void stream(OutputStream out, long sent) throws IOException, InterruptedException {
+        while(true){
+            String frames;
+            synchronized(this){
+                long deadline = System.currentTimeMillis() + HEARTBEAT_MILLIS;
+                while(version == sent && !closed && System.currentTimeMillis() < deadline){
+                    wait(Math.max(1, deadline - System.currentTimeMillis()));
+                }
+                if(closed){
+                    return;
+                }
+                if(version == sent){
+                    frames = ": heartbeat\n\n";
+                }else if(sent < 0 || sent > version || version - sent > history.size()){
+                    frames = frame(version, "snapshot", snapshotData());
+                }else{
+                    StringBuilder missed = new StringBuilder();
+                    Iterator<String> newest = history.descendingIterator();
+                    ArrayList<String> unsent = new ArrayList<String>();
+                    for(long v = version; v > sent; v--){
+                        unsent.add(newest.next());
+                    }
+                    for(int i = unsent.size() - 1; i >= 0; i--){
+                        missed.append(unsent.get(i));
+                    }
+                    frames = missed.toString();
+                }
+                sent = version;
+            }
+            // written outside the lock so a slow viewer holds up no one else
+            out.write(frames.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+    }
+
+    // HELPERS
+
+    private synchronized boolean isClosed(){
+        return closed;
+    }
+
+    /** Version a reconnecting viewer last received, or -1 to start from a snapshot */
+    private static long lastEventId(HttpExchange exchange){
+        String id = exchange.getRequestHeaders().getFirst("Last-Event-ID");
+        try{
+            return id == null ? -1 : Long.parseLong(id.trim());
+        }catch(NumberFormatException e){
+            return -1;
+        }
+    }
+
+    private static String frame(long version, String event, String data){
+        return "id: " + version + "\nevent: " + event + "\ndata: " + data + "\n\n";
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        try{
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.sendResponseHeaders(status, body.length);
+            exchange.getResponseBody().write(body);
+        }finally{
+            exchange.close();
+        }
+    }
+
+    /** Comma before every list item but the first */
+    private static StringBuilder separate(StringBuilder list){
+        return separate(list, 0);
+    }
+
+    private static StringBuilder separate(StringBuilder list, int start){
+        return list.length() > start ? list.append(',') : list;
+    }
+
+    /** Append a quoted JSON string, escaping quotes, backslashes and control characters */
+    private static void quote(StringBuilder json, String value){
+        json.append('"');
+        for(int i = 0; i < value.length(); i++){
+            char c = value.charAt(i);
+            if(c == '"' || c == '\\'){
+                json.append('\\').append(c);
+            }else if(c < 0x20){
+                json.append(String.format("\\u%04x", (int) c));
+            }else{
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    private static byte[] loadPage(){
+        try(InputStream in = ScoreboardServer.class.getResourceAsStream("scoreboard.html")){
+            return in == null ? "Scoreboard page missing".getBytes(StandardCharsets.UTF_8) : in.readAllBytes();
+        }catch(IOException e){
+            return "Scoreboard page missing".getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /** Daemon threads so open viewers never keep the application running */
+    private static class daemonThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable){
+            Thread thread = new Thread(runnable, "scoreboard-viewer-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package powerlifting;
+
+/** Ranking criteria behind the standings tab and meet report
+ *  Kept free of JavaFX so it can be driven without a running UI
+ */
+public class Standings {
+    /** Shared criteria instances, LifterGroup keeps one ranking per instance */
+    static final ScoreComparator SQUAT = new sortSquat();
+    static final ScoreComparator BENCH = new sortBench();
+    static final ScoreComparator DEADLIFT = new sortDeadlift();
+    static final ScoreComparator TOTAL = new sortTotal();
+    static final ScoreComparator DOTS = new sortPoints(PointsFormula.DOTS, false);
+    static final ScoreComparator WILKS = new sortPoints(PointsFormula.WILKS, false);
+    static final ScoreComparator IPF_GL = new sortPoints(PointsFormula.IPF_GL, false);
+    static final ScoreComparator MASTERS_DOTS = new sortPoints(PointsFormula.DOTS, true);
+    static final ScoreComparator MASTERS_WILKS = new sortPoints(PointsFormula.WILKS, true);
+    static final ScoreComparator MASTERS_IPF_GL = new sortPoints(PointsFormula.IPF_GL, true);
+
+    static class sortSquat extends ScoreComparator{
+        @Override
+        public double score(Lifter lifter) {
+            return lifter.getMaxSquat().getWeight(Metric.KG);
+        }
+
+        @Override
+        public String toString(){
+            return "Squat";
+        }
+    }
+
+    static class sortBench extends ScoreComparator{
+        @Override
+        public double score(Lifter lifter) {
+            return lifter.getMaxBench().getWeight(Metric.KG);
+        }
+
+        @Override
+        public String toString(){
+            return "Bench Press";
+        }
+    }
+
+    static class sortDeadlift extends ScoreComparator{
+        @Override
+        public double score(Lifter lifter) {
+            return lifter.getMaxDeadlift().getWeight(Metric.KG);
+        }
+
+        @Override
+        public String toString(){
+            return "Deadlift";
+        }
+    }
+
+    static class sortTotal extends ScoreComparator{
+        @Override
+        public double score(Lifter lifter) {
+            return lifter.getTotal(Metric.KG);
+        }
+
+        @Override
+        public String toString(){
+            return "Total";
+        }
+    }
+
+    /** Total scored by a points formula from the lifter's precomputed coefficients, optionally age adjusted for Masters */
+    static class sortPoints extends ScoreComparator{
+        private final PointsFormula formula;
+        private final boolean ageAdjusted;
+
+        sortPoints(PointsFormula formula, boolean ageAdjusted){
+            this.formula = formula;
+            this.ageAdjusted = ageAdjusted;
+        }
+
+        @Override
+        public double score(Lifter lifter) {
+            return lifter.getPoints(formula, ageAdjusted);
+        }
+
+        @Override
+        public String toString(){
+            return ageAdjusted ? formula + " (age adjusted)" : formula.toString();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package powerlifting;
+
+import java.util.HashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/** The minute each lifter has to submit their next attempt once the last one is judged
+ *  Listening to the roster, a countdown starts on the meet clock as soon as a first or second attempt is judged good
+ *  or failed, and stops once a weight is requested for the attempt that follows. A big meet can have hundreds of these
+ *  running at once, all driven by the one clock thread. One instance serves every judging window.
+ *  Synchronized, since roster events arrive on whichever thread made the change.
+ */
+public class SubmissionDeadlines implements RosterListener {
+
+    /** Seconds allowed to submit the next attempt */
+    public static final int SUBMISSION_SECONDS = 60;
+
+    private final MeetClock clock;
+
+    /** Told as each deadline counts down and closes, on the clock thread */
+    private final CopyOnWriteArrayList<MeetClock.Listener> listeners;
+
+    /** Listens to every deadline on the clock and passes its ticks on */
+    private final deadlineListener ticks;
+
+    /** Running or expired deadline of each lifter yet to submit */
+    private final HashMap<Lifter, MeetClock.Countdown> deadlines;
+
+    /** Owner of each deadline, so an expiry can be traced back to its lifter */
+    private final HashMap<MeetClock.Countdown, Lifter> owners;
+
+    /** Track deadlines on a meet clock; register with the roster to keep them current */
+    public SubmissionDeadlines(MeetClock clock){
+        this.clock = clock;
+        this.listeners = new CopyOnWriteArrayList<MeetClock.Listener>();
+        this.ticks = new deadlineListener();
+        this.deadlines = new HashMap<Lifter, MeetClock.Countdown>();
+        this.owners = new HashMap<MeetClock.Countdown, Lifter>();
+    }
+
+    public MeetClock getClock(){
+        return clock;
+    }
+
+    public void addListener(MeetClock.Listener listener){
+        listeners.add(listener);
+    }
+
+    public void removeListener(MeetClock.Listener listener){
+        listeners.remove(listener);
+    }
+
+    /** Deadline of a lifter's next submission, or null if none is outstanding */
+    public synchronized MeetClock.Countdown get(Lifter lifter){
+        return deadlines.get(lifter);
+    }
+
+    /** Lifter a deadline belongs to, or null once it is no longer outstanding */
+    public synchronized Lifter owner(MeetClock.Countdown countdown){
+        return owners.get(countdown);
+    }
+
+    /** Number of lifters yet to submit */
+    public synchronized int size(){
+        return deadlines.size();
+    }
+
+    /** Stop and forget a lifter's deadline */
+    private void clear(Lifter lifter){
+        MeetClock.Countdown countdown = deadlines.remove(lifter);
+        if(countdown != null){
+            countdown.pause();
+            owners.remove(countdown);
+        }
+    }
+
+    /** Passes every deadline's ticks on to this tracker's listeners */
+    private class deadlineListener implements MeetClock.Listener{
+        @Override
+        public void secondElapsed(MeetClock.Countdown countdown, int secondsLeft){
+            for(MeetClock.Listener listener: listeners){
+                listener.secondElapsed(countdown, secondsLeft);
+            }
+        }
+
+        @Override
+        public void expired(MeetClock.Countdown countdown){
+            for(MeetClock.Listener listener: listeners){
+                listener.expired(countdown);
+            }
+        }
+    }
+
+    // ROSTER EVENTS
+
+    @Override
+    public void lifterAdded(Lifter lifter){
+    }
+
+    @Override
+    public synchronized void lifterRemoved(Lifter lifter){
+        clear(lifter);
+    }
+
+    @Override
+    public synchronized void attemptChanged(Lifter lifter, int lift, int attempt){
+        AttemptStore store = lifter.getStore();
+        AttemptState state = store.getState(AttemptStore.index(lifter.getId(), lift, attempt));
+        if(state == AttemptState.GOOD || state == AttemptState.FAIL){
+            clear(lifter);
+            if(attempt < 3 && store.getState(AttemptStore.index(lifter.getId(), lift, attempt + 1)) == AttemptState.EMPTY){
+                MeetClock.Countdown countdown = clock.countdown(SUBMISSION_SECONDS, ticks);
+                deadlines.put(lifter, countdown);
+                owners.put(countdown, lifter);
+                countdown.start();
+            }
+        }else if(state == AttemptState.PROJECTION && attempt > 1){
+            // the next attempt was submitted
+            clear(lifter);
+        }
+    }
+
+    @Override
+    public void bestLiftChanged(Lifter lifter, int lift){
+    }
+
+    @Override
+    public void lifterMoved(Lifter lifter, LifterGroup from){
+    }
+}
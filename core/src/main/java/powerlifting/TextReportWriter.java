@@ -0,0 +1,61 @@
+package powerlifting;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/** Plain text report laid out for printing, one section per division and weight class */
+public class TextReportWriter implements ReportWriter {
+    private final Writer out;
+    private int entries;
+
+    public TextReportWriter(Writer out){
+        this.out = out;
+    }
+
+    @Override
+    public void startDivision(Division division) throws IOException {
+        // age division heading
+        out.write("Division: " + division + "\n");
+    }
+
+    @Override
+    public void startClass(WeightClass weightClass, int entries) throws IOException {
+        // weight class heading
+        out.write("Class: " + weightClass + "\n\n");
+        this.entries = entries;
+    }
+
+    @Override
+    public void row(MeetSnapshot.Row row) throws IOException {
+        // list each lifter including placement
+        out.write(row.getPlace() + " " + row.getFirstName() + " " + row.getLastName()
+            + ": (S)" + UniversalWeight.format(row.getSquat()) + records(row.getSquatRecords())
+            + " | (B)" + UniversalWeight.format(row.getBench()) + records(row.getBenchRecords())
+            + " | (D)" + UniversalWeight.format(row.getDeadlift()) + records(row.getDeadliftRecords())
+            + " | (Total)" + UniversalWeight.format(row.getTotal()) + records(row.getTotalRecords()) + "\n\n");
+    }
+
+    /** Records broken by a lift, such as " [SR/FR]", or nothing */
+    private static String records(int levels){
+        return levels == 0 ? "" : " [" + RecordBook.tag(levels) + "]";
+    }
+
+    @Override
+    public void endClass() throws IOException {
+        if(entries == 0){
+            // no lifters exist
+            out.write("No competitors present.\n\n");
+        }
+        out.write("\n");
+    }
+
+    @Override
+    public void endDivision() throws IOException {
+        out.write("--------------------------------------------------------\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.flush();
+    }
+}
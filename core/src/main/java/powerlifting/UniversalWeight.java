@@ -0,0 +1,154 @@
+package powerlifting;
+
+/** A weight held once as a whole number of units and converted to either metric on demand
+ *  A unit is 10^-13 kg, small enough that every hundredth of a kilogram and every hundredth of a pound (0.45359237 kg
+ *  exactly) is a whole number of them. Weights entered in either metric are held exactly, totals add up without drift
+ *  and read back in the metric they were entered in. Formatting works on the units directly, writing digits into a
+ *  per-thread buffer, and keeps the strings of common weights, every quarter kilogram and half pound, once made.
+ */
+public class UniversalWeight{
+    /** Units in a kilogram and in a pound */
+    public static final long UNITS_PER_KG = 10000000000000L;
+    public static final long UNITS_PER_LB = 4535923700000L;
+
+    /** Kilograms in a pound, exact by definition */
+    public static final double KG_PER_LB = 0.45359237;
+
+    /** Formatted strings of every quarter kilogram up to 600 kg and every half pound up to 1500 lb, filled as first used */
+    private static final long KG_STEP = UNITS_PER_KG / 4;
+    private static final long LB_STEP = UNITS_PER_LB / 2;
+    private static final String[] KG_STRINGS = new String[600 * 4 + 1];
+    private static final String[] LB_STRINGS = new String[1500 * 2 + 1];
+
+    /** Each thread formats into its own buffer, so a formatted weight allocates only its string */
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(32));
+
+    private long units;
+
+    public UniversalWeight(){
+        setWeight(0, Metric.KG);
+    }
+
+    public UniversalWeight(double weight, Metric metric){
+        setWeight(weight, metric);
+    }
+
+    public void setWeight(double weight, Metric metric){
+        units = toUnits(weight, metric);
+    }
+
+    public double getWeight(Metric metric){
+        return fromUnits(units, metric);
+    }
+
+    public void setUnits(long units){
+        this.units = units;
+    }
+
+    public long getUnits(){
+        return units;
+    }
+
+    /** Units of a weight in either metric, rounded to the nearest unit */
+    public static long toUnits(double weight, Metric metric){
+        return Math.round(weight * (metric == Metric.KG ? UNITS_PER_KG : UNITS_PER_LB));
+    }
+
+    /** A number of units as a weight in either metric */
+    public static double fromUnits(long units, Metric metric){
+        return units / (double) (metric == Metric.KG ? UNITS_PER_KG : UNITS_PER_LB);
+    }
+
+    /** Convert a bare weight between metrics using the exact factor */
+    public static double convert(double weight, Metric from, Metric to){
+        if(from == to){
+            return weight;
+        }else if(from == Metric.KG){
+            return weight / KG_PER_LB;
+        }else{
+            return weight * KG_PER_LB;
+        }
+    }
+
+    /** Format a bare weight in kilograms the same way toString formats a UniversalWeight */
+    public static String format(double weightKG){
+        return formatUnits(toUnits(weightKG, Metric.KG));
+    }
+
+    /** Format a number of units as both metrics, e.g. "100KGs/ 220.46LBs" */
+    public static String formatUnits(long units){
+        if(units >= 0 && units % KG_STEP == 0 && units / KG_STEP < KG_STRINGS.length){
+            int step = (int) (units / KG_STEP);
+            String text = KG_STRINGS[step];
+            if(text == null){
+                // a race only makes the same string twice
+                text = build(units);
+                KG_STRINGS[step] = text;
+            }
+            return text;
+        }
+        if(units >= 0 && units % LB_STEP == 0 && units / LB_STEP < LB_STRINGS.length){
+            int step = (int) (units / LB_STEP);
+            String text = LB_STRINGS[step];
+            if(text == null){
+                text = build(units);
+                LB_STRINGS[step] = text;
+            }
+            return text;
+        }
+        return build(units);
+    }
+
+    /** Format a bare number with at most two decimals and no trailing zeros, e.g. "1.25" or "20" */
+    public static String formatNumber(double value){
+        StringBuilder text = BUFFER.get();
+        text.setLength(0);
+        long hundredths = Math.round(Math.abs(value) * 100);
+        appendHundredths(text, value < 0 ? -hundredths : hundredths);
+        return text.toString();
+    }
+
+    @Override
+    public String toString(){
+        return formatUnits(units);
+    }
+
+    // HELPERS
+
+    private static String build(long units){
+        StringBuilder text = BUFFER.get();
+        text.setLength(0);
+        appendHundredths(text, hundredths(units, UNITS_PER_KG / 100));
+        text.append("KGs/ ");
+        appendHundredths(text, hundredths(units, UNITS_PER_LB / 100));
+        text.append("LBs");
+        return text.toString();
+    }
+
+    /** Units in hundredths of a metric, rounded half to even as DecimalFormat does */
+    private static long hundredths(long units, long perHundredth){
+        long magnitude = Math.abs(units);
+        long whole = magnitude / perHundredth;
+        long rest = magnitude % perHundredth;
+        if(rest * 2 > perHundredth || (rest * 2 == perHundredth && whole % 2 == 1)){
+            whole++;
+        }
+        return units < 0 ? -whole : whole;
+    }
+
+    /** Append hundredths as a number, leaving off trailing zeros */
+    private static void appendHundredths(StringBuilder text, long hundredths){
+        if(hundredths < 0){
+            text.append('-');
+            hundredths = -hundredths;
+        }
+        text.append(hundredths / 100);
+        int fraction = (int) (hundredths % 100);
+        if(fraction != 0){
+            text.append('.').append((char) ('0' + fraction / 10));
+            if(fraction % 10 != 0){
+                text.append((char) ('0' + fraction % 10));
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package powerlifting;
+
+/** Bodyweight classes, in the order they are listed and reported */
+enum WeightClass{
+    KG59("59kgs/130lbs", 59),
+    KG66("66kgs/145lbs", 66),
+    KG74("74kgs/163lbs", 74),
+    KG83("83kgs/183lbs", 83),
+    KG93("93kgs/205lbs", 93),
+    KG105("105kgs/231lbs", 105),
+    KG120("120kgs/265lbs", 120),
+    KG120_PLUS("120kgs+/265lb+", Double.MAX_VALUE);
+
+    /** Cached values() for index lookups */
+    private static final WeightClass[] VALUES = values();
+
+    private final String label;
+
+    /** Heaviest bodyweight in kilograms admitted to the class */
+    private final double limitKG;
+
+    WeightClass(String label, double limitKG){
+        this.label = label;
+        this.limitKG = limitKG;
+    }
+
+    /** Weight class a lifter of the given bodyweight in kilograms competes in */
+    static WeightClass forBodyweight(double bodyweightKG){
+        for(int i = 0; i < VALUES.length - 1; i++){
+            if(bodyweightKG <= VALUES[i].limitKG){
+                return VALUES[i];
+            }
+        }
+        return KG120_PLUS;
+    }
+
+    static WeightClass fromIndex(int index){
+        return VALUES[index];
+    }
+
+    @Override
+    public String toString(){
+        return label;
+    }
+}
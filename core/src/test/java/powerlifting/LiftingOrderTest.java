@@ -0,0 +1,86 @@
+package powerlifting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** Lifting order across rounds, weights and lots */
+public class LiftingOrderTest {
+
+    @Test
+    public void roundsThenRisingBarThenLot(){
+        Roster roster = new Roster(new AttemptStore(4));
+        Lifter a = enter(roster, "A");
+        Lifter b = enter(roster, "B");
+        Lifter c = enter(roster, "C");
+        LifterGroup flight = a.getGroup();
+        LiftingOrder order = new LiftingOrder(flight, AttemptStore.SQUAT);
+        roster.addListener(order);
+
+        a.setSquat(1, 150, AttemptState.PROJECTION, Metric.KG);
+        b.setSquat(1, 140, AttemptState.PROJECTION, Metric.KG);
+        c.setSquat(1, 150, AttemptState.PROJECTION, Metric.KG);
+        // a and c tie on weight, a drew the lower lot
+        assertEquals(List.of(b, a, c), order.upcoming(10));
+        assertEquals(1, order.nextAttempt());
+
+        // b's second attempt waits for the rest of round one, however light
+        b.setSquat(1, 140, AttemptState.GOOD, Metric.KG);
+        b.setSquat(2, 145, AttemptState.PROJECTION, Metric.KG);
+        assertEquals(List.of(a, c, b), order.upcoming(10));
+
+        // changing a request re-keys the lifter within its round
+        c.setSquat(1, 147.5, AttemptState.PROJECTION, Metric.KG);
+        assertEquals(List.of(c, a, b), order.upcoming(10));
+
+        c.setSquat(1, 147.5, AttemptState.FAIL, Metric.KG);
+        a.setSquat(1, 150, AttemptState.GOOD, Metric.KG);
+        assertEquals(b, order.next());
+        assertEquals(2, order.nextAttempt());
+
+        roster.remove(b);
+        assertNull(order.next());
+        assertEquals(0, order.nextAttempt());
+    }
+
+    @Test
+    public void matchesSortedOrderAfterRandomRequests(){
+        Random random = new Random(3);
+        Roster roster = new Roster(new AttemptStore(30));
+        ArrayList<Lifter> lifters = new ArrayList<Lifter>();
+        for(int i = 0; i < 30; i++){
+            lifters.add(enter(roster, "L" + i));
+        }
+        LifterGroup flight = lifters.get(0).getGroup();
+        LiftingOrder order = new LiftingOrder(flight, AttemptStore.BENCH);
+        roster.addListener(order);
+        AttemptState[] states = {AttemptState.PROJECTION, AttemptState.PROJECTION, AttemptState.GOOD, AttemptState.FAIL, AttemptState.EMPTY};
+        for(int step = 0; step < 3000; step++){
+            Lifter lifter = lifters.get(random.nextInt(lifters.size()));
+            lifter.setBench(1 + random.nextInt(3), 100 + 2.5 * random.nextInt(6), states[random.nextInt(states.length)], Metric.KG);
+            // squats never enter the bench order
+            lifter.setSquat(1, 200, AttemptState.PROJECTION, Metric.KG);
+            ArrayList<Lifter> expected = new ArrayList<Lifter>();
+            for(Lifter each: lifters){
+                if(LiftingOrder.pendingAttempt(each, AttemptStore.BENCH) > 0){
+                    expected.add(each);
+                }
+            }
+            expected.sort(Comparator.comparingInt((Lifter each) -> LiftingOrder.pendingAttempt(each, AttemptStore.BENCH))
+                    .thenComparingDouble(each -> each.getBench(LiftingOrder.pendingAttempt(each, AttemptStore.BENCH)).getWeight(Metric.KG))
+                    .thenComparingInt(Lifter::getLot));
+            assertEquals(expected, order.upcoming(lifters.size()));
+        }
+    }
+
+    private static Lifter enter(Roster roster, String name){
+        Lifter lifter = new Lifter(roster.getStore(), name, "Last", 30, "Town", 80, Metric.KG);
+        roster.add(lifter);
+        return lifter;
+    }
+}
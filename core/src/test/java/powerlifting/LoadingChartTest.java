@@ -0,0 +1,146 @@
+package powerlifting;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** Loading charts checked against every sequence of loadings a flight could take */
+public class LoadingChartTest {
+
+    private static final double[] PLATES = {25, 20, 15, 10, 5, 2.5};
+    private static final int[] PAIRS = {2, 1, 1, 1, 1, 1};
+
+    @Test
+    public void planHandlesTheFewestPlatesOfAnySequence(){
+        PlateLoader loader = new PlateLoader(PLATES, PAIRS, 20);
+        Random random = new Random(5);
+        for(int round = 0; round < 40; round++){
+            AttemptStore store = new AttemptStore(5);
+            ArrayList<Lifter> flight = new ArrayList<Lifter>();
+            ArrayList<Double> weights = new ArrayList<Double>();
+            for(int i = 0; i < 5; i++){
+                double weight = 20 + 5 * random.nextInt(45);
+                flight.add(request(store, "L" + i, weight));
+                weights.add(weight);
+            }
+            weights.sort(null);
+            LoadingChart chart = new LoadingChart(loader, flight, AttemptStore.SQUAT, Metric.KG);
+
+            ArrayList<ArrayList<int[]>> options = new ArrayList<ArrayList<int[]>>();
+            for(double weight: weights){
+                options.add(loader.loadings(weight, Integer.MAX_VALUE));
+            }
+            assertEquals(least(options, 0, new int[PLATES.length]), chart.getTotalChanges(), "round " + round);
+            checkRows(chart, weights);
+        }
+    }
+
+    @Test
+    public void keepsInnerPlatesWhenItSavesHandling(){
+        // 40 a side could be 25 + 15 or 20 + 20; only the 25 can stay on under the 75 a side that follows
+        PlateLoader loader = new PlateLoader(new double[]{25, 20, 15, 10, 5}, new int[]{2, 2, 1, 1, 1}, 20);
+        AttemptStore store = new AttemptStore(2);
+        ArrayList<Lifter> flight = new ArrayList<Lifter>();
+        flight.add(request(store, "Heavy", 170));
+        flight.add(request(store, "Light", 100));
+        LoadingChart chart = new LoadingChart(loader, flight, AttemptStore.SQUAT, Metric.KG);
+
+        assertEquals("Light", chart.getRows().get(0).getLifter().getFirstName());
+        assertArrayEquals(new int[]{1, 0, 1, 0, 0}, chart.getRows().get(0).getLoading());
+        assertEquals(1, chart.getRows().get(1).getStripped());
+        assertTrue(chart.getRows().get(1).getLoading()[0] > 0);
+        assertEquals(2 + 1 + 3, chart.getTotalChanges());
+    }
+
+    @Test
+    public void unloadableAttemptLeavesTheBarAsItWas(){
+        PlateLoader loader = new PlateLoader(PLATES, PAIRS, 20);
+        AttemptStore store = new AttemptStore(3);
+        ArrayList<Lifter> flight = new ArrayList<Lifter>();
+        flight.add(request(store, "A", 60));
+        flight.add(request(store, "B", 61));
+        flight.add(request(store, "C", 65));
+        LoadingChart chart = new LoadingChart(loader, flight, AttemptStore.SQUAT, Metric.KG);
+
+        // the 20 a side for 60 stays on, and 65 only adds a 2.5
+        assertNull(chart.getRows().get(1).getLoading());
+        assertEquals(0, chart.getRows().get(2).getStripped());
+        assertEquals(1, PlateLoader.count(chart.getRows().get(2).getAdded()));
+        assertEquals(2, chart.getTotalChanges());
+    }
+
+    @Test
+    public void rowsFollowTheLiftingOrder(){
+        PlateLoader loader = new PlateLoader(PLATES, PAIRS, 20);
+        Random random = new Random(11);
+        Roster roster = new Roster(new AttemptStore(12));
+        for(int i = 0; i < 12; i++){
+            Lifter lifter = new Lifter(roster.getStore(), "L" + i, "Last", 30, "Town", 80, Metric.KG);
+            roster.add(lifter);
+            // a few lifters a round ahead, and weights repeated so lots have ties to break
+            int judged = random.nextInt(4) == 0 ? 1 : 0;
+            for(int attempt = 1; attempt <= judged; attempt++){
+                lifter.setSquat(attempt, 100, AttemptState.GOOD, Metric.KG);
+            }
+            lifter.setSquat(judged + 1, 100 + 10 * random.nextInt(4), AttemptState.PROJECTION, Metric.KG);
+        }
+        LifterGroup flight = roster.all().get(0).getGroup();
+        LoadingChart chart = new LoadingChart(loader, flight, AttemptStore.SQUAT, Metric.KG);
+        ArrayList<Lifter> order = new LiftingOrder(flight, AttemptStore.SQUAT).upcoming(12);
+
+        assertEquals(order.size(), chart.getRows().size());
+        for(int r = 0; r < order.size(); r++){
+            assertEquals(order.get(r), chart.getRows().get(r).getLifter(), "row " + r);
+        }
+    }
+
+    private static Lifter request(AttemptStore store, String name, double weight){
+        Lifter lifter = new Lifter(store, name, "Last", 30, "Town", 80, Metric.KG);
+        lifter.setSquat(1, weight, AttemptState.PROJECTION, Metric.KG);
+        return lifter;
+    }
+
+    /** Least plates handled loading attempts i onwards, starting from a bar loaded as given */
+    private static int least(ArrayList<ArrayList<int[]>> options, int i, int[] onBar){
+        if(i == options.size()){
+            return 0;
+        }
+        if(options.get(i).isEmpty()){
+            return least(options, i + 1, onBar);
+        }
+        int best = Integer.MAX_VALUE;
+        for(int[] loading: options.get(i)){
+            best = Math.min(best, LoadingChart.changes(onBar, loading) + least(options, i + 1, loading));
+        }
+        return best;
+    }
+
+    /** Rows come lightest first, and stripping then adding as listed turns each loading into the next */
+    private static void checkRows(LoadingChart chart, ArrayList<Double> weights){
+        int[] onBar = new int[PLATES.length];
+        for(int r = 0; r < chart.getRows().size(); r++){
+            LoadingChart.Row row = chart.getRows().get(r);
+            assertEquals(weights.get(r), row.getWeight(), 1e-9);
+            if(row.getLoading() == null){
+                continue;
+            }
+            // plates stack heaviest innermost, stripping takes the outermost off
+            int keep = PlateLoader.count(onBar) - row.getStripped();
+            int[] after = new int[PLATES.length];
+            for(int p = 0; p < PLATES.length && keep > 0; p++){
+                after[p] = Math.min(onBar[p], keep);
+                keep -= after[p];
+            }
+            for(int p = 0; p < PLATES.length; p++){
+                after[p] += row.getAdded()[p];
+            }
+            assertArrayEquals(row.getLoading(), after);
+            onBar = row.getLoading();
+        }
+    }
+}
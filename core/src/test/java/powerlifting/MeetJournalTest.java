@@ -0,0 +1,272 @@
+package powerlifting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Recovering a meet from its snapshot and journal */
+public class MeetJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void reopeningRestoresTheRoster() throws IOException {
+        MeetJournal journal = MeetJournal.open(directory);
+        Roster roster = journal.getRoster();
+        Lifter kept = enter(roster, "Kept");
+        Lifter withdrawn = enter(roster, "Withdrawn");
+        kept.setSquat(1, 150, AttemptState.GOOD, Metric.KG);
+        kept.setBench(2, 100, AttemptState.FAIL, Metric.KG);
+        kept.setDeadlift(3, 500.5, AttemptState.PROJECTION, Metric.LB);
+        kept.setBodyweight(95, Metric.KG);
+        roster.remove(withdrawn);
+        String expected = describe(roster);
+        journal.close();
+
+        assertEquals(expected, describe(MeetJournal.recover(directory).roster));
+        MeetJournal reopened = MeetJournal.open(directory);
+        assertEquals(expected, describe(reopened.getRoster()));
+        reopened.close();
+    }
+
+    @Test
+    public void tornTailDropsOnlyTheLastRecord() throws IOException {
+        MeetJournal journal = MeetJournal.open(directory);
+        Lifter lifter = enter(journal.getRoster(), "Torn");
+        lifter.setSquat(1, 150, AttemptState.GOOD, Metric.KG);
+        String beforeLast = describe(journal.getRoster());
+        lifter.setSquat(2, 160, AttemptState.GOOD, Metric.KG);
+        journal.close();
+
+        Path file = directory.resolve(MeetJournal.JOURNAL_FILE);
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)){
+            channel.truncate(channel.size() - 3);
+        }
+        assertEquals(beforeLast, describe(MeetJournal.recover(directory).roster));
+    }
+
+    @Test
+    public void corruptRecordEndsTheTail() throws IOException {
+        MeetJournal journal = MeetJournal.open(directory);
+        Lifter lifter = enter(journal.getRoster(), "Corrupt");
+        String afterAdd = describe(journal.getRoster());
+        lifter.setSquat(1, 150, AttemptState.GOOD, Metric.KG);
+        lifter.setSquat(2, 160, AttemptState.GOOD, Metric.KG);
+        journal.close();
+
+        // flip a byte inside the second record, the first attempt; everything after it goes with it
+        Path file = directory.resolve(MeetJournal.JOURNAL_FILE);
+        byte[] bytes = Files.readAllBytes(file);
+        int first = 16;
+        int second = first + 4 + ByteBuffer.wrap(bytes, first, 4).getInt() + 4;
+        bytes[second + 6] ^= 0x5A;
+        Files.write(file, bytes);
+        assertEquals(afterAdd, describe(MeetJournal.recover(directory).roster));
+    }
+
+    @Test
+    public void snapshotRolloverKeepsEveryChange() throws IOException {
+        MeetJournal journal = MeetJournal.open(directory);
+        Roster roster = journal.getRoster();
+        ArrayList<Lifter> lifters = new ArrayList<Lifter>();
+        for(int i = 0; i < 20; i++){
+            lifters.add(enter(roster, "Lifter" + i));
+        }
+        // enough events to roll the snapshot over more than once mid-meet
+        for(int i = 0; i < MeetJournal.SNAPSHOT_INTERVAL * 2 + 123; i++){
+            Lifter lifter = lifters.get(i % lifters.size());
+            lifter.setBench(1 + i % 3, 60 + 2.5 * (i % 40), i % 2 == 0 ? AttemptState.GOOD : AttemptState.FAIL, Metric.KG);
+        }
+        String expected = describe(roster);
+        journal.close();
+
+        MeetJournal.Recovered recovered = MeetJournal.recover(directory);
+        assertEquals(expected, describe(recovered.roster));
+        // the launch snapshot and two rollovers
+        assertEquals(3, recovered.generation);
+    }
+
+    @Test
+    public void staleJournalIsNotReplayedOverANewerSnapshot() throws IOException {
+        MeetJournal journal = MeetJournal.open(directory);
+        Lifter lifter = enter(journal.getRoster(), "Stale");
+        lifter.setSquat(1, 150, AttemptState.GOOD, Metric.KG);
+        journal.close();
+        byte[] oldJournal = Files.readAllBytes(directory.resolve(MeetJournal.JOURNAL_FILE));
+
+        // reopening snapshots the squat under a new generation, then the old journal reappears as if the process
+        // died mid-rotation; replaying it would enter the lifter a second time
+        MeetJournal.open(directory).close();
+        Files.write(directory.resolve(MeetJournal.JOURNAL_FILE), oldJournal);
+
+        assertEquals("Stale|1|150.0:GOOD|0.0:EMPTY|0.0:EMPTY|0.0:EMPTY|0.0:EMPTY|0.0:EMPTY|0.0:EMPTY|0.0:EMPTY|0.0:EMPTY\n",
+                describe(MeetJournal.recover(directory).roster));
+    }
+
+    @Test
+    public void failedWritesAreReportedAndChangesSavedOnceTheDiskIsBack() throws IOException, InterruptedException {
+        Path meet = directory.resolve("meet");
+        MeetJournal journal = MeetJournal.open(meet);
+        CountDownLatch failed = new CountDownLatch(1);
+        CountDownLatch resumed = new CountDownLatch(1);
+        journal.setListener(new MeetJournal.Listener(){
+            @Override
+            public void saveFailed(IOException error){
+                failed.countDown();
+            }
+
+            @Override
+            public void saveResumed(){
+                resumed.countDown();
+            }
+        });
+        Lifter lifter = enter(journal.getRoster(), "Unplugged");
+        lifter.setSquat(1, 150, AttemptState.GOOD, Metric.KG);
+
+        // the folder vanishes as a pulled drive would, so the next snapshot cannot be written
+        Path moved = directory.resolve("moved");
+        Files.move(meet, moved);
+        journal.checkpoint();
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+        lifter.setSquat(2, 160, AttemptState.GOOD, Metric.KG);
+        enter(journal.getRoster(), "Later");
+
+        Files.move(moved, meet);
+        assertTrue(resumed.await(5 * MeetJournal.RETRY_MILLIS, TimeUnit.MILLISECONDS));
+        assertNull(journal.getFailure());
+        lifter.setBench(1, 100, AttemptState.FAIL, Metric.KG);
+        String expected = describe(journal.getRoster());
+        journal.close();
+        assertEquals(expected, describe(MeetJournal.recover(meet).roster));
+    }
+
+    @Test
+    public void lifterAddedAfterASnapshotHoldingItIsEnteredOnce() throws IOException {
+        MeetJournal journal = MeetJournal.open(directory);
+        Roster roster = journal.getRoster();
+        enter(roster, "First");
+        // another platform's change snapshots the roster after this lifter is filed but before the journal hears of it
+        Lifter lifter = enter(roster, "Raced");
+        journal.checkpoint();
+        journal.lifterAdded(lifter);
+        lifter.setSquat(1, 150, AttemptState.GOOD, Metric.KG);
+        String expected = describe(roster);
+        journal.close();
+
+        assertEquals(expected, describe(MeetJournal.recover(directory).roster));
+    }
+
+    @Test
+    public void poundsComeBackExactlyFromTheJournalAndTheSnapshot() throws IOException {
+        MeetJournal journal = MeetJournal.open(directory);
+        Lifter lifter = enter(journal.getRoster(), "Pounds");
+        // 566 lb is one unit off once it has been through a double of kilograms
+        lifter.setDeadlift(1, 566, AttemptState.GOOD, Metric.LB);
+        lifter.setBodyweight(181.5, Metric.LB);
+        journal.close();
+
+        long deadlift = UniversalWeight.toUnits(566, Metric.LB);
+        long bodyweight = UniversalWeight.toUnits(181.5, Metric.LB);
+        Lifter replayed = MeetJournal.recover(directory).roster.all().get(0);
+        assertEquals(deadlift, replayed.getStore().getUnits(AttemptStore.index(replayed.getId(), AttemptStore.DEADLIFT, 1)));
+        assertEquals(bodyweight, replayed.getBodyweightUnits());
+        // opening again folds the journal into a snapshot
+        MeetJournal.open(directory).close();
+        Lifter restored = MeetJournal.recover(directory).roster.all().get(0);
+        assertEquals(deadlift, restored.getStore().getUnits(AttemptStore.index(restored.getId(), AttemptStore.DEADLIFT, 1)));
+        assertEquals(bodyweight, restored.getBodyweightUnits());
+        assertEquals(566, restored.getMaxDeadlift().getWeight(Metric.LB));
+    }
+
+    @Test
+    public void snapshotsWrittenInKilogramsAreStillRead() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0x504C534E);
+        out.writeInt(1);
+        out.writeLong(3);
+        out.writeInt(1);
+        out.writeInt(0);
+        for(String text: new String[]{"Old", "Last"}){
+            out.writeInt(text.length());
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        out.writeInt(30);
+        out.writeInt(4);
+        out.write("Town".getBytes(StandardCharsets.UTF_8));
+        out.writeDouble(92.5);
+        out.writeInt(7);
+        for(int slot = 0; slot < AttemptStore.SLOTS; slot++){
+            out.writeDouble(slot == 0 ? 200 : 0);
+            out.writeByte((slot == 0 ? AttemptState.GOOD : AttemptState.EMPTY).code());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+        Files.write(directory.resolve(MeetJournal.SNAPSHOT_FILE), bytes.toByteArray());
+
+        MeetJournal journal = MeetJournal.open(directory);
+        assertEquals("Old|7|200.0:GOOD|0.0:EMPTY|0.0:EMPTY|0.0:EMPTY|0.0:EMPTY|0.0:EMPTY|0.0:EMPTY|0.0:EMPTY|0.0:EMPTY\n",
+                describe(journal.getRoster()));
+        assertEquals(92.5, journal.getRoster().all().get(0).getBodyweight(Metric.KG));
+        journal.close();
+        // and rewritten in the current format as the meet is opened
+        assertEquals("Old|7|200.0:GOOD|0.0:EMPTY|0.0:EMPTY|0.0:EMPTY|0.0:EMPTY|0.0:EMPTY|0.0:EMPTY|0.0:EMPTY|0.0:EMPTY\n",
+                describe(MeetJournal.recover(directory).roster));
+    }
+
+    @Test
+    public void directoryIsOpenInOnePlaceAtATime() throws IOException {
+        MeetJournal journal = MeetJournal.open(directory);
+        assertThrows(IOException.class, () -> MeetJournal.open(directory));
+        journal.close();
+        MeetJournal.open(directory).close();
+    }
+
+    private static Lifter enter(Roster roster, String name){
+        Lifter lifter = new Lifter(roster.getStore(), name, "Last", 30, "Town", 80, Metric.KG);
+        roster.add(lifter);
+        return lifter;
+    }
+
+    /** Every lifter's name, lot and nine attempts, one line each in roster order */
+    private static String describe(Roster roster){
+        StringBuilder text = new StringBuilder();
+        for(Lifter lifter: roster.all()){
+            text.append(lifter.getFirstName()).append('|').append(lifter.getLot());
+            for(int attempt = 1; attempt <= 3; attempt++){
+                append(text, lifter.getSquat(attempt));
+            }
+            for(int attempt = 1; attempt <= 3; attempt++){
+                append(text, lifter.getBench(attempt));
+            }
+            for(int attempt = 1; attempt <= 3; attempt++){
+                append(text, lifter.getDeadlift(attempt));
+            }
+            text.append('\n');
+        }
+        return text.toString();
+    }
+
+    private static void append(StringBuilder text, Lift lift){
+        text.append('|').append(lift.getWeight(Metric.KG)).append(':').append(lift.getState().name());
+    }
+}
@@ -0,0 +1,115 @@
+package powerlifting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/** Podium odds checked against a group small enough to work out by hand */
+public class PlacingSimulatorTest {
+
+    /** Make rates by lift, with the prior outweighing anything judged so every deadlift is made 60% of the time */
+    private static final PlacingSimulator PRIOR_ONLY = new PlacingSimulator(new double[]{0.8, 0.75, 0.6}, 1e9, ForkJoinPool.commonPool());
+
+    private static final int TRIALS = 200000;
+
+    @Test
+    public void matchesTheOddsWorkedByHand(){
+        Roster roster = new Roster(new AttemptStore(4));
+        // 500 made, nothing requested
+        Lifter a = enter(roster, "A", 200, 100, 200);
+        // 490 made, 515 if the 215 deadlift is made
+        Lifter b = enter(roster, "B", 200, 100, 190);
+        b.setDeadlift(2, 215, AttemptState.PROJECTION, Metric.KG);
+        // 495 made, 510 or 505 if the 210 or the 205 deadlift is made
+        Lifter c = enter(roster, "C", 200, 100, 195);
+        c.setDeadlift(2, 205, AttemptState.PROJECTION, Metric.KG);
+        c.setDeadlift(3, 210, AttemptState.PROJECTION, Metric.KG);
+        PlacingSimulator.Result result = PRIOR_ONLY.run(a.getGroup(), TRIALS, 7);
+
+        // B wins on a made 215 (0.6). C makes one of two (0.6 + 0.4 * 0.6 = 0.84) and then beats A
+        assertOdds(result, b, 0.6, 0, 0.4);
+        assertOdds(result, c, 0.4 * 0.84, 0.6 * 0.84 + 0.4 * 0.16, 0.6 * 0.16);
+        assertOdds(result, a, 0.4 * 0.16, 0.6 * 0.16 + 0.4 * 0.84, 0.6 * 0.84);
+        assertTrue(result.isComplete());
+        assertEquals(TRIALS, result.getTrials());
+    }
+
+    @Test
+    public void liftersWithoutATotalTakeNoPlace(){
+        Roster roster = new Roster(new AttemptStore(4));
+        Lifter a = enter(roster, "A", 200, 100, 200);
+        Lifter b = enter(roster, "B", 180, 90, 180);
+        // the third lifter of three, but missed its only attempt and has nothing requested
+        Lifter bombed = new Lifter(roster.getStore(), "Bombed", "Last", 30, "Town", 80, Metric.KG);
+        roster.add(bombed);
+        bombed.setSquat(1, 200, AttemptState.FAIL, Metric.KG);
+        PlacingSimulator.Result result = PRIOR_ONLY.run(a.getGroup(), 1000, 7);
+
+        assertOdds(result, a, 1, 0, 0);
+        assertOdds(result, b, 0, 1, 0);
+        assertOdds(result, bombed, 0, 0, 0);
+    }
+
+    @Test
+    public void liftersBombedOutOfOneLiftTakeNoPlace(){
+        Roster roster = new Roster(new AttemptStore(4));
+        Lifter a = enter(roster, "A", 200, 100, 200);
+        Lifter b = enter(roster, "B", 180, 90, 180);
+        // would lead on squat and deadlift alone, but missed all three benches
+        Lifter bombed = new Lifter(roster.getStore(), "Bombed", "Last", 30, "Town", 80, Metric.KG);
+        roster.add(bombed);
+        bombed.setSquat(1, 300, AttemptState.GOOD, Metric.KG);
+        for(int attempt = 1; attempt <= 3; attempt++){
+            bombed.setBench(attempt, 120, AttemptState.FAIL, Metric.KG);
+        }
+        bombed.setDeadlift(1, 300, AttemptState.GOOD, Metric.KG);
+        // misses its only bench request 25% of the time, and is then out too
+        Lifter chancer = new Lifter(roster.getStore(), "Chancer", "Last", 30, "Town", 80, Metric.KG);
+        roster.add(chancer);
+        chancer.setSquat(1, 250, AttemptState.GOOD, Metric.KG);
+        chancer.setBench(1, 150, AttemptState.PROJECTION, Metric.KG);
+        chancer.setDeadlift(1, 250, AttemptState.GOOD, Metric.KG);
+        PlacingSimulator.Result result = PRIOR_ONLY.run(a.getGroup(), TRIALS, 7);
+
+        assertOdds(result, bombed, 0, 0, 0);
+        assertOdds(result, chancer, 0.75, 0, 0);
+        assertOdds(result, a, 0.25, 0.75, 0);
+        assertOdds(result, b, 0, 0.25, 0.75);
+    }
+
+    @Test
+    public void sameSeedSameOdds(){
+        Roster roster = new Roster(new AttemptStore(4));
+        Lifter a = enter(roster, "A", 200, 100, 200);
+        a.setDeadlift(2, 210, AttemptState.PROJECTION, Metric.KG);
+        Lifter b = enter(roster, "B", 200, 100, 195);
+        b.setDeadlift(2, 212.5, AttemptState.PROJECTION, Metric.KG);
+        PlacingSimulator simulator = new PlacingSimulator();
+        PlacingSimulator.Result first = simulator.run(a.getGroup(), 100000, 3);
+        PlacingSimulator.Result second = simulator.run(a.getGroup(), 100000, 3);
+        for(int place = 1; place <= PlacingSimulator.PODIUM; place++){
+            assertEquals(first.probability(a, place), second.probability(a, place));
+            assertEquals(first.probability(b, place), second.probability(b, place));
+        }
+    }
+
+    private static void assertOdds(PlacingSimulator.Result result, Lifter lifter, double first, double second, double third){
+        double[] expected = {first, second, third};
+        for(int place = 1; place <= PlacingSimulator.PODIUM; place++){
+            // several standard errors at this many trials
+            assertEquals(expected[place - 1], result.probability(lifter, place), 0.005, lifter.getFirstName() + " place " + place);
+        }
+    }
+
+    /** An Open 83 kg lifter with one good attempt of each lift */
+    private static Lifter enter(Roster roster, String name, double squat, double bench, double deadlift){
+        Lifter lifter = new Lifter(roster.getStore(), name, "Last", 30, "Town", 80, Metric.KG);
+        roster.add(lifter);
+        lifter.setSquat(1, squat, AttemptState.GOOD, Metric.KG);
+        lifter.setBench(1, bench, AttemptState.GOOD, Metric.KG);
+        lifter.setDeadlift(1, deadlift, AttemptState.GOOD, Metric.KG);
+        return lifter;
+    }
+}
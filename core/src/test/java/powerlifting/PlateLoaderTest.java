@@ -0,0 +1,121 @@
+package powerlifting;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Plate lookups checked against a brute-force search of the inventory */
+public class PlateLoaderTest {
+
+    private static final double[] PLATES = {25, 20, 15, 10, 5, 2.5, 1.25};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void everyLookupIsTheFewestPlatesTheInventoryAllows(){
+        int[] pairs = {2, 1, 1, 1, 1, 1, 1};
+        PlateLoader loader = new PlateLoader(PLATES, pairs, 20);
+        // per side in 1.25 kg steps, up to and past what the inventory holds
+        for(int steps = 0; steps <= 100; steps++){
+            double weight = 20 + 2 * 1.25 * steps;
+            int fewest = fewest(PLATES, pairs, steps * 125, 0);
+            int[] loading = loader.lookup(weight);
+            if(fewest == Integer.MAX_VALUE){
+                assertNull(loading, "no loading for " + weight);
+            }else{
+                assertNotNull(loading, "loading for " + weight);
+                assertEquals(fewest, PlateLoader.count(loading), "plates for " + weight);
+                double side = 0;
+                for(int i = 0; i < PLATES.length; i++){
+                    assertTrue(loading[i] <= pairs[i], "inventory of " + PLATES[i]);
+                    side += loading[i] * PLATES[i];
+                }
+                assertEquals(weight, 20 + 2 * side, 1e-9);
+            }
+        }
+        assertEquals(20 + 2 * (2 * 25 + 20 + 15 + 10 + 5 + 2.5 + 1.25), loader.maxWeight(), 1e-9);
+    }
+
+    @Test
+    public void runningOutOfHeavyPlatesFallsBackToLighterOnes(){
+        // one pair of 25s: 120 kg takes a 25, a 20 and a 5 rather than two 25s
+        PlateLoader loader = new PlateLoader(new double[]{25, 20, 5}, new int[]{1, 2, 1}, 20);
+        assertArrayEquals(new int[]{1, 1, 1}, loader.lookup(120));
+        // 60 a side cannot be made from one 25, two 20s and one 5
+        assertNull(loader.lookup(140));
+        assertArrayEquals(new int[]{0, 2, 0}, loader.lookup(100));
+    }
+
+    @Test
+    public void weightsTheBarCannotTake(){
+        PlateLoader loader = new PlateLoader(PLATES, new int[]{8, 1, 1, 1, 1, 1, 1}, 20);
+        assertNull(loader.lookup(15));
+        assertNull(loader.lookup(21.25));
+        assertNull(loader.lookup(100.1));
+        assertNull(loader.lookup(loader.maxWeight() + 2.5));
+        assertArrayEquals(new int[7], loader.lookup(20));
+    }
+
+    @Test
+    public void alternativeLoadingsFewestFirst(){
+        PlateLoader loader = new PlateLoader(new double[]{25, 20, 5}, new int[]{1, 2, 2}, 20);
+        // 45 a side: a 25 and a 20, or two 20s and a 5
+        ArrayList<int[]> loadings = loader.loadings(110, 10);
+        assertEquals(2, loadings.size());
+        assertArrayEquals(new int[]{1, 1, 0}, loadings.get(0));
+        assertArrayEquals(new int[]{0, 2, 1}, loadings.get(1));
+        assertArrayEquals(loader.lookup(110), loadings.get(0));
+        assertEquals(1, loader.loadings(110, 1).size());
+    }
+
+    @Test
+    public void inventoryFileReplacesTheSetsItLists() throws IOException {
+        Path file = directory.resolve(PlateInventory.FILE_NAME);
+        Files.write(file, List.of("metric,plate,pairs", "kg,25,2", "# borrowed from the warm-up room", "kg,25,1", "kg,2.5,1", "", "kg,1.25,1"));
+        PlateInventory inventory = PlateInventory.read(file);
+        int[] pairs = inventory.pairs(Metric.KG, PLATES, new int[]{8, 1, 1, 1, 1, 1, 1});
+        assertArrayEquals(new int[]{3, 0, 0, 0, 0, 1, 1}, pairs);
+        assertArrayEquals(new int[]{10, 1}, inventory.pairs(Metric.LB, new double[]{45, 25}, new int[]{10, 1}));
+        PlateLoader loader = new PlateLoader(PLATES, pairs, 20);
+        assertArrayEquals(new int[]{3, 0, 0, 0, 0, 1, 0}, loader.lookup(175));
+        // 65 a side needs a 15, or a 20 and a 10, none of which are on hand
+        assertNull(loader.lookup(150));
+
+        assertThrows(IllegalArgumentException.class, () -> inventory.pairs(Metric.KG, new double[]{20, 10}, new int[]{1, 1}));
+        Files.write(file, List.of("kg,25,two"));
+        assertThrows(IOException.class, () -> PlateInventory.read(file));
+        Files.write(file, List.of("stone,6.35,1"));
+        assertThrows(IOException.class, () -> PlateInventory.read(file));
+    }
+
+    /** Fewest plates making a side of the given hundredths from plate i onwards, MAX_VALUE if none */
+    private static int fewest(double[] plates, int[] pairs, int remaining, int i){
+        if(remaining == 0){
+            return 0;
+        }
+        if(i == plates.length){
+            return Integer.MAX_VALUE;
+        }
+        int plate = (int) Math.round(plates[i] * 100);
+        int best = Integer.MAX_VALUE;
+        for(int count = 0; count <= pairs[i] && count * plate <= remaining; count++){
+            int rest = fewest(plates, pairs, remaining - count * plate, i + 1);
+            if(rest != Integer.MAX_VALUE){
+                best = Math.min(best, rest + count);
+            }
+        }
+        return best;
+    }
+}
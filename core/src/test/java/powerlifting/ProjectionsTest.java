@@ -0,0 +1,189 @@
+package powerlifting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** Weights needed for each place checked against counting who would still finish ahead */
+public class ProjectionsTest {
+
+    @Test
+    public void everyWeightIsTheLeastThatTakesItsPlace(){
+        Random random = new Random(31);
+        for(int round = 0; round < 50; round++){
+            Roster roster = new Roster(new AttemptStore(8));
+            Projections projections = Projections.attach(roster);
+            ArrayList<Lifter> lifters = new ArrayList<Lifter>();
+            int size = 2 + random.nextInt(6);
+            for(int i = 0; i < size; i++){
+                lifters.add(enter(roster, "L" + i));
+            }
+            for(Lifter lifter: lifters){
+                liftRandomly(random, lifter);
+            }
+            for(Lifter lifter: lifters){
+                check(projections.need(lifter), lifter, lifters);
+            }
+        }
+    }
+
+    @Test
+    public void tiesAreLostAndTheBarNeverGoesDown(){
+        Roster roster = new Roster(new AttemptStore(2));
+        Projections projections = Projections.attach(roster);
+        Lifter leader = enter(roster, "Leader");
+        Lifter chaser = enter(roster, "Chaser");
+        for(Lifter lifter: new Lifter[]{leader, chaser}){
+            for(int attempt = 1; attempt <= 3; attempt++){
+                lifter.setSquat(attempt, 200, attempt == 1 ? AttemptState.GOOD : AttemptState.FAIL, Metric.KG);
+                lifter.setBench(attempt, 150, attempt == 1 ? AttemptState.GOOD : AttemptState.FAIL, Metric.KG);
+            }
+        }
+        leader.setDeadlift(1, 250, AttemptState.GOOD, Metric.KG);
+        leader.setDeadlift(2, 260, AttemptState.PROJECTION, Metric.KG);
+        chaser.setDeadlift(1, 240, AttemptState.GOOD, Metric.KG);
+
+        // the leader's 610 potential has to be beaten, not equalled
+        Projections.Need need = projections.need(chaser);
+        assertEquals(AttemptStore.DEADLIFT, need.getLift());
+        assertEquals(2, need.getAttempt());
+        assertEquals(262.5, need.getWeight(1), 1e-9);
+        assertTrue(need.isSecured(2));
+
+        // already ahead on what is made, whatever the chaser requests
+        assertTrue(projections.need(leader).isSecured(1));
+        // a third attempt is never lighter than the second, however little the place needs
+        chaser.setDeadlift(2, 300, AttemptState.FAIL, Metric.KG);
+        assertEquals(300, projections.need(chaser).getWeight(1), 1e-9);
+
+        chaser.setDeadlift(3, 300, AttemptState.FAIL, Metric.KG);
+        assertNull(projections.need(chaser));
+        roster.remove(leader);
+        assertNull(projections.need(leader));
+    }
+
+    @Test
+    public void openersRequestedForLaterLiftsCountTowardTheLiftersOwnTotal(){
+        Roster roster = new Roster(new AttemptStore(2));
+        Projections projections = Projections.attach(roster);
+        Lifter lifter = enter(roster, "Lifter");
+        Lifter rival = enter(roster, "Rival");
+        lifter.setSquat(1, 200, AttemptState.GOOD, Metric.KG);
+        lifter.setBench(1, 140, AttemptState.PROJECTION, Metric.KG);
+        lifter.setDeadlift(1, 250, AttemptState.PROJECTION, Metric.KG);
+        rival.setSquat(1, 210, AttemptState.GOOD, Metric.KG);
+        rival.setBench(1, 150, AttemptState.PROJECTION, Metric.KG);
+        rival.setDeadlift(1, 260, AttemptState.PROJECTION, Metric.KG);
+
+        // the lifter's 390 requested on bench and deadlift stands against the rival's 620, so 232.5 beats it
+        Projections.Need need = projections.need(lifter);
+        assertEquals(AttemptStore.SQUAT, need.getLift());
+        assertEquals(2, need.getAttempt());
+        assertEquals(232.5, need.getWeight(1), 1e-9);
+        assertTrue(need.isSecured(2));
+    }
+
+    /** Judge a random number of a lifter's attempts in order, then maybe request the next */
+    private static void liftRandomly(Random random, Lifter lifter){
+        int judged = random.nextInt(10);
+        for(int slot = 0; slot < AttemptStore.SLOTS && slot <= judged; slot++){
+            int lift = slot - slot % 3;
+            int attempt = slot % 3 + 1;
+            double weight = (lift == AttemptStore.BENCH ? 100 : 180) + 2.5 * (4 * (attempt - 1) + random.nextInt(6));
+            AttemptState state = slot < judged ? (random.nextInt(4) == 0 ? AttemptState.FAIL : AttemptState.GOOD)
+                    : random.nextBoolean() ? AttemptState.PROJECTION : AttemptState.EMPTY;
+            if(state != AttemptState.EMPTY){
+                lifter.recordAttempt(lift, attempt, weight, state, Metric.KG);
+            }
+        }
+        // openers handed in ahead of the lifts they open
+        for(int lift = (judged / 3 + 1) * 3; lift < AttemptStore.SLOTS; lift += 3){
+            if(random.nextBoolean()){
+                lifter.recordAttempt(lift, 1, (lift == AttemptStore.BENCH ? 100 : 180) + 2.5 * random.nextInt(6), AttemptState.PROJECTION, Metric.KG);
+            }
+        }
+    }
+
+    /** Each weight given takes its place if made, and one step less would not, unless the last attempt rules it out */
+    private static void check(Projections.Need need, Lifter lifter, ArrayList<Lifter> lifters){
+        int slot = -1;
+        for(int s = AttemptStore.SLOTS - 1; s >= 0; s--){
+            AttemptState state = state(lifter, s);
+            if(state == AttemptState.EMPTY || state == AttemptState.PROJECTION){
+                slot = s;
+            }
+        }
+        if(slot < 0){
+            assertNull(need);
+            return;
+        }
+        int lift = slot - slot % 3;
+        int attempt = slot % 3 + 1;
+        assertEquals(lift, need.getLift());
+        assertEquals(attempt, need.getAttempt());
+        assertEquals(lifters.size(), need.places());
+
+        double total = lifter.getTotal(Metric.KG);
+        double base = potential(lifter) - potential(lifter, lift);
+        double floor = attempt == 1 ? 0 : lifter.getStore().getWeight(AttemptStore.index(lifter.getId(), lift, attempt - 1));
+        for(int place = 1; place <= need.places(); place++){
+            double weight = need.getWeight(place);
+            if(need.isSecured(place)){
+                assertTrue(finishes(total, place, lifter, lifters), "place " + place + " is not secured");
+                continue;
+            }
+            assertTrue(!finishes(total, place, lifter, lifters), "place " + place + " was already secured");
+            assertEquals(0, Math.IEEEremainder(weight, Projections.STEP_KG), 1e-9);
+            assertTrue(weight >= floor);
+            assertTrue(finishes(base + weight, place, lifter, lifters), weight + " does not take place " + place);
+            if(weight - Projections.STEP_KG >= Math.max(floor, Projections.STEP_KG)){
+                assertTrue(!finishes(base + weight - Projections.STEP_KG, place, lifter, lifters), weight + " is more than place " + place + " needs");
+            }
+        }
+    }
+
+    /** Whether a total finishes in a place or better, fewer than that many others reaching it */
+    private static boolean finishes(double total, int place, Lifter lifter, ArrayList<Lifter> lifters){
+        int ahead = 0;
+        for(Lifter other: lifters){
+            if(other != lifter && potential(other) >= total){
+                ahead++;
+            }
+        }
+        return ahead < place;
+    }
+
+    /** Best good lift of each lift, or the heaviest requested if heavier, summed */
+    private static double potential(Lifter lifter){
+        double potential = 0;
+        for(int lift = 0; lift < AttemptStore.SLOTS; lift += 3){
+            potential += potential(lifter, lift);
+        }
+        return potential;
+    }
+
+    private static double potential(Lifter lifter, int lift){
+        double best = 0;
+        for(int s = lift; s < lift + 3; s++){
+            AttemptState state = state(lifter, s);
+            if(state == AttemptState.GOOD || state == AttemptState.PROJECTION){
+                best = Math.max(best, lifter.getStore().getWeight(AttemptStore.index(lifter.getId(), AttemptStore.SQUAT, 1) + s));
+            }
+        }
+        return best;
+    }
+
+    private static AttemptState state(Lifter lifter, int slot){
+        return lifter.getStore().getState(AttemptStore.index(lifter.getId(), AttemptStore.SQUAT, 1) + slot);
+    }
+
+    private static Lifter enter(Roster roster, String name){
+        Lifter lifter = new Lifter(roster.getStore(), name, "Last", 30, "Town", 80, Metric.KG);
+        roster.add(lifter);
+        return lifter;
+    }
+}
@@ -0,0 +1,105 @@
+package powerlifting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** RankingIndex checked against a plain sort of the same lifters */
+public class RankingIndexTest {
+
+    /** A few weights only, so many lifters tie and the entry order decides */
+    private static double randomSquat(Random random){
+        return 100 + 2.5 * random.nextInt(8);
+    }
+
+    @Test
+    public void rankAndTopMatchSortedListAfterRandomChanges(){
+        Random random = new Random(11);
+        AttemptStore store = new AttemptStore(256);
+        RankingIndex index = new RankingIndex(Standings.SQUAT);
+        ArrayList<Lifter> ranked = new ArrayList<Lifter>();
+        HashMap<Lifter, Long> entered = new HashMap<Lifter, Long>();
+        ArrayList<Lifter> benched = new ArrayList<Lifter>();
+        long seq = 0;
+        for(int i = 0; i < 200; i++){
+            Lifter lifter = new Lifter(store, "First" + i, "Last" + i, 30, "Town", 80, Metric.KG);
+            lifter.setSquat(1, randomSquat(random), AttemptState.GOOD, Metric.KG);
+            index.add(lifter);
+            ranked.add(lifter);
+            entered.put(lifter, seq++);
+        }
+        for(int step = 0; step < 2000; step++){
+            int action = random.nextInt(10);
+            if(action < 6){
+                Lifter lifter = ranked.get(random.nextInt(ranked.size()));
+                lifter.setSquat(1 + random.nextInt(3), randomSquat(random), random.nextBoolean() ? AttemptState.GOOD : AttemptState.FAIL, Metric.KG);
+                index.update(lifter);
+            }else if(action < 8 && ranked.size() > 1){
+                Lifter lifter = ranked.remove(random.nextInt(ranked.size()));
+                index.remove(lifter);
+                entered.remove(lifter);
+                benched.add(lifter);
+            }else if(!benched.isEmpty()){
+                // entering again ranks the lifter behind everyone already on an equal score
+                Lifter lifter = benched.remove(random.nextInt(benched.size()));
+                index.add(lifter);
+                ranked.add(lifter);
+                entered.put(lifter, seq++);
+            }
+            if(step % 50 == 0){
+                check(index, ranked, entered);
+            }
+        }
+        check(index, ranked, entered);
+    }
+
+    @Test
+    public void equalScoresKeepEntryOrderAcrossUpdates(){
+        AttemptStore store = new AttemptStore(4);
+        RankingIndex index = new RankingIndex(Standings.SQUAT);
+        Lifter first = new Lifter(store, "A", "A", 30, "Town", 80, Metric.KG);
+        Lifter second = new Lifter(store, "B", "B", 30, "Town", 80, Metric.KG);
+        first.setSquat(1, 150, AttemptState.GOOD, Metric.KG);
+        second.setSquat(1, 160, AttemptState.GOOD, Metric.KG);
+        index.add(first);
+        index.add(second);
+        assertEquals(List.of(second, first), index.toList());
+
+        // equal again, the lifter who entered first wins the tie
+        second.setSquat(2, 0, AttemptState.EMPTY, Metric.KG);
+        second.setSquat(1, 150, AttemptState.GOOD, Metric.KG);
+        index.update(second);
+        assertEquals(List.of(first, second), index.toList());
+        assertEquals(1, index.rank(first));
+        assertEquals(2, index.rank(second));
+    }
+
+    @Test
+    public void lookupsOutsideTheRanking(){
+        AttemptStore store = new AttemptStore(2);
+        RankingIndex index = new RankingIndex(Standings.SQUAT);
+        Lifter lifter = new Lifter(store, "A", "A", 30, "Town", 80, Metric.KG);
+        assertEquals(-1, index.rank(lifter));
+        assertEquals(0, index.top(5).size());
+        assertThrows(IndexOutOfBoundsException.class, () -> index.get(1));
+    }
+
+    private static void check(RankingIndex index, List<Lifter> ranked, HashMap<Lifter, Long> entered){
+        ArrayList<Lifter> expected = new ArrayList<Lifter>(ranked);
+        expected.sort(Comparator.comparingDouble((Lifter lifter) -> -Standings.SQUAT.score(lifter))
+                .thenComparingLong(entered::get));
+        assertEquals(expected.size(), index.size());
+        assertEquals(expected, index.toList());
+        assertEquals(expected.subList(0, Math.min(10, expected.size())), index.top(10));
+        for(int i = 0; i < expected.size(); i++){
+            assertEquals(i + 1, index.rank(expected.get(i)));
+            assertEquals(expected.get(i), index.get(i + 1));
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package powerlifting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Meet records following the lifts made so far, state records standing as the meet began */
+public class RecordBookTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void meetRecordPassesToWhoeverHoldsIt() throws IOException {
+        Roster roster = rosterWith("meet,Open,83,squat,200", "state,Open,83,squat,300");
+        Lifter a = enter(roster, "A");
+        Lifter b = enter(roster, "B");
+        RecordBook records = roster.getRecords();
+
+        a.setSquat(1, 205, AttemptState.GOOD, Metric.KG);
+        assertEquals(RecordBook.MEET, records.broken(a, AttemptStore.SQUAT, 1));
+        b.setSquat(1, 210, AttemptState.GOOD, Metric.KG);
+        assertEquals(RecordBook.MEET, records.broken(b, AttemptStore.SQUAT, 1));
+        assertEquals(0, records.broken(a, AttemptStore.SQUAT, 1));
+
+        // a request only counts as a record attempt if it beats 210, not the 200 the meet started with
+        a.setSquat(2, 207.5, AttemptState.PROJECTION, Metric.KG);
+        assertEquals(0, records.broken(a, AttemptStore.SQUAT, 2));
+        a.setSquat(2, 212.5, AttemptState.PROJECTION, Metric.KG);
+        assertEquals(RecordBook.MEET, records.broken(a, AttemptStore.SQUAT, 2));
+
+        // a lifter's own earlier record is superseded by their heavier one
+        a.setSquat(2, 212.5, AttemptState.GOOD, Metric.KG);
+        assertEquals(0, records.broken(a, AttemptStore.SQUAT, 1));
+        assertEquals(RecordBook.MEET, records.broken(a, AttemptStore.SQUAT, 2));
+        assertEquals(0, records.broken(b, AttemptStore.SQUAT, 1));
+
+        // overturning the decision hands the record back
+        a.setSquat(2, 212.5, AttemptState.FAIL, Metric.KG);
+        assertEquals(RecordBook.MEET, records.broken(b, AttemptStore.SQUAT, 1));
+
+        // state records stay those the meet started with
+        b.setSquat(2, 302.5, AttemptState.GOOD, Metric.KG);
+        assertEquals(RecordBook.MEET | RecordBook.STATE, records.broken(b, AttemptStore.SQUAT, 2));
+        a.setSquat(3, 305, AttemptState.GOOD, Metric.KG);
+        assertEquals(RecordBook.STATE, records.broken(b, AttemptStore.SQUAT, 2));
+        assertEquals(RecordBook.MEET | RecordBook.STATE, records.broken(a, AttemptStore.SQUAT, 3));
+    }
+
+    @Test
+    public void equalLiftsGoToWhoeverMadeThemFirst() throws IOException {
+        Roster roster = rosterWith("meet,Open,83,bench,150");
+        Lifter first = enter(roster, "First");
+        Lifter second = enter(roster, "Second");
+        RecordBook records = roster.getRecords();
+
+        // same weight on the same attempt, the lower lot lifted first
+        second.setBench(1, 155, AttemptState.GOOD, Metric.KG);
+        first.setBench(1, 155, AttemptState.GOOD, Metric.KG);
+        assertEquals(first, RecordBook.meetHolder(List.of(second, first), AttemptStore.BENCH));
+        assertEquals(RecordBook.MEET, records.broken(first, AttemptStore.BENCH, 1));
+        assertEquals(0, records.broken(second, AttemptStore.BENCH, 1));
+
+        // an earlier attempt beats a lower lot
+        first.setBench(1, 150, AttemptState.GOOD, Metric.KG);
+        first.setBench(2, 155, AttemptState.GOOD, Metric.KG);
+        assertEquals(RecordBook.MEET, records.broken(second, AttemptStore.BENCH, 1));
+        assertEquals(0, records.broken(first, AttemptStore.BENCH, 2));
+    }
+
+    @Test
+    public void snapshotTagsOnlyTheHolders() throws IOException {
+        Roster roster = rosterWith("meet,Open,83,deadlift,250", "meet,Open,83,total,600");
+        Lifter a = enter(roster, "A");
+        Lifter b = enter(roster, "B");
+        for(Lifter lifter: List.of(a, b)){
+            lifter.setSquat(1, 200, AttemptState.GOOD, Metric.KG);
+            lifter.setBench(1, 140, AttemptState.GOOD, Metric.KG);
+        }
+        a.setDeadlift(1, 270, AttemptState.GOOD, Metric.KG);
+        b.setDeadlift(1, 260, AttemptState.GOOD, Metric.KG);
+
+        MeetSnapshot.Bucket bucket = bucketOf(MeetSnapshot.of(roster), a);
+        assertEquals("A", bucket.get(0).getFirstName());
+        assertEquals(RecordBook.MEET, bucket.get(0).getDeadliftRecords());
+        assertEquals(RecordBook.MEET, bucket.get(0).getTotalRecords());
+        assertEquals(0, bucket.get(1).getDeadliftRecords());
+        assertEquals(0, bucket.get(1).getTotalRecords());
+        assertEquals(RecordBook.MEET, roster.getRecords().brokenTotal(a));
+        assertEquals(0, roster.getRecords().brokenTotal(b));
+    }
+
+    @Test
+    public void meetWithoutARecordsFileFlagsNothing(){
+        Roster roster = new Roster(new AttemptStore(2));
+        Lifter a = enter(roster, "A");
+        a.setSquat(1, 200, AttemptState.GOOD, Metric.KG);
+        assertEquals(0, roster.getRecords().broken(a, AttemptStore.SQUAT, 1));
+        assertEquals(0, bucketOf(MeetSnapshot.of(roster), a).get(0).getSquatRecords());
+    }
+
+    @Test
+    public void groupsKeepTheHolderAScanWouldFind(){
+        Random random = new Random(41);
+        Roster roster = new Roster(new AttemptStore(16));
+        ArrayList<Lifter> entered = new ArrayList<Lifter>();
+        ArrayList<Lifter> withdrawn = new ArrayList<Lifter>();
+        for(int i = 0; i < 10; i++){
+            entered.add(enter(roster, "L" + i));
+        }
+        int[] lifts = {AttemptStore.SQUAT, AttemptStore.BENCH, AttemptStore.DEADLIFT, ResultsArchive.TOTAL};
+        for(int step = 0; step < 5000; step++){
+            int action = random.nextInt(20);
+            if(action == 0 && entered.size() > 1){
+                Lifter lifter = entered.remove(random.nextInt(entered.size()));
+                roster.remove(lifter);
+                withdrawn.add(lifter);
+            }else if(action == 1 && !withdrawn.isEmpty()){
+                Lifter lifter = withdrawn.remove(random.nextInt(withdrawn.size()));
+                roster.add(lifter);
+                entered.add(lifter);
+            }else if(action == 2){
+                // between the 83 and 93 kg classes, moving the lifter between groups
+                entered.get(random.nextInt(entered.size())).setBodyweight(80 + 5 * random.nextInt(2), Metric.KG);
+            }else{
+                // few distinct weights, so ties on weight and attempt are common
+                Lifter lifter = entered.get(random.nextInt(entered.size()));
+                AttemptState state = random.nextInt(3) == 0 ? AttemptState.FAIL : AttemptState.GOOD;
+                lifter.recordAttempt(3 * random.nextInt(3), 1 + random.nextInt(3), 100 + 5 * random.nextInt(4), state, Metric.KG);
+            }
+            for(LifterGroup group: List.of(entered.get(0).getGroup(), entered.get(entered.size() - 1).getGroup())){
+                for(int lift: lifts){
+                    assertEquals(RecordBook.meetHolder(group.asList(), lift), group.meetHolder(lift), "step " + step + " lift " + lift);
+                }
+            }
+        }
+    }
+
+    private Roster rosterWith(String... lines) throws IOException {
+        Path file = directory.resolve(RecordBook.FILE_NAME);
+        Files.write(file, List.of(lines));
+        Roster roster = new Roster(new AttemptStore(4));
+        roster.setRecords(RecordBook.read(file));
+        return roster;
+    }
+
+    private static MeetSnapshot.Bucket bucketOf(MeetSnapshot snapshot, Lifter lifter){
+        for(MeetSnapshot.Bucket bucket: snapshot.getBuckets()){
+            if(bucket.getDivision() == lifter.getDivsion() && bucket.getWeightClass() == lifter.getWeightClass()){
+                return bucket;
+            }
+        }
+        throw new AssertionError("no bucket for " + lifter);
+    }
+
+    /** An Open 83 kg lifter */
+    private static Lifter enter(Roster roster, String name){
+        Lifter lifter = new Lifter(roster.getStore(), name, "Last", 30, "Town", 80, Metric.KG);
+        roster.add(lifter);
+        return lifter;
+    }
+}
@@ -0,0 +1,220 @@
+package powerlifting;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Archive queries checked against a scan of the results that went in */
+public class ResultsArchiveTest {
+
+    private static final int[] LIFTS = {AttemptStore.SQUAT, AttemptStore.BENCH, AttemptStore.DEADLIFT, ResultsArchive.TOTAL};
+
+    @TempDir
+    Path directory;
+
+    /** One result as added to the builder */
+    private static class Result {
+        String first, last, homeTown;
+        int date;
+        Division division;
+        WeightClass weightClass;
+        float[] lifts = new float[4];
+
+        float weight(int lift){
+            return lifts[Arrays.binarySearch(LIFTS, lift)];
+        }
+    }
+
+    @Test
+    public void writtenArchiveAnswersLikeAScan() throws IOException {
+        Random random = new Random(19);
+        ResultsArchive.Builder builder = new ResultsArchive.Builder();
+        ArrayList<Result> results = randomResults(random, 3000);
+        for(Result result: results){
+            builder.add(result.first, result.last, result.homeTown, result.date, result.division, result.weightClass,
+                    result.lifts[0], result.lifts[1], result.lifts[2]);
+        }
+        Path file = directory.resolve("results.plra");
+        builder.write(file);
+        ResultsArchive archive = ResultsArchive.open(file);
+
+        assertEquals(results.size(), archive.size());
+        checkRows(archive, results);
+        for(int query = 0; query < 500; query++){
+            Division division = Division.values()[random.nextInt(Division.values().length)];
+            WeightClass weightClass = WeightClass.values()[random.nextInt(WeightClass.values().length)];
+            int lift = LIFTS[random.nextInt(LIFTS.length)];
+            int from = randomDate(random);
+            int to = randomDate(random);
+            checkBest(archive, results, division, weightClass, lift, Math.min(from, to), Math.max(from, to));
+            checkDateBound(archive, results, division, weightClass, from);
+        }
+    }
+
+    @Test
+    public void rewritingAnArchiveKeepsEveryResultAndLifter() throws IOException {
+        Random random = new Random(23);
+        ArrayList<Result> results = randomResults(random, 500);
+        ResultsArchive.Builder first = new ResultsArchive.Builder();
+        for(Result result: results.subList(0, 300)){
+            first.add(result.first, result.last, result.homeTown, result.date, result.division, result.weightClass,
+                    result.lifts[0], result.lifts[1], result.lifts[2]);
+        }
+        Path file = directory.resolve("results.plra");
+        first.write(file);
+
+        // a later meet appended to the archive, as meet-cli archive does, writing over the file it read
+        ResultsArchive.Builder second = new ResultsArchive.Builder();
+        second.addArchive(ResultsArchive.open(file));
+        for(Result result: results.subList(300, 500)){
+            second.add(result.first.toUpperCase(), " " + result.last, result.homeTown, result.date, result.division,
+                    result.weightClass, result.lifts[0], result.lifts[1], result.lifts[2]);
+        }
+        second.write(file);
+        ResultsArchive archive = ResultsArchive.open(file);
+
+        assertEquals(results.size(), archive.size());
+        checkRows(archive, results);
+        assertTrue(Files.notExists(directory.resolve("results.plra.tmp")));
+    }
+
+    @Test
+    public void damagedFilesAreRefused() throws IOException {
+        ResultsArchive.Builder builder = new ResultsArchive.Builder();
+        builder.add("A", "B", "Town", 20240101, Division.OPEN, WeightClass.KG83, 200, 150, 250);
+        Path file = directory.resolve("results.plra");
+        builder.write(file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> ResultsArchive.open(file));
+        byte[] wrongMagic = bytes.clone();
+        wrongMagic[0] ^= 1;
+        Files.write(file, wrongMagic);
+        assertThrows(IOException.class, () -> ResultsArchive.open(file));
+    }
+
+    /** Every result is found again through its lifter's history, with the same values, oldest first */
+    private static void checkRows(ResultsArchive archive, ArrayList<Result> results){
+        int matched = 0;
+        for(int lifter = 0; lifter < archive.lifterCount(); lifter++){
+            String first = archive.firstName(lifter);
+            String last = archive.lastName(lifter);
+            String homeTown = archive.homeTown(lifter);
+            assertEquals(lifter, archive.findLifter(first.toLowerCase(), last, homeTown));
+            ArrayList<Result> expected = new ArrayList<Result>();
+            for(Result result: results){
+                if(result.first.equalsIgnoreCase(first) && result.last.equalsIgnoreCase(last) && result.homeTown.equalsIgnoreCase(homeTown)){
+                    expected.add(result);
+                }
+            }
+            int[] history = archive.history(lifter);
+            assertEquals(expected.size(), history.length);
+            int[] dates = new int[history.length];
+            for(int i = 0; i < history.length; i++){
+                int row = history[i];
+                dates[i] = archive.date(row);
+                assertEquals(lifter, archive.lifter(row));
+                assertTrue(i == 0 || dates[i - 1] <= dates[i], "history out of date order");
+                assertTrue(matches(archive, row, expected), "row " + row + " was never added");
+            }
+            matched += history.length;
+
+            int best = archive.personalBest(lifter, ResultsArchive.TOTAL);
+            float max = 0;
+            for(Result result: expected){
+                max = Math.max(max, result.weight(ResultsArchive.TOTAL));
+            }
+            assertEquals(max, best < 0 ? 0 : archive.weight(best, ResultsArchive.TOTAL), 1e-3);
+        }
+        assertEquals(results.size(), matched);
+        assertEquals(-1, archive.findLifter("No", "One", "Nowhere"));
+    }
+
+    private static boolean matches(ResultsArchive archive, int row, ArrayList<Result> candidates){
+        for(Result result: candidates){
+            if(result.date == archive.date(row) && result.division == archive.division(row) && result.weightClass == archive.weightClass(row)
+                    && result.lifts[0] == archive.weight(row, AttemptStore.SQUAT) && result.lifts[1] == archive.weight(row, AttemptStore.BENCH)
+                    && result.lifts[2] == archive.weight(row, AttemptStore.DEADLIFT)
+                    && Math.abs(result.lifts[3] - archive.weight(row, ResultsArchive.TOTAL)) < 1e-3){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void checkBest(ResultsArchive archive, ArrayList<Result> results, Division division, WeightClass weightClass,
+            int lift, int from, int to){
+        float max = 0;
+        int count = 0;
+        for(Result result: results){
+            if(result.division == division && result.weightClass == weightClass && result.date >= from && result.date <= to){
+                max = Math.max(max, result.weight(lift));
+                if(result.weight(lift) >= 100 && result.weight(lift) <= 200){
+                    count++;
+                }
+            }
+        }
+        int best = archive.best(division, weightClass, lift, from, to);
+        if(max == 0){
+            assertEquals(-1, best);
+        }else{
+            assertEquals(max, archive.weight(best, lift), 1e-3);
+            assertEquals(division, archive.division(best));
+            assertEquals(weightClass, archive.weightClass(best));
+            assertTrue(archive.date(best) >= from && archive.date(best) <= to);
+        }
+        assertEquals(count, archive.count(division, weightClass, lift, 100, 200, from, to));
+    }
+
+    /** The bound splits the group's rows into those dated before and those dated on or after */
+    private static void checkDateBound(ResultsArchive archive, ArrayList<Result> results, Division division, WeightClass weightClass, int date){
+        int before = 0;
+        for(Result result: results){
+            if(result.division == division && result.weightClass == weightClass && result.date < date){
+                before++;
+            }
+        }
+        int start = archive.groupStart(division, weightClass);
+        int bound = archive.dateBound(division, weightClass, date);
+        assertEquals(start + before, bound);
+        for(int row = start; row < archive.groupEnd(division, weightClass); row++){
+            assertEquals(row >= bound, archive.date(row) >= date);
+        }
+    }
+
+    /** Results of a few hundred lifters over a few years, some lifts missed entirely */
+    private static ArrayList<Result> randomResults(Random random, int count){
+        ArrayList<Result> results = new ArrayList<Result>();
+        for(int i = 0; i < count; i++){
+            Result result = new Result();
+            int lifter = random.nextInt(count / 5);
+            result.first = "First" + lifter;
+            result.last = "Last" + lifter % 37;
+            result.homeTown = "Town" + lifter % 11;
+            result.date = randomDate(random);
+            result.division = Division.values()[random.nextInt(Division.values().length)];
+            result.weightClass = WeightClass.values()[random.nextInt(WeightClass.values().length)];
+            for(int lift = 0; lift < 3; lift++){
+                result.lifts[lift] = random.nextInt(10) == 0 ? 0 : 2.5f * (20 + random.nextInt(100));
+            }
+            result.lifts[3] = result.lifts[0] + result.lifts[1] + result.lifts[2];
+            results.add(result);
+        }
+        return results;
+    }
+
+    private static int randomDate(Random random){
+        return (2018 + random.nextInt(6)) * 10000 + (1 + random.nextInt(12)) * 100 + 1 + random.nextInt(28);
+    }
+}
@@ -0,0 +1,175 @@
+package powerlifting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** Undoing and redoing a roster's changes back and forth through every version it had */
+public class RosterHistoryTest {
+
+    @Test
+    public void undoAndRedoWalkBackThroughEveryVersion(){
+        Random random = new Random(29);
+        Roster roster = new Roster(new AttemptStore(16));
+        ArrayList<Lifter> entered = new ArrayList<Lifter>();
+        for(int i = 0; i < 5; i++){
+            entered.add(enter(roster, "Start" + i));
+        }
+        RosterHistory history = RosterHistory.attach(roster);
+        ArrayList<Lifter> withdrawn = new ArrayList<Lifter>();
+        ArrayList<String> versions = new ArrayList<String>();
+        versions.add(describe(roster));
+        for(int step = 0; step < 300; step++){
+            int action = random.nextInt(20);
+            if(action == 0){
+                entered.add(enter(roster, "New" + step));
+            }else if(action == 1 && entered.size() > 1){
+                Lifter lifter = entered.remove(random.nextInt(entered.size()));
+                roster.remove(lifter);
+                withdrawn.add(lifter);
+            }else if(action == 2 && !withdrawn.isEmpty()){
+                Lifter lifter = withdrawn.remove(random.nextInt(withdrawn.size()));
+                roster.add(lifter);
+                entered.add(lifter);
+            }else if(action == 3){
+                // across a weight class, so the lifter is refiled
+                entered.get(random.nextInt(entered.size())).setBodyweight(70 + 10 * random.nextInt(4), Metric.KG);
+            }else if(action == 4){
+                entered.get(random.nextInt(entered.size())).setAge(18 + random.nextInt(50));
+            }else{
+                Lifter lifter = entered.get(random.nextInt(entered.size()));
+                double weight = 100 + 2.5 * random.nextInt(40);
+                AttemptState state = AttemptState.values()[random.nextInt(AttemptState.values().length)];
+                int attempt = 1 + random.nextInt(3);
+                int lift = random.nextInt(3);
+                if(lift == 0){
+                    lifter.setSquat(attempt, weight, state, Metric.KG);
+                }else if(lift == 1){
+                    lifter.setBench(attempt, weight, state, Metric.KG);
+                }else{
+                    lifter.setDeadlift(attempt, weight, state, Metric.KG);
+                }
+            }
+            addIfChanged(versions, describe(roster));
+        }
+
+        // undoing lands on every earlier version in turn, a change that altered nothing landing where it was
+        ArrayList<String> visited = new ArrayList<String>();
+        visited.add(describe(roster));
+        while(history.canUndo()){
+            assertNotNull(history.undo());
+            visited.add(describe(roster));
+        }
+        assertNull(history.undo());
+        ArrayList<String> undoneTo = new ArrayList<String>();
+        for(String version: visited){
+            addIfChanged(undoneTo, version);
+        }
+        Collections.reverse(versions);
+        assertEquals(versions, undoneTo);
+
+        // and redoing retraces them
+        for(int i = visited.size() - 2; i >= 0; i--){
+            assertNotNull(history.redo());
+            assertEquals(visited.get(i), describe(roster));
+        }
+        assertFalse(history.canRedo());
+        assertNull(history.redo());
+    }
+
+    @Test
+    public void newChangeClearsRedoAndLimitDropsTheOldest(){
+        Roster roster = new Roster(new AttemptStore(4));
+        Lifter lifter = enter(roster, "A");
+        RosterHistory history = RosterHistory.attach(roster, 2);
+        lifter.setSquat(1, 100, AttemptState.PROJECTION, Metric.KG);
+        lifter.setSquat(1, 100, AttemptState.GOOD, Metric.KG);
+        lifter.setSquat(2, 110, AttemptState.FAIL, Metric.KG);
+
+        assertEquals("A Last's squat 2", history.nextUndo());
+        history.undo();
+        history.undo();
+        // the projection fell off the end of a two change history
+        assertFalse(history.canUndo());
+        assertEquals(AttemptState.PROJECTION, lifter.getSquat(1).getState());
+        assertEquals(AttemptState.EMPTY, lifter.getSquat(2).getState());
+
+        assertEquals("A Last's squat 1", history.nextRedo());
+        lifter.setBench(1, 80, AttemptState.GOOD, Metric.KG);
+        assertFalse(history.canRedo());
+        history.undo();
+        assertEquals(AttemptState.EMPTY, lifter.getBench(1).getState());
+    }
+
+    @Test
+    public void undoingAWithdrawalEntersTheLifterAsTheyWere(){
+        Roster roster = new Roster(new AttemptStore(4));
+        Lifter lifter = enter(roster, "A");
+        lifter.setDeadlift(1, 200, AttemptState.GOOD, Metric.KG);
+        RosterHistory history = RosterHistory.attach(roster);
+        roster.remove(lifter);
+        assertEquals("removing A Last", history.undo());
+        assertEquals(1, roster.size());
+        assertEquals(200, lifter.getMaxDeadlift().getWeight(Metric.KG), 1e-9);
+        assertEquals("removing A Last", history.redo());
+        assertEquals(0, roster.size());
+    }
+
+    @Test
+    public void undoPutsBackPoundsExactly(){
+        Roster roster = new Roster(new AttemptStore(4));
+        Lifter lifter = enter(roster, "A");
+        RosterHistory history = RosterHistory.attach(roster);
+        // 566 lb is one unit off once it has been through a double of kilograms
+        lifter.setDeadlift(1, 566, AttemptState.PROJECTION, Metric.LB);
+        lifter.setBodyweight(181.5, Metric.LB);
+        lifter.setDeadlift(1, 600, AttemptState.PROJECTION, Metric.LB);
+        lifter.setBodyweight(200, Metric.LB);
+        history.undo();
+        history.undo();
+        assertEquals(UniversalWeight.toUnits(566, Metric.LB), lifter.getStore().getUnits(AttemptStore.index(lifter.getId(), AttemptStore.DEADLIFT, 1)));
+        assertEquals(UniversalWeight.toUnits(181.5, Metric.LB), lifter.getBodyweightUnits());
+        history.undo();
+        history.redo();
+        assertEquals(UniversalWeight.toUnits(181.5, Metric.LB), lifter.getBodyweightUnits());
+    }
+
+    private static void addIfChanged(ArrayList<String> versions, String version){
+        if(versions.isEmpty() || !versions.get(versions.size() - 1).equals(version)){
+            versions.add(version);
+        }
+    }
+
+    private static Lifter enter(Roster roster, String name){
+        Lifter lifter = new Lifter(roster.getStore(), name, "Last", 30, "Town", 80, Metric.KG);
+        roster.add(lifter);
+        return lifter;
+    }
+
+    /** Every lifter entered, their profile and nine attempts, sorted so filing order does not matter */
+    private static String describe(Roster roster){
+        ArrayList<String> lines = new ArrayList<String>();
+        for(Lifter lifter: roster.all()){
+            StringBuilder line = new StringBuilder(lifter.getFirstName()).append('|').append(lifter.getAge()).append('|')
+                    .append(lifter.getBodyweight(Metric.KG)).append('|').append(lifter.getWeightClass());
+            for(int attempt = 1; attempt <= 3; attempt++){
+                append(line, lifter.getSquat(attempt));
+                append(line, lifter.getBench(attempt));
+                append(line, lifter.getDeadlift(attempt));
+            }
+            lines.add(line.toString());
+        }
+        Collections.sort(lines);
+        return String.join("\n", lines);
+    }
+
+    private static void append(StringBuilder line, Lift lift){
+        line.append('|').append(lift.getWeight(Metric.KG)).append(':').append(lift.getState().name());
+    }
+}
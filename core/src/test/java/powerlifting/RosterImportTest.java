@@ -0,0 +1,87 @@
+package powerlifting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import org.junit.jupiter.api.Test;
+
+/** Registration CSVs read into lifters, or refused whole */
+public class RosterImportTest {
+
+    @Test
+    public void quotedFieldsAndLooseHeaders() throws IOException {
+        String csv = "\uFEFFName,AGE,Home_Town,Body Weight,metric,squat\r\n"
+                + "\"Mary Ann Smith\",34,\"Springfield, IL\",63.5,kg,120\r\n"
+                + "Bob \"\"Tank\"\" Jones,51,\"The \"\"Big\"\" Town\",220,lb,\r\n"
+                + "\r\n";
+        AttemptStore store = new AttemptStore(4);
+        ArrayList<Lifter> lifters = RosterImport.parse(bytes(csv), store);
+
+        assertEquals(2, lifters.size());
+        Lifter mary = lifters.get(0);
+        assertEquals("Mary Ann", mary.getFirstName());
+        assertEquals("Smith", mary.getLastName());
+        assertEquals("Springfield, IL", mary.getHomeTown());
+        assertEquals(63.5, mary.getBodyweight(Metric.KG), 1e-9);
+        assertEquals(120, mary.getSquat(1).getWeight(Metric.KG), 1e-9);
+        assertEquals(AttemptState.PROJECTION, mary.getSquat(1).getState());
+
+        // unquoted fields are taken as they stand, quotes and all
+        Lifter bob = lifters.get(1);
+        assertEquals("Bob \"\"Tank\"\"", bob.getFirstName());
+        assertEquals("The \"Big\" Town", bob.getHomeTown());
+        assertEquals(220, bob.getBodyweight(Metric.LB), 1e-6);
+        assertEquals(AttemptState.EMPTY, bob.getSquat(1).getState());
+    }
+
+    @Test
+    public void badRowIsNamedByLineAcrossChunks(){
+        // enough rows to be parsed in several chunks, the bad one far from the first
+        StringBuilder csv = new StringBuilder("first name,last name,age,hometown,bodyweight\n");
+        for(int line = 2; line <= 5000; line++){
+            csv.append("First").append(line).append(",Last,").append(line == 4321 ? "old" : "30").append(",Town,80\n");
+        }
+        AttemptStore store = new AttemptStore(16);
+        IOException e = assertThrows(IOException.class, () -> RosterImport.parse(bytes(csv.toString()), store));
+        assertEquals("Line 4321: age must be a whole number of years", e.getMessage());
+        // nothing was allocated for the rows that did parse
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void rowErrors(){
+        String header = "name,age,hometown,bodyweight,metric,deadlift\n";
+        assertRejected(header + "A B,30,Town,80,kg,\n\"C D,30,Town,80,kg,\n", "Line 3: unclosed quote");
+        assertRejected(header + "A B,30,Town\n", "Line 2: expected 6 fields but found 3");
+        assertRejected(header + "A B,30,Town,80,st,\n", "Line 2: metric must be kg or lb: st");
+        assertRejected(header + "A B,30,Town,,kg,\n", "Line 2: missing bodyweight");
+        assertRejected(header + ",30,Town,80,kg,\n", "Line 2: missing name");
+        assertRejected(header + "A B,30,Town,80,kg,1000\n", "Line 2: deadlift opener is not a weight: 1000");
+        assertRejected("name,age\n", "Line 1: age, hometown and bodyweight columns are required");
+    }
+
+    @Test
+    public void weightsAreBoundedInKilograms() throws IOException {
+        // 2000 lb is over 900 kg, 2205 lb over 1000 kg
+        String header = "name,age,hometown,bodyweight,metric,deadlift\n";
+        AttemptStore store = new AttemptStore(2);
+        ArrayList<Lifter> lifters = RosterImport.parse(bytes(header + "A B,30,Town,300,lb,2000\n"), store);
+        assertEquals(2000, lifters.get(0).getDeadlift(1).getWeight(Metric.LB), 1e-6);
+        assertRejected(header + "A B,30,Town,300,lb,2205\n", "Line 2: deadlift opener is not a weight: 2205");
+    }
+
+    private static void assertRejected(String csv, String message){
+        AttemptStore store = new AttemptStore(2);
+        IOException e = assertThrows(IOException.class, () -> RosterImport.parse(bytes(csv), store));
+        assertEquals(message, e.getMessage());
+        assertEquals(0, store.size(), "rows allocated for a refused file");
+    }
+
+    private static ByteBuffer bytes(String csv){
+        return ByteBuffer.wrap(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
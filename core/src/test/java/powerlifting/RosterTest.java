@@ -0,0 +1,33 @@
+package powerlifting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** Filing lifters into a roster */
+public class RosterTest {
+
+    @Test
+    public void rejectsLifterFromAnotherStore(){
+        Roster roster = new Roster(new AttemptStore(4));
+        Lifter foreign = new Lifter(new AttemptStore(4), "A", "A", 30, "Town", 80, Metric.KG);
+        assertThrows(IllegalArgumentException.class, () -> roster.add(foreign));
+        assertEquals(0, roster.size());
+    }
+
+    @Test
+    public void batchWithForeignLifterFilesNone(){
+        Roster roster = new Roster(new AttemptStore(4));
+        Lifter own = new Lifter(roster.getStore(), "A", "A", 30, "Town", 80, Metric.KG);
+        // same row number in its own store as the roster's lifter
+        Lifter foreign = new Lifter(new AttemptStore(4), "B", "B", 30, "Town", 80, Metric.KG);
+        assertThrows(IllegalArgumentException.class, () -> roster.addAll(List.of(own, foreign)));
+        assertEquals(0, roster.size());
+        assertEquals(0, own.getLot());
+
+        roster.addAll(List.of(own));
+        assertEquals(1, roster.size());
+    }
+}
@@ -0,0 +1,91 @@
+package powerlifting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** Weights held as units, checked against exact decimal arithmetic */
+public class UniversalWeightTest {
+
+    @Test
+    public void formattingRoundsHalfToEvenInBothMetrics(){
+        Random random = new Random(37);
+        for(int i = 0; i < 20000; i++){
+            long units = (random.nextLong() >>> 1) % (800 * UniversalWeight.UNITS_PER_KG);
+            check(random.nextInt(10) == 0 ? -units : units);
+        }
+        // exactly half way between hundredths, once toward the even hundredth below and once above
+        check(UniversalWeight.UNITS_PER_KG / 1000 * 125);
+        check(UniversalWeight.UNITS_PER_KG / 1000 * 135);
+        assertEquals("0.12", kilograms(UniversalWeight.formatUnits(UniversalWeight.UNITS_PER_KG / 1000 * 125)));
+        assertEquals("0.14", kilograms(UniversalWeight.formatUnits(UniversalWeight.UNITS_PER_KG / 1000 * 135)));
+        check(UniversalWeight.UNITS_PER_LB / 1000 * 125);
+        check(UniversalWeight.UNITS_PER_LB / 1000 * 135);
+        check(0);
+    }
+
+    @Test
+    public void cachedStringsMatchFormattingFromScratch(){
+        for(long step = 0; step <= 600 * 4; step++){
+            long units = step * (UniversalWeight.UNITS_PER_KG / 4);
+            check(units);
+            assertSame(UniversalWeight.formatUnits(units), UniversalWeight.formatUnits(units));
+        }
+        for(long step = 0; step <= 1500 * 2; step++){
+            check(step * (UniversalWeight.UNITS_PER_LB / 2));
+        }
+        assertEquals("100KGs/ 220.46LBs", UniversalWeight.format(100));
+        assertEquals("226.8KGs/ 500LBs", new UniversalWeight(500, Metric.LB).toString());
+    }
+
+    @Test
+    public void poundsAreHeldExactlyAndTotalWithoutDrift(){
+        for(int hundredths = 0; hundredths <= 150000; hundredths++){
+            double pounds = hundredths / 100.0;
+            long units = UniversalWeight.toUnits(pounds, Metric.LB);
+            assertEquals(hundredths * (UniversalWeight.UNITS_PER_LB / 100), units, "units of " + pounds + " lb");
+            assertEquals(pounds, UniversalWeight.fromUnits(units, Metric.LB), "round trip of " + pounds + " lb");
+        }
+        long total = UniversalWeight.toUnits(505.5, Metric.LB) + UniversalWeight.toUnits(300.25, Metric.LB)
+                + UniversalWeight.toUnits(600.35, Metric.LB);
+        assertEquals(1406.1, UniversalWeight.fromUnits(total, Metric.LB));
+        assertEquals("1406.1LBs", pounds(UniversalWeight.formatUnits(total)));
+
+        // a lifter entered in pounds and one in kilograms tie exactly when their lifts weigh the same
+        assertEquals(UniversalWeight.toUnits(226.796185, Metric.KG), UniversalWeight.toUnits(500, Metric.LB));
+        assertEquals(UniversalWeight.KG_PER_LB, UniversalWeight.convert(1, Metric.LB, Metric.KG));
+        assertEquals(500, UniversalWeight.convert(UniversalWeight.convert(500, Metric.LB, Metric.KG), Metric.KG, Metric.LB), 1e-9);
+    }
+
+    @Test
+    public void bareNumbers(){
+        assertEquals("1.25", UniversalWeight.formatNumber(1.25));
+        assertEquals("20", UniversalWeight.formatNumber(20));
+        assertEquals("2.5", UniversalWeight.formatNumber(2.50));
+        assertEquals("-2.5", UniversalWeight.formatNumber(-2.5));
+        assertEquals("0.3", UniversalWeight.formatNumber(0.1 + 0.2));
+    }
+
+    /** The formatted units match both metrics worked out in BigDecimal and rounded half to even */
+    private static void check(long units){
+        String expected = exact(units, UniversalWeight.UNITS_PER_KG) + "KGs/ " + exact(units, UniversalWeight.UNITS_PER_LB) + "LBs";
+        assertEquals(expected, UniversalWeight.formatUnits(units), "units " + units);
+    }
+
+    private static String exact(long units, long perUnit){
+        BigDecimal value = BigDecimal.valueOf(units).divide(BigDecimal.valueOf(perUnit), 2, RoundingMode.HALF_EVEN);
+        return value.signum() == 0 ? "0" : value.stripTrailingZeros().toPlainString();
+    }
+
+    private static String kilograms(String formatted){
+        return formatted.substring(0, formatted.indexOf("KGs"));
+    }
+
+    private static String pounds(String formatted){
+        return formatted.substring(formatted.indexOf("/ ") + 2);
+    }
+}